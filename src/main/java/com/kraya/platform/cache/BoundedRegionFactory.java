@@ -0,0 +1,83 @@
+package com.kraya.platform.cache;
+
+import com.kraya.platform.config.CacheProperties;
+import com.kraya.platform.metrics.Metrics;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.access.AccessType;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.util.Map;
+
+/**
+ * BoundedRegionFactory backs Hibernate's second-level cache regions with
+ * {@link BoundedStorageAccess}, each sized and aged by its {@code kraya.cache.regions} entry,
+ * and publishes per-region hit, miss and eviction counts and sizes. The hit ratio is
+ * {@code hits / (hits + misses)} over any window of the counters.
+ * <p>
+ * Regions are local to the process. Entities are cached read-write, so this node's writes
+ * replace or invalidate its entries on commit; writes made by other nodes are picked up
+ * once the entries expire.
+ * <p>
+ * That is a limitation with more than one node: for up to a region's {@code ttl}, ten minutes
+ * for users by default, another node keeps serving what it cached before, a user's changed
+ * status or roles included. Deployments that cannot accept this must shorten the ttl or disable
+ * the cache with {@code kraya.cache.enabled=false}.
+ */
+public class BoundedRegionFactory extends RegionFactoryTemplate {
+
+    private final CacheProperties properties;
+    private final Metrics metrics;
+
+    public BoundedRegionFactory(CacheProperties properties, Metrics metrics) {
+        this.properties = properties;
+        this.metrics = metrics;
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig regionConfig,
+                                                                    DomainDataRegionBuildingContext buildingContext) {
+        return storage(regionConfig.getRegionName());
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName,
+                                                                  SessionFactoryImplementor sessionFactory) {
+        return storage(regionName);
+    }
+
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(String regionName,
+                                                                SessionFactoryImplementor sessionFactory) {
+        return storage(regionName);
+    }
+
+    @Override
+    public AccessType getDefaultAccessType() {
+        return AccessType.READ_WRITE;
+    }
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions settings, Map<String, Object> configValues) {
+    }
+
+    @Override
+    protected void releaseFromUse() {
+    }
+
+    private BoundedStorageAccess storage(String regionName) {
+        CacheProperties.Region region = properties.region(regionName);
+        String labels = Metrics.label("region", regionName);
+        BoundedStorageAccess storage = new BoundedStorageAccess(region.isEnabled(), region.getMaxEntries(),
+                region.getTtl().toNanos(), System::nanoTime,
+                metrics.counter("kraya_cache_hits_total", "Second-level cache lookups answered from the cache", labels),
+                metrics.counter("kraya_cache_misses_total", "Second-level cache lookups that went to the database", labels),
+                metrics.counter("kraya_cache_evictions_total", "Second-level cache entries dropped to stay within bounds", labels));
+        metrics.gauge("kraya_cache_entries", "Entries held per second-level cache region", labels, storage::size);
+        return storage;
+    }
+}
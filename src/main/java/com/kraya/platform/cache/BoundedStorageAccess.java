@@ -0,0 +1,124 @@
+package com.kraya.platform.cache;
+
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * BoundedStorageAccess holds one second-level cache region in a map bounded by entry count
+ * and age. Hibernate's access strategies sit on top of it and decide what is put, locked and
+ * invalidated; this class only stores.
+ * <p>
+ * Entries expire {@code ttl} after they were put. When the region is full, expired entries
+ * are dropped, then arbitrary ones until a sixteenth of the region is free, as the API key
+ * cache does. A disabled region stores nothing and counts every lookup as a miss.
+ * <p>
+ * The read-write strategy marks an entry being written with a soft lock until the write
+ * commits; a lock that is missing lets a concurrent load put the old state back. Trimming
+ * therefore never picks soft locks, so a region full of them can briefly hold more than
+ * {@code maxEntries}. A lock is only dropped once it outlives {@code ttl}, long after
+ * Hibernate's own lock timeout has made it void.
+ */
+public class BoundedStorageAccess implements DomainDataStorageAccess {
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+    private final AtomicLong evictions;
+
+    private final Map<Object, Entry> entries = new ConcurrentHashMap<>();
+
+    public BoundedStorageAccess(boolean enabled, int maxEntries, long ttlNanos, LongSupplier clock,
+                                AtomicLong hits, AtomicLong misses, AtomicLong evictions) {
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttlNanos;
+        this.clock = clock;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+    }
+
+    @Override
+    public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        if (clock.getAsLong() - entry.expiresAt > 0) {
+            entries.remove(key, entry);
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry.value;
+    }
+
+    @Override
+    public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+        if (!enabled || maxEntries <= 0) {
+            return;
+        }
+        long now = clock.getAsLong();
+        if (entries.size() >= maxEntries && !entries.containsKey(key)) {
+            trim(now);
+        }
+        entries.put(key, new Entry(value, now + ttlNanos));
+    }
+
+    @Override
+    public boolean contains(Object key) {
+        Entry entry = entries.get(key);
+        return entry != null && clock.getAsLong() - entry.expiresAt <= 0;
+    }
+
+    @Override
+    public void evictData() {
+        entries.clear();
+    }
+
+    @Override
+    public void evictData(Object key) {
+        entries.remove(key);
+    }
+
+    @Override
+    public void release() {
+        entries.clear();
+    }
+
+    /**
+     * Returns the number of entries held, including expired ones not yet dropped.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    // Drops expired entries, then arbitrary ones other than soft locks until a sixteenth of the region is free
+    private void trim(long now) {
+        int before = entries.size();
+        entries.values().removeIf(entry -> now - entry.expiresAt > 0);
+        int excess = entries.size() - (maxEntries - Math.max(maxEntries / 16, 1));
+        Iterator<Entry> it = entries.values().iterator();
+        while (excess > 0 && it.hasNext()) {
+            if (!(it.next().value instanceof SoftLock)) {
+                it.remove();
+                excess--;
+            }
+        }
+        evictions.addAndGet(Math.max(before - entries.size(), 0));
+    }
+
+    private record Entry(Object value, long expiresAt) {
+    }
+}
@@ -0,0 +1,60 @@
+package com.kraya.platform.concurrent;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.ConcurrencyFailureException;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Retries work that lost an optimistic or pessimistic locking race, i.e. failed with a
+ * {@link ConcurrencyFailureException}, after a short random back-off so the competing writers
+ * do not collide again in lockstep. The work must be safe to repeat: typically one transaction
+ * that re-reads what it changes.
+ */
+public final class ConcurrencyRetry {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrencyRetry.class);
+
+    public static final int MAX_ATTEMPTS = 5;
+
+    private ConcurrencyRetry() {
+    }
+
+    /**
+     * @param description what is retried, for the log
+     * @param work        the work to run
+     * @return the result of the first attempt that does not conflict
+     * @throws ConcurrencyFailureException the last conflict, once {@link #MAX_ATTEMPTS} attempts
+     *                                     conflicted or the back-off was interrupted
+     */
+    public static <T> T retrying(String description, Supplier<T> work) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return work.get();
+            } catch (ConcurrencyFailureException e) {
+                if (attempt == MAX_ATTEMPTS) {
+                    throw e;
+                }
+                logger.debug("{} conflicted with a concurrent update, retrying (attempt {})", description, attempt);
+                try {
+                    Thread.sleep(ThreadLocalRandom.current().nextLong(1, 5L << attempt));
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * @see #retrying(String, Supplier)
+     */
+    public static void retrying(String description, Runnable work) {
+        retrying(description, () -> {
+            work.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,49 @@
+package com.kraya.platform.concurrent;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors for the services' background pools. Their threads are named after the pool, so
+ * they can be told apart in thread dumps, and are daemons, so a pool that is never shut down
+ * does not keep the JVM alive.
+ */
+public final class DaemonThreads {
+
+    private DaemonThreads() {
+    }
+
+    /**
+     * @param namePrefix the threads' name, followed by their number starting at 1
+     * @return a factory of numbered daemon threads
+     */
+    public static ThreadFactory factory(String namePrefix) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> newThread(runnable, namePrefix + threadNumber.incrementAndGet());
+    }
+
+    /**
+     * @param namePrefix the threads' name, followed by their number starting at 1
+     * @param threads    the number of threads
+     * @return a fixed pool of numbered daemon threads
+     */
+    public static ExecutorService newFixedThreadPool(String namePrefix, int threads) {
+        return Executors.newFixedThreadPool(threads, factory(namePrefix));
+    }
+
+    /**
+     * @param name the thread's name
+     * @return an executor running its tasks one by one on a single daemon thread
+     */
+    public static ExecutorService newSingleThreadExecutor(String name) {
+        return Executors.newSingleThreadExecutor(runnable -> newThread(runnable, name));
+    }
+
+    private static Thread newThread(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+}
@@ -0,0 +1,28 @@
+package com.kraya.platform.config;
+
+import com.kraya.platform.cache.BoundedRegionFactory;
+import com.kraya.platform.metrics.Metrics;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables the Hibernate second-level cache for the entities marked {@code @Cache}, stored in
+ * bounded regions configured under {@code kraya.cache}.
+ */
+@Configuration
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCache(CacheProperties cacheProperties, Metrics metrics) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, cacheProperties.isEnabled());
+            if (cacheProperties.isEnabled()) {
+                properties.put(AvailableSettings.CACHE_REGION_FACTORY, new BoundedRegionFactory(cacheProperties, metrics));
+            }
+        };
+    }
+}
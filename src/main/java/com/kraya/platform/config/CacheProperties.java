@@ -0,0 +1,38 @@
+package com.kraya.platform.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * CacheProperties configures the Hibernate second-level cache, bound from {@code kraya.cache}.
+ * Regions not listed get the defaults of {@link Region}.
+ */
+@Data
+@ConfigurationProperties(prefix = "kraya.cache")
+public class CacheProperties {
+
+    private boolean enabled = true;
+    private Map<String, Region> regions = new LinkedHashMap<>();  // By region name, e.g. user
+
+    /**
+     * Returns the settings of the given region, or the defaults if it is not configured.
+     */
+    public Region region(String name) {
+        return regions.getOrDefault(name, new Region());
+    }
+
+    /**
+     * Bounds of one cache region.
+     */
+    @Data
+    public static class Region {
+
+        private boolean enabled = true;  // A disabled region stores nothing, so every lookup reads the database
+        private int maxEntries = 10_000;
+        private Duration ttl = Duration.ofMinutes(10);  // Bounds how stale entries written by other nodes get
+    }
+}
@@ -0,0 +1,92 @@
+package com.kraya.platform.config;
+
+import com.kraya.platform.metrics.HikariMetrics;
+import com.kraya.platform.metrics.Metrics;
+import com.kraya.platform.metrics.RepositoryMetricsInterceptor;
+import com.kraya.platform.metrics.RequestMetricsFilter;
+import com.kraya.platform.metrics.SqlBudgetFilter;
+import com.kraya.platform.metrics.SqlStatementCounter;
+import com.kraya.platform.metrics.TimedJpaTransactionManager;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Wires the request, SQL, repository, transaction and connection pool instrumentation into
+ * the places that do the work, and the per-request SQL budget check. The metrics are served by {@code GET /api/metrics}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public SqlStatementCounter sqlStatementCounter() {
+        return new SqlStatementCounter();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounting(SqlStatementCounter sqlStatementCounter) {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, sqlStatementCounter);
+            properties.put(AvailableSettings.INTERCEPTOR, sqlStatementCounter);
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<RequestMetricsFilter> requestMetricsFilter(Metrics metrics,
+                                                                             SqlStatementCounter sqlStatementCounter) {
+        FilterRegistrationBean<RequestMetricsFilter> registration =
+                new FilterRegistrationBean<>(new RequestMetricsFilter(metrics, sqlStatementCounter));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 10); // Ahead of the security filters
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlBudgetFilter> sqlBudgetFilter(
+            SqlStatementCounter sqlStatementCounter,
+            @Value("${kraya.sql-budget.mode:log}") SqlBudgetFilter.Mode mode,
+            @Value("${kraya.sql-budget.default-max-queries:20}") int defaultMaxQueries,
+            @Value("${kraya.sql-budget.response-headers:false}") boolean responseHeaders) {
+        FilterRegistrationBean<SqlBudgetFilter> registration = new FilterRegistrationBean<>(
+                new SqlBudgetFilter(sqlStatementCounter, mode, defaultMaxQueries, responseHeaders));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1); // After authentication, whose queries are not the handler's
+        return registration;
+    }
+
+    // Replaces Boot's JpaTransactionManager, which backs off when one is defined
+    @Bean
+    public PlatformTransactionManager transactionManager(Metrics metrics,
+                                                         ObjectProvider<TransactionManagerCustomizers> customizers) {
+        TimedJpaTransactionManager transactionManager = new TimedJpaTransactionManager(metrics);
+        customizers.ifAvailable(c -> c.customize(transactionManager));
+        return transactionManager;
+    }
+
+    // Static, and resolving Metrics only once a repository or pool is created, so that the
+    // post-processor does not pull beans in before the other post-processors are registered
+    @Bean
+    public static BeanPostProcessor persistenceMetricsPostProcessor(ObjectProvider<Metrics> metrics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> repositoryFactory) {
+                    repositoryFactory.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repository) -> proxyFactory.addAdvice(0,
+                                    new RepositoryMetricsInterceptor(metrics.getObject(), repository.getRepositoryInterface()))));
+                } else if (bean instanceof HikariDataSource dataSource) {
+                    dataSource.setMetricsTrackerFactory(new HikariMetrics(metrics.getObject()));
+                }
+                return bean;
+            }
+        };
+    }
+}
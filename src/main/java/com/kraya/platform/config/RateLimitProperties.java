@@ -0,0 +1,46 @@
+package com.kraya.platform.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RateLimitProperties holds the request rate limits applied per client and route group,
+ * bound from {@code kraya.security.rate-limits}.
+ */
+@Data
+@ConfigurationProperties(prefix = "kraya.security.rate-limits")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    private int maxClients = 1_000_000;  // Buckets kept per group before idle ones are swept early
+    private Duration sweepInterval = Duration.ofSeconds(30);
+    private List<RouteGroup> groups = new ArrayList<>();  // The first group matching a path applies
+    private Unauthenticated unauthenticated = new Unauthenticated();
+
+    /**
+     * Routes sharing one limit; each client gets its own bucket per group.
+     */
+    @Data
+    public static class RouteGroup {
+
+        private String name;
+        private List<String> patterns = new ArrayList<>();  // Ant-style, e.g. /api/users/**
+        private double requestsPerSecond;
+        private int burst = 1;  // Requests a rested client may send at once
+    }
+
+    /**
+     * The limit per remote address on requests that do not end up authenticated, failed
+     * credentials included. It is checked before authentication runs.
+     */
+    @Data
+    public static class Unauthenticated {
+
+        private double requestsPerSecond = 5;
+        private int burst = 50;
+    }
+}
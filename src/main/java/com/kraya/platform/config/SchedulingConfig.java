@@ -0,0 +1,12 @@
+package com.kraya.platform.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables scheduled jobs such as the nightly interest accrual.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
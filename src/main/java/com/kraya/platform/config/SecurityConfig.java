@@ -1,34 +1,74 @@
 package com.kraya.platform.config;
 
+import com.kraya.platform.security.ApiKeyAuthenticationFilter;
+import com.kraya.platform.security.BoundedPasswordEncoder;
+import com.kraya.platform.security.BusyAwareAuthenticationEntryPoint;
+import com.kraya.platform.security.RateLimitFilter;
+import com.kraya.platform.security.TokenAuthenticationFilter;
+import com.kraya.platform.security.UnauthenticatedRateLimitFilter;
+import com.kraya.platform.service.ApiKeyService;
+import com.kraya.platform.service.RoleRegistry;
+import com.kraya.platform.service.TokenService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.config.Customizer;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+import java.time.Duration;
 
 @Configuration
 @EnableWebSecurity
+@EnableConfigurationProperties(RateLimitProperties.class)
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, TokenService tokenService,
+                                                   RoleRegistry roleRegistry, ApiKeyService apiKeyService,
+                                                   RateLimitProperties rateLimits) throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable) // Disable CSRF protection
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)) // Tokens carry the authentication state
                 .authorizeHttpRequests(authorizeRequests ->
                         authorizeRequests
-                                .requestMatchers("/api/users/register", "/api/users/login").permitAll() // Ensure these paths are public
+                                .requestMatchers("/api/users/register", "/api/users/login", "/api/users/token/refresh").permitAll() // Ensure these paths are public
+                                .requestMatchers("/api/users/import").hasRole("ADMIN") // Bulk import is an admin operation
+                                .requestMatchers("/api/accruals/**").hasRole("ADMIN") // Interest accrual runs
+                                .requestMatchers("/api/payment-plans/installments/reconcile").hasRole("ADMIN") // Manual reconciliation runs
+                                .requestMatchers("/api/debt-transfers/**").hasRole("ADMIN") // Portfolio transfers between creditors
+                                .requestMatchers("/api/documents/verification/**").hasRole("ADMIN") // Verification queue stats and manual runs
+                                .requestMatchers("/api/eligibility/**").hasRole("ADMIN") // Screens read every debtor's private attributes
+                                .requestMatchers("/api/creditors/*/api-key").hasRole("ADMIN") // Issuing and revoking creditor API keys
+                                .requestMatchers("/api/metrics").hasRole("ADMIN") // Latency histograms and counters for scraping
+                                .requestMatchers(HttpMethod.PUT, "/api/votes").hasRole("CREDITOR") // Votes are cast as the authenticated creditor
+                                .requestMatchers(HttpMethod.DELETE, "/api/votes").hasRole("CREDITOR")
                                 .anyRequest().authenticated()) // All other requests need authentication
-                .httpBasic(Customizer.withDefaults()); // Basic authentication
+                .addFilterBefore(new TokenAuthenticationFilter(tokenService, roleRegistry), UsernamePasswordAuthenticationFilter.class) // Bearer token authentication
+                .addFilterBefore(new ApiKeyAuthenticationFilter(apiKeyService), UsernamePasswordAuthenticationFilter.class) // Creditor integrations' API keys
+                .httpBasic(basic -> basic.authenticationEntryPoint(new BusyAwareAuthenticationEntryPoint("Realm"))); // Basic authentication, kept for clients that have not moved to tokens yet
+        if (rateLimits.isEnabled()) {
+            http.addFilterBefore(new UnauthenticatedRateLimitFilter(rateLimits), TokenAuthenticationFilter.class); // Per-IP limit on failed and anonymous requests, ahead of any credential check
+            http.addFilterAfter(new RateLimitFilter(rateLimits), BasicAuthenticationFilter.class); // Per-client limits, keyed by the authenticated user
+        }
 
         return http.build();
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(); // Password encoder bean
+    public PasswordEncoder passwordEncoder(@Value("${kraya.security.password-hashing.threads:0}") int threads,
+                                           @Value("${kraya.security.password-hashing.queue-capacity:64}") int queueCapacity,
+                                           @Value("${kraya.security.password-hashing.timeout:10s}") Duration timeout) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        // New hashes run on their own bounded pool so sign-up bursts cannot take every core; matching does not queue behind them
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), poolSize, queueCapacity, timeout); // Password encoder bean
     }
 }
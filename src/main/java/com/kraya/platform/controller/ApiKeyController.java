@@ -0,0 +1,56 @@
+package com.kraya.platform.controller;
+
+import com.kraya.platform.dto.ApiKeyResponse;
+import com.kraya.platform.service.ApiKeyService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * ApiKeyController issues and revokes the API keys of creditors' integrations.
+ */
+@RestController
+@RequestMapping("/api/creditors/{creditorId}/api-key")
+public class ApiKeyController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApiKeyController.class);
+
+    private final ApiKeyService apiKeyService;
+
+    @Autowired
+    public ApiKeyController(ApiKeyService apiKeyService) {
+        this.apiKeyService = apiKeyService;
+    }
+
+    /**
+     * Issues a new API key for a creditor, replacing the previous one.
+     *
+     * @param creditorId the ID of the creditor
+     * @return ResponseEntity with the new key, shown only this once, and CREATED status
+     */
+    @PostMapping
+    public ResponseEntity<ApiKeyResponse> issue(@PathVariable Long creditorId) {
+        logger.info("Received request to issue an API key for creditor {}", creditorId);
+        return ResponseEntity.status(HttpStatus.CREATED).body(apiKeyService.issue(creditorId));
+    }
+
+    /**
+     * Revokes a creditor's API key.
+     *
+     * @param creditorId the ID of the creditor
+     * @return ResponseEntity with No Content status
+     */
+    @DeleteMapping
+    public ResponseEntity<Void> revoke(@PathVariable Long creditorId) {
+        logger.info("Received request to revoke the API key of creditor {}", creditorId);
+        apiKeyService.revoke(creditorId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,262 @@
+package com.kraya.platform.controller;
+
+import com.kraya.platform.dto.DocumentContent;
+import com.kraya.platform.dto.DocumentResponse;
+import com.kraya.platform.dto.DocumentVerificationStatsResponse;
+import com.kraya.platform.exception.InvalidInputException;
+import com.kraya.platform.service.DocumentService;
+import com.kraya.platform.service.DocumentVerificationService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * DocumentController handles document uploads and downloads.
+ *
+ * <p>Uploads are multipart requests whose file part the container spools to disk; the content is
+ * then streamed into content-addressed storage. Downloads support single byte ranges and are
+ * handed to the container's sendfile support when it has one, or copied with
+ * {@link FileChannel#transferTo} otherwise, so file content is never read into the heap.
+ *
+ * <p>Every endpoint that touches a debtor's documents checks first that the caller may see them,
+ * see {@link DocumentService#checkAccess}. Content is always served as an attachment with
+ * {@code nosniff}; the uploader's content type is only echoed when it is on a short allow-list
+ * of types browsers do not execute, anything else is sent as {@code application/octet-stream}.
+ */
+@RestController
+@RequestMapping("/api/documents")
+public class DocumentController {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentController.class);
+
+    // Request attributes Tomcat uses to serve a file with sendfile after the servlet returns
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final Set<String> SERVED_CONTENT_TYPES = Set.of(MediaType.APPLICATION_PDF_VALUE,
+            MediaType.IMAGE_PNG_VALUE, MediaType.IMAGE_JPEG_VALUE);
+
+    private final DocumentService documentService;
+    private final DocumentVerificationService documentVerificationService;
+
+    @Autowired
+    public DocumentController(DocumentService documentService,
+                              DocumentVerificationService documentVerificationService) {
+        this.documentService = documentService;
+        this.documentVerificationService = documentVerificationService;
+    }
+
+    /**
+     * Uploads a document for a debtor.
+     *
+     * @param debtorId     the ID of the debtor
+     * @param documentType the kind of document, e.g. PAY_SLIP or BANK_STATEMENT
+     * @param file         the file part
+     * @param caller       the authenticated caller
+     * @return ResponseEntity with the stored document and CREATED status
+     * @throws IOException if the file cannot be read or stored
+     */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<DocumentResponse> upload(@RequestParam Long debtorId,
+                                                   @RequestParam String documentType,
+                                                   @RequestParam("file") MultipartFile file,
+                                                   Authentication caller) throws IOException {
+        logger.info("Received {} upload for debtor ID: {} ({} bytes)", documentType, debtorId, file.getSize());
+        documentService.checkAccess(debtorId, caller);
+        if (file.isEmpty()) {
+            throw new InvalidInputException("Document is empty");
+        }
+        try (InputStream content = file.getInputStream()) {
+            return ResponseEntity.status(HttpStatus.CREATED).body(documentService.upload(
+                    debtorId, documentType, file.getOriginalFilename(), file.getContentType(), content));
+        }
+    }
+
+    /**
+     * Retrieves a document's metadata.
+     *
+     * @param documentId the ID of the document
+     * @param caller     the authenticated caller
+     * @return ResponseEntity with the document
+     */
+    @GetMapping("/{documentId}")
+    public ResponseEntity<DocumentResponse> getDocument(@PathVariable Long documentId, Authentication caller) {
+        DocumentResponse document = documentService.getDocument(documentId);
+        documentService.checkAccess(document.getDebtorId(), caller);
+        return ResponseEntity.ok(document);
+    }
+
+    /**
+     * Lists the documents uploaded by a debtor.
+     *
+     * @param debtorId the ID of the debtor
+     * @param caller   the authenticated caller
+     * @return ResponseEntity with the documents, oldest first
+     */
+    @GetMapping
+    public ResponseEntity<List<DocumentResponse>> findByDebtor(@RequestParam Long debtorId, Authentication caller) {
+        documentService.checkAccess(debtorId, caller);
+        return ResponseEntity.ok(documentService.findByDebtor(debtorId));
+    }
+
+    /**
+     * Downloads a document's content, or the single byte range given in the Range header.
+     * Multiple ranges are answered with the whole content.
+     *
+     * @param documentId the ID of the document
+     * @param request    the HTTP request
+     * @param response   the HTTP response the content is written to
+     * @param caller     the authenticated caller
+     * @throws IOException if the content cannot be sent
+     */
+    @GetMapping("/{documentId}/content")
+    public void download(@PathVariable Long documentId, HttpServletRequest request,
+                         HttpServletResponse response, Authentication caller) throws IOException {
+        logger.info("Received download request for document ID: {}", documentId);
+        DocumentContent content = documentService.getContent(documentId);
+        DocumentResponse document = content.getDocument();
+        documentService.checkAccess(document.getDebtorId(), caller);
+        long length = document.getContentLength();
+        String etag = "\"" + document.getContentHash() + "\"";
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.ETAG, etag);
+        // A document's content never changes, only who may read it
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, max-age=31536000, immutable");
+        if (etag.equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+
+        long start = 0;
+        long end = length - 1;
+        HttpRange range = singleRange(request, etag);
+        if (range != null) {
+            start = range.getRangeStart(length);
+            end = range.getRangeEnd(length);
+            if (start >= length || start > end) {
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return;
+            }
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+
+        response.setContentType(servedContentType(document.getContentType()));
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        ContentDisposition.Builder disposition = ContentDisposition.attachment();
+        if (document.getFileName() != null) {
+            disposition.filename(document.getFileName(), StandardCharsets.UTF_8);
+        }
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, disposition.build().toString());
+        response.setContentLengthLong(end - start + 1);
+        send(request, response, content.getPath(), start, end - start + 1);
+    }
+
+    /**
+     * Reports the verification queue depth and per-stage latencies.
+     *
+     * @return ResponseEntity with the verification statistics
+     */
+    @GetMapping("/verification/stats")
+    public ResponseEntity<DocumentVerificationStatsResponse> getVerificationStats() {
+        return ResponseEntity.ok(documentVerificationService.getStats());
+    }
+
+    /**
+     * Verifies the next batch of queued documents without waiting for the scheduled poll.
+     *
+     * @return ResponseEntity with the number of documents verified
+     */
+    @PostMapping("/verification/run")
+    public ResponseEntity<Map<String, Integer>> runVerification() {
+        logger.info("Received request to run document verification");
+        return ResponseEntity.ok(Map.of("verifiedDocuments", documentVerificationService.verifyNextBatch()));
+    }
+
+    // The uploader chose the content type; only types browsers render inertly are passed through
+    private static String servedContentType(String contentType) {
+        if (contentType != null) {
+            try {
+                MediaType mediaType = MediaType.parseMediaType(contentType);
+                String type = mediaType.getType() + "/" + mediaType.getSubtype();
+                if (SERVED_CONTENT_TYPES.contains(type)) {
+                    return type;
+                }
+            } catch (IllegalArgumentException e) {
+                // An unparseable type is served like any other unknown one
+            }
+        }
+        return MediaType.APPLICATION_OCTET_STREAM_VALUE;
+    }
+
+    // Returns the requested range, or null when the whole content should be sent
+    private static HttpRange singleRange(HttpServletRequest request, String etag) {
+        String header = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (header == null || (ifRange != null && !ifRange.equals(etag))) {
+            return null;
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(header);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            // A malformed Range header is ignored, as RFC 9110 allows
+            return null;
+        }
+    }
+
+    private static void send(HttpServletRequest request, HttpServletResponse response, Path path,
+                             long start, long count) throws IOException {
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, path.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + count);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, target);
+                if (sent <= 0) {
+                    throw new IOException("Content of " + path.getFileName() + " ended before " + (start + count) + " bytes");
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.kraya.platform.controller;
+
+import com.kraya.platform.dto.DebtorSnapshotResponse;
+import com.kraya.platform.dto.EligibilityRequest;
+import com.kraya.platform.dto.EligibilityResponse;
+import com.kraya.platform.service.EligibilityService;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * EligibilityController handles forgiveness eligibility screens over all debtors. Screens rank
+ * debtors by their income, employment and household, so every endpoint is admin-only.
+ */
+@RestController
+@RequestMapping("/api/eligibility")
+public class EligibilityController {
+
+    private static final Logger logger = LoggerFactory.getLogger(EligibilityController.class);
+
+    private final EligibilityService eligibilityService;
+
+    @Autowired
+    public EligibilityController(EligibilityService eligibilityService) {
+        this.eligibilityService = eligibilityService;
+    }
+
+    /**
+     * Ranks the active debtors by weighted eligibility rules.
+     *
+     * @param request the rules, minimum score and number of debtors to return
+     * @return ResponseEntity with the highest-scoring debtors
+     */
+    @PostMapping("/rank")
+    public ResponseEntity<EligibilityResponse> rank(@Valid @RequestBody EligibilityRequest request) {
+        logger.info("Received eligibility screen with {} rules", request.getRules().size());
+        return ResponseEntity.ok(eligibilityService.rank(request));
+    }
+
+    /**
+     * Reports the debtor snapshot screens run against.
+     *
+     * @return ResponseEntity with the snapshot version, size and last refresh
+     */
+    @GetMapping("/snapshot")
+    public ResponseEntity<DebtorSnapshotResponse> getSnapshot() {
+        return ResponseEntity.ok(eligibilityService.getSnapshot());
+    }
+
+    /**
+     * Refreshes the debtor snapshot without waiting for the scheduled refresh.
+     *
+     * @return ResponseEntity with the outcome of the refresh
+     */
+    @PostMapping("/snapshot/refresh")
+    public ResponseEntity<DebtorSnapshotResponse> refreshSnapshot() {
+        logger.info("Received request to refresh the debtor snapshot");
+        return ResponseEntity.ok(eligibilityService.refreshSnapshot());
+    }
+}
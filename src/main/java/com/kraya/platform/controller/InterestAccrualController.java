@@ -0,0 +1,57 @@
+package com.kraya.platform.controller;
+
+import com.kraya.platform.dto.AccrualRunResponse;
+import com.kraya.platform.service.InterestAccrualService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+/**
+ * InterestAccrualController starts interest accrual runs and reports their progress.
+ */
+@RestController
+@RequestMapping("/api/accruals")
+public class InterestAccrualController {
+
+    private static final Logger logger = LoggerFactory.getLogger(InterestAccrualController.class);
+
+    private final InterestAccrualService interestAccrualService;
+
+    @Autowired
+    public InterestAccrualController(InterestAccrualService interestAccrualService) {
+        this.interestAccrualService = interestAccrualService;
+    }
+
+    /**
+     * Starts, or resumes, the accrual run for a date in the background.
+     *
+     * @param date the accrual date (ISO format)
+     * @return ResponseEntity with the run's progress and ACCEPTED status
+     */
+    @PostMapping("/{date}")
+    public ResponseEntity<AccrualRunResponse> startAccrual(@PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        logger.info("Received request to accrue interest for {}", date);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(interestAccrualService.startAccrual(date));
+    }
+
+    /**
+     * Reports progress and throughput of the accrual run for a date.
+     *
+     * @param date the accrual date (ISO format)
+     * @return ResponseEntity with the run's progress
+     */
+    @GetMapping("/{date}")
+    public ResponseEntity<AccrualRunResponse> getProgress(@PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(interestAccrualService.getProgress(date));
+    }
+}
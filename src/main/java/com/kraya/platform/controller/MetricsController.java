@@ -0,0 +1,40 @@
+package com.kraya.platform.controller;
+
+import com.kraya.platform.metrics.Metrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+/**
+ * MetricsController serves the application's latency histograms and counters for scraping.
+ */
+@RestController
+@RequestMapping("/api/metrics")
+public class MetricsController {
+
+    static final String PROMETHEUS_TEXT = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final Metrics metrics;
+
+    @Autowired
+    public MetricsController(Metrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Renders every metric in the Prometheus text exposition format.
+     *
+     * @return ResponseEntity with the metrics as plain text
+     */
+    @GetMapping(produces = PROMETHEUS_TEXT)
+    public ResponseEntity<String> scrape() throws IOException {
+        StringWriter out = new StringWriter();
+        metrics.writeTo(out);
+        return ResponseEntity.ok(out.toString());
+    }
+}
@@ -0,0 +1,121 @@
+package com.kraya.platform.controller;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.kraya.platform.dto.PaymentPostingResult;
+import com.kraya.platform.dto.PaymentRequest;
+import com.kraya.platform.exception.InvalidInputException;
+import com.kraya.platform.security.DebtAccess;
+import com.kraya.platform.service.PaymentPostingService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * PaymentController handles posting payments against debts. Payments are posted by admins or
+ * by the creditor holding every debt they are posted against, see {@link DebtAccess#checkCreditor}.
+ */
+@RestController
+@RequestMapping("/api/payments")
+public class PaymentController {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentController.class);
+
+    private static final int MAX_BATCH_SIZE = 10_000;
+
+    private final PaymentPostingService paymentPostingService;
+    private final DebtAccess debtAccess;
+    private final ObjectReader paymentReader;
+
+    @Autowired
+    public PaymentController(PaymentPostingService paymentPostingService, DebtAccess debtAccess,
+                             ObjectMapper objectMapper) {
+        this.paymentPostingService = paymentPostingService;
+        this.debtAccess = debtAccess;
+        this.paymentReader = objectMapper.readerFor(PaymentRequest.class);
+    }
+
+    /**
+     * Posts a single payment.
+     *
+     * @param request the payment to post
+     * @param caller  the authenticated caller
+     * @return ResponseEntity with the posting result; CREATED if posted, UNPROCESSABLE_ENTITY if rejected
+     */
+    @PostMapping
+    public ResponseEntity<PaymentPostingResult> postPayment(@Valid @RequestBody PaymentRequest request,
+                                                            Authentication caller) {
+        logger.info("Received payment for debt ID: {}", request.getDebtId());
+        debtAccess.checkCreditor(List.of(request.getDebtId()), caller);
+        PaymentPostingResult result = paymentPostingService.post(request);
+        return ResponseEntity.status(result.isPosted() ? HttpStatus.CREATED : HttpStatus.UNPROCESSABLE_ENTITY)
+                .body(result);
+    }
+
+    /**
+     * Posts a batch of payments; payments against the same debt are applied in the given order.
+     * The body is parsed as a stream and rejected as soon as it holds more than
+     * {@link #MAX_BATCH_SIZE} payments, so an oversized batch is never read whole.
+     *
+     * @param request the HTTP request whose body holds a JSON array of payments
+     * @param caller  the authenticated caller
+     * @return ResponseEntity with one posting result per payment, in request order
+     * @throws IOException if the request body cannot be read
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<PaymentPostingResult>> postPayments(HttpServletRequest request, Authentication caller)
+            throws IOException {
+        List<PaymentRequest> requests = readBatch(request);
+        if (requests == null) {
+            logger.info("Rejected batch of more than {} payments", MAX_BATCH_SIZE);
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+        logger.info("Received batch of {} payments", requests.size());
+        debtAccess.checkCreditor(requests.stream()
+                .map(payment -> payment == null ? null : payment.getDebtId())
+                .toList(), caller);
+        return ResponseEntity.ok(paymentPostingService.postAll(requests));
+    }
+
+    /**
+     * @return the payments of the batch, or null if it holds more than {@link #MAX_BATCH_SIZE}
+     */
+    private List<PaymentRequest> readBatch(HttpServletRequest request) throws IOException {
+        try (InputStream body = request.getInputStream(); JsonParser parser = paymentReader.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new InvalidInputException("A payment batch must be a JSON array");
+            }
+            List<PaymentRequest> requests = new ArrayList<>();
+            for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+                if (token == null) {
+                    throw new InvalidInputException("Payment batch ends before its closing bracket");
+                }
+                if (requests.size() == MAX_BATCH_SIZE) {
+                    return null;
+                }
+                requests.add(token == JsonToken.VALUE_NULL ? null : paymentReader.readValue(parser));
+            }
+            return requests;
+        } catch (JsonProcessingException e) {
+            throw new InvalidInputException("Malformed payment batch: " + e.getOriginalMessage());
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.kraya.platform.controller;
+
+import com.kraya.platform.dto.InstallmentResponse;
+import com.kraya.platform.dto.PaymentPlanRequest;
+import com.kraya.platform.dto.PaymentPlanResponse;
+import com.kraya.platform.security.DebtAccess;
+import com.kraya.platform.service.InstallmentService;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * PaymentPlanController handles payment plans and their installment schedules. Plans are created
+ * by admins or the debt's creditor; its debtor may read them too, see {@link DebtAccess}.
+ */
+@RestController
+@RequestMapping("/api/payment-plans")
+public class PaymentPlanController {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentPlanController.class);
+
+    private final InstallmentService installmentService;
+    private final DebtAccess debtAccess;
+
+    @Autowired
+    public PaymentPlanController(InstallmentService installmentService, DebtAccess debtAccess) {
+        this.installmentService = installmentService;
+        this.debtAccess = debtAccess;
+    }
+
+    /**
+     * Creates a payment plan for a debt along with its installment schedule.
+     *
+     * @param request the plan to create
+     * @param caller  the authenticated caller
+     * @return ResponseEntity with the created plan and CREATED status
+     */
+    @PostMapping
+    public ResponseEntity<PaymentPlanResponse> createPlan(@Valid @RequestBody PaymentPlanRequest request,
+                                                          Authentication caller) {
+        logger.info("Received payment plan request for debt ID: {}", request.getDebtId());
+        debtAccess.checkCreditor(List.of(request.getDebtId()), caller);
+        return ResponseEntity.status(HttpStatus.CREATED).body(installmentService.createPlan(request));
+    }
+
+    /**
+     * Retrieves a payment plan with its current schedule.
+     *
+     * @param planId the ID of the plan
+     * @param caller the authenticated caller
+     * @return ResponseEntity with the plan and its installments
+     */
+    @GetMapping("/{planId}")
+    public ResponseEntity<PaymentPlanResponse> getPlan(@PathVariable Long planId, Authentication caller) {
+        PaymentPlanResponse plan = installmentService.getPlan(planId);
+        debtAccess.checkParty(plan.getDebtId(), caller);
+        return ResponseEntity.ok(plan);
+    }
+
+    /**
+     * Lists open installments due in a date range: across all plans for admins, otherwise on the
+     * debts the caller owes or, as a creditor, holds.
+     *
+     * @param from   the first due date (ISO format), inclusive
+     * @param to     the last due date (ISO format), inclusive
+     * @param limit  the maximum number of installments, at most 1000
+     * @param caller the authenticated caller
+     * @return ResponseEntity with the open installments ordered by due date
+     */
+    @GetMapping("/installments/due")
+    public ResponseEntity<List<InstallmentResponse>> findDue(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                             @RequestParam(defaultValue = "100") int limit,
+                                                             Authentication caller) {
+        if (debtAccess.isAdmin(caller)) {
+            return ResponseEntity.ok(installmentService.findDue(from, to, limit));
+        }
+        Long callerId = debtAccess.callerId(caller);
+        if (callerId == null) {
+            throw new AccessDeniedException("Installments are only listed for known users");
+        }
+        Long creditorId = debtAccess.isCreditor(caller) ? callerId : null;
+        return ResponseEntity.ok(installmentService.findDueFor(callerId, creditorId, from, to, limit));
+    }
+
+    /**
+     * Applies newly posted payments to installments without waiting for the scheduled run.
+     *
+     * @return ResponseEntity with the number of payments reconciled
+     */
+    @PostMapping("/installments/reconcile")
+    public ResponseEntity<Map<String, Integer>> reconcile() {
+        logger.info("Received request to reconcile installments");
+        return ResponseEntity.ok(Map.of("reconciledPayments", installmentService.reconcile()));
+    }
+}
@@ -0,0 +1,70 @@
+package com.kraya.platform.controller;
+
+import com.kraya.platform.dto.PortfolioTransferRequest;
+import com.kraya.platform.dto.PortfolioTransferResponse;
+import com.kraya.platform.service.PortfolioTransferService;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * PortfolioTransferController starts portfolio transfers between creditors and reports their progress.
+ */
+@RestController
+@RequestMapping("/api/debt-transfers/portfolio")
+public class PortfolioTransferController {
+
+    private static final Logger logger = LoggerFactory.getLogger(PortfolioTransferController.class);
+
+    private final PortfolioTransferService portfolioTransferService;
+
+    @Autowired
+    public PortfolioTransferController(PortfolioTransferService portfolioTransferService) {
+        this.portfolioTransferService = portfolioTransferService;
+    }
+
+    /**
+     * Starts transferring all open debts of one creditor to another in the background.
+     *
+     * @param request the selling and buying creditors
+     * @return ResponseEntity with the transfer's progress and ACCEPTED status
+     */
+    @PostMapping
+    public ResponseEntity<PortfolioTransferResponse> startTransfer(@Valid @RequestBody PortfolioTransferRequest request) {
+        logger.info("Received request to transfer the portfolio of creditor {} to creditor {}",
+                request.getFromCreditorId(), request.getToCreditorId());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(portfolioTransferService.startTransfer(request));
+    }
+
+    /**
+     * Reports progress and throughput of a transfer.
+     *
+     * @param transferId the ID of the transfer
+     * @return ResponseEntity with the transfer's progress
+     */
+    @GetMapping("/{transferId}")
+    public ResponseEntity<PortfolioTransferResponse> getTransfer(@PathVariable Long transferId) {
+        return ResponseEntity.ok(portfolioTransferService.getTransfer(transferId));
+    }
+
+    /**
+     * Resumes a transfer that was interrupted while running or rolling back.
+     *
+     * @param transferId the ID of the transfer
+     * @return ResponseEntity with the transfer's progress and ACCEPTED status
+     */
+    @PostMapping("/{transferId}/resume")
+    public ResponseEntity<PortfolioTransferResponse> resumeTransfer(@PathVariable Long transferId) {
+        logger.info("Received request to resume portfolio transfer {}", transferId);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(portfolioTransferService.resumeTransfer(transferId));
+    }
+}
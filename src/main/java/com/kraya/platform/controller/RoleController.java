@@ -1,12 +1,15 @@
 package com.kraya.platform.controller;
 
+import com.kraya.platform.dto.ResourceVersion;
 import com.kraya.platform.dto.RoleRequest;
 import com.kraya.platform.dto.RoleResponse;
+import com.kraya.platform.metrics.SqlBudget;
 import com.kraya.platform.model.Role;
 import com.kraya.platform.service.RoleService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import jakarta.validation.Valid;
 import java.util.List;
@@ -25,8 +28,17 @@ public class RoleController {
         this.roleService = roleService;
     }
 
+    /**
+     * Lists all roles. Roles share one ETag and Last-Modified, those of the role set, so a
+     * client revalidating an unchanged set gets Not Modified without the list being built.
+     */
     @GetMapping
-    public ResponseEntity<List<RoleResponse>> getAllRoles() {
+    @SqlBudget(maxQueries = 0)  // Served from the role registry
+    public ResponseEntity<List<RoleResponse>> getAllRoles(WebRequest request) {
+        ResourceVersion version = roleService.findVersion();
+        if (request.checkNotModified(version.getEtag(), version.getLastModified())) {
+            return null;
+        }
         List<RoleResponse> roles = roleService.findAll().stream()
                 .map(role -> {
                     RoleResponse response = new RoleResponse();
@@ -35,16 +47,21 @@ public class RoleController {
                     return response;
                 })
                 .toList();
-        return ResponseEntity.ok(roles);
+        return ResponseEntity.ok().eTag(version.getEtag()).lastModified(version.getLastModified()).body(roles);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<RoleResponse> getRoleById(@PathVariable Long id) {
+    @SqlBudget(maxQueries = 0)
+    public ResponseEntity<RoleResponse> getRoleById(@PathVariable Long id, WebRequest request) {
+        ResourceVersion version = roleService.findVersion();
+        if (request.checkNotModified(version.getEtag(), version.getLastModified())) {
+            return null;
+        }
         Role role = roleService.findById(id);
         RoleResponse response = new RoleResponse();
         response.setId(role.getId());
         response.setName(role.getName());
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(version.getEtag()).lastModified(version.getLastModified()).body(response);
     }
 
     @PostMapping
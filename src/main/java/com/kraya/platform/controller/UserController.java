@@ -1,23 +1,44 @@
 package com.kraya.platform.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.kraya.platform.dto.LoginRequest;
+import com.kraya.platform.dto.RefreshTokenRequest;
+import com.kraya.platform.dto.ResourceVersion;
+import com.kraya.platform.dto.TokenResponse;
+import com.kraya.platform.dto.UserPageResponse;
 import com.kraya.platform.dto.UserRegistrationRequest;
 import com.kraya.platform.dto.UserRegistrationResponse;
+import com.kraya.platform.dto.UserResponseDto;
+import com.kraya.platform.dto.UserSearchResult;
 import com.kraya.platform.dto.UserUpdateRequest;
+import com.kraya.platform.exception.InvalidCredentialsException;
 import com.kraya.platform.exception.InvalidRoleException;
+import com.kraya.platform.exception.InvalidTokenException;
+import com.kraya.platform.exception.ServiceBusyException;
 import com.kraya.platform.exception.UserNotFoundException;
+import com.kraya.platform.metrics.SqlBudget;
 import com.kraya.platform.model.User;
 import com.kraya.platform.service.UserService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -30,11 +51,20 @@ public class UserController {
 
     private static final Logger logger = LoggerFactory.getLogger(UserController.class);
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+    private static final int MAX_SEARCH_LIMIT = 100;
+    private static final String NDJSON = "application/x-ndjson";
+
     private final UserService userService;
+    private final ObjectWriter ndjsonWriter;
 
     @Autowired
-    public UserController(UserService userService) {
+    public UserController(UserService userService, ObjectMapper objectMapper) {
         this.userService = userService;
+        this.ndjsonWriter = objectMapper.writerFor(UserResponseDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
     /**
@@ -44,6 +74,7 @@ public class UserController {
      * @return ResponseEntity with user registration response and created status
      */
     @PostMapping("/register")
+    @SqlBudget(maxQueries = 3)  // users and app_user inserts, plus a sequence fetch every 50 users
     public ResponseEntity<UserRegistrationResponse> registerUser(@Valid @RequestBody UserRegistrationRequest request) {
         logger.info("Received registration request for username: {}", request.getUsername());
 
@@ -57,19 +88,132 @@ public class UserController {
     }
 
     /**
-     * Retrieves a user by ID.
+     * Authenticates a user and issues a signed access/refresh token pair.
+     *
+     * @param request the login request containing username and password
+     * @return ResponseEntity with the issued tokens and OK status
+     */
+    @PostMapping("/login")
+    @SqlBudget(maxQueries = 2)
+    public ResponseEntity<TokenResponse> login(@Valid @RequestBody LoginRequest request) {
+        logger.info("Received login request for username: {}", request.getUsername());
+        return ResponseEntity.ok(userService.login(request));
+    }
+
+    /**
+     * Exchanges a refresh token for a new token pair.
+     *
+     * @param request the request containing the refresh token
+     * @return ResponseEntity with the newly issued tokens and OK status
+     */
+    @PostMapping("/token/refresh")
+    public ResponseEntity<TokenResponse> refreshToken(@Valid @RequestBody RefreshTokenRequest request) {
+        logger.info("Received token refresh request");
+        return ResponseEntity.ok(userService.refreshToken(request.getRefreshToken()));
+    }
+
+    /**
+     * Revokes the caller's access token and, optionally, its refresh token.
+     *
+     * @param authorization the Authorization header carrying the bearer access token
+     * @param request       optional body containing the refresh token to revoke
+     * @return ResponseEntity with No Content status
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization,
+                                       @RequestBody(required = false) RefreshTokenRequest request) {
+        logger.info("Received logout request");
+        if (!authorization.startsWith("Bearer ")) {
+            throw new InvalidTokenException("Bearer token is required");
+        }
+        userService.logout(authorization.substring("Bearer ".length()),
+                request != null ? request.getRefreshToken() : null);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Lists users one page at a time using keyset pagination on the user ID.
+     *
+     * @param after the {@code nextCursor} returned by the previous page, omitted for the first page
+     * @param limit the maximum number of users to return (capped at 500)
+     * @return ResponseEntity containing the page of users and the next cursor
+     */
+    @GetMapping
+    @SqlBudget(maxQueries = 2)  // The page, then the roles of the whole page in one batch
+    public ResponseEntity<UserPageResponse> listUsers(@RequestParam(required = false) Long after,
+                                                      @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        logger.info("Listing users after ID: {}, limit: {}", after, limit);
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        return ResponseEntity.ok(userService.findPage(after, pageSize));
+    }
+
+    /**
+     * Streams all users as newline-delimited JSON, one user per line, read from a database cursor.
+     *
+     * @return ResponseEntity with a streaming NDJSON body
+     */
+    @GetMapping(value = "/stream", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamUsers() {
+        logger.info("Streaming all users");
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = ndjsonWriter.createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null); // Lines are separated explicitly below
+                userService.streamAll(user -> {
+                    try {
+                        ndjsonWriter.writeValue(generator, user);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().header("Content-Type", NDJSON).body(body);
+    }
+
+    /**
+     * Searches users by partial or misspelt username, email, first or last name.
      *
-     * @param userId the ID of the user to retrieve
+     * @param q     the words to look for; every word must match
+     * @param limit the maximum number of users to return (capped at 100)
+     * @return ResponseEntity containing the matching users, best first
+     */
+    @GetMapping("/search")
+    @SqlBudget(maxQueries = 0)  // Served from the in-memory index
+    public ResponseEntity<List<UserSearchResult>> searchUsers(@RequestParam String q,
+                                                              @RequestParam(defaultValue = "" + DEFAULT_SEARCH_LIMIT) int limit) {
+        logger.info("Searching users for: {}", q);
+        return ResponseEntity.ok(userService.search(q, Math.min(Math.max(limit, 1), MAX_SEARCH_LIMIT)));
+    }
+
+    /**
+     * Retrieves a user by ID. The response carries an ETag and Last-Modified; a request whose
+     * If-None-Match or If-Modified-Since still matches is answered with Not Modified after
+     * reading only the user's modification time, without loading or serializing the user.
+     *
+     * @param userId  the ID of the user to retrieve
+     * @param request the web request, for its conditional headers
      * @return ResponseEntity containing the user data if found, otherwise Not Found status
      */
     @GetMapping("/{userId}")
-    public ResponseEntity<User> getUserById(@PathVariable Long userId) {
+    @SqlBudget(maxQueries = 2)  // One to load the user; a revalidation reads updatedAt first
+    public ResponseEntity<User> getUserById(@PathVariable Long userId, WebRequest request) {
         logger.info("Fetching user with ID: {}", userId);
+        if (isConditional(request)) {
+            ResourceVersion current = userService.findVersion(userId);
+            if (current != null && request.checkNotModified(current.getEtag(), current.getLastModified())) {
+                return null;  // Not Modified, with the validators, has been set on the response
+            }
+        }
         User user = userService.findById(userId);
         if (user == null) {
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok(user);
+        ResourceVersion version = userService.versionOf(user);
+        if (version == null) {
+            return ResponseEntity.ok(user);
+        }
+        return ResponseEntity.ok().eTag(version.getEtag()).lastModified(version.getLastModified()).body(user);
     }
 
     /**
@@ -114,6 +258,11 @@ public class UserController {
         }
     }
 
+    private static boolean isConditional(WebRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
     /**
      * Handles UserNotFoundException and returns a meaningful response.
      *
@@ -138,6 +287,44 @@ public class UserController {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
     }
 
+    /**
+     * Handles InvalidCredentialsException and returns a meaningful response.
+     *
+     * @param ex the exception that was thrown
+     * @return ResponseEntity with error message and HTTP status UNAUTHORIZED
+     */
+    @ExceptionHandler(InvalidCredentialsException.class)
+    public ResponseEntity<String> handleInvalidCredentials(InvalidCredentialsException ex) {
+        logger.warn("Login failed: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(ex.getMessage());
+    }
+
+    /**
+     * Handles InvalidTokenException and returns a meaningful response.
+     *
+     * @param ex the exception that was thrown
+     * @return ResponseEntity with error message and HTTP status UNAUTHORIZED
+     */
+    @ExceptionHandler(InvalidTokenException.class)
+    public ResponseEntity<String> handleInvalidToken(InvalidTokenException ex) {
+        logger.warn("Invalid token: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(ex.getMessage());
+    }
+
+    /**
+     * Handles ServiceBusyException and asks the client to retry later.
+     *
+     * @param ex the exception that was thrown
+     * @return ResponseEntity with error message, a Retry-After header and HTTP status SERVICE_UNAVAILABLE
+     */
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<String> handleServiceBusy(ServiceBusyException ex) {
+        logger.warn("Service busy: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ex.getMessage());
+    }
+
     /**
      * Handles MethodArgumentNotValidException and returns validation errors.
      *
@@ -0,0 +1,49 @@
+package com.kraya.platform.controller;
+
+import com.kraya.platform.dto.UserImportResponse;
+import com.kraya.platform.service.UserImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * UserImportController accepts bulk user imports as newline-delimited JSON,
+ * one {@link com.kraya.platform.dto.UserImportRow} per line. The body is read
+ * as a stream, so files of any size are imported without buffering them whole.
+ */
+@RestController
+@RequestMapping("/api/users/import")
+public class UserImportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserImportController.class);
+
+    private final UserImportService userImportService;
+
+    @Autowired
+    public UserImportController(UserImportService userImportService) {
+        this.userImportService = userImportService;
+    }
+
+    /**
+     * Imports users from an NDJSON request body.
+     *
+     * @param request the HTTP request whose body holds one user per line
+     * @return ResponseEntity with per-row results and import throughput
+     * @throws IOException if the request body cannot be read
+     */
+    @PostMapping(consumes = {"application/x-ndjson", "text/plain"})
+    public ResponseEntity<UserImportResponse> importUsers(HttpServletRequest request) throws IOException {
+        logger.info("Received bulk user import request");
+        try (InputStream body = request.getInputStream()) {
+            return ResponseEntity.ok(userImportService.importUsers(body));
+        }
+    }
+}
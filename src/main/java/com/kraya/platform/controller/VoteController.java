@@ -0,0 +1,91 @@
+package com.kraya.platform.controller;
+
+import com.kraya.platform.dto.VoteRequest;
+import com.kraya.platform.dto.VoteTallyResponse;
+import com.kraya.platform.exception.InvalidTokenException;
+import com.kraya.platform.security.TokenClaims;
+import com.kraya.platform.service.VoteService;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * VoteController handles creditors' votes on debt forgiveness and the resulting tallies.
+ * Votes are always cast as the authenticated creditor, identified by the user ID in its
+ * bearer token or API key claims.
+ */
+@RestController
+@RequestMapping("/api/votes")
+public class VoteController {
+
+    private static final Logger logger = LoggerFactory.getLogger(VoteController.class);
+
+    private static final String CREDITOR_ROLE = "CREDITOR";
+
+    private final VoteService voteService;
+
+    @Autowired
+    public VoteController(VoteService voteService) {
+        this.voteService = voteService;
+    }
+
+    /**
+     * Casts or changes the authenticated creditor's vote on a debtor.
+     *
+     * @param request        the vote
+     * @param authentication the authenticated creditor
+     * @return ResponseEntity with the debtor's updated tally
+     */
+    @PutMapping
+    public ResponseEntity<VoteTallyResponse> castVote(@Valid @RequestBody VoteRequest request,
+                                                      Authentication authentication) {
+        Long creditorId = creditorIdOf(authentication);
+        logger.info("Received vote of creditor {} on debtor {}", creditorId, request.getDebtorId());
+        return ResponseEntity.ok(voteService.castVote(creditorId, request));
+    }
+
+    /**
+     * Withdraws the authenticated creditor's vote on a debtor.
+     *
+     * @param debtorId       the ID of the debtor
+     * @param authentication the authenticated creditor
+     * @return ResponseEntity with the debtor's updated tally
+     */
+    @DeleteMapping
+    public ResponseEntity<VoteTallyResponse> withdrawVote(@RequestParam Long debtorId, Authentication authentication) {
+        Long creditorId = creditorIdOf(authentication);
+        logger.info("Received withdrawal of creditor {}'s vote on debtor {}", creditorId, debtorId);
+        return ResponseEntity.ok(voteService.withdrawVote(debtorId, creditorId));
+    }
+
+    /**
+     * Retrieves a debtor's vote tally.
+     *
+     * @param debtorId the ID of the debtor
+     * @return ResponseEntity with the debtor's yes and no votes
+     */
+    @GetMapping("/tally/{debtorId}")
+    public ResponseEntity<VoteTallyResponse> getTally(@PathVariable Long debtorId) {
+        return ResponseEntity.ok(voteService.getTally(debtorId));
+    }
+
+    // Basic authentication carries no user ID, so only token and API key callers can vote
+    private static Long creditorIdOf(Authentication authentication) {
+        if (authentication != null && authentication.getCredentials() instanceof TokenClaims claims
+                && claims.getUserId() != null && claims.getRoles() != null && claims.getRoles().contains(CREDITOR_ROLE)) {
+            return claims.getUserId();
+        }
+        throw new InvalidTokenException("Voting requires a creditor's bearer token or API key");
+    }
+}
@@ -0,0 +1,26 @@
+package com.kraya.platform.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * AccrualRunResponse reports the progress and throughput of an interest accrual run.
+ */
+@Data
+public class AccrualRunResponse {
+
+    private LocalDate accrualDate;
+    private String status;  // NOT_STARTED, RUNNING or COMPLETED
+    private int totalChunks;
+    private long completedChunks;
+    private long debtsAccrued;
+    private BigDecimal interestTotal;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+    private long elapsedMillis;
+    private double debtsPerSecond;
+    private double percentComplete;
+}
@@ -0,0 +1,20 @@
+package com.kraya.platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * ApiKeyResponse carries a newly issued API key. The key is shown this once; only its hash is stored.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApiKeyResponse {
+
+    private Long creditorId;
+    private String apiKey;  // Send as the X-API-Key header
+    private LocalDateTime issuedAt;
+}
@@ -0,0 +1,20 @@
+package com.kraya.platform.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * DebtorSnapshotResponse describes the in-memory debtor snapshot and its last refresh.
+ */
+@Data
+public class DebtorSnapshotResponse {
+
+    private long version;
+    private int debtors;
+    private LocalDateTime refreshedAt;
+    private boolean fullRebuild;    // Whether the last refresh reloaded every debtor
+    private int changedDebtors;     // Debtor rows re-read by the last refresh
+    private int changedTotals;      // Debt totals recomputed by the last refresh
+    private long refreshMillis;
+}
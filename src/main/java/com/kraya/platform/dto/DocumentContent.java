@@ -0,0 +1,17 @@
+package com.kraya.platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.nio.file.Path;
+
+/**
+ * DocumentContent pairs a document with the stored file holding its content, for serving downloads.
+ */
+@Data
+@AllArgsConstructor
+public class DocumentContent {
+
+    private DocumentResponse document;
+    private Path path;
+}
@@ -0,0 +1,22 @@
+package com.kraya.platform.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * DocumentResponse describes an uploaded document without its content.
+ */
+@Data
+public class DocumentResponse {
+
+    private Long documentId;
+    private Long debtorId;
+    private String documentType;
+    private String fileName;
+    private String contentType;
+    private String contentHash;  // SHA-256 of the content, also used as the download ETag
+    private long contentLength;
+    private LocalDateTime uploadDate;
+    private String verificationStatus;
+}
@@ -0,0 +1,32 @@
+package com.kraya.platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * DocumentVerificationStatsResponse reports the verification queue and how long each stage takes.
+ */
+@Data
+public class DocumentVerificationStatsResponse {
+
+    private long queueDepth;  // Documents waiting to be claimed
+    private int inFlight;     // Documents being verified by this node
+    private Map<String, Long> documentsByStatus;
+    private Map<String, StageLatency> stages;  // queue wait, size, sniff, hash, checker and total
+
+    /**
+     * Latency of one verification stage since the node started.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StageLatency {
+
+        private long count;
+        private double meanMillis;
+        private double maxMillis;
+    }
+}
@@ -0,0 +1,25 @@
+package com.kraya.platform.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * EligibilityRequest ranks debtors by the summed weights of the rules they match.
+ */
+@Data
+public class EligibilityRequest {
+
+    @NotEmpty(message = "At least one rule is required")
+    private List<@Valid EligibilityRule> rules;
+
+    private double minScore;  // Debtors scoring below this are not ranked
+
+    @Min(value = 1, message = "Limit must be at least 1")
+    @Max(value = 10000, message = "Limit must be at most 10000")
+    private int limit = 100;
+}
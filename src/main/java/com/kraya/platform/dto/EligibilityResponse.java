@@ -0,0 +1,37 @@
+package com.kraya.platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * EligibilityResponse lists the highest-scoring debtors of an eligibility screen.
+ */
+@Data
+public class EligibilityResponse {
+
+    private long snapshotVersion;
+    private LocalDateTime snapshotRefreshedAt;
+    private int debtorsScanned;
+    private long debtorsMatched;  // Active debtors meeting every required rule and the minimum score
+    private double elapsedMillis;
+    private List<RankedDebtor> ranked;  // Best first: score, then outstanding amount, then debtor ID
+
+    /**
+     * A debtor's place in the ranking.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RankedDebtor {
+
+        private Long debtorId;
+        private double score;
+        private BigDecimal outstandingAmount;
+        private int openDebts;
+    }
+}
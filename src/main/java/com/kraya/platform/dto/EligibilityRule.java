@@ -0,0 +1,44 @@
+package com.kraya.platform.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * EligibilityRule is one weighted criterion of a forgiveness eligibility screen.
+ * <p>
+ * Text attributes match when the debtor's value is one of {@code values} (case-insensitive);
+ * numeric attributes match when the value lies within {@code min} and {@code max}, either of
+ * which may be left open; PROFILE_VERIFIED matches verified profiles. A matching rule adds its
+ * weight to the debtor's score; a required rule that does not match excludes the debtor.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EligibilityRule {
+
+    public enum Attribute {
+        INCOME_LEVEL,
+        EMPLOYMENT_STATUS,
+        MARITAL_STATUS,
+        HOUSING_STATUS,
+        DEPENDENTS,
+        AGE,                 // In whole years
+        OUTSTANDING_AMOUNT,  // Total current amount of open debts
+        OPEN_DEBTS,
+        PROFILE_VERIFIED
+    }
+
+    @NotNull(message = "Attribute is mandatory")
+    private Attribute attribute;
+
+    private List<String> values;  // For text attributes
+    private BigDecimal min;       // For numeric attributes, inclusive
+    private BigDecimal max;       // For numeric attributes, inclusive
+    private double weight = 1.0;
+    private boolean required;
+}
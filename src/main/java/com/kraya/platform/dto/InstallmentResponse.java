@@ -0,0 +1,23 @@
+package com.kraya.platform.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * InstallmentResponse represents one installment of a payment plan's schedule.
+ */
+@Data
+public class InstallmentResponse {
+
+    private Long installmentId;
+    private Long planId;
+    private Long debtId;
+    private int sequenceNumber;
+    private LocalDate dueDate;
+    private BigDecimal amountDue;
+    private BigDecimal amountPaid;
+    private String status;
+    private LocalDate paidDate;
+}
@@ -0,0 +1,17 @@
+package com.kraya.platform.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+/**
+ * LoginRequest contains the credentials exchanged for an access token.
+ */
+@Data
+public class LoginRequest {
+
+    @NotBlank(message = "Username is mandatory")
+    private String username;
+
+    @NotBlank(message = "Password is mandatory")
+    private String password;
+}
@@ -0,0 +1,31 @@
+package com.kraya.platform.dto;
+
+import com.kraya.platform.model.PaymentPlan;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * PaymentPlanRequest describes a payment plan to create for a debt.
+ */
+@Data
+public class PaymentPlanRequest {
+
+    @NotNull(message = "Debt ID is mandatory")
+    private Long debtId;
+
+    @NotNull(message = "Plan type is mandatory")
+    private PaymentPlan.PlanType planType;
+
+    @NotNull(message = "Installment amount is mandatory")
+    @DecimalMin(value = "0.01", message = "Installment amount must be positive")
+    private BigDecimal installmentAmount;
+
+    @NotNull(message = "Start date is mandatory")
+    private LocalDate startDate;
+
+    private LocalDate endDate;  // Optional; the remaining balance falls due on the last date on or before it
+}
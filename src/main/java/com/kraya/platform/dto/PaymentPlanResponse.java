@@ -0,0 +1,24 @@
+package com.kraya.platform.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * PaymentPlanResponse represents a payment plan together with its installment schedule.
+ */
+@Data
+public class PaymentPlanResponse {
+
+    private Long planId;
+    private Long debtId;
+    private String planType;
+    private BigDecimal installmentAmount;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private String status;
+    private BigDecimal creditAmount;  // Paid beyond the schedule, still counted against the debt's balance
+    private List<InstallmentResponse> installments;
+}
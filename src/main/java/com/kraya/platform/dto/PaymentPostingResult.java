@@ -0,0 +1,46 @@
+package com.kraya.platform.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * PaymentPostingResult reports the outcome of posting a single payment.
+ */
+@Data
+public class PaymentPostingResult {
+
+    public static final String POSTED = "POSTED";
+    public static final String REJECTED = "REJECTED";
+
+    private Long debtId;
+    private Long paymentId;  // Set when the payment was posted
+    private String status;  // POSTED or REJECTED
+    private String message;
+    private BigDecimal remainingAmount;  // Debt balance after this payment
+    private String debtStatus;
+
+    public PaymentPostingResult() {}
+
+    public static PaymentPostingResult posted(Long debtId, Long paymentId, BigDecimal remainingAmount, String debtStatus) {
+        PaymentPostingResult result = new PaymentPostingResult();
+        result.setDebtId(debtId);
+        result.setPaymentId(paymentId);
+        result.setStatus(POSTED);
+        result.setRemainingAmount(remainingAmount);
+        result.setDebtStatus(debtStatus);
+        return result;
+    }
+
+    public static PaymentPostingResult rejected(Long debtId, String message) {
+        PaymentPostingResult result = new PaymentPostingResult();
+        result.setDebtId(debtId);
+        result.setStatus(REJECTED);
+        result.setMessage(message);
+        return result;
+    }
+
+    public boolean isPosted() {
+        return POSTED.equals(status);
+    }
+}
@@ -0,0 +1,38 @@
+package com.kraya.platform.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * PaymentRequest describes a payment to post against a debt.
+ */
+@Data
+public class PaymentRequest {
+
+    @NotNull(message = "Debt ID is mandatory")
+    private Long debtId;
+
+    @NotNull(message = "Amount is mandatory")
+    @DecimalMin(value = "0.01", message = "Amount must be positive")
+    @Digits(integer = 8, fraction = 2, message = "Amount must have at most 2 decimal places")
+    private BigDecimal amount;
+
+    @NotBlank(message = "Payment method is mandatory")
+    private String paymentMethod;
+
+    private LocalDateTime transactionDate;  // Defaults to the posting time
+
+    public PaymentRequest() {}
+
+    public PaymentRequest(Long debtId, BigDecimal amount, String paymentMethod) {
+        this.debtId = debtId;
+        this.amount = amount;
+        this.paymentMethod = paymentMethod;
+    }
+}
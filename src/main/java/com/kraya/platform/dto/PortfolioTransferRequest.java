@@ -0,0 +1,21 @@
+package com.kraya.platform.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * PortfolioTransferRequest asks for all open debts of one creditor to be moved to another.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PortfolioTransferRequest {
+
+    @NotNull(message = "Selling creditor ID is mandatory")
+    private Long fromCreditorId;
+
+    @NotNull(message = "Buying creditor ID is mandatory")
+    private Long toCreditorId;
+}
@@ -0,0 +1,28 @@
+package com.kraya.platform.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * PortfolioTransferResponse reports the progress and throughput of a portfolio transfer.
+ */
+@Data
+public class PortfolioTransferResponse {
+
+    private Long portfolioTransferId;
+    private Long fromCreditorId;
+    private Long toCreditorId;
+    private String status;  // RUNNING, COMPLETED, ROLLING_BACK, ROLLED_BACK or PARTIALLY_REVERSED
+    private long totalDebts;
+    private long transferredDebts;
+    private BigDecimal amountTransferred;
+    private int chunksCommitted;
+    private String message;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+    private long elapsedMillis;
+    private double debtsPerSecond;
+    private double percentComplete;
+}
@@ -0,0 +1,14 @@
+package com.kraya.platform.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+/**
+ * RefreshTokenRequest carries a refresh token to be exchanged (or revoked on logout).
+ */
+@Data
+public class RefreshTokenRequest {
+
+    @NotBlank(message = "Refresh token is mandatory")
+    private String refreshToken;
+}
@@ -0,0 +1,16 @@
+package com.kraya.platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * ResourceVersion identifies one version of a resource's representation for conditional GETs:
+ * its entity tag, unquoted, and its last modification time in epoch milliseconds.
+ */
+@Data
+@AllArgsConstructor
+public class ResourceVersion {
+
+    private String etag;
+    private long lastModified;
+}
@@ -0,0 +1,23 @@
+package com.kraya.platform.dto;
+
+import lombok.Data;
+
+/**
+ * TokenResponse contains the signed tokens returned after a successful login or refresh.
+ */
+@Data
+public class TokenResponse {
+
+    private String accessToken;
+    private String refreshToken;
+    private String tokenType = "Bearer";
+    private long expiresIn;  // Access token lifetime in seconds
+
+    public TokenResponse() {}
+
+    public TokenResponse(String accessToken, String refreshToken, long expiresIn) {
+        this.accessToken = accessToken;
+        this.refreshToken = refreshToken;
+        this.expiresIn = expiresIn;
+    }
+}
@@ -0,0 +1,19 @@
+package com.kraya.platform.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * UserImportResponse summarizes a bulk user import, including per-row results and throughput.
+ */
+@Data
+public class UserImportResponse {
+
+    private int totalRows;
+    private int createdRows;
+    private int failedRows;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+    private List<UserImportRowResult> results;
+}
@@ -0,0 +1,37 @@
+package com.kraya.platform.dto;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+/**
+ * UserImportRow is one line of a bulk user import file (newline-delimited JSON).
+ * Either a plain {@code password} or an already BCrypt-hashed {@code passwordHash} must be given.
+ */
+@Data
+public class UserImportRow {
+
+    @NotBlank(message = "Username is mandatory")
+    @Size(min = 3, max = 50, message = "Username must be between 3 and 50 characters")
+    private String username;
+
+    @Size(min = 6, message = "Password must be at least 6 characters long")
+    private String password;  // Hashed during the import
+
+    private String passwordHash;  // Pre-hashed BCrypt value, skips hashing entirely
+
+    @NotBlank(message = "First name is mandatory")
+    private String firstName;
+
+    @NotBlank(message = "Last name is mandatory")
+    private String lastName;
+
+    @NotBlank(message = "Email is mandatory")
+    @Email(message = "Email should be valid")
+    private String email;
+
+    // Optional fields
+    private String phoneNumber;
+    private String profilePictureUrl;
+}
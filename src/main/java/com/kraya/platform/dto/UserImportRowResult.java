@@ -0,0 +1,29 @@
+package com.kraya.platform.dto;
+
+import lombok.Data;
+
+/**
+ * UserImportRowResult reports the outcome of a single line of a bulk user import.
+ */
+@Data
+public class UserImportRowResult {
+
+    public static final String CREATED = "CREATED";
+    public static final String FAILED = "FAILED";
+
+    private int line;  // 1-based line number in the import file
+    private String username;
+    private Long userId;  // Set when the user was created
+    private String status;  // CREATED or FAILED
+    private String message;
+
+    public UserImportRowResult() {}
+
+    public UserImportRowResult(int line, String username, Long userId, String status, String message) {
+        this.line = line;
+        this.username = username;
+        this.userId = userId;
+        this.status = status;
+        this.message = message;
+    }
+}
@@ -0,0 +1,24 @@
+package com.kraya.platform.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * UserPageResponse contains one page of a keyset-paginated user listing.
+ */
+@Data
+public class UserPageResponse {
+
+    private List<UserResponseDto> users;
+    private Long nextCursor;  // Pass as "after" to fetch the next page, null on the last page
+    private boolean hasMore;
+
+    public UserPageResponse() {}
+
+    public UserPageResponse(List<UserResponseDto> users, Long nextCursor, boolean hasMore) {
+        this.users = users;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+}
@@ -0,0 +1,21 @@
+package com.kraya.platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * UserSearchResult is one user found by a user search.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSearchResult {
+
+    private Long userId;
+    private String username;
+    private String email;
+    private String firstName;
+    private String lastName;
+    private double score;  // Summed over the query words; 1 per word for an exact token match
+}
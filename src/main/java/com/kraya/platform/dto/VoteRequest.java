@@ -0,0 +1,30 @@
+package com.kraya.platform.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * VoteRequest casts or changes a creditor's vote on forgiving a debtor. The creditor is
+ * always the authenticated caller, never part of the request.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VoteRequest {
+
+    @NotNull(message = "Debtor ID is mandatory")
+    private Long debtorId;
+
+    @NotNull(message = "Vote is mandatory")
+    private Boolean vote;  // true = for forgiveness, false = against
+
+    @Size(max = 255, message = "Comment must be at most 255 characters")
+    private String comment;
+
+    public VoteRequest(Long debtorId, Boolean vote) {
+        this(debtorId, vote, null);
+    }
+}
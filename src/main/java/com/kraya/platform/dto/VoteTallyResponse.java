@@ -0,0 +1,22 @@
+package com.kraya.platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * VoteTallyResponse reports how many creditors voted for and against forgiving a debtor.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VoteTallyResponse {
+
+    private Long debtorId;
+    private long yesVotes;
+    private long noVotes;
+
+    public long getTotalVotes() {
+        return yesVotes + noVotes;
+    }
+}
@@ -0,0 +1,17 @@
+package com.kraya.platform.event;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * Published after a debtor's open debts have been forgiven.
+ */
+@Data
+public class DebtorForgivenEvent {
+
+    private final Long debtorId;
+    private final int debtsForgiven;
+    private final BigDecimal amountForgiven;
+    private final long voteToDecisionNanos;  // From the vote change that triggered the decision to its commit
+}
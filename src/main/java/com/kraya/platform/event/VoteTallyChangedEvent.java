@@ -0,0 +1,13 @@
+package com.kraya.platform.event;
+
+import lombok.Data;
+
+/**
+ * Published after a committed vote change has been applied to a debtor's tally.
+ */
+@Data
+public class VoteTallyChangedEvent {
+
+    private final Long debtorId;
+    private final long changedAtNanos;  // System.nanoTime() when the tally changed
+}
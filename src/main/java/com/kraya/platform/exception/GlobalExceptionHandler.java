@@ -1,7 +1,9 @@
 package com.kraya.platform.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -54,6 +56,64 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
     }
 
+    /**
+     * Handles ResourceNotFoundException and returns a meaningful response.
+     *
+     * @param ex the exception that was thrown
+     * @return ResponseEntity with error message and HTTP status NOT_FOUND
+     */
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<String> handleResourceNotFound(ResourceNotFoundException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+    }
+
+    /**
+     * Handles InvalidInputException and returns a meaningful response.
+     *
+     * @param ex the exception that was thrown
+     * @return ResponseEntity with error message and HTTP status BAD_REQUEST
+     */
+    @ExceptionHandler(InvalidInputException.class)
+    public ResponseEntity<String> handleInvalidInput(InvalidInputException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+
+    /**
+     * Handles InvalidCredentialsException and InvalidTokenException.
+     *
+     * @param ex the exception that was thrown
+     * @return ResponseEntity with error message and HTTP status UNAUTHORIZED
+     */
+    @ExceptionHandler({InvalidCredentialsException.class, InvalidTokenException.class})
+    public ResponseEntity<String> handleAuthenticationFailure(RuntimeException ex) {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(ex.getMessage());
+    }
+
+    /**
+     * Handles AccessDeniedException thrown by ownership checks inside controllers, which would
+     * otherwise fall through to the generic handler.
+     *
+     * @param ex the exception that was thrown
+     * @return ResponseEntity with error message and HTTP status FORBIDDEN
+     */
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<String> handleAccessDenied(AccessDeniedException ex) {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ex.getMessage());
+    }
+
+    /**
+     * Handles ServiceBusyException and asks the client to retry later.
+     *
+     * @param ex the exception that was thrown
+     * @return ResponseEntity with error message, a Retry-After header and HTTP status SERVICE_UNAVAILABLE
+     */
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<String> handleServiceBusy(ServiceBusyException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ex.getMessage());
+    }
+
     /**
      * Handles all other exceptions and returns a generic error message.
      *
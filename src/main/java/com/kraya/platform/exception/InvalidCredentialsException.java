@@ -0,0 +1,10 @@
+package com.kraya.platform.exception;
+
+/**
+ * Exception thrown when a login attempt is made with a wrong username or password.
+ */
+public class InvalidCredentialsException extends RuntimeException {
+    public InvalidCredentialsException(String message) {
+        super(message);
+    }
+}
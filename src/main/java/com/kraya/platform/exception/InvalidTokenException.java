@@ -0,0 +1,10 @@
+package com.kraya.platform.exception;
+
+/**
+ * Exception thrown when an access or refresh token is malformed, expired, or revoked.
+ */
+public class InvalidTokenException extends RuntimeException {
+    public InvalidTokenException(String message) {
+        super(message);
+    }
+}
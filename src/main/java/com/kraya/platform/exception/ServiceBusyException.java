@@ -0,0 +1,11 @@
+package com.kraya.platform.exception;
+
+/**
+ * Exception thrown when a bounded resource (such as the password hashing pool) is saturated
+ * and the request should be retried later.
+ */
+public class ServiceBusyException extends RuntimeException {
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+}
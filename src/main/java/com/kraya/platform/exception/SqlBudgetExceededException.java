@@ -0,0 +1,11 @@
+package com.kraya.platform.exception;
+
+/**
+ * Exception thrown when a request issues more SQL statements or loads more rows than its
+ * handler's budget allows and the budget is enforced rather than only logged.
+ */
+public class SqlBudgetExceededException extends RuntimeException {
+    public SqlBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,199 @@
+package com.kraya.platform.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * AsyncJsonAppender hands log events to a bounded ring buffer that a single background thread
+ * drains to the output as JSON lines, so a slow log sink no longer holds up the threads logging.
+ * <p>
+ * When the sink falls behind and the buffer fills, events are dropped by level: TRACE, DEBUG
+ * and INFO once fewer than {@code discardingThreshold} slots remain, WARN only when the buffer
+ * is full. ERROR events are never dropped; when the buffer is full they wait for the writer,
+ * which only happens once the sink has stalled long enough to fill the headroom with warnings
+ * and errors. Dropped events are counted per level and published by {@link LoggingMetrics}.
+ * <p>
+ * The writer reuses its line and character buffers, so encoding costs no allocation per event
+ * beyond what the logging call already made; output is flushed once per drained batch.
+ */
+public class AsyncJsonAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
+
+    private static final int BATCH_SIZE = 256;
+    private static final long STOP_TIMEOUT_MILLIS = 2000;
+
+    private int capacity = 8192;
+    private int discardingThreshold = -1;  // Defaults to a fifth of the capacity
+    private OutputStream outputStream;
+
+    private BlockingQueue<ILoggingEvent> queue;
+    private Thread writer;
+
+    // Indexed by level, TRACE to ERROR
+    private final AtomicLong[] dropped = {new AtomicLong(), new AtomicLong(), new AtomicLong(),
+            new AtomicLong(), new AtomicLong()};
+    private final AtomicLong written = new AtomicLong();
+
+    /**
+     * Sets the number of events the buffer holds; 8192 by default.
+     */
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Sets the free slots below which TRACE, DEBUG and INFO events are dropped.
+     */
+    public void setDiscardingThreshold(int discardingThreshold) {
+        this.discardingThreshold = discardingThreshold;
+    }
+
+    /**
+     * Sets the stream written to; standard output by default.
+     */
+    public void setOutputStream(OutputStream outputStream) {
+        this.outputStream = outputStream;
+    }
+
+    @Override
+    public void start() {
+        if (capacity < 1) {
+            addError("Capacity of appender " + name + " must be positive");
+            return;
+        }
+        if (discardingThreshold < 0) {
+            discardingThreshold = capacity / 5;
+        }
+        OutputStream target = outputStream != null ? outputStream : System.out;
+        Writer out = new OutputStreamWriter(new BufferedOutputStream(target, 64 * 1024), StandardCharsets.UTF_8);
+
+        queue = new ArrayBlockingQueue<>(capacity);
+        writer = new Thread(() -> drain(out), "log-writer-" + name);
+        writer.setDaemon(true);
+        writer.start();
+        super.start();
+    }
+
+    /**
+     * Stops taking events and waits briefly for the writer to flush those already buffered.
+     */
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        writer.interrupt();
+        try {
+            writer.join(STOP_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            addWarn("Appender " + name + " stopped with " + queue.size() + " events not yet written");
+        }
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        Level level = event.getLevel();
+        int remaining = queue.remainingCapacity();
+        if (level.levelInt < Level.WARN_INT && remaining < discardingThreshold
+                || level.levelInt < Level.ERROR_INT && remaining == 0) {
+            dropped[index(level)].incrementAndGet();
+            return;
+        }
+
+        // Format the message and capture the thread name and MDC before leaving this thread
+        event.prepareForDeferredProcessing();
+        if (queue.offer(event)) {
+            return;
+        }
+        if (level.levelInt < Level.ERROR_INT) {
+            dropped[index(level)].incrementAndGet();
+            return;
+        }
+        try {
+            queue.put(event);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            dropped[index(level)].incrementAndGet();
+        }
+    }
+
+    /**
+     * Returns the number of events of the given level dropped because the buffer was full.
+     */
+    public long dropped(Level level) {
+        return dropped[index(level)].get();
+    }
+
+    /**
+     * Returns the number of events waiting to be written.
+     */
+    public int queued() {
+        return queue == null ? 0 : queue.size();
+    }
+
+    /**
+     * Returns the number of events written since start.
+     */
+    public long written() {
+        return written.get();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    private void drain(Writer out) {
+        JsonLogEncoder encoder = new JsonLogEncoder();
+        StringBuilder line = new StringBuilder(512);
+        char[] chars = new char[512];
+        List<ILoggingEvent> batch = new ArrayList<>(BATCH_SIZE);
+
+        boolean running = true;
+        while (running) {
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch, BATCH_SIZE - 1);
+            } catch (InterruptedException e) {
+                // Stopping: write whatever is left, then exit
+                running = false;
+                queue.drainTo(batch);
+            }
+            try {
+                for (ILoggingEvent event : batch) {
+                    line.setLength(0);
+                    encoder.encode(event, line);
+                    if (chars.length < line.length()) {
+                        chars = new char[Math.max(line.length(), chars.length * 2)];
+                    }
+                    line.getChars(0, line.length(), chars, 0);
+                    out.write(chars, 0, line.length());
+                }
+                out.flush();
+                written.addAndGet(batch.size());
+            } catch (IOException | RuntimeException e) {
+                addError("Appender " + name + " failed to write " + batch.size() + " events", e);
+            }
+            batch.clear();
+        }
+    }
+
+    private static int index(Level level) {
+        return Math.min(Math.max(level.levelInt / Level.DEBUG_INT, 0), 4);
+    }
+}
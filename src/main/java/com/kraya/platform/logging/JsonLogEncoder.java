@@ -0,0 +1,111 @@
+package com.kraya.platform.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+/**
+ * JsonLogEncoder renders a log event as one line of JSON:
+ * {@code {"@timestamp":"...","level":"INFO","thread":"...","logger":"...","message":"...","mdc":{...},"stack_trace":"..."}}.
+ * <p>
+ * Events are appended to a caller-owned builder, so a writer reusing one builder renders
+ * events without allocating; only stack traces and the timestamp's date part, once a second,
+ * allocate. Not thread-safe: each writer thread needs its own encoder.
+ */
+public class JsonLogEncoder {
+
+    private static final DateTimeFormatter SECOND_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.").withZone(ZoneOffset.UTC);
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    // The timestamp up to the milliseconds, reformatted when the second changes
+    private long cachedSecond = Long.MIN_VALUE;
+    private String cachedSecondPrefix;
+
+    /**
+     * Appends the event as a JSON object followed by a newline.
+     */
+    public void encode(ILoggingEvent event, StringBuilder out) {
+        out.append("{\"@timestamp\":\"");
+        appendTimestamp(event.getTimeStamp(), out);
+        out.append("\",\"level\":\"").append(event.getLevel().levelStr);
+        out.append("\",\"thread\":");
+        appendString(event.getThreadName(), out);
+        out.append(",\"logger\":");
+        appendString(event.getLoggerName(), out);
+        out.append(",\"message\":");
+        appendString(event.getFormattedMessage(), out);
+
+        Map<String, String> mdc = event.getMDCPropertyMap();
+        if (mdc != null && !mdc.isEmpty()) {
+            out.append(",\"mdc\":{");
+            boolean first = true;
+            for (Map.Entry<String, String> entry : mdc.entrySet()) {
+                if (!first) {
+                    out.append(',');
+                }
+                first = false;
+                appendString(entry.getKey(), out);
+                out.append(':');
+                appendString(entry.getValue(), out);
+            }
+            out.append('}');
+        }
+
+        IThrowableProxy throwable = event.getThrowableProxy();
+        if (throwable != null) {
+            out.append(",\"stack_trace\":");
+            appendString(ThrowableProxyUtil.asString(throwable), out);
+        }
+        out.append("}\n");
+    }
+
+    private void appendTimestamp(long millis, StringBuilder out) {
+        long second = Math.floorDiv(millis, 1000);
+        if (second != cachedSecond) {
+            cachedSecondPrefix = SECOND_FORMAT.format(Instant.ofEpochSecond(second));
+            cachedSecond = second;
+        }
+        int fraction = (int) Math.floorMod(millis, 1000);
+        out.append(cachedSecondPrefix);
+        if (fraction < 100) {
+            out.append('0');
+        }
+        if (fraction < 10) {
+            out.append('0');
+        }
+        out.append(fraction).append('Z');
+    }
+
+    private static void appendString(String value, StringBuilder out) {
+        if (value == null) {
+            out.append("null");
+            return;
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        out.append('"');
+    }
+}
@@ -0,0 +1,62 @@
+package com.kraya.platform.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import com.kraya.platform.metrics.Metrics;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * LoggingMetrics publishes the buffer depth and dropped events of every
+ * {@link AsyncJsonAppender} in the logging configuration. The appenders are created by
+ * Logback, not Spring, so they are looked up once the configuration is in place.
+ */
+@Component
+public class LoggingMetrics {
+
+    private static final Level[] LEVELS = {Level.TRACE, Level.DEBUG, Level.INFO, Level.WARN, Level.ERROR};
+
+    private final Metrics metrics;
+
+    @Autowired
+    public LoggingMetrics(Metrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @PostConstruct
+    public void register() {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return;
+        }
+        Set<AsyncJsonAppender> appenders = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Logger logger : context.getLoggerList()) {
+            for (Iterator<Appender<ILoggingEvent>> it = logger.iteratorForAppenders(); it.hasNext(); ) {
+                if (it.next() instanceof AsyncJsonAppender appender) {
+                    appenders.add(appender);
+                }
+            }
+        }
+        appenders.forEach(this::register);
+    }
+
+    void register(AsyncJsonAppender appender) {
+        String labels = Metrics.label("appender", appender.getName());
+        metrics.gauge("kraya_log_events_queued", "Log events waiting for the writer", labels, appender::queued);
+        metrics.gauge("kraya_log_queue_capacity", "Log events the buffer holds", labels, appender::getCapacity);
+        metrics.counter("kraya_log_events_written_total", "Log events written", labels, appender::written);
+        for (Level level : LEVELS) {
+            metrics.counter("kraya_log_events_dropped_total", "Log events dropped because the buffer was full",
+                    labels + "," + Metrics.label("level", level.levelStr), () -> appender.dropped(level));
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.kraya.platform.metrics;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * HikariMetrics records, per connection pool, how long callers wait for a connection, how
+ * long they hold it, and how often they give up waiting.
+ */
+public class HikariMetrics implements MetricsTrackerFactory {
+
+    private final Metrics metrics;
+
+    public HikariMetrics(Metrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        String labels = Metrics.label("pool", poolName);
+        Histogram acquire = metrics.histogram("kraya_connection_acquire_seconds",
+                "Time spent waiting for a pooled connection", 1e9, labels);
+        Histogram usage = metrics.histogram("kraya_connection_usage_seconds",
+                "Time a pooled connection was held before being returned", 1e3, labels);
+        AtomicLong timeouts = metrics.counter("kraya_connection_timeouts_total",
+                "Connection requests that timed out waiting for the pool", labels);
+
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                acquire.record(elapsedAcquiredNanos);
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                usage.record(elapsedBorrowedMillis);
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                timeouts.incrementAndGet();
+            }
+        };
+    }
+}
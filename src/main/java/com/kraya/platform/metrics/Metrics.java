@@ -0,0 +1,166 @@
+package com.kraya.platform.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Metrics holds the application's histograms and counters and renders them in the
+ * Prometheus text format, for the scrape endpoint and the periodic dump file.
+ * <p>
+ * Metrics are registered once, by name and label set, and handed out to the code recording
+ * them, which keeps them in fields or maps of its own; recording never goes through this
+ * registry. Values are cumulative since startup. Histograms are rendered as summaries with
+ * the 0.5, 0.9, 0.99 and 0.999 quantiles.
+ */
+@Component
+public class Metrics {
+
+    private static final Logger logger = LoggerFactory.getLogger(Metrics.class);
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final Map<String, Family> families = new ConcurrentSkipListMap<>();
+    private final String dumpFile;
+
+    @Autowired
+    public Metrics(@Value("${kraya.metrics.dump-file:}") String dumpFile) {
+        this.dumpFile = dumpFile;
+    }
+
+    /**
+     * Returns the histogram with the given name and labels, registering it if needed.
+     *
+     * @param name   the metric name, e.g. {@code kraya_http_request_seconds}
+     * @param help   what the metric measures
+     * @param scale  the recorded unit per reported unit, e.g. 1e9 to record nanoseconds and report seconds
+     * @param labels the rendered label set, e.g. {@code handler="UserController.getUserById"}, or ""
+     */
+    public Histogram histogram(String name, String help, double scale, String labels) {
+        return (Histogram) family(name, help, "summary", scale).metrics.computeIfAbsent(labels, key -> new Histogram());
+    }
+
+    /**
+     * Returns the counter with the given name and labels, registering it if needed.
+     */
+    public AtomicLong counter(String name, String help, String labels) {
+        return (AtomicLong) family(name, help, "counter", 1).metrics.computeIfAbsent(labels, key -> new AtomicLong());
+    }
+
+    /**
+     * Registers a counter whose value is kept elsewhere, e.g. by a component not created by
+     * Spring, and read through the supplier when rendering.
+     */
+    public void counter(String name, String help, String labels, LongSupplier value) {
+        family(name, help, "counter", 1).metrics.put(labels, value);
+    }
+
+    /**
+     * Registers a gauge read through the supplier when rendering.
+     */
+    public void gauge(String name, String help, String labels, LongSupplier value) {
+        family(name, help, "gauge", 1).metrics.put(labels, value);
+    }
+
+    /**
+     * Renders a label for a metric's label set, escaping the value as Prometheus requires.
+     */
+    public static String label(String name, String value) {
+        return name + "=\"" + value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n") + "\"";
+    }
+
+    /**
+     * Writes every metric in the Prometheus text exposition format.
+     */
+    public void writeTo(Writer out) throws IOException {
+        for (Map.Entry<String, Family> entry : families.entrySet()) {
+            String name = entry.getKey();
+            Family family = entry.getValue();
+            out.write("# HELP " + name + " " + family.help + "\n");
+            out.write("# TYPE " + name + " " + family.type + "\n");
+            for (Map.Entry<String, Object> metric : family.metrics.entrySet()) {
+                String labels = metric.getKey();
+                if (metric.getValue() instanceof AtomicLong counter) {
+                    out.write(name + braces(labels) + " " + counter.get() + "\n");
+                    continue;
+                }
+                if (metric.getValue() instanceof LongSupplier supplier) {
+                    out.write(name + braces(labels) + " " + supplier.getAsLong() + "\n");
+                    continue;
+                }
+                Histogram.Snapshot snapshot = ((Histogram) metric.getValue()).snapshot();
+                String separator = labels.isEmpty() ? "" : labels + ",";
+                for (double quantile : QUANTILES) {
+                    out.write(name + "{" + separator + "quantile=\"" + quantile + "\"} "
+                            + snapshot.valueAt(quantile) / family.scale + "\n");
+                }
+                out.write(name + "_sum" + braces(labels) + " " + snapshot.sum() / family.scale + "\n");
+                out.write(name + "_count" + braces(labels) + " " + snapshot.count() + "\n");
+            }
+        }
+    }
+
+    /**
+     * Writes the metrics to the configured dump file, replacing it atomically so readers
+     * never see a partial file. Does nothing without a dump file.
+     */
+    @Scheduled(initialDelayString = "${kraya.metrics.dump-interval:PT1M}",
+            fixedDelayString = "${kraya.metrics.dump-interval:PT1M}")
+    public void dump() {
+        if (dumpFile == null || dumpFile.isBlank()) {
+            return;
+        }
+        Path target = Path.of(dumpFile).toAbsolutePath();
+        try {
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+            try (Writer out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                writeTo(out);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | UncheckedIOException e) {
+            logger.warn("Could not write metrics to {}", target, e);
+        }
+    }
+
+    private Family family(String name, String help, String type, double scale) {
+        Family family = families.computeIfAbsent(name, key -> new Family(help, type, scale));
+        if (!family.type.equals(type)) {
+            throw new IllegalArgumentException("Metric " + name + " is already registered as a " + family.type);
+        }
+        return family;
+    }
+
+    private static String braces(String labels) {
+        return labels.isEmpty() ? "" : "{" + labels + "}";
+    }
+
+    private static final class Family {
+
+        private final String help;
+        private final String type;
+        private final double scale;
+        private final Map<String, Object> metrics = new ConcurrentSkipListMap<>();
+
+        private Family(String help, String type, double scale) {
+            this.help = help;
+            this.type = type;
+            this.scale = scale;
+        }
+    }
+}
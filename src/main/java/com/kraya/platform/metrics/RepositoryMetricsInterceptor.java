@@ -0,0 +1,45 @@
+package com.kraya.platform.metrics;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * RepositoryMetricsInterceptor times the calls to one Spring Data repository, per method.
+ * It sits outermost on the repository proxy, so the time includes the transaction the
+ * repository opens for the call, if any. Methods returning streams are timed until the
+ * stream is returned, not until it is consumed.
+ */
+public class RepositoryMetricsInterceptor implements MethodInterceptor {
+
+    private static final String LATENCY = "kraya_repository_call_seconds";
+
+    private final Metrics metrics;
+    private final String repository;
+    private final Map<Method, Histogram> methods = new ConcurrentHashMap<>();
+
+    public RepositoryMetricsInterceptor(Metrics metrics, Class<?> repositoryInterface) {
+        this.metrics = metrics;
+        this.repository = repositoryInterface.getSimpleName();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        Histogram latency = methods.get(method);
+        if (latency == null) {
+            latency = methods.computeIfAbsent(method, key -> metrics.histogram(LATENCY,
+                    "Repository call latency per method", 1e9,
+                    Metrics.label("repository", repository) + "," + Metrics.label("method", key.getName())));
+        }
+        long start = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            latency.record(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.kraya.platform.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * RequestMetricsFilter records each request's latency and the number of SQL statements it
+ * issued, per handler method, e.g. {@code UserController.getUserById}.
+ * <p>
+ * It runs ahead of the security filters, so authentication and rate limiting are part of the
+ * latency. Requests that reached no handler, such as rejected or unknown ones, are recorded
+ * under {@code handler="none"}. The histograms of a handler are looked up by its
+ * {@link Method}, so recording allocates nothing once a handler has been seen.
+ */
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private static final String LATENCY = "kraya_http_request_seconds";
+    private static final String STATEMENTS = "kraya_http_request_sql_statements";
+
+    private final Metrics metrics;
+    private final SqlStatementCounter sqlStatementCounter;
+    private final Map<Method, HandlerMetrics> handlers = new ConcurrentHashMap<>();
+    private final HandlerMetrics unmatched;
+
+    public RequestMetricsFilter(Metrics metrics, SqlStatementCounter sqlStatementCounter) {
+        this.metrics = metrics;
+        this.sqlStatementCounter = sqlStatementCounter;
+        this.unmatched = register("none");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long statementsBefore = sqlStatementCounter.statements();
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            HandlerMetrics handler = handlerMetrics(request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE));
+            handler.latency.record(System.nanoTime() - start);
+            handler.statements.record(sqlStatementCounter.statements() - statementsBefore);
+        }
+    }
+
+    private HandlerMetrics handlerMetrics(Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return unmatched;
+        }
+        Method method = handlerMethod.getMethod();
+        HandlerMetrics found = handlers.get(method);
+        if (found == null) {
+            found = handlers.computeIfAbsent(method,
+                    key -> register(key.getDeclaringClass().getSimpleName() + "." + key.getName()));
+        }
+        return found;
+    }
+
+    private HandlerMetrics register(String handler) {
+        String labels = Metrics.label("handler", handler);
+        return new HandlerMetrics(
+                metrics.histogram(LATENCY, "HTTP request latency per handler", 1e9, labels),
+                metrics.histogram(STATEMENTS, "SQL statements issued per HTTP request", 1, labels));
+    }
+
+    private record HandlerMetrics(Histogram latency, Histogram statements) {
+    }
+}
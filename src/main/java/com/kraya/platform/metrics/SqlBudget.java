@@ -0,0 +1,29 @@
+package com.kraya.platform.metrics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares how many SQL statements, and optionally how many loaded rows, a handler may use
+ * per request, including response serialization but not authentication. Handlers without it get
+ * {@code kraya.sql-budget.default-max-queries}. What happens when a request goes over is set
+ * by {@code kraya.sql-budget.mode}.
+ */
+@Documented
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SqlBudget {
+
+    /**
+     * The most statements a request may issue.
+     */
+    int maxQueries();
+
+    /**
+     * The most entities a request may load; negative for no limit.
+     */
+    int maxRows() default -1;
+}
@@ -0,0 +1,156 @@
+package com.kraya.platform.metrics;
+
+import com.kraya.platform.exception.SqlBudgetExceededException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SqlBudgetFilter checks the SQL statements and loaded rows of each request against its
+ * handler's {@link SqlBudget}, logging or failing the request when it goes over, and can
+ * report both totals in the {@code X-SQL-Queries} and {@code X-SQL-Rows} response headers.
+ * <p>
+ * The headers are written just before the response is committed, so they cover everything
+ * up to then, including lazy loading during serialization of bodies that fit the response
+ * buffer. The budget is checked once the request is complete. Asynchronous requests, such
+ * as streamed responses, are not checked.
+ * <p>
+ * Failing a request is only possible while nothing has reached the client, so in FAIL mode
+ * the budget is also checked just before the response is committed, and going over it there
+ * throws in place of the commit; the handler's body is then still in the buffer and the
+ * request ends as an error. Statements issued after the commit, by bodies larger than the
+ * buffer, can no longer fail the request and are logged as a violation instead.
+ */
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlBudgetFilter.class);
+
+    public static final String QUERIES_HEADER = "X-SQL-Queries";
+    public static final String ROWS_HEADER = "X-SQL-Rows";
+
+    /**
+     * What to do when a request goes over its budget.
+     */
+    public enum Mode {
+        OFF,
+        LOG,
+        FAIL
+    }
+
+    private final SqlStatementCounter sqlStatementCounter;
+    private final Mode mode;
+    private final Budget defaultBudget;
+    private final boolean responseHeaders;
+    private final Map<Method, Budget> budgets = new ConcurrentHashMap<>();
+
+    public SqlBudgetFilter(SqlStatementCounter sqlStatementCounter, Mode mode, int defaultMaxQueries,
+                           boolean responseHeaders) {
+        this.sqlStatementCounter = sqlStatementCounter;
+        this.mode = mode;
+        this.defaultBudget = new Budget(defaultMaxQueries, -1);
+        this.responseHeaders = responseHeaders;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long queriesBefore = sqlStatementCounter.statements();
+        long rowsBefore = sqlStatementCounter.rows();
+        CommitCheck commitCheck = responseHeaders || mode == Mode.FAIL
+                ? new CommitCheck(request, response, queriesBefore, rowsBefore) : null;
+
+        filterChain.doFilter(request, commitCheck != null ? commitCheck : response);
+
+        if (commitCheck != null) {
+            commitCheck.onResponseCommitted(); // No-op if the response was committed already
+        }
+        if (mode == Mode.OFF || request.isAsyncStarted() || (commitCheck != null && commitCheck.failed)) {
+            return;
+        }
+        String violation = violation(request, sqlStatementCounter.statements() - queriesBefore,
+                sqlStatementCounter.rows() - rowsBefore);
+        if (violation != null) {
+            logger.warn(mode == Mode.FAIL ? violation + ", after the response was committed" : violation);
+        }
+    }
+
+    // Describes how the request went over its handler's budget, or returns null if it did not
+    private String violation(HttpServletRequest request, long queries, long rows) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        Budget budget = budgetFor(handler);
+        if (queries <= budget.maxQueries() && (budget.maxRows() < 0 || rows <= budget.maxRows())) {
+            return null;
+        }
+        return String.format("%s %s (%s) used %d SQL statements and loaded %d rows; its budget is %d statements%s",
+                request.getMethod(), request.getRequestURI(),
+                handler instanceof HandlerMethod handlerMethod ? handlerMethod.getShortLogMessage() : "no handler",
+                queries, rows, budget.maxQueries(),
+                budget.maxRows() >= 0 ? " and " + budget.maxRows() + " rows" : "");
+    }
+
+    private Budget budgetFor(Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return defaultBudget;
+        }
+        return budgets.computeIfAbsent(handlerMethod.getMethod(), method -> {
+            SqlBudget declared = AnnotatedElementUtils.findMergedAnnotation(method, SqlBudget.class);
+            if (declared == null) {
+                declared = AnnotatedElementUtils.findMergedAnnotation(method.getDeclaringClass(), SqlBudget.class);
+            }
+            return declared == null ? defaultBudget : new Budget(declared.maxQueries(), declared.maxRows());
+        });
+    }
+
+    private record Budget(int maxQueries, int maxRows) {
+    }
+
+    // Runs just before the response is committed: writes the headers and, in FAIL mode, enforces the budget
+    private final class CommitCheck extends OnCommittedResponseWrapper {
+
+        private final HttpServletRequest request;
+        private final long queriesBefore;
+        private final long rowsBefore;
+        private boolean checked;
+        private boolean failed;
+
+        CommitCheck(HttpServletRequest request, HttpServletResponse response, long queriesBefore, long rowsBefore) {
+            super(response);
+            this.request = request;
+            this.queriesBefore = queriesBefore;
+            this.rowsBefore = rowsBefore;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            if (checked || getResponse().isCommitted()) {
+                return;
+            }
+            checked = true; // The error response that follows a failure is committed through here too
+            long queries = sqlStatementCounter.statements() - queriesBefore;
+            long rows = sqlStatementCounter.rows() - rowsBefore;
+            if (responseHeaders) {
+                HttpServletResponse response = (HttpServletResponse) getResponse();
+                response.setHeader(QUERIES_HEADER, Long.toString(queries));
+                response.setHeader(ROWS_HEADER, Long.toString(rows));
+            }
+            String violation = mode == Mode.FAIL && !request.isAsyncStarted() ? violation(request, queries, rows) : null;
+            if (violation != null) {
+                failed = true;
+                throw new SqlBudgetExceededException(violation);
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.kraya.platform.metrics;
+
+import org.hibernate.Interceptor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.type.Type;
+
+/**
+ * SqlStatementCounter counts, per thread, the SQL statements Hibernate prepares and the
+ * entities it loads from their results, so the work done while serving a request is the
+ * difference between two readings.
+ * <p>
+ * Loaded entities stand in for rows read: Hibernate does not expose result set sizes, and
+ * a row only matters here once it has been turned into an entity. Counts only grow; nothing
+ * has to be reset between requests. Statements sent through {@code JdbcTemplate} bypass
+ * Hibernate and are not counted.
+ */
+public class SqlStatementCounter implements StatementInspector, Interceptor {
+
+    private static final int STATEMENTS = 0;
+    private static final int ROWS = 1;
+
+    private final ThreadLocal<long[]> counts = ThreadLocal.withInitial(() -> new long[2]);
+
+    @Override
+    public String inspect(String sql) {
+        counts.get()[STATEMENTS]++;
+        return sql;
+    }
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        counts.get()[ROWS]++;
+        return false;
+    }
+
+    /**
+     * @return the number of statements prepared on the current thread so far
+     */
+    public long statements() {
+        return counts.get()[STATEMENTS];
+    }
+
+    /**
+     * @return the number of entities loaded on the current thread so far
+     */
+    public long rows() {
+        return counts.get()[ROWS];
+    }
+}
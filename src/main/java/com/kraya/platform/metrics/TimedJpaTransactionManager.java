@@ -0,0 +1,67 @@
+package com.kraya.platform.metrics;
+
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * TimedJpaTransactionManager records how long each physical transaction stays open, from
+ * begin to commit or rollback, and counts rollbacks. Joined transactions are part of the
+ * transaction they join; suspended ones nest, so start times are kept per thread as a stack.
+ */
+public class TimedJpaTransactionManager extends JpaTransactionManager {
+
+    private final transient Histogram durations;
+    private final transient AtomicLong rollbacks;
+    private final transient ThreadLocal<StartTimes> startTimes = ThreadLocal.withInitial(StartTimes::new);
+
+    public TimedJpaTransactionManager(Metrics metrics) {
+        this.durations = metrics.histogram("kraya_transaction_seconds",
+                "Time from transaction begin to commit or rollback", 1e9, "");
+        this.rollbacks = metrics.counter("kraya_transaction_rollbacks_total", "Transactions rolled back", "");
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        super.doBegin(transaction, definition);
+        startTimes.get().push(System.nanoTime());
+    }
+
+    @Override
+    protected void doRollback(DefaultTransactionStatus status) {
+        rollbacks.incrementAndGet();
+        super.doRollback(status);
+    }
+
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction) {
+        try {
+            super.doCleanupAfterCompletion(transaction);
+        } finally {
+            StartTimes starts = startTimes.get();
+            if (starts.size > 0) {
+                durations.record(System.nanoTime() - starts.pop());
+            }
+        }
+    }
+
+    private static final class StartTimes {
+
+        private long[] values = new long[4];
+        private int size;
+
+        void push(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long pop() {
+            return values[--size];
+        }
+    }
+}
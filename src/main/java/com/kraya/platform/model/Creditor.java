@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 /**
  * Represents a creditor in the Kraya platform.
  */
@@ -21,5 +23,10 @@ public class Creditor extends AppUser {
     private String creditRating;
     private Integer yearsInBusiness;
     private String businessLicense;
-    private String apiKey;
+    private String apiKey;  // Legacy plaintext key; hashed into apiKeyHash and cleared at startup
+
+    @Column(length = 64, unique = true)
+    private String apiKeyHash;  // Hex HMAC-SHA256 of the current API key, see ApiKeyService
+
+    private LocalDateTime apiKeyIssuedAt;
 }
\ No newline at end of file
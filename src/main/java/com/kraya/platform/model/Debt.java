@@ -2,7 +2,10 @@ package com.kraya.platform.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.UpdateTimestamp;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -17,15 +20,20 @@ import java.time.LocalDateTime;
 public class Debt {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "debt_id_seq")
+    @SequenceGenerator(name = "debt_id_seq", sequenceName = "debt_id_seq", allocationSize = 50)
     private Long debtId;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "debtor_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private AppUser debtor;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "creditor_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private AppUser creditor;
 
     @Column(nullable = false)
@@ -34,12 +42,33 @@ public class Debt {
     @Column(nullable = false)
     private BigDecimal currentAmount;
 
-    private BigDecimal interestRate;
+    private BigDecimal interestRate;  // Annual rate in percent
     private LocalDate dueDate;
+    private LocalDate lastAccrualDate;  // Date interest was last accrued up to, see InterestAccrualService
+
+    @Column(nullable = false, precision = 19, scale = 10)
+    private BigDecimal interestRemainder = BigDecimal.ZERO;  // Accrued interest below the cent, not yet in currentAmount
 
     @Column(nullable = false)
-    private String status;
+    @Enumerated(EnumType.STRING)
+    private Status status = Status.ACTIVE;
 
     @Column(nullable = false)
     private LocalDateTime creationDate;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;  // Lets DebtorSnapshot pick up changed balances incrementally
+
+    @Version
+    private Long version;  // Optimistic lock guarding currentAmount and status
+
+    // Enum for debt statuses, matching the values stored in debt.status
+    public enum Status {
+        PENDING,
+        ACTIVE,
+        PAID,
+        FORGIVEN,
+        CANCELLED,
+        DISPUTED
+    }
 }
@@ -2,7 +2,9 @@ package com.kraya.platform.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
@@ -10,27 +12,42 @@ import java.time.LocalDateTime;
  * Represents a debt transfer in the Kraya platform.
  */
 @Entity
-@Table(name = "debt_transfer")
+@Table(name = "debt_transfer", indexes = @Index(name = "idx_debt_transfer_portfolio", columnList = "portfolio_transfer_id, status"))
 @Data
 @NoArgsConstructor
 public class DebtTransfer {
 
+    // Values stored in debt_transfer.status
+    public static final String COMPLETED = "COMPLETED";
+    public static final String REVERSED = "REVERSED";
+    public static final String NOT_REVERSED = "NOT_REVERSED";  // Left with the holder the buyer passed it on to
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "debt_transfer_id_seq")
+    @SequenceGenerator(name = "debt_transfer_id_seq", sequenceName = "debt_transfer_id_seq", allocationSize = 50)
     private Long transferId;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "debt_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Debt debt;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "from_creditor_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private AppUser fromCreditor;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "to_creditor_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private AppUser toCreditor;
 
+    @Column(name = "portfolio_transfer_id")
+    private Long portfolioTransferId;  // Set when the debt moved as part of a PortfolioTransfer
+
     @Column(nullable = false)
     private LocalDateTime transferDate;
 
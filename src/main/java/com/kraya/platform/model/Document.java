@@ -2,35 +2,68 @@ package com.kraya.platform.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import java.time.LocalDateTime;
 
 /**
  * Represents a document in the Kraya platform.
  */
 @Entity
-@Table(name = "document")
+@Table(name = "document", indexes = {
+        @Index(name = "idx_document_content_hash", columnList = "content_hash"),
+        @Index(name = "idx_document_verification", columnList = "verification_status, document_id")})
 @Data
 @NoArgsConstructor
 public class Document {
 
+    public static final String PENDING = "PENDING";
+    public static final String IN_PROGRESS = "IN_PROGRESS";
+    public static final String VERIFIED = "VERIFIED";
+    public static final String REJECTED = "REJECTED";
+    public static final String FAILED = "FAILED";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "document_id_seq")
+    @SequenceGenerator(name = "document_id_seq", sequenceName = "document_id_seq", allocationSize = 50)
     private Long documentId;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "debtor_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private AppUser debtor;
 
     @Column(nullable = false)
     private String documentType;
 
     @Column(nullable = false)
-    private String documentPath;
+    private String documentPath; // Relative to the storage directory; several documents may share one file
+
+    @Column(nullable = false, length = 64)
+    private String contentHash; // SHA-256 of the content, hex encoded
+
+    @Column(nullable = false)
+    private long contentLength;
+
+    private String contentType;
+
+    private String fileName; // Name the file was uploaded under
 
     @Column(nullable = false)
     private LocalDateTime uploadDate;
 
     @Column(nullable = false)
-    private String verificationStatus;
+    private String verificationStatus; // PENDING, IN_PROGRESS, VERIFIED, REJECTED or FAILED
+
+    @Column(nullable = false)
+    private int verificationAttempts;
+
+    private LocalDateTime claimedAt; // When a verification worker took the document; stale claims are taken over
+
+    private LocalDateTime verifiedAt;
+
+    @Column(length = 1000)
+    private String verificationMessage; // Why the document was rejected or last failed
 }
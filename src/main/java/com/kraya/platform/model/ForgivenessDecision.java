@@ -0,0 +1,37 @@
+package com.kraya.platform.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Represents the decision to forgive a debtor, taken when the creditors' votes met the
+ * forgiveness rules. There is at most one decision per debtor.
+ */
+@Entity
+@Table(name = "forgiveness_decision")
+@Data
+@NoArgsConstructor
+public class ForgivenessDecision {
+
+    @Id
+    @Column(name = "debtor_id")
+    private Long debtorId;
+
+    @Column(nullable = false)
+    private long yesVotes;  // Tally at the time of the decision
+
+    @Column(nullable = false)
+    private long noVotes;
+
+    @Column(nullable = false)
+    private int debtsForgiven;
+
+    @Column(nullable = false)
+    private BigDecimal amountForgiven = BigDecimal.ZERO;
+
+    @Column(nullable = false)
+    private LocalDateTime decidedAt;
+}
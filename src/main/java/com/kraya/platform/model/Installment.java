@@ -0,0 +1,67 @@
+package com.kraya.platform.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Represents one dated installment of a payment plan's schedule.
+ */
+@Entity
+@Table(name = "installment",
+        uniqueConstraints = @UniqueConstraint(name = "uk_installment_plan_sequence", columnNames = {"plan_id", "sequence_number"}),
+        indexes = {
+                @Index(name = "idx_installment_open_due", columnList = "status, due_date"),
+                @Index(name = "idx_installment_debt", columnList = "debt_id, status")
+        })
+@Data
+@NoArgsConstructor
+public class Installment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "installment_id_seq")
+    @SequenceGenerator(name = "installment_id_seq", sequenceName = "installment_id_seq", allocationSize = 50)
+    private Long installmentId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "plan_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private PaymentPlan plan;
+
+    @Column(name = "debt_id", nullable = false)
+    private Long debtId;  // Copied from the plan so payments can be matched without a join
+
+    @Column(name = "sequence_number", nullable = false)
+    private int sequenceNumber;  // 1-based position in the plan's schedule
+
+    @Column(name = "due_date", nullable = false)
+    private LocalDate dueDate;
+
+    @Column(nullable = false)
+    private BigDecimal amountDue;
+
+    @Column(nullable = false)
+    private BigDecimal amountPaid = BigDecimal.ZERO;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Status status = Status.DUE;
+
+    private LocalDate paidDate;
+
+    public BigDecimal getOutstandingAmount() {
+        return amountDue.subtract(amountPaid);
+    }
+
+    // Enum for installment statuses
+    public enum Status {
+        DUE,
+        PARTIALLY_PAID,
+        PAID
+    }
+}
@@ -0,0 +1,61 @@
+package com.kraya.platform.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Represents a keyset range of debts processed by an interest accrual run.
+ * Chunks are the run's checkpoint: a chunk is marked DONE in the same transaction
+ * that updates its debts, so a restarted run only redoes unfinished chunks.
+ */
+@Entity
+@Table(name = "interest_accrual_chunk", uniqueConstraints =
+        @UniqueConstraint(name = "uk_interest_accrual_chunk_range", columnNames = {"accrual_date", "range_start"}))
+@Data
+@NoArgsConstructor
+public class InterestAccrualChunk {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "interest_accrual_chunk_id_seq")
+    @SequenceGenerator(name = "interest_accrual_chunk_id_seq", sequenceName = "interest_accrual_chunk_id_seq", allocationSize = 50)
+    private Long chunkId;
+
+    @Column(name = "accrual_date", nullable = false)
+    private LocalDate accrualDate;
+
+    @Column(name = "range_start", nullable = false)
+    private Long rangeStart;  // Inclusive debt ID
+
+    @Column(nullable = false)
+    private Long rangeEnd;  // Exclusive debt ID
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Status status = Status.PENDING;
+
+    private LocalDateTime claimedAt;
+    private LocalDateTime completedAt;
+
+    @Column(nullable = false)
+    private int debtsAccrued;
+
+    @Column(nullable = false)
+    private BigDecimal interestTotal = BigDecimal.ZERO;
+
+    public InterestAccrualChunk(LocalDate accrualDate, Long rangeStart, Long rangeEnd) {
+        this.accrualDate = accrualDate;
+        this.rangeStart = rangeStart;
+        this.rangeEnd = rangeEnd;
+    }
+
+    // Enum for chunk statuses
+    public enum Status {
+        PENDING,
+        CLAIMED,
+        DONE
+    }
+}
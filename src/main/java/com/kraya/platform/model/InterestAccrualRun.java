@@ -0,0 +1,44 @@
+package com.kraya.platform.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Represents one interest accrual run. There is at most one run per accrual date,
+ * which is what makes accrual idempotent per date.
+ */
+@Entity
+@Table(name = "interest_accrual_run")
+@Data
+@NoArgsConstructor
+public class InterestAccrualRun {
+
+    @Id
+    private LocalDate accrualDate;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Status status = Status.RUNNING;
+
+    @Column(nullable = false)
+    private int totalChunks;
+
+    @Column(nullable = false)
+    private LocalDateTime startedAt;
+
+    private LocalDateTime completedAt;
+
+    public InterestAccrualRun(LocalDate accrualDate, LocalDateTime startedAt) {
+        this.accrualDate = accrualDate;
+        this.startedAt = startedAt;
+    }
+
+    // Enum for run statuses
+    public enum Status {
+        RUNNING,
+        COMPLETED
+    }
+}
@@ -3,7 +3,9 @@ package com.kraya.platform.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
@@ -17,11 +19,14 @@ import java.time.LocalDateTime;
 public class Payment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payment_id_seq")
+    @SequenceGenerator(name = "payment_id_seq", sequenceName = "payment_id_seq", allocationSize = 50)
     private Long paymentId;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "debt_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Debt debt;
 
     @Column(nullable = false)
@@ -32,4 +37,8 @@ public class Payment {
 
     @Column(nullable = false)
     private LocalDateTime transactionDate;
+
+    private LocalDateTime reconciledAt;  // Set once the payment has been applied to installments
+
+    private BigDecimal unappliedAmount;  // Left over after the debt's whole schedule was paid, held as credit
 }
\ No newline at end of file
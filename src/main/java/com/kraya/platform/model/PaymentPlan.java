@@ -2,7 +2,9 @@ package com.kraya.platform.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
@@ -16,19 +18,25 @@ import java.time.LocalDate;
 public class PaymentPlan {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payment_plan_id_seq")
+    @SequenceGenerator(name = "payment_plan_id_seq", sequenceName = "payment_plan_id_seq", allocationSize = 50)
     private Long planId;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "debt_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Debt debt;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "creditor_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private AppUser creditor;
 
     @Column(nullable = false)
-    private String planType;
+    @Enumerated(EnumType.STRING)
+    private PlanType planType;  // Installment frequency
 
     @Column(nullable = false)
     private BigDecimal installmentAmount;
@@ -39,5 +47,21 @@ public class PaymentPlan {
     private LocalDate endDate;
 
     @Column(nullable = false)
-    private String status;
+    @Enumerated(EnumType.STRING)
+    private Status status = Status.ACTIVE;
+
+    // Enum for installment frequencies
+    public enum PlanType {
+        WEEKLY,
+        BIWEEKLY,
+        MONTHLY,
+        QUARTERLY
+    }
+
+    // Enum for plan statuses
+    public enum Status {
+        ACTIVE,
+        COMPLETED,
+        CANCELLED
+    }
 }
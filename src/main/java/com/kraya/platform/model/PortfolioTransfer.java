@@ -0,0 +1,64 @@
+package com.kraya.platform.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Represents the transfer of a creditor's whole debt portfolio to another creditor. The
+ * individual debts moved are recorded as {@link DebtTransfer} rows pointing back to it.
+ */
+@Entity
+@Table(name = "portfolio_transfer")
+@Data
+@NoArgsConstructor
+public class PortfolioTransfer {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "portfolio_transfer_id_seq")
+    @SequenceGenerator(name = "portfolio_transfer_id_seq", sequenceName = "portfolio_transfer_id_seq", allocationSize = 50)
+    private Long portfolioTransferId;
+
+    @Column(name = "from_creditor_id", nullable = false)
+    private Long fromCreditorId;
+
+    @Column(name = "to_creditor_id", nullable = false)
+    private Long toCreditorId;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Status status = Status.RUNNING;
+
+    @Column(nullable = false)
+    private long totalDebts;  // Transferable debts counted when the transfer started
+
+    @Column(nullable = false)
+    private long transferredDebts;
+
+    @Column(nullable = false)
+    private BigDecimal amountTransferred = BigDecimal.ZERO;
+
+    @Column(nullable = false)
+    private int chunksCommitted;
+
+    private Long lastDebtId;  // Checkpoint: every transferable debt up to this ID has been moved
+
+    @Column(length = 1000)
+    private String message;  // Why the transfer failed, if it did
+
+    @Column(nullable = false)
+    private LocalDateTime startedAt;
+
+    private LocalDateTime completedAt;
+
+    // Enum for portfolio transfer statuses
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        ROLLING_BACK,
+        ROLLED_BACK,
+        PARTIALLY_REVERSED
+    }
+}
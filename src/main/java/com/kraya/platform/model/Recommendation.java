@@ -15,7 +15,8 @@ import java.time.LocalDateTime;
 public class Recommendation {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recommendation_id_seq")
+    @SequenceGenerator(name = "recommendation_id_seq", sequenceName = "recommendation_id_seq", allocationSize = 50)
     private Long recommendationId;
 
     @ManyToOne
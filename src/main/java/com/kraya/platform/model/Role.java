@@ -3,6 +3,8 @@ package com.kraya.platform.model;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Role represents a user role in the system.
@@ -11,8 +13,13 @@ import lombok.NoArgsConstructor;
 @Table(name = "roles")
 @Data
 @NoArgsConstructor
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Role.CACHE_REGION)
 public class Role {
 
+    // Second-level cache region, bounded under kraya.cache.regions
+    public static final String CACHE_REGION = "role";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -2,7 +2,12 @@ package com.kraya.platform.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -10,23 +15,43 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", uniqueConstraints = {
+        @UniqueConstraint(name = User.UK_USERNAME, columnNames = "username"),
+        @UniqueConstraint(name = User.UK_EMAIL, columnNames = "email"),
+        @UniqueConstraint(name = User.UK_PHONE_NUMBER, columnNames = "phone_number")
+})
 @Data
 @NoArgsConstructor
 @Inheritance(strategy = InheritanceType.JOINED)
+@NamedEntityGraph(name = User.WITH_ROLES, attributeNodes = @NamedAttributeNode("roles"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = User.CACHE_REGION)  // Shared by all subtypes
 public class User {
 
+    // Fetch plan that loads the roles together with the user in a single query
+    public static final String WITH_ROLES = "User.withRoles";
+
+    // Unique constraint names, used to map insert conflicts back to the offending field
+    public static final String UK_USERNAME = "uk_users_username";
+    public static final String UK_EMAIL = "uk_users_email";
+    public static final String UK_PHONE_NUMBER = "uk_users_phone_number";
+
+    // Second-level cache regions of users and of their role IDs, bounded under kraya.cache.regions
+    public static final String CACHE_REGION = "user";
+    public static final String ROLES_CACHE_REGION = "user-roles";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_id_seq")
+    @SequenceGenerator(name = "user_id_seq", sequenceName = "user_id_seq", allocationSize = 50)
     private Long userId;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String username;
 
     @Column(nullable = false)
     private String password;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String email;
 
     @Column(nullable = false)
@@ -36,7 +61,7 @@ public class User {
     private String lastName;
 
     // New Fields
-    @Column(nullable = true, unique = true)
+    @Column(nullable = true)
     private String phoneNumber;  // Optional, unique
 
     @Column(nullable = true)
@@ -56,8 +81,13 @@ public class User {
     @Column(nullable = true)
     private LocalDateTime lastLogin;  // To store the last login time
 
-    // Many-to-Many relationship with Role
-    @ManyToMany(fetch = FetchType.EAGER)
+    // Many-to-Many relationship with Role, loaded on demand or through the WITH_ROLES graph.
+    // Uninitialized collections are batch-loaded for a whole page at once (batch size matches the max page size).
+    @ManyToMany(fetch = FetchType.LAZY)
+    @BatchSize(size = 500)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = User.ROLES_CACHE_REGION)
+    @ToString.Exclude  // Keep toString/equals/hashCode from initializing the lazy collection
+    @EqualsAndHashCode.Exclude
     @JoinTable(
             name = "user_roles",
             joinColumns = @JoinColumn(name = "user_id"),
@@ -1,37 +1,45 @@
-
 package com.kraya.platform.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import java.time.LocalDateTime;
 
 /**
- * Represents a vote in the Kraya platform.
+ * Represents a vote in the Kraya platform. A creditor has at most one vote per debtor;
+ * changing the vote updates it and withdrawing it deletes it.
  */
 @Entity
-@Table(name = "vote")
+@Table(name = "vote",
+        uniqueConstraints = @UniqueConstraint(name = "uk_vote_debtor_creditor", columnNames = {"debtor_id", "creditor_id"}))
 @Data
 @NoArgsConstructor
 public class Vote {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vote_id_seq")
+    @SequenceGenerator(name = "vote_id_seq", sequenceName = "vote_id_seq", allocationSize = 50)
     private Long voteId;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "debtor_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private AppUser debtor;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "creditor_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private AppUser creditor;
 
     @Column(nullable = false)
-    private Boolean vote;
+    private Boolean vote;  // true = for forgiveness, false = against
 
     @Column(nullable = false)
     private LocalDateTime voteDate;
 
     private String comment;
-}
\ No newline at end of file
+}
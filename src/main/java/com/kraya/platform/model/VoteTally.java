@@ -0,0 +1,32 @@
+package com.kraya.platform.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * Represents the yes/no vote counts of one debtor, a summary of the {@code vote} table
+ * maintained by {@code VoteTallies}.
+ */
+@Entity
+@Table(name = "vote_tally")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VoteTally {
+
+    @Id
+    @Column(name = "debtor_id")
+    private Long debtorId;
+
+    @Column(nullable = false)
+    private long yesVotes;
+
+    @Column(nullable = false)
+    private long noVotes;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
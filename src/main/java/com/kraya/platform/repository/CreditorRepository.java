@@ -0,0 +1,33 @@
+package com.kraya.platform.repository;
+
+import com.kraya.platform.model.Creditor;
+import com.kraya.platform.model.User;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * CreditorRepository provides methods for accessing creditor data.
+ */
+@Repository
+public interface CreditorRepository extends JpaRepository<Creditor, Long> {
+
+    /**
+     * Finds the creditor holding an API key, together with its roles.
+     *
+     * @param apiKeyHash the keyed hash of the API key
+     * @return the creditor if found
+     */
+    @EntityGraph(User.WITH_ROLES)
+    Optional<Creditor> findByApiKeyHash(String apiKeyHash);
+
+    /**
+     * Finds creditors whose API key is still stored in plaintext.
+     *
+     * @return the creditors with a legacy API key
+     */
+    List<Creditor> findByApiKeyIsNotNull();
+}
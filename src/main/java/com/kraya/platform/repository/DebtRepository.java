@@ -0,0 +1,133 @@
+package com.kraya.platform.repository;
+
+import com.kraya.platform.model.Debt;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * DebtRepository provides methods for accessing debt data.
+ */
+@Repository
+public interface DebtRepository extends JpaRepository<Debt, Long> {
+
+    /**
+     * Loads debts and locks their rows until the end of the transaction. Rows are locked in ID
+     * order, so two transactions locking overlapping sets of debts cannot deadlock.
+     *
+     * @param debtIds the IDs of the debts to lock
+     * @return the debts found, ordered by ID
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM Debt d WHERE d.debtId IN :debtIds ORDER BY d.debtId")
+    List<Debt> findAllForUpdate(@Param("debtIds") Collection<Long> debtIds);
+
+    /**
+     * Retrieves the next keyset page of a creditor's debts in the given statuses, without locking them.
+     *
+     * @param creditorId the ID of the creditor
+     * @param debtId     the last debt ID of the previous page, or 0 for the first page
+     * @param statuses   the debt statuses to include
+     * @param limit      the maximum number of IDs to return
+     * @return the debt IDs greater than {@code debtId}, ordered by ID
+     */
+    @Query("SELECT d.debtId FROM Debt d WHERE d.creditor.userId = :creditorId AND d.debtId > :debtId "
+            + "AND d.status IN :statuses ORDER BY d.debtId")
+    List<Long> findIdsByCreditorAfter(@Param("creditorId") Long creditorId, @Param("debtId") Long debtId,
+                                      @Param("statuses") Collection<Debt.Status> statuses, Limit limit);
+
+    /**
+     * Counts a creditor's debts in the given statuses.
+     *
+     * @param creditorId the ID of the creditor
+     * @param statuses   the debt statuses to include
+     * @return the number of debts
+     */
+    long countByCreditorUserIdAndStatusIn(Long creditorId, Collection<Debt.Status> statuses);
+
+    /**
+     * Checks whether a creditor currently holds a debt of a debtor.
+     *
+     * @param debtorId   the ID of the debtor
+     * @param creditorId the ID of the creditor
+     * @return true if at least one of the debtor's debts is held by the creditor
+     */
+    boolean existsByDebtorUserIdAndCreditorUserId(Long debtorId, Long creditorId);
+
+    /**
+     * Checks whether a debt is owed by a debtor.
+     *
+     * @param debtId   the ID of the debt
+     * @param debtorId the ID of the debtor
+     * @return true if the debt exists and is the debtor's
+     */
+    boolean existsByDebtIdAndDebtorUserId(Long debtId, Long debtorId);
+
+    /**
+     * Checks whether a creditor currently holds a debt.
+     *
+     * @param debtId     the ID of the debt
+     * @param creditorId the ID of the creditor
+     * @return true if the debt exists and is held by the creditor
+     */
+    boolean existsByDebtIdAndCreditorUserId(Long debtId, Long creditorId);
+
+    /**
+     * Counts how many of some debts a creditor currently holds.
+     *
+     * @param debtIds    the IDs of the debts
+     * @param creditorId the ID of the creditor
+     * @return the number of the debts held by the creditor
+     */
+    @Query("SELECT COUNT(d) FROM Debt d WHERE d.debtId IN :debtIds AND d.creditor.userId = :creditorId")
+    long countHeldBy(@Param("debtIds") Collection<Long> debtIds, @Param("creditorId") Long creditorId);
+
+    /**
+     * Finds a debtor's debts in the given statuses, without locking them.
+     *
+     * @param debtorId the ID of the debtor
+     * @param statuses the debt statuses to include
+     * @return the debt IDs, ordered by ID
+     */
+    @Query("SELECT d.debtId FROM Debt d WHERE d.debtor.userId = :debtorId AND d.status IN :statuses ORDER BY d.debtId")
+    List<Long> findIdsByDebtor(@Param("debtorId") Long debtorId, @Param("statuses") Collection<Debt.Status> statuses);
+
+    /**
+     * Finds the debtors with debts changed since a point in time.
+     *
+     * @param since the earliest update time to include
+     * @return the debtor IDs
+     */
+    @Query("SELECT DISTINCT d.debtor.userId FROM Debt d WHERE d.updatedAt >= :since")
+    List<Long> findDebtorIdsUpdatedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Sums the debts in the given statuses for every debtor.
+     *
+     * @param statuses the statuses to include
+     * @return rows of: debtor ID, total current amount, number of debts
+     */
+    @Query("SELECT d.debtor.userId, SUM(d.currentAmount), COUNT(d) FROM Debt d "
+            + "WHERE d.status IN :statuses GROUP BY d.debtor.userId")
+    List<Object[]> sumByDebtor(@Param("statuses") Collection<Debt.Status> statuses);
+
+    /**
+     * Sums the debts in the given statuses for some debtors.
+     *
+     * @param debtorIds the IDs of the debtors
+     * @param statuses  the statuses to include
+     * @return rows as for {@link #sumByDebtor}; debtors without such debts have no row
+     */
+    @Query("SELECT d.debtor.userId, SUM(d.currentAmount), COUNT(d) FROM Debt d "
+            + "WHERE d.debtor.userId IN :debtorIds AND d.status IN :statuses GROUP BY d.debtor.userId")
+    List<Object[]> sumByDebtorIn(@Param("debtorIds") Collection<Long> debtorIds,
+                                 @Param("statuses") Collection<Debt.Status> statuses);
+}
@@ -0,0 +1,35 @@
+package com.kraya.platform.repository;
+
+import com.kraya.platform.model.DebtTransfer;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * DebtTransferRepository provides methods for accessing debt transfer data.
+ */
+@Repository
+public interface DebtTransferRepository extends JpaRepository<DebtTransfer, Long> {
+
+    /**
+     * Finds the debt transfers made by a portfolio transfer that are in the given status.
+     *
+     * @param portfolioTransferId the ID of the portfolio transfer
+     * @param status              the debt transfer status
+     * @param limit               the maximum number of rows
+     * @return the debt transfers ordered by ID
+     */
+    List<DebtTransfer> findByPortfolioTransferIdAndStatusOrderByTransferId(Long portfolioTransferId, String status,
+                                                                           Limit limit);
+
+    /**
+     * Counts the debt transfers made by a portfolio transfer that are in the given status.
+     *
+     * @param portfolioTransferId the ID of the portfolio transfer
+     * @param status              the debt transfer status
+     * @return the number of debt transfers
+     */
+    long countByPortfolioTransferIdAndStatus(Long portfolioTransferId, String status);
+}
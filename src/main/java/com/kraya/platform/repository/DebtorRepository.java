@@ -0,0 +1,47 @@
+package com.kraya.platform.repository;
+
+import com.kraya.platform.model.Debtor;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DebtorRepository provides methods for accessing debtor data.
+ */
+@Repository
+public interface DebtorRepository extends JpaRepository<Debtor, Long> {
+
+    /**
+     * Reads the screening attributes of debtors in ID order, one keyset page at a time,
+     * without loading entities.
+     *
+     * @param afterId the last debtor ID of the previous page, 0 for the first page
+     * @param limit   the page size
+     * @return rows of: ID, status, income level, employment status, marital status, housing status,
+     *         dependents, date of birth, profile verified
+     */
+    @Query("SELECT d.userId, d.status, d.incomeLevel, d.employmentStatus, d.maritalStatus, d.housingStatus, "
+            + "d.dependentsNumber, d.dateOfBirth, d.profileVerified FROM Debtor d "
+            + "WHERE d.userId > :afterId ORDER BY d.userId")
+    List<Object[]> findScreeningRows(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Reads the screening attributes of debtors changed since a point in time, like
+     * {@link #findScreeningRows}.
+     *
+     * @param since   the earliest update time to include
+     * @param afterId the last debtor ID of the previous page, 0 for the first page
+     * @param limit   the page size
+     * @return rows as for {@link #findScreeningRows}
+     */
+    @Query("SELECT d.userId, d.status, d.incomeLevel, d.employmentStatus, d.maritalStatus, d.housingStatus, "
+            + "d.dependentsNumber, d.dateOfBirth, d.profileVerified FROM Debtor d "
+            + "WHERE d.updatedAt >= :since AND d.userId > :afterId ORDER BY d.userId")
+    List<Object[]> findScreeningRowsUpdatedSince(@Param("since") LocalDateTime since, @Param("afterId") Long afterId,
+                                                 Limit limit);
+}
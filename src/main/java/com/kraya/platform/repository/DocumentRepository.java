@@ -0,0 +1,104 @@
+package com.kraya.platform.repository;
+
+import com.kraya.platform.model.Document;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * DocumentRepository provides methods for accessing document data.
+ */
+@Repository
+public interface DocumentRepository extends JpaRepository<Document, Long> {
+
+    /**
+     * Finds the documents uploaded by a debtor.
+     *
+     * @param debtorId the ID of the debtor
+     * @return the documents, oldest first
+     */
+    List<Document> findByDebtorUserIdOrderByDocumentId(Long debtorId);
+
+    /**
+     * Counts the documents sharing stored content.
+     *
+     * @param contentHash the SHA-256 of the content
+     * @return the number of documents
+     */
+    long countByContentHash(String contentHash);
+
+    /**
+     * Locks the next documents awaiting verification, skipping rows another worker has locked,
+     * so concurrent workers on any node claim disjoint batches without waiting on each other.
+     * Native because not every Hibernate dialect renders SKIP LOCKED from a lock timeout hint.
+     *
+     * @param staleBefore documents claimed before this are considered abandoned and are claimable again
+     * @param maxAttempts abandoned documents that already had this many attempts are not claimed again
+     * @param limit       the maximum number of documents
+     * @return the IDs of the locked documents, oldest first
+     */
+    @Query(value = "SELECT document_id FROM document WHERE verification_status = '" + Document.PENDING + "' "
+            + "OR (verification_status = '" + Document.IN_PROGRESS + "' AND claimed_at < :staleBefore "
+            + "AND verification_attempts < :maxAttempts) "
+            + "ORDER BY document_id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockClaimable(@Param("staleBefore") LocalDateTime staleBefore, @Param("maxAttempts") int maxAttempts,
+                             @Param("limit") int limit);
+
+    /**
+     * Fails abandoned claims that used up their attempts, so a document whose verification keeps
+     * taking its worker down is not handed out forever.
+     *
+     * @param staleBefore documents claimed before this are considered abandoned
+     * @param maxAttempts the number of attempts a document gets
+     * @param message     the reason recorded on the failed documents
+     * @param now         the failure time
+     * @return the number of documents failed
+     */
+    @Modifying
+    @Query("UPDATE Document d SET d.verificationStatus = '" + Document.FAILED + "', d.verificationMessage = :message, "
+            + "d.verifiedAt = :now, d.claimedAt = NULL "
+            + "WHERE d.verificationStatus = '" + Document.IN_PROGRESS + "' AND d.claimedAt < :staleBefore "
+            + "AND d.verificationAttempts >= :maxAttempts")
+    int failAbandoned(@Param("staleBefore") LocalDateTime staleBefore, @Param("maxAttempts") int maxAttempts,
+                      @Param("message") String message, @Param("now") LocalDateTime now);
+
+    /**
+     * Finds documents by ID.
+     *
+     * @param documentIds the IDs of the documents
+     * @return the documents, ordered by ID
+     */
+    List<Document> findByDocumentIdInOrderByDocumentId(Collection<Long> documentIds);
+
+    /**
+     * Records the outcome of a verification, unless the claim was taken over in the meantime.
+     *
+     * @param documentId the ID of the document
+     * @param claimedAt  the time of the claim being completed
+     * @param status     VERIFIED, REJECTED, FAILED, or PENDING to retry later
+     * @param message    the reason for a rejection or failure, null otherwise
+     * @param now        the completion time, stored for final outcomes only
+     * @return 1 if the outcome was recorded
+     */
+    @Modifying
+    @Query("UPDATE Document d SET d.verificationStatus = :status, d.verificationMessage = :message, "
+            + "d.verifiedAt = CASE WHEN :status = '" + Document.PENDING + "' THEN NULL ELSE :now END, d.claimedAt = NULL "
+            + "WHERE d.documentId = :documentId AND d.verificationStatus = '" + Document.IN_PROGRESS + "' "
+            + "AND d.claimedAt = :claimedAt")
+    int complete(@Param("documentId") Long documentId, @Param("claimedAt") LocalDateTime claimedAt,
+                 @Param("status") String status, @Param("message") String message, @Param("now") LocalDateTime now);
+
+    /**
+     * Counts documents by verification status.
+     *
+     * @return one row per status: status, number of documents
+     */
+    @Query("SELECT d.verificationStatus, COUNT(d) FROM Document d GROUP BY d.verificationStatus")
+    List<Object[]> countByVerificationStatus();
+}
@@ -0,0 +1,12 @@
+package com.kraya.platform.repository;
+
+import com.kraya.platform.model.ForgivenessDecision;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * ForgivenessDecisionRepository provides methods for accessing forgiveness decisions.
+ */
+@Repository
+public interface ForgivenessDecisionRepository extends JpaRepository<ForgivenessDecision, Long> {
+}
@@ -0,0 +1,92 @@
+package com.kraya.platform.repository;
+
+import com.kraya.platform.model.Installment;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * InstallmentRepository provides methods for accessing installment data.
+ */
+@Repository
+public interface InstallmentRepository extends JpaRepository<Installment, Long> {
+
+    /**
+     * Finds the schedule of a plan.
+     *
+     * @param planId the ID of the plan
+     * @return the plan's installments in schedule order
+     */
+    List<Installment> findByPlanPlanIdOrderBySequenceNumber(Long planId);
+
+    /**
+     * Checks whether a plan's schedule has been materialized.
+     *
+     * @param planId the ID of the plan
+     * @return true if the plan has installments
+     */
+    boolean existsByPlanPlanId(Long planId);
+
+    /**
+     * Finds which of the given debts have a schedule, paid off or not.
+     *
+     * @param debtIds the IDs of the debts
+     * @return the IDs of the debts that have installments
+     */
+    @Query("SELECT DISTINCT i.debtId FROM Installment i WHERE i.debtId IN :debtIds")
+    List<Long> findScheduledDebtIds(@Param("debtIds") Collection<Long> debtIds);
+
+    /**
+     * Counts a plan's installments that are not fully paid.
+     *
+     * @param planId the ID of the plan
+     * @param status the status to exclude, normally PAID
+     * @return the number of open installments
+     */
+    long countByPlanPlanIdAndStatusNot(Long planId, Installment.Status status);
+
+    /**
+     * Finds open installments due in a date range, served by the open-installment due-date index.
+     *
+     * @param from  the first due date, inclusive
+     * @param to    the last due date, inclusive
+     * @param limit the maximum number of installments
+     * @return the open installments ordered by due date
+     */
+    @Query("SELECT i FROM Installment i WHERE i.status <> com.kraya.platform.model.Installment.Status.PAID "
+            + "AND i.dueDate BETWEEN :from AND :to ORDER BY i.dueDate, i.installmentId")
+    List<Installment> findOpenDueBetween(@Param("from") LocalDate from, @Param("to") LocalDate to, Limit limit);
+
+    /**
+     * Finds open installments due in a date range on the debts a user owes or holds.
+     *
+     * @param debtorId   the debtor whose debts are included
+     * @param creditorId the creditor whose held debts are included, or null for none
+     * @param from       the first due date, inclusive
+     * @param to         the last due date, inclusive
+     * @param limit      the maximum number of installments
+     * @return the open installments ordered by due date
+     */
+    @Query("SELECT i FROM Installment i JOIN Debt d ON d.debtId = i.debtId "
+            + "WHERE i.status <> com.kraya.platform.model.Installment.Status.PAID AND i.dueDate BETWEEN :from AND :to "
+            + "AND (d.debtor.userId = :debtorId OR d.creditor.userId = :creditorId) ORDER BY i.dueDate, i.installmentId")
+    List<Installment> findOpenDueBetweenFor(@Param("debtorId") Long debtorId, @Param("creditorId") Long creditorId,
+                                            @Param("from") LocalDate from, @Param("to") LocalDate to, Limit limit);
+
+    /**
+     * Finds the open installments of the given debts in the order payments are applied to them.
+     *
+     * @param debtIds the IDs of the debts
+     * @return open installments ordered by debt, due date and sequence number
+     */
+    @Query("SELECT i FROM Installment i WHERE i.debtId IN :debtIds "
+            + "AND i.status <> com.kraya.platform.model.Installment.Status.PAID "
+            + "ORDER BY i.debtId, i.dueDate, i.sequenceNumber")
+    List<Installment> findOpenByDebtIds(@Param("debtIds") Collection<Long> debtIds);
+}
@@ -0,0 +1,81 @@
+package com.kraya.platform.repository;
+
+import com.kraya.platform.model.InterestAccrualChunk;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * InterestAccrualChunkRepository provides methods for accessing interest accrual chunks.
+ */
+@Repository
+public interface InterestAccrualChunkRepository extends JpaRepository<InterestAccrualChunk, Long> {
+
+    /**
+     * Finds the chunks of a run that are not done yet, in keyset order.
+     *
+     * @param accrualDate the accrual date of the run
+     * @param status      the status to exclude, normally DONE
+     * @return the unfinished chunks
+     */
+    List<InterestAccrualChunk> findByAccrualDateAndStatusNotOrderByRangeStart(LocalDate accrualDate,
+                                                                               InterestAccrualChunk.Status status);
+
+    /**
+     * Claims a chunk for processing unless another worker holds a live claim on it.
+     *
+     * @param chunkId     the ID of the chunk
+     * @param now         the claim time
+     * @param staleBefore claims older than this are considered abandoned and may be taken over
+     * @return 1 if the chunk was claimed, 0 otherwise
+     */
+    @Modifying
+    @Query("UPDATE InterestAccrualChunk c SET c.status = com.kraya.platform.model.InterestAccrualChunk.Status.CLAIMED, "
+            + "c.claimedAt = :now WHERE c.chunkId = :chunkId "
+            + "AND (c.status = com.kraya.platform.model.InterestAccrualChunk.Status.PENDING "
+            + "OR (c.status = com.kraya.platform.model.InterestAccrualChunk.Status.CLAIMED AND c.claimedAt < :staleBefore))")
+    int claim(@Param("chunkId") Long chunkId, @Param("now") LocalDateTime now,
+              @Param("staleBefore") LocalDateTime staleBefore);
+
+    /**
+     * Marks a claimed chunk as done and records its totals.
+     *
+     * @return 1 if the chunk was updated
+     */
+    @Modifying
+    @Query("UPDATE InterestAccrualChunk c SET c.status = com.kraya.platform.model.InterestAccrualChunk.Status.DONE, "
+            + "c.completedAt = :now, c.debtsAccrued = :debtsAccrued, c.interestTotal = :interestTotal "
+            + "WHERE c.chunkId = :chunkId")
+    int complete(@Param("chunkId") Long chunkId, @Param("now") LocalDateTime now,
+                 @Param("debtsAccrued") int debtsAccrued, @Param("interestTotal") BigDecimal interestTotal);
+
+    /**
+     * Returns a claimed chunk to PENDING after its processing failed.
+     *
+     * @param chunkId the ID of the chunk
+     * @return 1 if the chunk was released
+     */
+    @Modifying
+    @Query("UPDATE InterestAccrualChunk c SET c.status = com.kraya.platform.model.InterestAccrualChunk.Status.PENDING, "
+            + "c.claimedAt = NULL WHERE c.chunkId = :chunkId "
+            + "AND c.status = com.kraya.platform.model.InterestAccrualChunk.Status.CLAIMED")
+    int release(@Param("chunkId") Long chunkId);
+
+    /**
+     * Sums the progress of a run over its finished chunks.
+     *
+     * @param accrualDate the accrual date of the run
+     * @return a single row of [completed chunks, debts accrued, interest total]
+     */
+    @Query("SELECT COUNT(c), COALESCE(SUM(c.debtsAccrued), 0), COALESCE(SUM(c.interestTotal), 0) "
+            + "FROM InterestAccrualChunk c WHERE c.accrualDate = :accrualDate "
+            + "AND c.status = com.kraya.platform.model.InterestAccrualChunk.Status.DONE")
+    List<Object[]> summarize(@Param("accrualDate") LocalDate accrualDate);
+}
@@ -0,0 +1,14 @@
+package com.kraya.platform.repository;
+
+import com.kraya.platform.model.InterestAccrualRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+
+/**
+ * InterestAccrualRunRepository provides methods for accessing interest accrual runs.
+ */
+@Repository
+public interface InterestAccrualRunRepository extends JpaRepository<InterestAccrualRun, LocalDate> {
+}
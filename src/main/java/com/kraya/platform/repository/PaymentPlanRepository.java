@@ -0,0 +1,38 @@
+package com.kraya.platform.repository;
+
+import com.kraya.platform.model.PaymentPlan;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * PaymentPlanRepository provides methods for accessing payment plan data.
+ */
+@Repository
+public interface PaymentPlanRepository extends JpaRepository<PaymentPlan, Long> {
+
+    /**
+     * Checks whether a debt has a plan in the given status.
+     *
+     * @param debtId the ID of the debt
+     * @param status the plan status, normally ACTIVE
+     * @return true if such a plan exists
+     */
+    boolean existsByDebtDebtIdAndStatus(Long debtId, PaymentPlan.Status status);
+
+    /**
+     * Finds active plans created before schedules existed, whose installments are still to be generated.
+     *
+     * @param afterId only plans with a higher ID are returned
+     * @param limit   the maximum number of plans
+     * @return the plans, lowest ID first
+     */
+    @Query("SELECT p FROM PaymentPlan p WHERE p.planId > :afterId "
+            + "AND p.status = com.kraya.platform.model.PaymentPlan.Status.ACTIVE "
+            + "AND NOT EXISTS (SELECT 1 FROM Installment i WHERE i.plan = p) ORDER BY p.planId")
+    List<PaymentPlan> findActiveWithoutSchedule(@Param("afterId") Long afterId, Limit limit);
+}
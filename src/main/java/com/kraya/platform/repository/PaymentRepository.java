@@ -0,0 +1,76 @@
+package com.kraya.platform.repository;
+
+import com.kraya.platform.model.Payment;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * PaymentRepository provides methods for accessing payment data.
+ */
+@Repository
+public interface PaymentRepository extends JpaRepository<Payment, Long> {
+
+    /**
+     * Counts the payments posted against a debt.
+     *
+     * @param debtId the ID of the debt
+     * @return the number of payments
+     */
+    long countByDebtDebtId(Long debtId);
+
+    /**
+     * Sums the payments posted against a debt.
+     *
+     * @param debtId the ID of the debt
+     * @return the total paid, zero if there are no payments
+     */
+    @Query("SELECT COALESCE(SUM(p.amount), 0) FROM Payment p WHERE p.debt.debtId = :debtId")
+    BigDecimal sumAmountByDebtId(@Param("debtId") Long debtId);
+
+    /**
+     * Sums what payments against a debt paid beyond its installment schedule.
+     *
+     * @param debtId the ID of the debt
+     * @return the total unapplied amount, zero if there is none
+     */
+    @Query("SELECT COALESCE(SUM(p.unappliedAmount), 0) FROM Payment p WHERE p.debt.debtId = :debtId")
+    BigDecimal sumUnappliedAmountByDebtId(@Param("debtId") Long debtId);
+
+    /**
+     * Finds debts that have payments not yet applied to installments.
+     *
+     * @param limit the maximum number of debt IDs
+     * @return the debt IDs, lowest first
+     */
+    @Query("SELECT DISTINCT p.debt.debtId FROM Payment p WHERE p.reconciledAt IS NULL ORDER BY p.debt.debtId")
+    List<Long> findDebtIdsWithUnreconciledPayments(Limit limit);
+
+    /**
+     * Finds the unreconciled payments of the given debts in the order they were made.
+     *
+     * @param debtIds the IDs of the debts
+     * @return the payments ordered by transaction date
+     */
+    List<Payment> findByDebtDebtIdInAndReconciledAtIsNullOrderByTransactionDateAscPaymentIdAsc(Collection<Long> debtIds);
+
+    /**
+     * Marks all unreconciled payments of a debt as reconciled without applying them,
+     * used when a schedule is created from the debt's current balance.
+     *
+     * @param debtId the ID of the debt
+     * @param now    the reconciliation time
+     * @return the number of payments marked
+     */
+    @Modifying
+    @Query("UPDATE Payment p SET p.reconciledAt = :now WHERE p.debt.debtId = :debtId AND p.reconciledAt IS NULL")
+    int markReconciled(@Param("debtId") Long debtId, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,12 @@
+package com.kraya.platform.repository;
+
+import com.kraya.platform.model.PortfolioTransfer;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * PortfolioTransferRepository provides methods for accessing portfolio transfer data.
+ */
+@Repository
+public interface PortfolioTransferRepository extends JpaRepository<PortfolioTransfer, Long> {
+}
@@ -1,15 +1,60 @@
 package com.kraya.platform.repository;
 
+import com.kraya.platform.model.AppUser;
 import com.kraya.platform.model.User;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
 /**
  * UserRepository provides methods for accessing user data.
  */
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    /**
+     * Retrieves all users with their roles in a single query.
+     *
+     * @return all users
+     */
+    @Override
+    @EntityGraph(User.WITH_ROLES)
+    List<User> findAll();
+
+    /**
+     * Finds a user by ID together with its roles in a single query.
+     * Use {@link #findById(Object)} when the roles are not needed.
+     *
+     * @param userId the ID of the user
+     * @return the user if found
+     */
+    @EntityGraph(User.WITH_ROLES)
+    Optional<User> findWithRolesByUserId(Long userId);
+
+    /**
+     * Reads only a user's last modification time, for revalidating cached copies of the user
+     * without loading it.
+     *
+     * @param userId the ID of the user
+     * @return the modification time, empty if the user does not exist
+     */
+    @Query("select u.updatedAt from User u where u.userId = :userId")
+    Optional<LocalDateTime> findUpdatedAtByUserId(@Param("userId") Long userId);
+
     /**
      * Checks if a user exists by username.
      *
@@ -25,4 +70,65 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return true if the email exists, false otherwise
      */
     boolean existsByEmail(String email);
+
+    /**
+     * Returns which of the given usernames are already taken, in one query.
+     *
+     * @param usernames the usernames to check
+     * @return the subset of usernames that already exist
+     */
+    @Query("select u.username from User u where u.username in :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    /**
+     * Returns which of the given emails are already taken, in one query.
+     *
+     * @param emails the emails to check
+     * @return the subset of emails that already exist
+     */
+    @Query("select u.email from User u where u.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    /**
+     * Finds a user by username together with its roles.
+     *
+     * @param username the username to look up
+     * @return the user if found
+     */
+    @EntityGraph(User.WITH_ROLES)
+    Optional<User> findByUsername(String username);
+
+    /**
+     * Retrieves the next page of users after the given ID (keyset pagination).
+     * Uses the primary key index instead of an OFFSET scan, so every page costs the same.
+     * Roles are not fetch-joined (that would force in-memory paging); they are batch-loaded
+     * for the whole page in one extra query on first access.
+     *
+     * @param userId the last user ID of the previous page, or 0 for the first page
+     * @param limit  the maximum number of users to return
+     * @return the users with an ID greater than {@code userId}, ordered by ID
+     */
+    List<User> findByUserIdGreaterThanOrderByUserIdAsc(Long userId, Limit limit);
+
+    /**
+     * Streams all users ordered by ID from a database cursor.
+     * Must be consumed inside a transaction and closed afterwards.
+     *
+     * @return a stream over all users
+     */
+    @Query("select u from User u order by u.userId")
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    Stream<User> streamAllByOrderByUserId();
+
+    /**
+     * Finds an application user (a user that can hold debts) by ID.
+     *
+     * @param userId the ID of the user
+     * @return the application user if found
+     */
+    @Query("select u from AppUser u where u.userId = :userId")
+    Optional<AppUser> findAppUserById(@Param("userId") Long userId);
 }
@@ -0,0 +1,51 @@
+package com.kraya.platform.repository;
+
+import com.kraya.platform.model.Vote;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * VoteRepository provides methods for accessing vote data.
+ */
+@Repository
+public interface VoteRepository extends JpaRepository<Vote, Long> {
+
+    /**
+     * Loads a creditor's vote on a debtor and locks it until the end of the transaction.
+     *
+     * @param debtorId   the ID of the debtor
+     * @param creditorId the ID of the creditor
+     * @return the vote if the creditor has voted
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT v FROM Vote v WHERE v.debtor.userId = :debtorId AND v.creditor.userId = :creditorId")
+    Optional<Vote> findForUpdate(@Param("debtorId") Long debtorId, @Param("creditorId") Long creditorId);
+
+    /**
+     * Counts the votes of every debtor that has any.
+     *
+     * @return one row per debtor: debtor ID, yes votes, no votes
+     */
+    @Query("SELECT v.debtor.userId, SUM(CASE WHEN v.vote = true THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN v.vote = true THEN 0 ELSE 1 END) FROM Vote v GROUP BY v.debtor.userId")
+    List<Object[]> countByDebtor();
+
+    /**
+     * Counts a debtor's votes cast by creditors that currently hold one of the debtor's debts.
+     *
+     * @param debtorId the ID of the debtor
+     * @return a single row: yes votes, no votes; both null if there are no such votes
+     */
+    @Query("SELECT SUM(CASE WHEN v.vote = true THEN 1 ELSE 0 END), SUM(CASE WHEN v.vote = true THEN 0 ELSE 1 END) "
+            + "FROM Vote v WHERE v.debtor.userId = :debtorId "
+            + "AND EXISTS (SELECT 1 FROM Creditor c WHERE c.userId = v.creditor.userId) "
+            + "AND EXISTS (SELECT 1 FROM Debt d WHERE d.debtor.userId = :debtorId AND d.creditor.userId = v.creditor.userId)")
+    List<Object[]> countVerifiedVotes(@Param("debtorId") Long debtorId);
+}
@@ -0,0 +1,12 @@
+package com.kraya.platform.repository;
+
+import com.kraya.platform.model.VoteTally;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * VoteTallyRepository provides methods for accessing the per-debtor vote summary.
+ */
+@Repository
+public interface VoteTallyRepository extends JpaRepository<VoteTally, Long> {
+}
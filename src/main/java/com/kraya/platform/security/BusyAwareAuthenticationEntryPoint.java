@@ -0,0 +1,34 @@
+package com.kraya.platform.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.web.authentication.www.BasicAuthenticationEntryPoint;
+
+import java.io.IOException;
+
+/**
+ * BusyAwareAuthenticationEntryPoint answers HTTP Basic failures that were not the client's
+ * fault, such as the user lookup timing out on a saturated connection pool, with 503 and a
+ * Retry-After header, the way {@link com.kraya.platform.exception.GlobalExceptionHandler}
+ * answers a busy service. Wrong credentials still get the usual 401 challenge.
+ */
+public class BusyAwareAuthenticationEntryPoint extends BasicAuthenticationEntryPoint {
+
+    public BusyAwareAuthenticationEntryPoint(String realmName) {
+        setRealmName(realmName);
+    }
+
+    @Override
+    public void commence(HttpServletRequest request, HttpServletResponse response, AuthenticationException authException)
+            throws IOException {
+        if (authException instanceof InternalAuthenticationServiceException) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Authentication is temporarily unavailable, please retry shortly");
+            return;
+        }
+        super.commence(request, response, authException);
+    }
+}
@@ -0,0 +1,140 @@
+package com.kraya.platform.security;
+
+import com.kraya.platform.model.User;
+import com.kraya.platform.repository.DebtRepository;
+import com.kraya.platform.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * DebtAccess decides who may act on a debt and see a debtor's records: admins always, the
+ * creditor currently holding the debt, and for reading the debtor it is owed by. Token and
+ * API key callers are identified by the user ID in their claims, Basic callers by username.
+ */
+@Component
+public class DebtAccess {
+
+    private static final Logger logger = LoggerFactory.getLogger(DebtAccess.class);
+
+    private static final String ADMIN_AUTHORITY = "ROLE_ADMIN";
+    private static final String CREDITOR_AUTHORITY = "ROLE_CREDITOR";
+
+    private final UserRepository userRepository;
+    private final DebtRepository debtRepository;
+
+    @Autowired
+    public DebtAccess(UserRepository userRepository, DebtRepository debtRepository) {
+        this.userRepository = userRepository;
+        this.debtRepository = debtRepository;
+    }
+
+    /**
+     * Checks that the caller may see a debtor's records: the debtor itself, an admin, or a
+     * creditor currently holding one of the debtor's debts.
+     *
+     * @param debtorId the ID of the debtor
+     * @param caller   the authenticated caller
+     * @throws AccessDeniedException if the caller may not
+     */
+    public void checkDebtor(Long debtorId, Authentication caller) {
+        if (isAdmin(caller)) {
+            return;
+        }
+        Long callerId = callerId(caller);
+        if (debtorId != null && callerId != null && (callerId.equals(debtorId) || isCreditor(caller)
+                && debtRepository.existsByDebtorUserIdAndCreditorUserId(debtorId, callerId))) {
+            return;
+        }
+        throw denied(caller, "debtor " + debtorId, "Only the debtor, its creditors and admins have access");
+    }
+
+    /**
+     * Checks that the caller may change debts: an admin, or the creditor holding every one of them.
+     *
+     * @param debtIds the IDs of the debts; null IDs are ignored
+     * @param caller  the authenticated caller
+     * @throws AccessDeniedException if the caller may not
+     */
+    public void checkCreditor(Collection<Long> debtIds, Authentication caller) {
+        if (isAdmin(caller)) {
+            return;
+        }
+        Long callerId = callerId(caller);
+        Set<Long> distinctIds = debtIds.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        if (callerId != null && isCreditor(caller)
+                && (distinctIds.isEmpty() || debtRepository.countHeldBy(distinctIds, callerId) == distinctIds.size())) {
+            return;
+        }
+        throw denied(caller, "debts " + distinctIds, "Only the debt's creditor and admins may change it");
+    }
+
+    /**
+     * Checks that the caller may read a debt: an admin, the creditor holding it or its debtor.
+     *
+     * @param debtId the ID of the debt
+     * @param caller the authenticated caller
+     * @throws AccessDeniedException if the caller may not
+     */
+    public void checkParty(Long debtId, Authentication caller) {
+        if (isAdmin(caller)) {
+            return;
+        }
+        Long callerId = callerId(caller);
+        if (debtId != null && callerId != null && (debtRepository.existsByDebtIdAndDebtorUserId(debtId, callerId)
+                || isCreditor(caller) && debtRepository.existsByDebtIdAndCreditorUserId(debtId, callerId))) {
+            return;
+        }
+        throw denied(caller, "debt " + debtId, "Only the debt's debtor, its creditor and admins have access");
+    }
+
+    /**
+     * @param caller the authenticated caller, or null
+     * @return true if the caller is an admin
+     */
+    public boolean isAdmin(Authentication caller) {
+        return hasAuthority(caller, ADMIN_AUTHORITY);
+    }
+
+    /**
+     * @param caller the authenticated caller, or null
+     * @return the caller's user ID, or null if the caller is not a known user
+     */
+    public Long callerId(Authentication caller) {
+        if (caller == null) {
+            return null;
+        }
+        if (caller.getCredentials() instanceof TokenClaims claims) {
+            return claims.getUserId();
+        }
+        return userRepository.findByUsername(caller.getName()).map(User::getUserId).orElse(null);
+    }
+
+    /**
+     * @param caller the authenticated caller, or null
+     * @return true if the caller is a creditor
+     */
+    public boolean isCreditor(Authentication caller) {
+        return hasAuthority(caller, CREDITOR_AUTHORITY);
+    }
+
+    private static boolean hasAuthority(Authentication caller, String authority) {
+        return caller != null && caller.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .anyMatch(authority::equals);
+    }
+
+    private static AccessDeniedException denied(Authentication caller, String target, String message) {
+        logger.warn("Denied {} access to {}", caller == null ? "anonymous" : caller.getName(), target);
+        return new AccessDeniedException(message);
+    }
+}
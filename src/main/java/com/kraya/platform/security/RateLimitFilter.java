@@ -0,0 +1,100 @@
+package com.kraya.platform.security;
+
+import com.kraya.platform.config.RateLimitProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * RateLimitFilter limits how often each client may call each route group, answering
+ * 429 with a {@code Retry-After} header once a client's bucket is empty.
+ * <p>
+ * It runs after authentication, so authenticated clients are told apart by user ID, which
+ * covers API keys and bearer tokens alike, and everyone else by remote address. Requests
+ * matching no group are not limited. Requests rejected during authentication never get here;
+ * {@link UnauthenticatedRateLimitFilter} limits those.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final List<Group> groups;
+    private final LongSupplier nanoClock;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public RateLimitFilter(RateLimitProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    RateLimitFilter(RateLimitProperties properties, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        long now = nanoClock.getAsLong();
+        long sweepInterval = properties.getSweepInterval().toNanos();
+        this.groups = properties.getGroups().stream()
+                .map(group -> new Group(group.getName(), List.copyOf(group.getPatterns()),
+                        new RateLimiter(group.getRequestsPerSecond(), group.getBurst(),
+                                properties.getMaxClients(), sweepInterval, now)))
+                .toList();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Group group = groupFor(request.getRequestURI().substring(request.getContextPath().length()));
+        if (group == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long wait = group.limiter.tryAcquire(clientKey(request), nanoClock.getAsLong());
+        if (wait > 0) {
+            long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + TimeUnit.SECONDS.toNanos(1) - 1));
+            response.setHeader("Retry-After", Long.toString(seconds));
+            response.sendError(429, "Too many requests for " + group.name + ", retry in " + seconds + "s");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * @return the number of client buckets currently kept, across all groups
+     */
+    public int clientCount() {
+        return groups.stream().mapToInt(group -> group.limiter.size()).sum();
+    }
+
+    private Group groupFor(String path) {
+        for (Group group : groups) {
+            for (String pattern : group.patterns) {
+                if (pathMatcher.match(pattern, path)) {
+                    return group;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return "ip:" + request.getRemoteAddr();
+        }
+        if (authentication.getCredentials() instanceof TokenClaims claims && claims.getUserId() != null) {
+            return "user:" + claims.getUserId();
+        }
+        return "name:" + authentication.getName();  // Basic authentication
+    }
+
+    private record Group(String name, List<String> patterns, RateLimiter limiter) {
+    }
+}
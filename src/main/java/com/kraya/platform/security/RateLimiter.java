@@ -0,0 +1,122 @@
+package com.kraya.platform.security;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RateLimiter keeps one token bucket per client, without locks.
+ * <p>
+ * Each bucket is a single {@link AtomicLong} holding the bucket's theoretical arrival time
+ * (the generic cell rate algorithm): the time at which the bucket will be full again.
+ * A request is allowed if, after adding one emission interval, that time is at most
+ * {@code burst} intervals ahead of now; the update is one compare-and-set.
+ * <p>
+ * A bucket whose arrival time has passed is full, which is exactly how a new bucket starts,
+ * so idle buckets can be dropped without changing any client's limit. They are swept on the
+ * request path, at most once per sweep interval, or early when there are more than
+ * {@code maxClients} buckets; memory follows the clients active in the last burst window.
+ * An early sweep that leaves many active clients behind raises the bar for the next one to
+ * twice what it left, so the cost of sweeping stays proportional to the clients added since
+ * instead of being paid again by every new client.
+ */
+public class RateLimiter {
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final int maxClients;
+    private final long sweepIntervalNanos;
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweep;
+    private final AtomicInteger sweepAbove;  // Bucket count that triggers an early sweep
+
+    /**
+     * @param requestsPerSecond the sustained rate allowed per client
+     * @param burst             the number of requests a rested client may send at once
+     * @param maxClients        the number of buckets above which idle ones are swept early
+     * @param sweepIntervalNanos how often idle buckets are swept otherwise
+     * @param nowNanos          the current time, from the same clock as later calls
+     */
+    public RateLimiter(double requestsPerSecond, int burst, int maxClients, long sweepIntervalNanos, long nowNanos) {
+        if (requestsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate and burst must be positive");
+        }
+        this.intervalNanos = Math.max(1, Math.round(1_000_000_000L / requestsPerSecond));
+        this.toleranceNanos = intervalNanos * burst;
+        this.maxClients = maxClients;
+        this.sweepIntervalNanos = sweepIntervalNanos;
+        this.nextSweep = new AtomicLong(nowNanos + sweepIntervalNanos);
+        this.sweepAbove = new AtomicInteger(maxClients);
+    }
+
+    /**
+     * Takes one token from a client's bucket.
+     *
+     * @param client   the client's key
+     * @param nowNanos the current time
+     * @return 0 if the request is allowed, otherwise how many nanoseconds until it would be
+     */
+    public long tryAcquire(String client, long nowNanos) {
+        AtomicLong bucket = buckets.get(client);
+        if (bucket == null) {
+            sweepIfDue(nowNanos);  // First, so the sweep does not count or drop the bucket being added
+            bucket = buckets.computeIfAbsent(client, key -> new AtomicLong(nowNanos));
+        }
+        while (true) {
+            long arrival = bucket.get();
+            long next = Math.max(arrival, nowNanos) + intervalNanos;
+            long wait = next - nowNanos - toleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Gives back a token taken by {@link #tryAcquire}, for a request that turned out not to count.
+     *
+     * @param client the client's key
+     */
+    public void release(String client) {
+        AtomicLong bucket = buckets.get(client);
+        if (bucket != null) {
+            bucket.addAndGet(-intervalNanos);  // At most full again: tryAcquire never looks further back than now
+        }
+    }
+
+    /**
+     * @return the number of buckets currently kept
+     */
+    public int size() {
+        return buckets.size();
+    }
+
+    /**
+     * Drops the buckets that are full again.
+     *
+     * @param nowNanos the current time
+     */
+    public void sweep(long nowNanos) {
+        for (Iterator<Map.Entry<String, AtomicLong>> entries = buckets.entrySet().iterator(); entries.hasNext(); ) {
+            Map.Entry<String, AtomicLong> entry = entries.next();
+            if (entry.getValue().get() - nowNanos <= 0) {
+                // A request racing with the removal gets a new, full bucket; it was full anyway
+                buckets.remove(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    private void sweepIfDue(long nowNanos) {
+        long due = nextSweep.get();
+        boolean crowded = buckets.size() > sweepAbove.get();
+        if ((crowded || nowNanos - due >= 0) && nextSweep.compareAndSet(due, nowNanos + sweepIntervalNanos)) {
+            sweep(nowNanos);
+            sweepAbove.set((int) Math.min(Integer.MAX_VALUE, Math.max(maxClients, 2L * buckets.size())));
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.kraya.platform.security;
+
+import com.kraya.platform.exception.InvalidTokenException;
+import com.kraya.platform.service.RoleRegistry;
+import com.kraya.platform.service.TokenService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * TokenAuthenticationFilter authenticates requests carrying an
+ * {@code Authorization: Bearer <token>} header. Requests without a bearer token
+ * are passed through untouched so the remaining authentication mechanisms apply.
+ * <p>
+ * The authenticated principal's credentials are the token's {@link TokenClaims}, with
+ * {@link TokenClaims#getRoleMask()} resolved once here so later role checks are bit tests.
+ */
+public class TokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final TokenService tokenService;
+    private final RoleRegistry roleRegistry;
+
+    public TokenAuthenticationFilter(TokenService tokenService, RoleRegistry roleRegistry) {
+        this.tokenService = tokenService;
+        this.roleRegistry = roleRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith(BEARER_PREFIX)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        TokenClaims claims;
+        try {
+            claims = tokenService.verify(header.substring(BEARER_PREFIX.length()), TokenClaims.ACCESS);
+        } catch (InvalidTokenException e) {
+            SecurityContextHolder.clearContext();
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED, e.getMessage());
+            return;
+        }
+
+        claims.setRoleMask(roleRegistry.maskOfNames(claims.getRoles()));
+        List<GrantedAuthority> authorities = claims.getRoles() == null
+                ? Collections.emptyList()
+                : claims.getRoles().stream()
+                        .map(role -> (GrantedAuthority) new SimpleGrantedAuthority("ROLE_" + role))
+                        .toList();
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(claims.getSubject(), claims, authorities);
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        filterChain.doFilter(request, response);
+    }
+}
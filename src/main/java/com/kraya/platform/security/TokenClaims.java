@@ -0,0 +1,73 @@
+package com.kraya.platform.security;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.kraya.platform.model.Roles;
+import com.kraya.platform.service.RoleRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * TokenClaims is the payload carried inside a signed access or refresh token.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenClaims {
+
+    public static final String ACCESS = "access";
+    public static final String REFRESH = "refresh";
+    public static final String API_KEY = "api_key";  // Claims resolved from a creditor's API key, never encoded
+
+    @JsonProperty("sub")
+    private String subject;  // Username
+
+    @JsonProperty("uid")
+    private Long userId;
+
+    @JsonProperty("roles")
+    private List<String> roles;  // Role names, without the ROLE_ prefix
+
+    @JsonProperty("typ")
+    private String type;  // ACCESS, REFRESH or API_KEY
+
+    @JsonProperty("jti")
+    private String tokenId;  // Unique token ID, used for revocation
+
+    @JsonProperty("iat")
+    private long issuedAt;  // Epoch seconds
+
+    @JsonProperty("exp")
+    private long expiresAt;  // Epoch seconds
+
+    @JsonProperty("iat_ms")
+    private long issuedAtMillis;  // Epoch milliseconds, compared against per-user revocations
+
+    // Bitset of the roles as assigned by RoleRegistry; process-local, never serialized into the token
+    @JsonIgnore
+    private long roleMask;
+
+    public TokenClaims(String subject, Long userId, List<String> roles, String type,
+                       String tokenId, long issuedAt, long expiresAt) {
+        this(subject, userId, roles, type, tokenId, issuedAt, expiresAt, issuedAt * 1000, 0L);
+    }
+
+    /**
+     * Checks a built-in role with a single bit test against {@link #roleMask}.
+     *
+     * @param role the role to check
+     * @return true if the token holder has the role
+     */
+    @JsonIgnore
+    public boolean hasRole(Roles role) {
+        return RoleRegistry.hasRole(roleMask, role);
+    }
+
+    @JsonIgnore
+    public boolean isRefreshToken() {
+        return REFRESH.equals(type);
+    }
+}
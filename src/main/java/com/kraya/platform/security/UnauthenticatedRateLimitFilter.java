@@ -0,0 +1,74 @@
+package com.kraya.platform.security;
+
+import com.kraya.platform.config.RateLimitProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * UnauthenticatedRateLimitFilter limits, per remote address, the requests that do not end up
+ * authenticated: anonymous calls and every failed bearer token, API key or Basic password.
+ * <p>
+ * It runs before the authentication filters, since those answer bad credentials themselves and
+ * the request never reaches {@link RateLimitFilter}. Every request takes a token from its
+ * address's bucket up front, so a burst of parallel guesses cannot outrun the limit, and gets it
+ * back once it turns out to be authenticated; an address whose bucket is empty is answered 429
+ * before its credentials are checked. Clients sharing an address that only send valid
+ * credentials therefore never use up its bucket, though they are turned away while someone
+ * else at the address has emptied it.
+ */
+public class UnauthenticatedRateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter limiter;
+    private final LongSupplier nanoClock;
+
+    public UnauthenticatedRateLimitFilter(RateLimitProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    UnauthenticatedRateLimitFilter(RateLimitProperties properties, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        RateLimitProperties.Unauthenticated limit = properties.getUnauthenticated();
+        this.limiter = new RateLimiter(limit.getRequestsPerSecond(), limit.getBurst(), properties.getMaxClients(),
+                properties.getSweepInterval().toNanos(), nanoClock.getAsLong());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String client = request.getRemoteAddr();
+        long wait = limiter.tryAcquire(client, nanoClock.getAsLong());
+        if (wait > 0) {
+            long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + TimeUnit.SECONDS.toNanos(1) - 1));
+            response.setHeader("Retry-After", Long.toString(seconds));
+            response.sendError(429, "Too many unauthenticated requests, retry in " + seconds + "s");
+            return;
+        }
+        filterChain.doFilter(request, response);
+        if (isAuthenticated() && response.getStatus() != HttpServletResponse.SC_UNAUTHORIZED) {
+            limiter.release(client);
+        }
+    }
+
+    /**
+     * @return the number of address buckets currently kept
+     */
+    public int clientCount() {
+        return limiter.size();
+    }
+
+    private static boolean isAuthenticated() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken);
+    }
+}
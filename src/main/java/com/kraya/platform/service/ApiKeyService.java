@@ -0,0 +1,34 @@
+package com.kraya.platform.service;
+
+import com.kraya.platform.dto.ApiKeyResponse;
+import com.kraya.platform.security.TokenClaims;
+
+/**
+ * ApiKeyService issues and checks the API keys creditors' integrations authenticate with.
+ */
+public interface ApiKeyService {
+
+    /**
+     * Issues a new API key for a creditor, replacing any previous key.
+     *
+     * @param creditorId the ID of the creditor
+     * @return the new key, which is not stored and cannot be retrieved again
+     */
+    ApiKeyResponse issue(Long creditorId);
+
+    /**
+     * Revokes a creditor's API key.
+     *
+     * @param creditorId the ID of the creditor
+     */
+    void revoke(Long creditorId);
+
+    /**
+     * Resolves an API key to the creditor holding it.
+     *
+     * @param apiKey the key presented by the caller
+     * @return the creditor's claims, of type {@link TokenClaims#API_KEY}; shared between requests, must not be modified
+     * @throws com.kraya.platform.exception.InvalidTokenException if the key is unknown, revoked, or its creditor is not active
+     */
+    TokenClaims authenticate(String apiKey);
+}
@@ -0,0 +1,359 @@
+package com.kraya.platform.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * DebtorColumns is an immutable, column-oriented copy of the debtor attributes used to screen
+ * for forgiveness eligibility, together with each debtor's outstanding debt.
+ * <p>
+ * Every attribute is a primitive array indexed by row, so scoring scans tight arrays instead of
+ * entities. Text attributes are dictionary encoded: each distinct value (trimmed, upper case)
+ * gets an int code, and code 0 stands for no value. Changes never modify an instance; they
+ * produce a new one with {@link #withChanges}, so readers always see a consistent snapshot.
+ */
+public final class DebtorColumns {
+
+    /**
+     * The dictionary-encoded text attributes.
+     */
+    public enum Text {
+        INCOME_LEVEL,
+        EMPLOYMENT_STATUS,
+        MARITAL_STATUS,
+        HOUSING_STATUS
+    }
+
+    public static final int NO_VALUE = 0;
+    public static final int NO_DEPENDENTS_VALUE = -1;
+    public static final int NO_BIRTH_DATE = Integer.MIN_VALUE;
+
+    private final long version;
+    private final LocalDateTime refreshedAt;
+    private final int size;
+    private final long[] debtorIds;
+    private final boolean[] active;
+    private final boolean[] profileVerified;
+    private final int[] dependents;
+    private final int[] birthEpochDays;
+    private final long[] outstandingCents;
+    private final int[] openDebts;
+    private final Map<Text, int[]> textCodes;
+    private final Map<Text, String[]> dictionaries;
+    private final RowIndex rowIndex;
+
+    private DebtorColumns(long version, LocalDateTime refreshedAt, int size, long[] debtorIds, boolean[] active,
+                          boolean[] profileVerified, int[] dependents, int[] birthEpochDays, long[] outstandingCents,
+                          int[] openDebts, Map<Text, int[]> textCodes, Map<Text, String[]> dictionaries,
+                          RowIndex rowIndex) {
+        this.version = version;
+        this.refreshedAt = refreshedAt;
+        this.size = size;
+        this.debtorIds = debtorIds;
+        this.active = active;
+        this.profileVerified = profileVerified;
+        this.dependents = dependents;
+        this.birthEpochDays = birthEpochDays;
+        this.outstandingCents = outstandingCents;
+        this.openDebts = openDebts;
+        this.textCodes = textCodes;
+        this.dictionaries = dictionaries;
+        this.rowIndex = rowIndex;
+    }
+
+    /**
+     * Creates a snapshot without debtors.
+     *
+     * @return the empty snapshot, version 0
+     */
+    public static DebtorColumns empty() {
+        return empty(0);
+    }
+
+    private static DebtorColumns empty(long version) {
+        Map<Text, int[]> textCodes = new EnumMap<>(Text.class);
+        Map<Text, String[]> dictionaries = new EnumMap<>(Text.class);
+        for (Text text : Text.values()) {
+            textCodes.put(text, new int[0]);
+            dictionaries.put(text, new String[]{null});
+        }
+        return new DebtorColumns(version, null, 0, new long[0], new boolean[0], new boolean[0], new int[0], new int[0],
+                new long[0], new int[0], textCodes, dictionaries, new RowIndex(16));
+    }
+
+    /**
+     * Creates the next snapshot with changed debtors and debt totals applied. Debtors not seen
+     * before are appended; debtors removed from the database are only dropped by a full rebuild.
+     *
+     * @param changedDebtors the debtors whose attributes changed
+     * @param changedTotals  recomputed debt totals by debtor ID; totals of unknown debtors are ignored
+     * @param refreshedAt    when the changes were read
+     * @return the new snapshot
+     */
+    public DebtorColumns withChanges(Collection<DebtorRow> changedDebtors, Map<Long, DebtTotals> changedTotals,
+                                     LocalDateTime refreshedAt) {
+        RowIndex index = rowIndex.copy(size + changedDebtors.size());
+        int newSize = size;
+        for (DebtorRow debtor : changedDebtors) {
+            if (index.get(debtor.debtorId()) < 0) {
+                index.put(debtor.debtorId(), newSize++);
+            }
+        }
+
+        long[] newDebtorIds = Arrays.copyOf(debtorIds, newSize);
+        boolean[] newActive = Arrays.copyOf(active, newSize);
+        boolean[] newProfileVerified = Arrays.copyOf(profileVerified, newSize);
+        int[] newDependents = Arrays.copyOf(dependents, newSize);
+        int[] newBirthEpochDays = Arrays.copyOf(birthEpochDays, newSize);
+        long[] newOutstandingCents = Arrays.copyOf(outstandingCents, newSize);
+        int[] newOpenDebts = Arrays.copyOf(openDebts, newSize);
+        Map<Text, int[]> newTextCodes = new EnumMap<>(Text.class);
+        Map<Text, Encoder> encoders = new EnumMap<>(Text.class);
+        for (Text text : Text.values()) {
+            newTextCodes.put(text, Arrays.copyOf(textCodes.get(text), newSize));
+            encoders.put(text, new Encoder(dictionaries.get(text)));
+        }
+
+        for (DebtorRow debtor : changedDebtors) {
+            int row = index.get(debtor.debtorId());
+            newDebtorIds[row] = debtor.debtorId();
+            newActive[row] = debtor.active();
+            newProfileVerified[row] = Boolean.TRUE.equals(debtor.profileVerified());
+            newDependents[row] = debtor.dependents() != null ? debtor.dependents() : NO_DEPENDENTS_VALUE;
+            newBirthEpochDays[row] = debtor.dateOfBirth() != null ? (int) debtor.dateOfBirth().toEpochDay() : NO_BIRTH_DATE;
+            newTextCodes.get(Text.INCOME_LEVEL)[row] = encoders.get(Text.INCOME_LEVEL).encode(debtor.incomeLevel());
+            newTextCodes.get(Text.EMPLOYMENT_STATUS)[row] = encoders.get(Text.EMPLOYMENT_STATUS).encode(debtor.employmentStatus());
+            newTextCodes.get(Text.MARITAL_STATUS)[row] = encoders.get(Text.MARITAL_STATUS).encode(debtor.maritalStatus());
+            newTextCodes.get(Text.HOUSING_STATUS)[row] = encoders.get(Text.HOUSING_STATUS).encode(debtor.housingStatus());
+        }
+        changedTotals.forEach((debtorId, totals) -> {
+            int row = index.get(debtorId);
+            if (row >= 0) {
+                newOutstandingCents[row] = toCents(totals.outstanding());
+                newOpenDebts[row] = totals.openDebts();
+            }
+        });
+
+        Map<Text, String[]> newDictionaries = new EnumMap<>(Text.class);
+        encoders.forEach((text, encoder) -> newDictionaries.put(text, encoder.values()));
+        return new DebtorColumns(version + 1, refreshedAt, newSize, newDebtorIds, newActive, newProfileVerified,
+                newDependents, newBirthEpochDays, newOutstandingCents, newOpenDebts, newTextCodes, newDictionaries, index);
+    }
+
+    /**
+     * Creates the next snapshot from scratch, dropping debtors that are not in the given rows.
+     *
+     * @param debtors     every debtor
+     * @param totals      the debt totals by debtor ID; debtors without an entry have no open debts
+     * @param refreshedAt when the debtors were read
+     * @return the new snapshot, numbered after this one
+     */
+    public DebtorColumns rebuild(Collection<DebtorRow> debtors, Map<Long, DebtTotals> totals, LocalDateTime refreshedAt) {
+        return empty(version).withChanges(debtors, totals, refreshedAt);
+    }
+
+    /**
+     * Normalizes a text value the way the dictionaries store it.
+     *
+     * @param value the raw value
+     * @return the trimmed, upper-case value, or null if blank
+     */
+    public static String normalize(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim().toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Converts an amount to whole cents, the unit outstanding debt is kept in.
+     *
+     * @param amount the amount
+     * @return the amount in cents, rounded half up
+     */
+    public static long toCents(BigDecimal amount) {
+        return amount == null ? 0 : amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public LocalDateTime getRefreshedAt() {
+        return refreshedAt;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Finds the row of a debtor.
+     *
+     * @param debtorId the ID of the debtor
+     * @return the row, or -1 if the debtor is not in the snapshot
+     */
+    public int rowOf(long debtorId) {
+        return rowIndex.get(debtorId);
+    }
+
+    // Column accessors hand out the arrays themselves for scanning; callers must not modify them
+
+    public long[] debtorIds() {
+        return debtorIds;
+    }
+
+    public boolean[] active() {
+        return active;
+    }
+
+    public boolean[] profileVerified() {
+        return profileVerified;
+    }
+
+    public int[] dependents() {
+        return dependents;
+    }
+
+    public int[] birthEpochDays() {
+        return birthEpochDays;
+    }
+
+    public long[] outstandingCents() {
+        return outstandingCents;
+    }
+
+    public int[] openDebts() {
+        return openDebts;
+    }
+
+    public int[] codes(Text text) {
+        return textCodes.get(text);
+    }
+
+    /**
+     * Returns the dictionary of a text attribute.
+     *
+     * @param text the attribute
+     * @return the values by code; index 0 is null
+     */
+    public String[] dictionary(Text text) {
+        return dictionaries.get(text);
+    }
+
+    /**
+     * A debtor's attributes as read from the database.
+     */
+    public record DebtorRow(long debtorId, boolean active, String incomeLevel, String employmentStatus,
+                            String maritalStatus, String housingStatus, Integer dependents, LocalDate dateOfBirth,
+                            Boolean profileVerified) {
+    }
+
+    /**
+     * A debtor's open debts: their total current amount and how many there are.
+     */
+    public record DebtTotals(BigDecimal outstanding, int openDebts) {
+
+        public static final DebtTotals NONE = new DebtTotals(BigDecimal.ZERO, 0);
+    }
+
+    /**
+     * Extends a dictionary with values not seen before; existing codes never change.
+     */
+    private static final class Encoder {
+
+        private final Map<String, Integer> codes = new HashMap<>();
+        private String[] values;
+        private int size;
+
+        Encoder(String[] values) {
+            this.values = values;
+            this.size = values.length;
+            for (int code = 1; code < values.length; code++) {
+                codes.put(values[code], code);
+            }
+        }
+
+        int encode(String raw) {
+            String value = normalize(raw);
+            if (value == null) {
+                return NO_VALUE;
+            }
+            return codes.computeIfAbsent(value, added -> {
+                if (size == values.length) {
+                    values = Arrays.copyOf(values, size * 2);
+                }
+                values[size] = added;
+                return size++;
+            });
+        }
+
+        String[] values() {
+            return values.length == size ? values : Arrays.copyOf(values, size);
+        }
+    }
+
+    /**
+     * Open-addressing map from debtor ID to row, avoiding a boxed entry per debtor.
+     */
+    private static final class RowIndex {
+
+        private static final long EMPTY = Long.MIN_VALUE;
+
+        private long[] keys;
+        private int[] rows;
+
+        RowIndex(int capacity) {
+            keys = new long[capacity];
+            rows = new int[capacity];
+            Arrays.fill(keys, EMPTY);
+        }
+
+        // A copy with room for the expected number of entries at a load factor of at most one half
+        RowIndex copy(int expected) {
+            int capacity = Math.max(keys.length, Integer.highestOneBit(Math.max(expected, 8) * 2 - 1) << 1);
+            RowIndex copy = new RowIndex(capacity);
+            for (int slot = 0; slot < keys.length; slot++) {
+                if (keys[slot] != EMPTY) {
+                    copy.put(keys[slot], rows[slot]);
+                }
+            }
+            return copy;
+        }
+
+        int get(long key) {
+            int mask = keys.length - 1;
+            for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return rows[slot];
+                }
+                if (keys[slot] == EMPTY) {
+                    return -1;
+                }
+            }
+        }
+
+        void put(long key, int row) {
+            int mask = keys.length - 1;
+            int slot = hash(key) & mask;
+            while (keys[slot] != EMPTY && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            rows[slot] = row;
+        }
+
+        private static int hash(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.kraya.platform.service;
+
+import com.kraya.platform.dto.DebtorSnapshotResponse;
+import com.kraya.platform.model.Debt;
+import com.kraya.platform.model.User;
+import com.kraya.platform.repository.DebtRepository;
+import com.kraya.platform.repository.DebtorRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongFunction;
+
+/**
+ * DebtorSnapshot keeps a read-only {@link DebtorColumns} copy of every debtor for eligibility
+ * scoring, so screening never goes through JPA entities.
+ * <p>
+ * The snapshot is loaded in full on startup and nightly. In between it is refreshed
+ * incrementally: only debtors whose row changed ({@code users.updated_at}) are re-read, and
+ * only debtors whose debts changed ({@code debt.updated_at}) have their totals recomputed.
+ * Each refresh looks back {@code refresh-overlap} before the previous one, so changes committed
+ * late by long transactions are still seen; applying a change twice is harmless. Deleted
+ * debtors are noticed by a count check, which falls back to a full rebuild.
+ * <p>
+ * Readers get the current snapshot with {@link #get()}; a refresh publishes a new one and
+ * never changes a snapshot in use.
+ */
+@Component
+public class DebtorSnapshot {
+
+    private static final Logger logger = LoggerFactory.getLogger(DebtorSnapshot.class);
+
+    // Debts that still count towards what a debtor owes
+    private static final Set<Debt.Status> OPEN = EnumSet.of(Debt.Status.PENDING, Debt.Status.ACTIVE,
+            Debt.Status.DISPUTED);
+    private static final int IN_LIST_SIZE = 1000;
+
+    private final DebtorRepository debtorRepository;
+    private final DebtRepository debtRepository;
+    private final int pageSize;
+    private final Duration refreshOverlap;
+
+    private volatile DebtorColumns columns = DebtorColumns.empty();
+    private volatile DebtorSnapshotResponse lastRefresh;
+    private LocalDateTime watermark;
+
+    @Autowired
+    public DebtorSnapshot(DebtorRepository debtorRepository, DebtRepository debtRepository,
+                          @Value("${kraya.scoring.page-size:5000}") int pageSize,
+                          @Value("${kraya.scoring.refresh-overlap:1m}") Duration refreshOverlap) {
+        this.debtorRepository = debtorRepository;
+        this.debtRepository = debtRepository;
+        this.pageSize = pageSize;
+        this.refreshOverlap = refreshOverlap;
+    }
+
+    /**
+     * @return the current snapshot
+     */
+    public DebtorColumns get() {
+        return columns;
+    }
+
+    /**
+     * @return the outcome of the last refresh, or null before the first one
+     */
+    public DebtorSnapshotResponse getLastRefresh() {
+        return lastRefresh;
+    }
+
+    /**
+     * Reloads every debtor and every debt total.
+     *
+     * @return the outcome of the rebuild
+     */
+    @PostConstruct
+    public synchronized DebtorSnapshotResponse rebuild() {
+        long start = System.nanoTime();
+        LocalDateTime startedAt = LocalDateTime.now();
+        List<DebtorColumns.DebtorRow> debtors = readDebtors(afterId -> debtorRepository.findScreeningRows(afterId, Limit.of(pageSize)));
+        Map<Long, DebtorColumns.DebtTotals> totals = toTotals(debtRepository.sumByDebtor(OPEN));
+
+        columns = columns.rebuild(debtors, totals, startedAt);
+        watermark = startedAt;
+        return published(true, debtors.size(), totals.size(), start);
+    }
+
+    /**
+     * Nightly full rebuild, which also drops debtors deleted since the last one.
+     */
+    @Scheduled(cron = "${kraya.scoring.rebuild-cron:0 0 3 * * *}")
+    public void rebuildNightly() {
+        rebuild();
+    }
+
+    /**
+     * Applies the debtor and debt changes made since the last refresh.
+     *
+     * @return the outcome of the refresh
+     */
+    public synchronized DebtorSnapshotResponse refresh() {
+        if (watermark == null) {
+            return rebuild();
+        }
+        long start = System.nanoTime();
+        LocalDateTime startedAt = LocalDateTime.now();
+        LocalDateTime since = watermark.minus(refreshOverlap);
+
+        List<DebtorColumns.DebtorRow> debtors = readDebtors(afterId ->
+                debtorRepository.findScreeningRowsUpdatedSince(since, afterId, Limit.of(pageSize)));
+        Set<Long> recount = new LinkedHashSet<>(debtRepository.findDebtorIdsUpdatedSince(since));
+        DebtorColumns current = columns;
+        for (DebtorColumns.DebtorRow debtor : debtors) {
+            if (current.rowOf(debtor.debtorId()) < 0) {
+                recount.add(debtor.debtorId()); // New debtors need their totals too
+            }
+        }
+        Map<Long, DebtorColumns.DebtTotals> totals = new HashMap<>();
+        List<Long> ids = new ArrayList<>(recount);
+        for (int from = 0; from < ids.size(); from += IN_LIST_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + IN_LIST_SIZE, ids.size()));
+            chunk.forEach(debtorId -> totals.put(debtorId, DebtorColumns.DebtTotals.NONE));
+            totals.putAll(toTotals(debtRepository.sumByDebtorIn(chunk, OPEN)));
+        }
+
+        DebtorColumns refreshed = debtors.isEmpty() && totals.isEmpty() ? current : current.withChanges(debtors, totals, startedAt);
+        if (refreshed.size() != debtorRepository.count()) {
+            logger.info("Debtor snapshot has {} debtors but the database has a different count; rebuilding", refreshed.size());
+            return rebuild();
+        }
+        columns = refreshed;
+        watermark = startedAt;
+        return published(false, debtors.size(), totals.size(), start);
+    }
+
+    /**
+     * Refreshes the snapshot on a fixed delay.
+     */
+    @Scheduled(fixedDelayString = "${kraya.scoring.refresh-interval:PT30S}")
+    public void refreshPeriodically() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            logger.error("Debtor snapshot refresh failed; the previous snapshot stays in use", e);
+        }
+    }
+
+    private List<DebtorColumns.DebtorRow> readDebtors(LongFunction<List<Object[]>> page) {
+        List<DebtorColumns.DebtorRow> debtors = new ArrayList<>();
+        long afterId = 0;
+        List<Object[]> rows;
+        do {
+            rows = page.apply(afterId);
+            for (Object[] row : rows) {
+                long debtorId = ((Number) row[0]).longValue();
+                debtors.add(new DebtorColumns.DebtorRow(debtorId, row[1] == User.Status.ACTIVE,
+                        (String) row[2], (String) row[3], (String) row[4], (String) row[5],
+                        (Integer) row[6], (LocalDate) row[7], (Boolean) row[8]));
+                afterId = debtorId;
+            }
+        } while (rows.size() == pageSize);
+        return debtors;
+    }
+
+    private static Map<Long, DebtorColumns.DebtTotals> toTotals(List<Object[]> rows) {
+        Map<Long, DebtorColumns.DebtTotals> totals = new HashMap<>();
+        for (Object[] row : rows) {
+            totals.put(((Number) row[0]).longValue(),
+                    new DebtorColumns.DebtTotals((BigDecimal) row[1], ((Number) row[2]).intValue()));
+        }
+        return totals;
+    }
+
+    private DebtorSnapshotResponse published(boolean fullRebuild, int changedDebtors, int changedTotals, long start) {
+        DebtorColumns published = columns;
+        DebtorSnapshotResponse response = new DebtorSnapshotResponse();
+        response.setVersion(published.getVersion());
+        response.setDebtors(published.size());
+        response.setRefreshedAt(published.getRefreshedAt());
+        response.setFullRebuild(fullRebuild);
+        response.setChangedDebtors(changedDebtors);
+        response.setChangedTotals(changedTotals);
+        response.setRefreshMillis((System.nanoTime() - start) / 1_000_000);
+        lastRefresh = response;
+        if (fullRebuild || changedDebtors > 0 || changedTotals > 0) {
+            logger.info("Debtor snapshot version {}: {} debtors, {} re-read, {} totals recomputed in {} ms",
+                    response.getVersion(), response.getDebtors(), changedDebtors, changedTotals, response.getRefreshMillis());
+        }
+        return response;
+    }
+}
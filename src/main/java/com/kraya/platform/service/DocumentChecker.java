@@ -0,0 +1,24 @@
+package com.kraya.platform.service;
+
+import com.kraya.platform.model.Document;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * DocumentChecker is the external check a document passes last during verification,
+ * e.g. a fraud or malware screening service.
+ */
+public interface DocumentChecker {
+
+    /**
+     * Checks a document.
+     *
+     * @param document the document
+     * @param content  the stored file holding its content
+     * @return the reason the document is rejected, or empty if it is accepted
+     * @throws IOException if the checker cannot be reached; the check is retried later
+     */
+    Optional<String> check(Document document, Path content) throws IOException;
+}
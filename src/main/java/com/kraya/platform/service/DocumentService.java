@@ -0,0 +1,63 @@
+package com.kraya.platform.service;
+
+import com.kraya.platform.dto.DocumentContent;
+import com.kraya.platform.dto.DocumentResponse;
+import org.springframework.security.core.Authentication;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * DocumentService stores the documents debtors upload and locates their content for download.
+ */
+public interface DocumentService {
+
+    /**
+     * Uploads a document, streaming its content to storage.
+     *
+     * @param debtorId     the ID of the debtor the document belongs to
+     * @param documentType the kind of document, e.g. PAY_SLIP or BANK_STATEMENT
+     * @param fileName     the name the file was uploaded under, may be null
+     * @param contentType  the media type of the content, may be null
+     * @param content      the content; read to the end but not closed
+     * @return the stored document
+     * @throws IOException if the content cannot be read or written
+     */
+    DocumentResponse upload(Long debtorId, String documentType, String fileName, String contentType,
+                            InputStream content) throws IOException;
+
+    /**
+     * Retrieves a document's metadata.
+     *
+     * @param documentId the ID of the document
+     * @return the document
+     */
+    DocumentResponse getDocument(Long documentId);
+
+    /**
+     * Lists the documents uploaded by a debtor.
+     *
+     * @param debtorId the ID of the debtor
+     * @return the documents, oldest first
+     */
+    List<DocumentResponse> findByDebtor(Long debtorId);
+
+    /**
+     * Checks that the caller may upload and read a debtor's documents: the debtor itself, an
+     * admin, or a creditor currently holding one of the debtor's debts.
+     *
+     * @param debtorId the ID of the debtor whose documents are accessed
+     * @param caller   the authenticated caller
+     * @throws org.springframework.security.access.AccessDeniedException if the caller may not
+     */
+    void checkAccess(Long debtorId, Authentication caller);
+
+    /**
+     * Locates the stored content of a document.
+     *
+     * @param documentId the ID of the document
+     * @return the document with the path of its content
+     */
+    DocumentContent getContent(Long documentId);
+}
@@ -0,0 +1,154 @@
+package com.kraya.platform.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * DocumentStorage keeps document content on the local filesystem, addressed by its SHA-256 hash.
+ * A file uploaded twice is stored once; documents only record the hash and the relative path.
+ *
+ * <p>Content is streamed to a temporary file in fixed-size chunks while it is hashed, then moved
+ * into place, so neither the heap nor a reader of the final path ever sees a partial file.
+ */
+@Component
+public class DocumentStorage {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentStorage.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String TEMP_DIRECTORY = "tmp";
+
+    private final Path root;
+    private final Path tempDirectory;
+
+    @Autowired
+    public DocumentStorage(@Value("${kraya.documents.storage-dir:data/documents}") Path root) {
+        this.root = root.toAbsolutePath().normalize();
+        this.tempDirectory = this.root.resolve(TEMP_DIRECTORY);
+        try {
+            Files.createDirectories(tempDirectory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create document storage at " + this.root, e);
+        }
+    }
+
+    /**
+     * Stores content, unless a file with the same content is already stored.
+     *
+     * @param content the content; read to the end but not closed
+     * @return the hash, relative path and length of the stored content
+     * @throws IOException if the content cannot be read or written
+     */
+    public StoredContent store(InputStream content) throws IOException {
+        MessageDigest digest = sha256();
+        Path temp = Files.createTempFile(tempDirectory, "upload-", ".part");
+        long length = 0;
+        try {
+            try (ReadableByteChannel source = Channels.newChannel(content);
+                 FileChannel target = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+                while (source.read(buffer) >= 0) {
+                    buffer.flip();
+                    digest.update(buffer.duplicate());
+                    while (buffer.hasRemaining()) {
+                        length += target.write(buffer);
+                    }
+                    buffer.clear();
+                }
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            String relativePath = relativePath(hash);
+            Path path = root.resolve(relativePath);
+            if (Files.exists(path)) {
+                logger.debug("Content {} is already stored", hash);
+            } else {
+                Files.createDirectories(path.getParent());
+                moveIntoPlace(temp, path);
+            }
+            return new StoredContent(hash, relativePath, length);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Resolves the file holding stored content.
+     *
+     * @param relativePath the path returned when the content was stored
+     * @return the absolute path of the file
+     */
+    public Path resolve(String relativePath) {
+        Path path = root.resolve(relativePath).normalize();
+        if (!path.startsWith(root) || path.startsWith(tempDirectory)) {
+            throw new IllegalArgumentException("Path is outside the document storage: " + relativePath);
+        }
+        return path;
+    }
+
+    /**
+     * Hashes a stored file again, to check it still holds the content it is named after.
+     *
+     * @param path the absolute path of the file
+     * @return the SHA-256 of the file, hex encoded
+     * @throws IOException if the file cannot be read
+     */
+    public String hash(Path path) throws IOException {
+        MessageDigest digest = sha256();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void moveIntoPlace(Path temp, Path path) throws IOException {
+        try {
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // The same content was stored concurrently; either copy will do
+            logger.debug("Content {} was stored concurrently", path.getFileName());
+        }
+    }
+
+    // Two levels of fan-out keep directories small: ab/cd/abcd...
+    private static String relativePath(String hash) {
+        return hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Content as stored: its SHA-256 hash, its path relative to the storage directory and its length.
+     */
+    public record StoredContent(String hash, String relativePath, long length) {
+    }
+}
@@ -0,0 +1,23 @@
+package com.kraya.platform.service;
+
+import com.kraya.platform.dto.DocumentVerificationStatsResponse;
+
+/**
+ * DocumentVerificationService drives uploaded documents through verification.
+ */
+public interface DocumentVerificationService {
+
+    /**
+     * Claims the next batch of documents awaiting verification and verifies them.
+     *
+     * @return the number of documents claimed
+     */
+    int verifyNextBatch();
+
+    /**
+     * Reports the queue depth and per-stage latencies.
+     *
+     * @return the verification statistics
+     */
+    DocumentVerificationStatsResponse getStats();
+}
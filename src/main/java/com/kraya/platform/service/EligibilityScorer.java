@@ -0,0 +1,415 @@
+package com.kraya.platform.service;
+
+import com.kraya.platform.concurrent.DaemonThreads;
+import com.kraya.platform.dto.EligibilityRequest;
+import com.kraya.platform.dto.EligibilityResponse;
+import com.kraya.platform.dto.EligibilityRule;
+import com.kraya.platform.exception.InvalidInputException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * EligibilityScorer ranks the debtors of a {@link DebtorColumns} snapshot by weighted rules.
+ * <p>
+ * Rules are compiled against the snapshot first: a text rule becomes a lookup table indexed by
+ * dictionary code, a numeric rule a pair of primitive bounds. The rows are then split into
+ * ranges scored in parallel, one rule at a time over a whole range, so each pass is a tight loop
+ * over one or two primitive arrays. Each range keeps its own top-N heap; the heaps are merged
+ * at the end, so no state is shared while scoring.
+ */
+@Component
+public class EligibilityScorer {
+
+    private static final int MIN_ROWS_PER_TASK = 16_384;
+    private static final int TASKS_PER_THREAD = 4;
+
+    private final int threads;
+    private final ExecutorService workers;
+
+    @Autowired
+    public EligibilityScorer(@Value("${kraya.scoring.threads:0}") int threads) {
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.workers = DaemonThreads.newFixedThreadPool("eligibility-scorer-", this.threads);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * Scores every active debtor of a snapshot and returns the best.
+     *
+     * @param columns the snapshot
+     * @param request the rules, minimum score and number of debtors to return
+     * @param today   the date ages are computed at
+     * @return the ranking
+     */
+    public EligibilityResponse rank(DebtorColumns columns, EligibilityRequest request, LocalDate today) {
+        long start = System.nanoTime();
+        List<CompiledRule> rules = new ArrayList<>();
+        for (EligibilityRule rule : request.getRules()) {
+            rules.add(compile(columns, rule, today));
+        }
+
+        int size = columns.size();
+        int tasks = Math.max(1, Math.min(threads * TASKS_PER_THREAD, size / MIN_ROWS_PER_TASK));
+        List<Future<RangeResult>> results = new ArrayList<>(tasks);
+        for (int task = 0; task < tasks; task++) {
+            int from = (int) ((long) size * task / tasks);
+            int to = (int) ((long) size * (task + 1) / tasks);
+            results.add(workers.submit(() -> scoreRange(columns, rules, request.getMinScore(), request.getLimit(), from, to)));
+        }
+
+        long matched = 0;
+        TopRows best = new TopRows(columns, request.getLimit());
+        for (Future<RangeResult> result : results) {
+            RangeResult range = join(result);
+            matched += range.matched;
+            range.top.drainInto(best);
+        }
+
+        EligibilityResponse response = new EligibilityResponse();
+        response.setSnapshotVersion(columns.getVersion());
+        response.setSnapshotRefreshedAt(columns.getRefreshedAt());
+        response.setDebtorsScanned(size);
+        response.setDebtorsMatched(matched);
+        response.setRanked(best.toRanking());
+        response.setElapsedMillis((System.nanoTime() - start) / 1_000_000.0);
+        return response;
+    }
+
+    private static RangeResult scoreRange(DebtorColumns columns, List<CompiledRule> rules, double minScore, int limit,
+                                          int from, int to) {
+        int length = to - from;
+        double[] scores = new double[length];
+        boolean[] excluded = new boolean[length];
+        boolean[] active = columns.active();
+        for (int i = 0; i < length; i++) {
+            excluded[i] = !active[from + i];
+        }
+        for (CompiledRule rule : rules) {
+            rule.apply(from, length, scores, excluded);
+        }
+
+        RangeResult result = new RangeResult(new TopRows(columns, limit));
+        for (int i = 0; i < length; i++) {
+            if (!excluded[i] && scores[i] >= minScore) {
+                result.matched++;
+                result.top.offer(from + i, scores[i]);
+            }
+        }
+        return result;
+    }
+
+    private static RangeResult join(Future<RangeResult> result) {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while scoring debtors", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause
+                    : new IllegalStateException("Scoring debtors failed", e.getCause());
+        }
+    }
+
+    private static CompiledRule compile(DebtorColumns columns, EligibilityRule rule, LocalDate today) {
+        double weight = rule.getWeight();
+        boolean required = rule.isRequired();
+        return switch (rule.getAttribute()) {
+            case INCOME_LEVEL -> textRule(columns, DebtorColumns.Text.INCOME_LEVEL, rule);
+            case EMPLOYMENT_STATUS -> textRule(columns, DebtorColumns.Text.EMPLOYMENT_STATUS, rule);
+            case MARITAL_STATUS -> textRule(columns, DebtorColumns.Text.MARITAL_STATUS, rule);
+            case HOUSING_STATUS -> textRule(columns, DebtorColumns.Text.HOUSING_STATUS, rule);
+            case DEPENDENTS -> new IntRangeRule(columns.dependents(), DebtorColumns.NO_DEPENDENTS_VALUE,
+                    lowerBound(rule), upperBound(rule), weight, required);
+            case OPEN_DEBTS -> new IntRangeRule(columns.openDebts(), Integer.MIN_VALUE,
+                    lowerBound(rule), upperBound(rule), weight, required);
+            case AGE -> {
+                // At least min years old means born on or before today minus min years, and so on
+                long bornFrom = rule.getMax() == null ? Long.MIN_VALUE
+                        : today.minusYears(upperBound(rule) + 1).plusDays(1).toEpochDay();
+                long bornUntil = rule.getMin() == null ? Long.MAX_VALUE
+                        : today.minusYears(lowerBound(rule)).toEpochDay();
+                yield new IntRangeRule(columns.birthEpochDays(), DebtorColumns.NO_BIRTH_DATE, bornFrom, bornUntil,
+                        weight, required);
+            }
+            case OUTSTANDING_AMOUNT -> {
+                requireBounds(rule);
+                yield new LongRangeRule(columns.outstandingCents(),
+                        rule.getMin() == null ? Long.MIN_VALUE : DebtorColumns.toCents(rule.getMin()),
+                        rule.getMax() == null ? Long.MAX_VALUE : DebtorColumns.toCents(rule.getMax()), weight, required);
+            }
+            case PROFILE_VERIFIED -> new FlagRule(columns.profileVerified(), weight, required);
+        };
+    }
+
+    private static CompiledRule textRule(DebtorColumns columns, DebtorColumns.Text text, EligibilityRule rule) {
+        if (rule.getValues() == null || rule.getValues().isEmpty()) {
+            throw new InvalidInputException("Rule on " + rule.getAttribute() + " needs at least one value");
+        }
+        Set<String> values = new HashSet<>();
+        rule.getValues().forEach(value -> values.add(DebtorColumns.normalize(value)));
+        String[] dictionary = columns.dictionary(text);
+        boolean[] accepted = new boolean[dictionary.length];
+        for (int code = 1; code < dictionary.length; code++) {
+            accepted[code] = values.contains(dictionary[code]);
+        }
+        return new TextRule(columns.codes(text), accepted, rule.getWeight(), rule.isRequired());
+    }
+
+    private static long lowerBound(EligibilityRule rule) {
+        requireBounds(rule);
+        return rule.getMin() == null ? Long.MIN_VALUE : rule.getMin().setScale(0, RoundingMode.CEILING).longValueExact();
+    }
+
+    private static long upperBound(EligibilityRule rule) {
+        requireBounds(rule);
+        return rule.getMax() == null ? Long.MAX_VALUE : rule.getMax().setScale(0, RoundingMode.FLOOR).longValueExact();
+    }
+
+    private static void requireBounds(EligibilityRule rule) {
+        if (rule.getMin() == null && rule.getMax() == null) {
+            throw new InvalidInputException("Rule on " + rule.getAttribute() + " needs a min or a max");
+        }
+    }
+
+    private static final class RangeResult {
+
+        private final TopRows top;
+        private long matched;
+
+        RangeResult(TopRows top) {
+            this.top = top;
+        }
+    }
+
+    /**
+     * A rule applied to a range of rows: adds its weight to the rows it matches and excludes
+     * the rows it does not match if it is required.
+     */
+    private abstract static class CompiledRule {
+
+        final double weight;
+        final boolean required;
+
+        CompiledRule(double weight, boolean required) {
+            this.weight = weight;
+            this.required = required;
+        }
+
+        abstract void apply(int from, int length, double[] scores, boolean[] excluded);
+
+        final void record(int i, boolean matches, double[] scores, boolean[] excluded) {
+            if (matches) {
+                scores[i] += weight;
+            } else if (required) {
+                excluded[i] = true;
+            }
+        }
+    }
+
+    private static final class TextRule extends CompiledRule {
+
+        private final int[] codes;
+        private final boolean[] accepted;
+
+        TextRule(int[] codes, boolean[] accepted, double weight, boolean required) {
+            super(weight, required);
+            this.codes = codes;
+            this.accepted = accepted;
+        }
+
+        @Override
+        void apply(int from, int length, double[] scores, boolean[] excluded) {
+            for (int i = 0; i < length; i++) {
+                record(i, accepted[codes[from + i]], scores, excluded);
+            }
+        }
+    }
+
+    private static final class IntRangeRule extends CompiledRule {
+
+        private final int[] values;
+        private final int missing;
+        private final long min;
+        private final long max;
+
+        IntRangeRule(int[] values, int missing, long min, long max, double weight, boolean required) {
+            super(weight, required);
+            this.values = values;
+            this.missing = missing;
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        void apply(int from, int length, double[] scores, boolean[] excluded) {
+            for (int i = 0; i < length; i++) {
+                int value = values[from + i];
+                record(i, value != missing && value >= min && value <= max, scores, excluded);
+            }
+        }
+    }
+
+    private static final class LongRangeRule extends CompiledRule {
+
+        private final long[] values;
+        private final long min;
+        private final long max;
+
+        LongRangeRule(long[] values, long min, long max, double weight, boolean required) {
+            super(weight, required);
+            this.values = values;
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        void apply(int from, int length, double[] scores, boolean[] excluded) {
+            for (int i = 0; i < length; i++) {
+                long value = values[from + i];
+                record(i, value >= min && value <= max, scores, excluded);
+            }
+        }
+    }
+
+    private static final class FlagRule extends CompiledRule {
+
+        private final boolean[] values;
+
+        FlagRule(boolean[] values, double weight, boolean required) {
+            super(weight, required);
+            this.values = values;
+        }
+
+        @Override
+        void apply(int from, int length, double[] scores, boolean[] excluded) {
+            for (int i = 0; i < length; i++) {
+                record(i, values[from + i], scores, excluded);
+            }
+        }
+    }
+
+    /**
+     * The best rows seen so far, kept in a binary heap with the worst of them at the root.
+     * Rows rank by score, then outstanding amount, both descending, then by debtor ID.
+     */
+    private static final class TopRows {
+
+        private final long[] debtorIds;
+        private final long[] outstandingCents;
+        private final int[] openDebts;
+        private final int[] rows;
+        private final double[] scores;
+        private int size;
+
+        TopRows(DebtorColumns columns, int capacity) {
+            this.debtorIds = columns.debtorIds();
+            this.outstandingCents = columns.outstandingCents();
+            this.openDebts = columns.openDebts();
+            this.rows = new int[capacity];
+            this.scores = new double[capacity];
+        }
+
+        void offer(int row, double score) {
+            if (size < rows.length) {
+                rows[size] = row;
+                scores[size] = score;
+                siftUp(size++);
+            } else if (better(row, score, rows[0], scores[0])) {
+                rows[0] = row;
+                scores[0] = score;
+                siftDown(0);
+            }
+        }
+
+        void drainInto(TopRows other) {
+            for (int i = 0; i < size; i++) {
+                other.offer(rows[i], scores[i]);
+            }
+        }
+
+        List<EligibilityResponse.RankedDebtor> toRanking() {
+            int count = size;
+            int[] sortedRows = new int[count];
+            double[] sortedScores = new double[count];
+            // Popping the worst first fills the ranking from the back
+            for (int i = count - 1; i >= 0; i--) {
+                sortedRows[i] = rows[0];
+                sortedScores[i] = scores[0];
+                size--;
+                rows[0] = rows[size];
+                scores[0] = scores[size];
+                siftDown(0);
+            }
+            List<EligibilityResponse.RankedDebtor> ranking = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int row = sortedRows[i];
+                ranking.add(new EligibilityResponse.RankedDebtor(debtorIds[row], sortedScores[i],
+                        BigDecimal.valueOf(outstandingCents[row], 2), openDebts[row]));
+            }
+            return ranking;
+        }
+
+        private boolean better(int row, double score, int otherRow, double otherScore) {
+            if (score != otherScore) {
+                return score > otherScore;
+            }
+            if (outstandingCents[row] != outstandingCents[otherRow]) {
+                return outstandingCents[row] > outstandingCents[otherRow];
+            }
+            return debtorIds[row] < debtorIds[otherRow];
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) / 2;
+                if (!better(rows[parent], scores[parent], rows[index], scores[index])) {
+                    return;
+                }
+                swap(index, parent);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int worst = index;
+                for (int child = 2 * index + 1; child <= 2 * index + 2 && child < size; child++) {
+                    if (better(rows[worst], scores[worst], rows[child], scores[child])) {
+                        worst = child;
+                    }
+                }
+                if (worst == index) {
+                    return;
+                }
+                swap(index, worst);
+                index = worst;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int row = rows[a];
+            rows[a] = rows[b];
+            rows[b] = row;
+            double score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.kraya.platform.service;
+
+import com.kraya.platform.dto.DebtorSnapshotResponse;
+import com.kraya.platform.dto.EligibilityRequest;
+import com.kraya.platform.dto.EligibilityResponse;
+
+/**
+ * EligibilityService screens debtors for forgiveness eligibility.
+ */
+public interface EligibilityService {
+
+    /**
+     * Ranks the active debtors by the rules of a request, against the current debtor snapshot.
+     *
+     * @param request the rules, minimum score and number of debtors to return
+     * @return the highest-scoring debtors
+     */
+    EligibilityResponse rank(EligibilityRequest request);
+
+    /**
+     * Reports the current debtor snapshot.
+     *
+     * @return the outcome of the last snapshot refresh
+     */
+    DebtorSnapshotResponse getSnapshot();
+
+    /**
+     * Applies debtor and debt changes to the snapshot without waiting for the scheduled refresh.
+     *
+     * @return the outcome of the refresh
+     */
+    DebtorSnapshotResponse refreshSnapshot();
+}
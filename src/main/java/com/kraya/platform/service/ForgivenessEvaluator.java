@@ -0,0 +1,221 @@
+package com.kraya.platform.service;
+
+import com.kraya.platform.concurrent.DaemonThreads;
+import com.kraya.platform.dto.VoteTallyResponse;
+import com.kraya.platform.event.DebtorForgivenEvent;
+import com.kraya.platform.event.VoteTallyChangedEvent;
+import com.kraya.platform.model.Debt;
+import com.kraya.platform.model.ForgivenessDecision;
+import com.kraya.platform.repository.DebtRepository;
+import com.kraya.platform.repository.ForgivenessDecisionRepository;
+import com.kraya.platform.repository.VoteRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ForgivenessEvaluator decides, vote by vote, whether a debtor has met the forgiveness rules.
+ * <p>
+ * Every tally change queues its debtor for evaluation; nothing ever rescans all debtors.
+ * A debtor already queued is not queued again, so a burst of votes on one debtor costs one
+ * evaluation against the latest tally. Evaluation reads the in-memory {@link VoteTallies}
+ * and only touches the database when the rules are met. The votes are then recounted from the
+ * {@code vote} table, keeping only those of creditors that currently hold a debt of the debtor,
+ * and the rules checked again against that count: the tallies are a cheap filter, never the
+ * evidence. Only if the verified votes meet the rules are the decision row and the FORGIVEN
+ * status of all the debtor's open debts written, in one transaction, with the debt rows locked
+ * in ID order as for payment posting.
+ * <p>
+ * Rules: at least {@code min-yes-votes} creditors voted for forgiveness and they make up at
+ * least {@code approval-ratio} of the votes cast. A decision is final; later votes do not
+ * reopen it.
+ */
+@Component
+public class ForgivenessEvaluator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ForgivenessEvaluator.class);
+
+    private static final Set<Debt.Status> FORGIVABLE = EnumSet.of(Debt.Status.PENDING, Debt.Status.ACTIVE,
+            Debt.Status.DISPUTED);
+
+    private final VoteTallies voteTallies;
+    private final DebtRepository debtRepository;
+    private final VoteRepository voteRepository;
+    private final ForgivenessDecisionRepository decisionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long minYesVotes;
+    private final double approvalRatio;
+    private final ExecutorService workers;
+
+    // Debtor ID -> time of the earliest tally change not evaluated yet
+    private final Map<Long, Long> queued = new ConcurrentHashMap<>();
+    // Debtors known to be decided, so their later votes skip the database
+    private final Set<Long> decided = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger pendingEvaluations = new AtomicInteger();
+
+    @Autowired
+    public ForgivenessEvaluator(VoteTallies voteTallies, DebtRepository debtRepository, VoteRepository voteRepository,
+                                ForgivenessDecisionRepository decisionRepository,
+                                PlatformTransactionManager transactionManager, ApplicationEventPublisher eventPublisher,
+                                @Value("${kraya.forgiveness.min-yes-votes:3}") long minYesVotes,
+                                @Value("${kraya.forgiveness.approval-ratio:0.66}") double approvalRatio,
+                                @Value("${kraya.forgiveness.threads:2}") int threads) {
+        this.voteTallies = voteTallies;
+        this.debtRepository = debtRepository;
+        this.voteRepository = voteRepository;
+        this.decisionRepository = decisionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.minYesVotes = minYesVotes;
+        this.approvalRatio = approvalRatio;
+
+        this.workers = DaemonThreads.newFixedThreadPool("forgiveness-evaluator-", threads);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * Queues the debtor whose tally changed for evaluation.
+     *
+     * @param event the tally change
+     */
+    @EventListener
+    public void onVoteTallyChanged(VoteTallyChangedEvent event) {
+        Long debtorId = event.getDebtorId();
+        if (decided.contains(debtorId)) {
+            return;
+        }
+        if (queued.putIfAbsent(debtorId, event.getChangedAtNanos()) == null) {
+            pendingEvaluations.incrementAndGet();
+            workers.execute(() -> evaluate(debtorId));
+        }
+    }
+
+    /**
+     * Waits until every queued evaluation has finished.
+     *
+     * @param timeoutMillis the maximum time to wait
+     * @return true if nothing is left to evaluate
+     */
+    public boolean awaitIdle(long timeoutMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (pendingEvaluations.get() > 0) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.sleep(1);
+        }
+        return true;
+    }
+
+    /**
+     * @param tally a debtor's votes
+     * @return true if the votes meet the forgiveness rules
+     */
+    public boolean meetsRules(VoteTallyResponse tally) {
+        return tally.getYesVotes() >= minYesVotes
+                && tally.getYesVotes() >= approvalRatio * tally.getTotalVotes();
+    }
+
+    private VoteTallyResponse verifiedTally(Long debtorId) {
+        List<Object[]> rows = voteRepository.countVerifiedVotes(debtorId);
+        Object[] row = rows.isEmpty() ? new Object[2] : rows.get(0);
+        long yes = row[0] == null ? 0 : ((Number) row[0]).longValue();
+        long no = row[1] == null ? 0 : ((Number) row[1]).longValue();
+        return new VoteTallyResponse(debtorId, yes, no);
+    }
+
+    private void evaluate(Long debtorId) {
+        // Dequeued before reading the tally, so a change made meanwhile queues the debtor again
+        Long changedAtNanos = queued.remove(debtorId);
+        try {
+            VoteTallyResponse tally = voteTallies.get(debtorId);
+            if (!meetsRules(tally) || decided.contains(debtorId)) {
+                return;
+            }
+            if (decisionRepository.existsById(debtorId)) {
+                decided.add(debtorId);
+                return;
+            }
+            forgive(debtorId, changedAtNanos == null ? System.nanoTime() : changedAtNanos);
+        } catch (RuntimeException e) {
+            logger.error("Forgiveness evaluation of debtor {} failed; the next vote re-evaluates it", debtorId, e);
+        } finally {
+            pendingEvaluations.decrementAndGet();
+        }
+    }
+
+    private void forgive(Long debtorId, long changedAtNanos) {
+        ForgivenessDecision decision;
+        try {
+            decision = transactionTemplate.execute(status -> {
+                VoteTallyResponse verified = verifiedTally(debtorId);
+                if (!meetsRules(verified)) {
+                    logger.warn("Votes on debtor {} meet the forgiveness rules only counting votes of non-creditors "
+                            + "or of creditors holding none of its debts ({} yes / {} no verified)", debtorId,
+                            verified.getYesVotes(), verified.getNoVotes());
+                    return null;
+                }
+                ForgivenessDecision created = new ForgivenessDecision();
+                created.setDebtorId(debtorId);
+                created.setYesVotes(verified.getYesVotes());
+                created.setNoVotes(verified.getNoVotes());
+                created.setDecidedAt(LocalDateTime.now());
+                // Claims the decision first: a concurrent evaluation on another node fails here
+                decisionRepository.saveAndFlush(created);
+
+                List<Long> debtIds = debtRepository.findIdsByDebtor(debtorId, FORGIVABLE);
+                BigDecimal amount = BigDecimal.ZERO;
+                int forgiven = 0;
+                for (Debt debt : debtIds.isEmpty() ? List.<Debt>of() : debtRepository.findAllForUpdate(debtIds)) {
+                    if (FORGIVABLE.contains(debt.getStatus())) {
+                        debt.setStatus(Debt.Status.FORGIVEN);
+                        amount = amount.add(debt.getCurrentAmount());
+                        forgiven++;
+                    }
+                }
+                created.setDebtsForgiven(forgiven);
+                created.setAmountForgiven(amount);
+                return created;
+            });
+        } catch (DataIntegrityViolationException e) {
+            logger.debug("Debtor {} was already forgiven", debtorId);
+            decided.add(debtorId);
+            return;
+        }
+        if (decision == null) {
+            return; // Not decided: a later vote re-evaluates the debtor
+        }
+        decided.add(debtorId);
+
+        long latencyNanos = System.nanoTime() - changedAtNanos;
+        logger.info("Forgave debtor {}: {} debts, {} total, {} yes / {} no votes, {} ms after the deciding vote",
+                debtorId, decision.getDebtsForgiven(), decision.getAmountForgiven(), decision.getYesVotes(),
+                decision.getNoVotes(), TimeUnit.NANOSECONDS.toMillis(latencyNanos));
+        eventPublisher.publishEvent(new DebtorForgivenEvent(debtorId, decision.getDebtsForgiven(),
+                decision.getAmountForgiven(), latencyNanos));
+    }
+}
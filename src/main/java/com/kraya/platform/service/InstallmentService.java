@@ -0,0 +1,65 @@
+package com.kraya.platform.service;
+
+import com.kraya.platform.dto.InstallmentResponse;
+import com.kraya.platform.dto.PaymentPlanRequest;
+import com.kraya.platform.dto.PaymentPlanResponse;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * InstallmentService turns payment plans into dated installments and keeps them
+ * reconciled with the payments posted against the plans' debts.
+ */
+public interface InstallmentService {
+
+    /**
+     * Creates a payment plan for a debt and materializes its installment schedule
+     * from the debt's current balance.
+     *
+     * @param request the plan to create
+     * @return the created plan with its installments
+     */
+    PaymentPlanResponse createPlan(PaymentPlanRequest request);
+
+    /**
+     * Retrieves a plan with its schedule as of the last reconciliation, and the credit paid
+     * beyond it. Reading never writes; plans created before schedules existed show no
+     * installments until the next reconciliation materializes them.
+     *
+     * @param planId the ID of the plan
+     * @return the plan with its installments
+     */
+    PaymentPlanResponse getPlan(Long planId);
+
+    /**
+     * Finds open installments due in a date range.
+     *
+     * @param from  the first due date, inclusive
+     * @param to    the last due date, inclusive
+     * @param limit the maximum number of installments to return
+     * @return open installments ordered by due date
+     */
+    List<InstallmentResponse> findDue(LocalDate from, LocalDate to, int limit);
+
+    /**
+     * Finds open installments due in a date range on the debts a user owes or, as a creditor, holds.
+     *
+     * @param debtorId   the user whose own debts are included
+     * @param creditorId the creditor whose held debts are included, or null for none
+     * @param from       the first due date, inclusive
+     * @param to         the last due date, inclusive
+     * @param limit      the maximum number of installments to return
+     * @return open installments ordered by due date
+     */
+    List<InstallmentResponse> findDueFor(Long debtorId, Long creditorId, LocalDate from, LocalDate to, int limit);
+
+    /**
+     * Materializes the schedules of plans created before schedules existed, then applies
+     * all payments posted since the last reconciliation to installments, oldest installment
+     * first. Whatever a payment pays beyond the schedule is recorded as credit.
+     *
+     * @return the number of payments reconciled
+     */
+    int reconcile();
+}
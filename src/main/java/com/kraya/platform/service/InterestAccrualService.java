@@ -0,0 +1,36 @@
+package com.kraya.platform.service;
+
+import com.kraya.platform.dto.AccrualRunResponse;
+
+import java.time.LocalDate;
+
+/**
+ * InterestAccrualService accrues interest on overdue debts, once per accrual date.
+ */
+public interface InterestAccrualService {
+
+    /**
+     * Runs, or resumes, the accrual for the given date and waits for it to finish.
+     * Running a date that has already completed does nothing.
+     *
+     * @param accrualDate the date interest is accrued up to
+     * @return the final progress of the run
+     */
+    AccrualRunResponse accrue(LocalDate accrualDate);
+
+    /**
+     * Starts, or resumes, the accrual for the given date in the background.
+     *
+     * @param accrualDate the date interest is accrued up to
+     * @return the progress of the run at the time it was started
+     */
+    AccrualRunResponse startAccrual(LocalDate accrualDate);
+
+    /**
+     * Reports the progress of the run for the given date.
+     *
+     * @param accrualDate the accrual date of the run
+     * @return the run's progress, with status NOT_STARTED if there is no such run
+     */
+    AccrualRunResponse getProgress(LocalDate accrualDate);
+}
@@ -0,0 +1,29 @@
+package com.kraya.platform.service;
+
+import com.kraya.platform.dto.PaymentPostingResult;
+import com.kraya.platform.dto.PaymentRequest;
+
+import java.util.List;
+
+/**
+ * PaymentPostingService applies payments to debts, decrementing {@code Debt.currentAmount}
+ * and moving fully paid debts to PAID.
+ */
+public interface PaymentPostingService {
+
+    /**
+     * Posts a single payment. Concurrent single postings are grouped into shared transactions.
+     *
+     * @param request the payment to post
+     * @return the posting result; rejected payments leave the debt untouched
+     */
+    PaymentPostingResult post(PaymentRequest request);
+
+    /**
+     * Posts many payments in order. Payments against the same debt are applied in list order.
+     *
+     * @param requests the payments to post
+     * @return one result per request, in request order
+     */
+    List<PaymentPostingResult> postAll(List<PaymentRequest> requests);
+}
@@ -0,0 +1,44 @@
+package com.kraya.platform.service;
+
+import com.kraya.platform.dto.PortfolioTransferRequest;
+import com.kraya.platform.dto.PortfolioTransferResponse;
+
+/**
+ * PortfolioTransferService moves whole debt portfolios from one creditor to another.
+ */
+public interface PortfolioTransferService {
+
+    /**
+     * Transfers a portfolio and waits for the transfer to finish.
+     *
+     * @param request the selling and buying creditors
+     * @return the finished transfer; ROLLED_BACK if it failed part-way, or PARTIALLY_REVERSED
+     *         if some of the debts moved had already been passed on by the buyer
+     */
+    PortfolioTransferResponse transfer(PortfolioTransferRequest request);
+
+    /**
+     * Starts a portfolio transfer in the background.
+     *
+     * @param request the selling and buying creditors
+     * @return the transfer's progress at the time it was started
+     */
+    PortfolioTransferResponse startTransfer(PortfolioTransferRequest request);
+
+    /**
+     * Resumes, in the background, a transfer that was interrupted (for example by a restart)
+     * while running or rolling back.
+     *
+     * @param portfolioTransferId the ID of the transfer
+     * @return the transfer's progress
+     */
+    PortfolioTransferResponse resumeTransfer(Long portfolioTransferId);
+
+    /**
+     * Reports progress and throughput of a transfer.
+     *
+     * @param portfolioTransferId the ID of the transfer
+     * @return the transfer's progress
+     */
+    PortfolioTransferResponse getTransfer(Long portfolioTransferId);
+}
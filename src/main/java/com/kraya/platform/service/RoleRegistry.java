@@ -0,0 +1,292 @@
+package com.kraya.platform.service;
+
+import com.kraya.platform.exception.InvalidRoleException;
+import com.kraya.platform.model.Role;
+import com.kraya.platform.model.Roles;
+import com.kraya.platform.model.User;
+import com.kraya.platform.repository.RoleRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * RoleRegistry keeps every role in memory and assigns each role name a fixed bit,
+ * so a user's roles can be carried as a single {@code long} and role checks become
+ * one bit test. The registry is loaded at startup and refreshed by {@link RoleService}
+ * whenever roles are created, updated or deleted.
+ * <p>
+ * Bits of the {@link Roles} enum are fixed to their ordinal; other role names get the
+ * lowest free bit the first time they are seen and keep it until the role is deleted, when
+ * the bit is released for reuse. Bits are process-local and must not be persisted or put
+ * into tokens; masks are resolved per request, so a reused bit never outlives one.
+ * <p>
+ * Roles are handed out as copies, so callers can neither modify the registry's view nor
+ * hold on to entities managed by some persistence context.
+ * <p>
+ * The role set also carries a version for conditional requests. It is derived from the roles'
+ * IDs and names rather than counted, so every node and restart agrees on it, and it moves,
+ * along with the last modification time, only when a refresh actually changes the set.
+ */
+@Component
+public class RoleRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoleRegistry.class);
+
+    public static final int MAX_ROLES = Long.SIZE;
+
+    private final RoleRepository roleRepository;
+
+    // Role name -> bit; bits stay stable across refreshes until the role is gone (guarded by this)
+    private final Map<String, Integer> assignedBits = new HashMap<>();
+    private long usedBits;
+
+    private volatile Snapshot snapshot = new Snapshot(Collections.emptyMap(), Collections.emptyMap(),
+            Collections.emptyMap(), new Role[MAX_ROLES], contentHash(Collections.emptyList()), System.currentTimeMillis());
+
+    @Autowired
+    public RoleRegistry(RoleRepository roleRepository) {
+        this.roleRepository = roleRepository;
+        for (Roles role : Roles.values()) {
+            assignedBits.put(role.name(), role.ordinal());
+            usedBits |= 1L << role.ordinal();
+        }
+    }
+
+    /**
+     * Reloads all roles from the database and atomically replaces the in-memory view.
+     */
+    @PostConstruct
+    public synchronized void refresh() {
+        List<Role> roles = roleRepository.findAll();
+        Map<String, Role> byName = new HashMap<>(roles.size() * 2);
+        Map<Long, Role> byId = new HashMap<>(roles.size() * 2);
+        Map<String, Integer> bitByName = new HashMap<>(roles.size() * 2);
+        Role[] byBit = new Role[MAX_ROLES];
+
+        releaseBitsOfDeletedRoles(roles);
+        for (Role loaded : roles) {
+            Role role = copyOf(loaded);
+            byName.put(role.getName(), role);
+            byId.put(role.getId(), role);
+            int bit = assignBit(role.getName());
+            if (bit < 0) {
+                // Only reachable when concurrent writes got past checkAssignable; never fail a committed write
+                logger.error("No free role bit for role {}; it will not match any role check", role.getName());
+                continue;
+            }
+            bitByName.put(role.getName(), bit);
+            byBit[bit] = role;
+        }
+        long version = contentHash(roles);
+        long lastModified = version == snapshot.version ? snapshot.lastModified : System.currentTimeMillis();
+        snapshot = new Snapshot(byName, byId, bitByName, byBit, version, lastModified);
+        logger.info("Role registry loaded {} roles", roles.size());
+    }
+
+    /**
+     * Checks, before a role is written, that the registry has a bit for its name.
+     *
+     * @param name         the name the role will have
+     * @param replacedName the name the role had before, whose bit is released; null for a new role
+     * @throws InvalidRoleException if every bit is taken
+     */
+    public synchronized void checkAssignable(String name, String replacedName) {
+        if (name == null || assignedBits.containsKey(name)) {
+            return;
+        }
+        boolean releasesBit = replacedName != null && !replacedName.equals(name) && !isBuiltIn(replacedName)
+                && assignedBits.containsKey(replacedName);
+        if (usedBits == -1L && !releasesBit) {
+            throw new InvalidRoleException("At most " + MAX_ROLES + " roles can exist at the same time");
+        }
+    }
+
+    /**
+     * @return copies of all known roles
+     */
+    public List<Role> findAll() {
+        List<Role> roles = new ArrayList<>(snapshot.byId.size());
+        for (Role role : snapshot.byId.values()) {
+            roles.add(copyOf(role));
+        }
+        return roles;
+    }
+
+    /**
+     * @return the version of the role set, changing whenever a role is added, renamed or removed
+     */
+    public String version() {
+        return Long.toHexString(snapshot.version);
+    }
+
+    /**
+     * @return when this process last saw the role set change, in epoch milliseconds
+     */
+    public long lastModified() {
+        return snapshot.lastModified;
+    }
+
+    /**
+     * @param name the role name
+     * @return a copy of the role, or null if no such role exists
+     */
+    public Role findByName(String name) {
+        return copyOf(snapshot.byName.get(name));
+    }
+
+    /**
+     * @param id the role ID
+     * @return a copy of the role, or null if no such role exists
+     */
+    public Role findById(Long id) {
+        return copyOf(snapshot.byId.get(id));
+    }
+
+    /**
+     * @param name the role name
+     * @return the bit assigned to the role, or -1 if the role is unknown
+     */
+    public int bitOf(String name) {
+        Integer bit = snapshot.bitByName.get(name);
+        return bit == null ? -1 : bit;
+    }
+
+    /**
+     * @param names role names; unknown names are ignored
+     * @return the bitset of the given roles
+     */
+    public long maskOfNames(Collection<String> names) {
+        if (names == null) {
+            return 0L;
+        }
+        long mask = 0L;
+        for (String name : names) {
+            int bit = bitOf(name);
+            if (bit >= 0) {
+                mask |= 1L << bit;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * @param user a user whose roles are loaded
+     * @return the bitset of the user's roles
+     */
+    public long maskOf(User user) {
+        if (user.getRoles() == null) {
+            return 0L;
+        }
+        return maskOfNames(user.getRoles().stream().map(Role::getName).toList());
+    }
+
+    /**
+     * @param mask a role bitset
+     * @return the names of the roles set in the bitset
+     */
+    public List<String> namesOf(long mask) {
+        Role[] byBit = snapshot.byBit;
+        List<String> names = new ArrayList<>(Long.bitCount(mask));
+        for (long remaining = mask; remaining != 0; remaining &= remaining - 1) {
+            Role role = byBit[Long.numberOfTrailingZeros(remaining)];
+            if (role != null) {
+                names.add(role.getName());
+            }
+        }
+        return names;
+    }
+
+    /**
+     * @param mask a role bitset
+     * @param role one of the built-in roles
+     * @return true if the role's bit is set
+     */
+    public static boolean hasRole(long mask, Roles role) {
+        return (mask & (1L << role.ordinal())) != 0;
+    }
+
+    /**
+     * @param mask a role bitset
+     * @param name a role name
+     * @return true if the role exists and its bit is set
+     */
+    public boolean hasRole(long mask, String name) {
+        int bit = bitOf(name);
+        return bit >= 0 && (mask & (1L << bit)) != 0;
+    }
+
+    // Returns -1 when every bit is taken
+    private int assignBit(String name) {
+        Integer bit = assignedBits.get(name);
+        if (bit == null) {
+            if (usedBits == -1L) {
+                return -1;
+            }
+            bit = Long.numberOfTrailingZeros(~usedBits);
+            usedBits |= 1L << bit;
+            assignedBits.put(name, bit);
+        }
+        return bit;
+    }
+
+    private void releaseBitsOfDeletedRoles(List<Role> roles) {
+        Set<String> names = new HashSet<>(roles.size() * 2);
+        for (Role role : roles) {
+            names.add(role.getName());
+        }
+        for (Iterator<Map.Entry<String, Integer>> it = assignedBits.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<String, Integer> entry = it.next();
+            if (!names.contains(entry.getKey()) && !isBuiltIn(entry.getKey())) {
+                usedBits &= ~(1L << entry.getValue());
+                it.remove();
+            }
+        }
+    }
+
+    private static boolean isBuiltIn(String name) {
+        for (Roles role : Roles.values()) {
+            if (role.name().equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Role copyOf(Role role) {
+        if (role == null) {
+            return null;
+        }
+        Role copy = new Role(role.getName());
+        copy.setId(role.getId());
+        return copy;
+    }
+
+    // Order-independent, and stable across JVMs since Long and String hash codes are specified
+    private static long contentHash(List<Role> roles) {
+        List<Role> sorted = new ArrayList<>(roles);
+        sorted.sort(Comparator.comparing(Role::getId));
+        long hash = 1125899906842597L;
+        for (Role role : sorted) {
+            hash = 31 * hash + role.getId().hashCode();
+            hash = 31 * hash + role.getName().hashCode();
+        }
+        return hash;
+    }
+
+    private record Snapshot(Map<String, Role> byName, Map<Long, Role> byId,
+                            Map<String, Integer> bitByName, Role[] byBit, long version, long lastModified) {
+    }
+}
@@ -1,5 +1,6 @@
 package com.kraya.platform.service;
 
+import com.kraya.platform.dto.ResourceVersion;
 import com.kraya.platform.model.Role;
 
 import java.util.List;
@@ -16,6 +17,13 @@ public interface RoleService {
      */
     List<Role> findAll();
 
+    /**
+     * Returns the version of the role set, for conditional requests on any role resource.
+     *
+     * @return the role set's entity tag and last modification time
+     */
+    ResourceVersion findVersion();
+
     /**
      * Retrieves a role by ID.
      *
@@ -0,0 +1,45 @@
+package com.kraya.platform.service;
+
+import com.kraya.platform.dto.TokenResponse;
+import com.kraya.platform.model.User;
+import com.kraya.platform.security.TokenClaims;
+
+/**
+ * TokenService defines the contract for issuing, verifying and revoking
+ * the signed, stateless tokens used to authenticate API requests.
+ */
+public interface TokenService {
+
+    /**
+     * Issues a new access/refresh token pair for the given user.
+     *
+     * @param user the authenticated user
+     * @return the token response containing both tokens
+     */
+    TokenResponse issueTokens(User user);
+
+    /**
+     * Verifies the signature, expiry, type and revocation state of a token.
+     *
+     * @param token        the encoded token
+     * @param expectedType {@link TokenClaims#ACCESS} or {@link TokenClaims#REFRESH}
+     * @return the claims carried by the token
+     * @throws com.kraya.platform.exception.InvalidTokenException if the token cannot be trusted
+     */
+    TokenClaims verify(String token, String expectedType);
+
+    /**
+     * Revokes a single token until it would have expired anyway.
+     *
+     * @param claims the claims of the token to revoke
+     * @return true if this call revoked the token, false if it had already been revoked
+     */
+    boolean revoke(TokenClaims claims);
+
+    /**
+     * Revokes every token issued to a user up to now, e.g. after a password change.
+     *
+     * @param userId the ID of the user
+     */
+    void revokeAllForUser(Long userId);
+}
@@ -0,0 +1,22 @@
+package com.kraya.platform.service;
+
+import com.kraya.platform.dto.UserImportResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * UserImportService defines the contract for onboarding many users at once.
+ */
+public interface UserImportService {
+
+    /**
+     * Imports users from a newline-delimited JSON stream, one {@link com.kraya.platform.dto.UserImportRow}
+     * per line. The stream is read incrementally and rows are inserted in JDBC-batched chunks.
+     *
+     * @param input the NDJSON input stream
+     * @return the per-row results and throughput of the import
+     * @throws IOException if the stream cannot be read
+     */
+    UserImportResponse importUsers(InputStream input) throws IOException;
+}
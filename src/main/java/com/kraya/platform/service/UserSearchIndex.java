@@ -0,0 +1,423 @@
+package com.kraya.platform.service;
+
+import com.kraya.platform.dto.UserSearchResult;
+import com.kraya.platform.model.User;
+import com.kraya.platform.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * UserSearchIndex answers partial and misspelt searches on username, email, first and last
+ * name from memory, since {@code LIKE '%x%'} on the users table cannot use an index.
+ * <p>
+ * Each field is split into lower-case tokens (emails also into their parts), and each distinct
+ * token is stored once, with the users it occurs in. A sorted dictionary of tokens answers
+ * prefix lookups; a trigram index over the same tokens answers substring and fuzzy lookups, so
+ * both grow with the number of distinct tokens rather than with the number of users.
+ * <p>
+ * {@link UserService} updates the index on every create, update and delete. Writes made by
+ * other nodes are picked up by a periodic rebuild; changes made while a rebuild runs are
+ * replayed onto the rebuilt index.
+ */
+@Component
+public class UserSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserSearchIndex.class);
+
+    private static final int GRAM = 3;
+    private static final char PAD = '\u0002';  // Marks token boundaries in trigrams
+    private static final double EXACT = 1.0;
+    private static final double PREFIX = 0.8;
+    private static final double SUBSTRING = 0.6;
+    private static final double FUZZY = 0.5;
+    private static final double MIN_SIMILARITY = 0.45;
+    private static final int MAX_PREFIX_TOKENS = 2000;  // Keeps one-letter queries cheap
+
+    private final UserRepository userRepository;
+    private final int pageSize;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Index index = new Index();
+    private List<Runnable> journal;  // Changes made while a rebuild runs, guarded by the write lock
+
+    @Autowired
+    public UserSearchIndex(UserRepository userRepository,
+                           @Value("${kraya.search.page-size:1000}") int pageSize) {
+        this.userRepository = userRepository;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Reloads every user from the database.
+     */
+    @PostConstruct
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        writeLocked(() -> journal = new ArrayList<>());
+        Index rebuilt = new Index();
+        boolean loaded = false;
+        try {
+            long afterId = 0;
+            List<User> page;
+            do {
+                page = userRepository.findByUserIdGreaterThanOrderByUserIdAsc(afterId, Limit.of(pageSize));
+                for (User user : page) {
+                    rebuilt.put(Entry.of(user));
+                    afterId = user.getUserId();
+                }
+            } while (page.size() == pageSize);
+            loaded = true;
+        } finally {
+            boolean swap = loaded;
+            writeLocked(() -> {
+                if (swap) {
+                    index = rebuilt;
+                    journal.forEach(Runnable::run);  // Changes apply to whichever index is current
+                }
+                journal = null;
+            });
+        }
+        logger.info("User search index loaded {} users and {} distinct tokens in {} ms",
+                rebuilt.users.size(), rebuilt.tokens.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Rebuilds the index on a fixed delay, picking up users written by other nodes.
+     */
+    @Scheduled(fixedDelayString = "${kraya.search.rebuild-interval:PT10M}",
+            initialDelayString = "${kraya.search.rebuild-interval:PT10M}")
+    public void rebuildPeriodically() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            logger.error("User search index rebuild failed; the previous index stays in use", e);
+        }
+    }
+
+    /**
+     * Adds a user, or replaces what is indexed for it.
+     *
+     * @param user the user as saved
+     */
+    public void index(User user) {
+        Entry entry = Entry.of(user);
+        apply(() -> index.put(entry));
+    }
+
+    /**
+     * Adds or replaces several users at once.
+     *
+     * @param users the users as saved
+     */
+    public void indexAll(Collection<? extends User> users) {
+        List<Entry> entries = users.stream().map(Entry::of).toList();
+        apply(() -> entries.forEach(entry -> index.put(entry)));
+    }
+
+    /**
+     * Removes a user.
+     *
+     * @param userId the ID of the user
+     */
+    public void remove(Long userId) {
+        apply(() -> index.remove(userId));
+    }
+
+    /**
+     * Finds the users matching every word of a query, best first. A word matches a token that
+     * equals it, starts with it, contains it, or, for words of three letters or more, is spelt
+     * similarly.
+     *
+     * @param query the words to look for
+     * @param limit the maximum number of users to return
+     * @return the matching users, by score and then by user ID
+     */
+    public List<UserSearchResult> search(String query, int limit) {
+        List<String> words = tokenize(query);
+        if (words.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            return index.search(words, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of indexed users
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.users.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(Runnable change) {
+        writeLocked(() -> {
+            change.run();
+            if (journal != null) {
+                journal.add(change);
+            }
+        });
+    }
+
+    private void writeLocked(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Lower-case runs of letters and digits; emails also yield the whole address
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        Set<String> tokens = new LinkedHashSet<>();
+        String lower = text.toLowerCase(Locale.ROOT).trim();
+        for (String word : lower.split("\\s+")) {
+            if (word.indexOf('@') > 0) {
+                tokens.add(word);
+            }
+            for (String part : word.split("[^\\p{L}\\p{N}]+")) {
+                if (!part.isEmpty()) {
+                    tokens.add(part);
+                }
+            }
+        }
+        return new ArrayList<>(tokens);
+    }
+
+    private static Set<String> grams(String token) {
+        String padded = PAD + token + PAD;
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    // Insertions, deletions, substitutions and adjacent transpositions, or max + 1 when over max
+    private static int editDistance(String a, String b, int max) {
+        int[] previous2 = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int distance = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    distance = Math.min(distance, previous2[j - 2] + 1);
+                }
+                current[j] = distance;
+                rowMin = Math.min(rowMin, distance);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length()];
+    }
+
+    /**
+     * What is indexed for one user.
+     */
+    private record Entry(Long userId, String username, String email, String firstName, String lastName) {
+
+        static Entry of(User user) {
+            return new Entry(user.getUserId(), user.getUsername(), user.getEmail(), user.getFirstName(),
+                    user.getLastName());
+        }
+
+        Set<String> tokens() {
+            Set<String> tokens = new HashSet<>();
+            tokens.addAll(tokenize(username));
+            tokens.addAll(tokenize(email));
+            tokens.addAll(tokenize(firstName));
+            tokens.addAll(tokenize(lastName));
+            return tokens;
+        }
+
+        UserSearchResult toResult(double score) {
+            return new UserSearchResult(userId, username, email, firstName, lastName, score);
+        }
+    }
+
+    /**
+     * A distinct token and the users it occurs in.
+     */
+    private static final class Token {
+
+        final String text;
+        final Set<String> grams;
+        final Set<Long> userIds = new HashSet<>(2);
+
+        Token(String text) {
+            this.text = text;
+            this.grams = grams(text);
+        }
+    }
+
+    /**
+     * The index structures; not thread safe, guarded by the enclosing lock.
+     */
+    private static final class Index {
+
+        final Map<Long, Entry> users = new HashMap<>();
+        final NavigableMap<String, Token> tokens = new TreeMap<>();
+        final Map<String, Set<Token>> tokensByGram = new HashMap<>();
+
+        void put(Entry entry) {
+            remove(entry.userId());
+            users.put(entry.userId(), entry);
+            for (String text : entry.tokens()) {
+                Token token = tokens.get(text);
+                if (token == null) {
+                    token = new Token(text);
+                    tokens.put(text, token);
+                    for (String gram : token.grams) {
+                        tokensByGram.computeIfAbsent(gram, g -> new HashSet<>()).add(token);
+                    }
+                }
+                token.userIds.add(entry.userId());
+            }
+        }
+
+        void remove(Long userId) {
+            Entry entry = users.remove(userId);
+            if (entry == null) {
+                return;
+            }
+            for (String text : entry.tokens()) {
+                Token token = tokens.get(text);
+                if (token == null || !token.userIds.remove(userId) || !token.userIds.isEmpty()) {
+                    continue;
+                }
+                tokens.remove(text);
+                for (String gram : token.grams) {
+                    Set<Token> posting = tokensByGram.get(gram);
+                    posting.remove(token);
+                    if (posting.isEmpty()) {
+                        tokensByGram.remove(gram);
+                    }
+                }
+            }
+        }
+
+        List<UserSearchResult> search(List<String> words, int limit) {
+            Map<Long, Double> scores = null;
+            for (String word : words) {
+                Map<Long, Double> wordScores = new HashMap<>();
+                matchTokens(word).forEach((token, score) -> token.userIds.forEach(
+                        userId -> wordScores.merge(userId, score, Math::max)));
+                if (scores == null) {
+                    scores = wordScores;
+                } else {
+                    // Every word must match
+                    Map<Long, Double> previous = scores;
+                    scores = new HashMap<>();
+                    for (Map.Entry<Long, Double> match : wordScores.entrySet()) {
+                        Double sum = previous.get(match.getKey());
+                        if (sum != null) {
+                            scores.put(match.getKey(), sum + match.getValue());
+                        }
+                    }
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                    .limit(limit)
+                    .map(match -> users.get(match.getKey()).toResult(match.getValue()))
+                    .toList();
+        }
+
+        // The tokens a word matches, with how well each matches
+        private Map<Token, Double> matchTokens(String word) {
+            Map<Token, Double> matches = new HashMap<>();
+            int prefixTokens = 0;
+            for (Token token : tokens.subMap(word, true, word + Character.MAX_VALUE, false).values()) {
+                double score = token.text.length() == word.length() ? EXACT
+                        : PREFIX + (EXACT - PREFIX) * word.length() / token.text.length();
+                matches.put(token, score);
+                if (++prefixTokens == MAX_PREFIX_TOKENS) {
+                    break;
+                }
+            }
+            if (word.length() < GRAM) {
+                return matches;
+            }
+
+            // Count the trigrams each token shares with the word
+            Set<String> wordGrams = grams(word);
+            Map<Token, Integer> shared = new HashMap<>();
+            for (String gram : wordGrams) {
+                for (Token token : tokensByGram.getOrDefault(gram, Set.of())) {
+                    shared.merge(token, 1, Integer::sum);
+                }
+            }
+            for (Map.Entry<Token, Integer> candidate : shared.entrySet()) {
+                Token token = candidate.getKey();
+                if (matches.containsKey(token)) {
+                    continue;
+                }
+                if (token.text.contains(word)) {
+                    matches.put(token, SUBSTRING * (1 + (double) word.length() / token.text.length()) / 2);
+                    continue;
+                }
+                // Dice coefficient over padded trigrams: 1 for equal tokens, 0 for nothing in common.
+                // Short words share too few trigrams with a one-letter typo, so edits count too.
+                double similarity = 2.0 * candidate.getValue() / (wordGrams.size() + token.grams.size());
+                int maxEdits = word.length() <= 4 ? 1 : 2;
+                if (Math.abs(token.text.length() - word.length()) <= maxEdits) {
+                    int edits = editDistance(word, token.text, maxEdits);
+                    if (edits <= maxEdits) {
+                        similarity = Math.max(similarity, 1 - (double) edits / Math.max(word.length(), token.text.length()));
+                    }
+                }
+                if (similarity >= MIN_SIMILARITY) {
+                    matches.put(token, FUZZY * similarity);
+                }
+            }
+            return matches;
+        }
+    }
+}
@@ -1,12 +1,19 @@
 package com.kraya.platform.service;
 
+import com.kraya.platform.dto.LoginRequest;
+import com.kraya.platform.dto.TokenResponse;
+import com.kraya.platform.dto.ResourceVersion;
+import com.kraya.platform.dto.UserPageResponse;
 import com.kraya.platform.dto.UserRegistrationRequest;
 import com.kraya.platform.dto.UserRegistrationResponse;
+import com.kraya.platform.dto.UserResponseDto;
+import com.kraya.platform.dto.UserSearchResult;
 import com.kraya.platform.dto.UserUpdateRequest;
 import com.kraya.platform.model.User;
 import org.springframework.http.ResponseEntity;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * UserService interface defines the contract for user-related operations.
@@ -20,6 +27,32 @@ public interface UserService {
      */
     List<User> findAll();
 
+    /**
+     * Retrieves one page of users using keyset pagination on the user ID.
+     *
+     * @param afterId the last user ID of the previous page, or null for the first page
+     * @param limit   the maximum number of users to return
+     * @return the page of users and the cursor for the next page
+     */
+    UserPageResponse findPage(Long afterId, int limit);
+
+    /**
+     * Streams all users, ordered by ID, from a database cursor to the given consumer.
+     * Each user is detached once consumed, so memory use does not grow with the table.
+     *
+     * @param consumer receives each user in turn
+     */
+    void streamAll(Consumer<UserResponseDto> consumer);
+
+    /**
+     * Searches users by partial or misspelt username, email, first or last name.
+     *
+     * @param query the words to look for; every word must match
+     * @param limit the maximum number of users to return
+     * @return the matching users, best first
+     */
+    List<UserSearchResult> search(String query, int limit);
+
     /**
      * Retrieves a user by ID.
      *
@@ -28,6 +61,24 @@ public interface UserService {
      */
     User findById(Long id);
 
+    /**
+     * Returns the version of a user's representation without loading the user: its last
+     * modification time, read with a single-column query, combined with the role set's version,
+     * since the representation includes role names.
+     *
+     * @param id the ID of the user
+     * @return the version, or null if the user does not exist or has no modification time
+     */
+    ResourceVersion findVersion(Long id);
+
+    /**
+     * Returns the version of a loaded user's representation, as {@link #findVersion(Long)} would.
+     *
+     * @param user the user
+     * @return the version, or null if the user has no modification time
+     */
+    ResourceVersion versionOf(User user);
+
     /**
      * Creates a new user based on the registration request.
      *
@@ -59,4 +110,28 @@ public interface UserService {
      * @return ResponseEntity containing the registration response
      */
     ResponseEntity<UserRegistrationResponse> registerUser(UserRegistrationRequest request);
+
+    /**
+     * Checks the user's password once and issues a signed access/refresh token pair.
+     *
+     * @param request the login request containing username and password
+     * @return the issued tokens
+     */
+    TokenResponse login(LoginRequest request);
+
+    /**
+     * Exchanges a valid refresh token for a new token pair, revoking the old refresh token.
+     *
+     * @param refreshToken the refresh token to exchange
+     * @return the newly issued tokens
+     */
+    TokenResponse refreshToken(String refreshToken);
+
+    /**
+     * Revokes the given access token and, if present, the matching refresh token.
+     *
+     * @param accessToken  the access token to revoke
+     * @param refreshToken the refresh token to revoke, may be null
+     */
+    void logout(String accessToken, String refreshToken);
 }
@@ -0,0 +1,37 @@
+package com.kraya.platform.service;
+
+import com.kraya.platform.dto.VoteRequest;
+import com.kraya.platform.dto.VoteTallyResponse;
+
+/**
+ * VoteService records creditors' votes on forgiving debtors and reports the tallies.
+ */
+public interface VoteService {
+
+    /**
+     * Casts a creditor's vote on a debtor, replacing any earlier vote of that creditor.
+     * Only a creditor currently holding a debt of the debtor may vote.
+     *
+     * @param creditorId the ID of the authenticated creditor casting the vote
+     * @param request    the vote
+     * @return the debtor's tally including the vote
+     */
+    VoteTallyResponse castVote(Long creditorId, VoteRequest request);
+
+    /**
+     * Withdraws a creditor's vote on a debtor.
+     *
+     * @param debtorId   the ID of the debtor
+     * @param creditorId the ID of the authenticated creditor withdrawing the vote
+     * @return the debtor's tally without the vote
+     */
+    VoteTallyResponse withdrawVote(Long debtorId, Long creditorId);
+
+    /**
+     * Retrieves a debtor's tally without reading the vote table.
+     *
+     * @param debtorId the ID of the debtor
+     * @return the debtor's yes and no votes
+     */
+    VoteTallyResponse getTally(Long debtorId);
+}
@@ -0,0 +1,212 @@
+package com.kraya.platform.service;
+
+import com.kraya.platform.dto.VoteTallyResponse;
+import com.kraya.platform.model.VoteTally;
+import com.kraya.platform.repository.VoteRepository;
+import com.kraya.platform.repository.VoteTallyRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * VoteTallies keeps the yes/no vote counts of every debtor in memory, so tallies are served
+ * without touching the {@code vote} table.
+ * <p>
+ * Each debtor's counts are {@link LongAdder}s, which stripe their cells across contending
+ * threads: concurrent votes on a popular debtor never serialize on a shared counter. Counts
+ * are changed only after the vote change has committed (see {@link #record}), as a delta of
+ * -1 for the vote being replaced or withdrawn and +1 for the new one, so any interleaving of
+ * changes to the same vote adds up to the committed state.
+ * <p>
+ * Changed tallies are flushed to {@code vote_tally} periodically as deltas against what was
+ * last flushed. The {@code vote} table stays the source of truth: on startup the counts and
+ * the summary table are rebuilt from it, which also repairs deltas lost by a crash.
+ * <p>
+ * The counts are per process and only see votes cast through this process, so the tallies
+ * are correct for a single-node deployment only. Running several nodes would need each node's
+ * counts rebuilt from the {@code vote} table (and the rebuild would have to stop overwriting
+ * deltas other nodes have not flushed yet); until then the vote service must run on one node.
+ */
+@Component
+public class VoteTallies {
+
+    private static final Logger logger = LoggerFactory.getLogger(VoteTallies.class);
+
+    private static final String UPDATE_TALLY =
+            "UPDATE vote_tally SET yes_votes = yes_votes + ?, no_votes = no_votes + ?, updated_at = ? WHERE debtor_id = ?";
+    private static final String INSERT_TALLY =
+            "INSERT INTO vote_tally (debtor_id, yes_votes, no_votes, updated_at) VALUES (?, ?, ?, ?)";
+
+    private final VoteRepository voteRepository;
+    private final VoteTallyRepository voteTallyRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Long, Tally> tallies = new ConcurrentHashMap<>();
+    private final Set<Long> changed = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public VoteTallies(VoteRepository voteRepository, VoteTallyRepository voteTallyRepository,
+                       JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.voteRepository = voteRepository;
+        this.voteTallyRepository = voteTallyRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Recounts every debtor's votes from the {@code vote} table and replaces both the
+     * in-memory counts and the summary table with the result.
+     */
+    @PostConstruct
+    public synchronized void rebuild() {
+        LocalDateTime now = LocalDateTime.now();
+        List<VoteTally> rows = new ArrayList<>();
+        Map<Long, Tally> rebuilt = new HashMap<>();
+        for (Object[] row : voteRepository.countByDebtor()) {
+            Long debtorId = ((Number) row[0]).longValue();
+            long yes = ((Number) row[1]).longValue();
+            long no = ((Number) row[2]).longValue();
+            rows.add(new VoteTally(debtorId, yes, no, now));
+            rebuilt.put(debtorId, new Tally(yes, no));
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            voteTallyRepository.deleteAllInBatch();
+            voteTallyRepository.saveAll(rows);
+        });
+        tallies.clear();
+        tallies.putAll(rebuilt);
+        changed.clear();
+        logger.info("Vote tallies rebuilt for {} debtors", rows.size());
+    }
+
+    /**
+     * Applies a committed vote change to the debtor's counts.
+     *
+     * @param debtorId the ID of the debtor voted on
+     * @param previous the vote that was replaced, or null if there was none
+     * @param current  the vote now in place, or null if the vote was withdrawn
+     */
+    public void record(Long debtorId, Boolean previous, Boolean current) {
+        if (Objects.equals(previous, current)) {
+            return;
+        }
+        Tally tally = tallies.computeIfAbsent(debtorId, id -> new Tally(0, 0));
+        if (previous != null) {
+            (previous ? tally.yes : tally.no).decrement();
+        }
+        if (current != null) {
+            (current ? tally.yes : tally.no).increment();
+        }
+        changed.add(debtorId);
+    }
+
+    /**
+     * @param debtorId the ID of the debtor
+     * @return the debtor's current counts; zero if no creditor has voted
+     */
+    public VoteTallyResponse get(Long debtorId) {
+        Tally tally = tallies.get(debtorId);
+        return tally == null ? new VoteTallyResponse(debtorId, 0, 0)
+                : new VoteTallyResponse(debtorId, tally.yes.sum(), tally.no.sum());
+    }
+
+    /**
+     * Flushes changed tallies periodically and once more on shutdown.
+     */
+    @Scheduled(fixedDelayString = "${kraya.votes.flush-interval:PT5S}")
+    @PreDestroy
+    public void flushPeriodically() {
+        flush();
+    }
+
+    /**
+     * Writes the counts changed since the last flush to {@code vote_tally} in one transaction.
+     *
+     * @return the number of debtors flushed
+     */
+    public synchronized int flush() {
+        List<Long> debtorIds = new ArrayList<>();
+        List<long[]> deltas = new ArrayList<>();
+        for (Long debtorId : List.copyOf(changed)) {
+            // Unmarked before reading, so a vote recorded meanwhile marks the debtor again
+            changed.remove(debtorId);
+            Tally tally = tallies.get(debtorId);
+            long yesDelta = tally.yes.sum() - tally.flushedYes;
+            long noDelta = tally.no.sum() - tally.flushedNo;
+            if (yesDelta != 0 || noDelta != 0) {
+                debtorIds.add(debtorId);
+                deltas.add(new long[]{yesDelta, noDelta});
+            }
+        }
+        if (debtorIds.isEmpty()) {
+            return 0;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Object[]> updates = new ArrayList<>(debtorIds.size());
+                for (int i = 0; i < debtorIds.size(); i++) {
+                    updates.add(new Object[]{deltas.get(i)[0], deltas.get(i)[1], now, debtorIds.get(i)});
+                }
+                int[] counts = jdbcTemplate.batchUpdate(UPDATE_TALLY, updates);
+                List<Object[]> inserts = new ArrayList<>();
+                for (int i = 0; i < counts.length; i++) {
+                    if (counts[i] == 0) {
+                        inserts.add(new Object[]{debtorIds.get(i), deltas.get(i)[0], deltas.get(i)[1], now});
+                    }
+                }
+                if (!inserts.isEmpty()) {
+                    jdbcTemplate.batchUpdate(INSERT_TALLY, inserts);
+                }
+            });
+        } catch (RuntimeException e) {
+            changed.addAll(debtorIds);
+            throw e;
+        }
+
+        for (int i = 0; i < debtorIds.size(); i++) {
+            Tally tally = tallies.get(debtorIds.get(i));
+            tally.flushedYes += deltas.get(i)[0];
+            tally.flushedNo += deltas.get(i)[1];
+        }
+        logger.debug("Flushed vote tallies of {} debtors", debtorIds.size());
+        return debtorIds.size();
+    }
+
+    private static final class Tally {
+
+        private final LongAdder yes = new LongAdder();
+        private final LongAdder no = new LongAdder();
+
+        // Counts as of the last flush (guarded by the VoteTallies monitor)
+        private long flushedYes;
+        private long flushedNo;
+
+        private Tally(long yes, long no) {
+            this.yes.add(yes);
+            this.no.add(no);
+            this.flushedYes = yes;
+            this.flushedNo = no;
+        }
+    }
+}
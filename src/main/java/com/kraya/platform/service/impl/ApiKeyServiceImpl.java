@@ -0,0 +1,246 @@
+package com.kraya.platform.service.impl;
+
+import com.kraya.platform.dto.ApiKeyResponse;
+import com.kraya.platform.exception.InvalidTokenException;
+import com.kraya.platform.exception.ResourceNotFoundException;
+import com.kraya.platform.model.Creditor;
+import com.kraya.platform.model.Role;
+import com.kraya.platform.model.User;
+import com.kraya.platform.repository.CreditorRepository;
+import com.kraya.platform.security.TokenClaims;
+import com.kraya.platform.service.ApiKeyService;
+import com.kraya.platform.service.RoleRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ApiKeyServiceImpl stores API keys as HMAC-SHA256 digests under a server-side key. Keys are
+ * 256 random bits, so a fast keyed hash is as safe for them as BCrypt is for passwords, and
+ * checking one costs about a microsecond instead of a BCrypt round.
+ * <p>
+ * Resolved keys are cached by digest, so a cached request costs one HMAC and one map lookup.
+ * Unknown keys are cached too, briefly, so guessing does not reach the database. The cache is
+ * bounded; issuing or revoking a key evicts the creditor's entries on this node, and other
+ * nodes see the change once their entries expire.
+ * <p>
+ * Keys from before hashing were stored in plaintext and had no fixed format. Their digests are
+ * kept by {@link #hashLegacyKeys()}, so authentication only insists on the issued format for keys
+ * carrying its prefix; anything else that fits the old column is looked up as a legacy key.
+ */
+@Service
+public class ApiKeyServiceImpl implements ApiKeyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApiKeyServiceImpl.class);
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final String KEY_PREFIX = "kra_";
+    private static final int KEY_BYTES = 32;
+    private static final int KEY_LENGTH = KEY_PREFIX.length() + 43;  // Unpadded base64url of 32 bytes
+    private static final int MAX_LEGACY_KEY_LENGTH = 255;  // Width of the plaintext api_key column
+    private static final String CREDITOR_ROLE = "CREDITOR";
+
+    private final CreditorRepository creditorRepository;
+    private final RoleRegistry roleRegistry;
+    private final SecretKeySpec hashingKey;
+    private final boolean hashingKeyConfigured;
+    private final int cacheSize;
+    private final long cacheTtlNanos;
+    private final long negativeCacheTtlNanos;
+    private final SecureRandom random = new SecureRandom();
+
+    // Mac instances are not thread-safe, so each thread keeps its own
+    private final ThreadLocal<Mac> macs = ThreadLocal.withInitial(this::newMac);
+
+    // Key digest -> resolved claims, or a negative entry for unknown keys; never the keys themselves
+    private final Map<String, CachedKey> cache = new ConcurrentHashMap<>();
+
+    // Bumped by every eviction, so a lookup racing with a key change does not cache what it read
+    private final AtomicLong evictions = new AtomicLong();
+
+    @Autowired
+    public ApiKeyServiceImpl(CreditorRepository creditorRepository, RoleRegistry roleRegistry,
+                             @Value("${kraya.security.api-keys.secret:}") String secret,
+                             @Value("${kraya.security.api-keys.cache-size:10000}") int cacheSize,
+                             @Value("${kraya.security.api-keys.cache-ttl:5m}") Duration cacheTtl,
+                             @Value("${kraya.security.api-keys.negative-cache-ttl:30s}") Duration negativeCacheTtl) {
+        this.creditorRepository = creditorRepository;
+        this.roleRegistry = roleRegistry;
+        this.hashingKeyConfigured = secret != null && !secret.isBlank();
+        this.hashingKey = new SecretKeySpec(resolveSecret(secret), HMAC_ALGORITHM);
+        this.cacheSize = cacheSize;
+        this.cacheTtlNanos = cacheTtl.toNanos();
+        this.negativeCacheTtlNanos = negativeCacheTtl.toNanos();
+    }
+
+    /**
+     * Hashes API keys still stored in plaintext and clears them. Skipped without a configured
+     * secret, since hashes under a random key would be lost on restart along with the keys.
+     */
+    @PostConstruct
+    public void hashLegacyKeys() {
+        if (!hashingKeyConfigured) {
+            return;
+        }
+        List<Creditor> creditors = creditorRepository.findByApiKeyIsNotNull();
+        for (Creditor creditor : creditors) {
+            creditor.setApiKeyHash(hash(creditor.getApiKey()));
+            creditor.setApiKey(null);
+            creditor.setApiKeyIssuedAt(LocalDateTime.now());
+        }
+        if (!creditors.isEmpty()) {
+            creditorRepository.saveAll(creditors);
+            logger.info("Hashed {} plaintext API keys", creditors.size());
+        }
+    }
+
+    @Override
+    public ApiKeyResponse issue(Long creditorId) {
+        Creditor creditor = findCreditor(creditorId);
+        byte[] secret = new byte[KEY_BYTES];
+        random.nextBytes(secret);
+        String apiKey = KEY_PREFIX + Base64.getUrlEncoder().withoutPadding().encodeToString(secret);
+
+        creditor.setApiKey(null);
+        creditor.setApiKeyHash(hash(apiKey));
+        creditor.setApiKeyIssuedAt(LocalDateTime.now());
+        creditorRepository.save(creditor);
+        evict(creditorId);
+        logger.info("Issued a new API key for creditor {}", creditorId);
+        return new ApiKeyResponse(creditorId, apiKey, creditor.getApiKeyIssuedAt());
+    }
+
+    @Override
+    public void revoke(Long creditorId) {
+        Creditor creditor = findCreditor(creditorId);
+        creditor.setApiKey(null);
+        creditor.setApiKeyHash(null);
+        creditor.setApiKeyIssuedAt(null);
+        creditorRepository.save(creditor);
+        evict(creditorId);
+        logger.info("Revoked the API key of creditor {}", creditorId);
+    }
+
+    @Override
+    public TokenClaims authenticate(String apiKey) {
+        if (!isWellFormed(apiKey)) {
+            throw new InvalidTokenException("Malformed API key");
+        }
+        String digest = hash(apiKey);
+        long now = System.nanoTime();
+        CachedKey cached = cache.get(digest);
+        if (cached == null || now - cached.expiresAt > 0) {
+            cached = load(digest, now);
+        }
+        if (cached.claims == null) {
+            throw new InvalidTokenException("Invalid API key");
+        }
+        // Role bits can be reassigned when roles change, so the mask is resolved per request
+        TokenClaims claims = new TokenClaims(cached.claims.getSubject(), cached.claims.getUserId(),
+                cached.claims.getRoles(), TokenClaims.API_KEY, null, 0, 0);
+        claims.setRoleMask(roleRegistry.maskOfNames(claims.getRoles()));
+        return claims;
+    }
+
+    private CachedKey load(String digest, long now) {
+        long evictionsBefore = evictions.get();
+        CachedKey loaded = creditorRepository.findByApiKeyHash(digest)
+                .filter(creditor -> creditor.getStatus() == User.Status.ACTIVE)
+                .map(creditor -> new CachedKey(creditor.getUserId(), toClaims(creditor), now + cacheTtlNanos))
+                .orElseGet(() -> new CachedKey(null, null, now + negativeCacheTtlNanos));
+        if (evictions.get() == evictionsBefore) {
+            if (cache.size() >= cacheSize) {
+                trim(now);
+            }
+            cache.put(digest, loaded);
+        }
+        return loaded;
+    }
+
+    private TokenClaims toClaims(Creditor creditor) {
+        List<String> roles = new ArrayList<>();
+        if (creditor.getRoles() != null) {
+            creditor.getRoles().stream().map(Role::getName).forEach(roles::add);
+        }
+        if (!roles.contains(CREDITOR_ROLE)) {
+            roles.add(CREDITOR_ROLE);
+        }
+        return new TokenClaims(creditor.getUsername(), creditor.getUserId(), List.copyOf(roles),
+                TokenClaims.API_KEY, null, 0, 0);
+    }
+
+    // Drops expired entries, then arbitrary ones until a sixteenth of the cache is free
+    private void trim(long now) {
+        cache.values().removeIf(entry -> now - entry.expiresAt > 0);
+        int excess = cache.size() - (cacheSize - cacheSize / 16);
+        Iterator<CachedKey> entries = cache.values().iterator();
+        while (excess-- > 0 && entries.hasNext()) {
+            entries.next();
+            entries.remove();
+        }
+    }
+
+    // Issued keys have a fixed format; keys migrated from plaintext can be anything the old column held
+    private static boolean isWellFormed(String apiKey) {
+        if (apiKey == null || apiKey.isBlank()) {
+            return false;
+        }
+        return apiKey.startsWith(KEY_PREFIX) ? apiKey.length() == KEY_LENGTH : apiKey.length() <= MAX_LEGACY_KEY_LENGTH;
+    }
+
+    private void evict(Long creditorId) {
+        evictions.incrementAndGet();
+        cache.values().removeIf(entry -> creditorId.equals(entry.creditorId));
+    }
+
+    private Creditor findCreditor(Long creditorId) {
+        return creditorRepository.findById(creditorId)
+                .orElseThrow(() -> new ResourceNotFoundException("Creditor not found with ID: " + creditorId));
+    }
+
+    private String hash(String apiKey) {
+        return HexFormat.of().formatHex(macs.get().doFinal(apiKey.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(hashingKey);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+
+    private static byte[] resolveSecret(String secret) {
+        if (secret == null || secret.isBlank()) {
+            logger.warn("No kraya.security.api-keys.secret configured; using a random key, API keys will not survive a restart");
+            byte[] key = new byte[32];
+            new SecureRandom().nextBytes(key);
+            return key;
+        }
+        return secret.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private record CachedKey(Long creditorId, TokenClaims claims, long expiresAt) {
+    }
+}
@@ -0,0 +1,157 @@
+package com.kraya.platform.service.impl;
+
+import com.kraya.platform.dto.DocumentContent;
+import com.kraya.platform.dto.DocumentResponse;
+import com.kraya.platform.exception.InvalidInputException;
+import com.kraya.platform.exception.ResourceNotFoundException;
+import com.kraya.platform.model.AppUser;
+import com.kraya.platform.model.Document;
+import com.kraya.platform.repository.DocumentRepository;
+import com.kraya.platform.repository.UserRepository;
+import com.kraya.platform.security.DebtAccess;
+import com.kraya.platform.service.DocumentService;
+import com.kraya.platform.service.DocumentStorage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DocumentServiceImpl records uploaded documents and stores their content through
+ * {@link DocumentStorage}. Content is streamed, never held in memory whole, and identical
+ * content uploaded by different documents is stored once.
+ * <p>
+ * A debtor's documents are open to the debtor, to admins and to the creditors holding one of
+ * the debtor's debts; see {@link DebtAccess#checkDebtor}.
+ */
+@Service
+public class DocumentServiceImpl implements DocumentService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentServiceImpl.class);
+
+    private final DocumentRepository documentRepository;
+    private final UserRepository userRepository;
+    private final DebtAccess debtAccess;
+    private final DocumentStorage documentStorage;
+
+    @Autowired
+    public DocumentServiceImpl(DocumentRepository documentRepository, UserRepository userRepository,
+                               DebtAccess debtAccess, DocumentStorage documentStorage) {
+        this.documentRepository = documentRepository;
+        this.userRepository = userRepository;
+        this.debtAccess = debtAccess;
+        this.documentStorage = documentStorage;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DocumentResponse upload(Long debtorId, String documentType, String fileName, String contentType,
+                                   InputStream content) throws IOException {
+        if (documentType == null || documentType.isBlank()) {
+            throw new InvalidInputException("Document type is mandatory");
+        }
+        AppUser debtor = userRepository.findAppUserById(debtorId)
+                .orElseThrow(() -> new ResourceNotFoundException("Debtor not found with ID: " + debtorId));
+
+        DocumentStorage.StoredContent stored = documentStorage.store(content);
+        if (stored.length() == 0) {
+            throw new InvalidInputException("Document is empty");
+        }
+
+        Document document = new Document();
+        document.setDebtor(debtor);
+        document.setDocumentType(documentType);
+        document.setDocumentPath(stored.relativePath());
+        document.setContentHash(stored.hash());
+        document.setContentLength(stored.length());
+        document.setContentType(contentType);
+        document.setFileName(fileName);
+        document.setUploadDate(LocalDateTime.now());
+        document.setVerificationStatus(Document.PENDING);
+        document = documentRepository.save(document);
+
+        logger.info("Stored document {} of debtor {} ({} bytes, content {})",
+                document.getDocumentId(), debtorId, stored.length(), stored.hash());
+        return toResponse(document, debtorId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DocumentResponse getDocument(Long documentId) {
+        Document document = findDocument(documentId);
+        return toResponse(document, document.getDebtor().getUserId());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<DocumentResponse> findByDebtor(Long debtorId) {
+        return documentRepository.findByDebtorUserIdOrderByDocumentId(debtorId).stream()
+                .map(document -> toResponse(document, debtorId))
+                .toList();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void checkAccess(Long debtorId, Authentication caller) {
+        debtAccess.checkDebtor(debtorId, caller);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DocumentContent getContent(Long documentId) {
+        Document document = findDocument(documentId);
+        Path path = documentStorage.resolve(document.getDocumentPath());
+        if (!Files.isReadable(path)) {
+            logger.error("Content {} of document {} is missing from storage", document.getContentHash(), documentId);
+            throw new ResourceNotFoundException("Content not found for document with ID: " + documentId);
+        }
+        DocumentResponse response = toResponse(document, document.getDebtor().getUserId());
+        if (response.getContentLength() < 0) {
+            // Uploaded before lengths were recorded, see V2.9
+            try {
+                response.setContentLength(Files.size(path));
+            } catch (IOException e) {
+                throw new ResourceNotFoundException("Content not found for document with ID: " + documentId);
+            }
+        }
+        return new DocumentContent(response, path);
+    }
+
+    private Document findDocument(Long documentId) {
+        return documentRepository.findById(documentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Document not found with ID: " + documentId));
+    }
+
+    // The debtor ID comes from the lazy proxy without loading the debtor
+    private static DocumentResponse toResponse(Document document, Long debtorId) {
+        DocumentResponse response = new DocumentResponse();
+        response.setDocumentId(document.getDocumentId());
+        response.setDebtorId(debtorId);
+        response.setDocumentType(document.getDocumentType());
+        response.setFileName(document.getFileName());
+        response.setContentType(document.getContentType());
+        response.setContentHash(document.getContentHash());
+        response.setContentLength(document.getContentLength());
+        response.setUploadDate(document.getUploadDate());
+        response.setVerificationStatus(document.getVerificationStatus());
+        return response;
+    }
+}
@@ -0,0 +1,354 @@
+package com.kraya.platform.service.impl;
+
+import com.kraya.platform.concurrent.DaemonThreads;
+import com.kraya.platform.dto.DocumentVerificationStatsResponse;
+import com.kraya.platform.model.Document;
+import com.kraya.platform.repository.DocumentRepository;
+import com.kraya.platform.service.DocumentChecker;
+import com.kraya.platform.service.DocumentStorage;
+import com.kraya.platform.service.DocumentVerificationService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * DocumentVerificationServiceImpl works through the verification queue kept in the document
+ * table itself: every PENDING document is queued, and nothing else needs to survive a restart.
+ * <p>
+ * Workers claim batches with {@code SELECT ... FOR UPDATE SKIP LOCKED}, so any number of nodes
+ * poll the same table without handing out a document twice or blocking on each other's locks.
+ * A claim is the IN_PROGRESS status plus a timestamp; claims older than {@code claim-timeout}
+ * belong to a crashed worker and are claimed again. Every claim counts as an attempt, so a document
+ * whose verification keeps taking its worker down is failed once it has had {@code max-attempts}
+ * claims instead of being handed out forever. Each document then passes, cheapest first:
+ * <ol>
+ *     <li>size: the stored file has the recorded length and is within {@code max-size},</li>
+ *     <li>sniff: its leading bytes are those of a PDF, PNG or JPEG matching the declared type,</li>
+ *     <li>hash: it still hashes to the content hash it is stored under,</li>
+ *     <li>checker: the external {@link DocumentChecker} accepts it.</li>
+ * </ol>
+ * Calls to the checker are bounded by {@code checker-concurrency} independently of the worker
+ * threads, so local stages keep running while the checker is saturated. A document the checker
+ * could not be asked about goes back to PENDING until {@code max-attempts} is reached.
+ */
+@Service
+public class DocumentVerificationServiceImpl implements DocumentVerificationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentVerificationServiceImpl.class);
+
+    static final String QUEUE_STAGE = "queue";
+    static final String SIZE_STAGE = "size";
+    static final String SNIFF_STAGE = "sniff";
+    static final String HASH_STAGE = "hash";
+    static final String CHECKER_STAGE = "checker";
+    static final String TOTAL_STAGE = "total";
+
+    private static final byte[] PDF_SIGNATURE = {'%', 'P', 'D', 'F', '-'};
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'};
+    private static final byte[] JPEG_SIGNATURE = {(byte) 0xff, (byte) 0xd8, (byte) 0xff};
+
+    private final DocumentRepository documentRepository;
+    private final DocumentStorage documentStorage;
+    private final DocumentChecker documentChecker;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration claimTimeout;
+    private final long maxSize;
+    private final ExecutorService workers;
+    private final Semaphore checkerPermits;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<String, StageTimer> stageTimers = new LinkedHashMap<>();
+
+    @Autowired
+    public DocumentVerificationServiceImpl(DocumentRepository documentRepository, DocumentStorage documentStorage,
+                                           DocumentChecker documentChecker, PlatformTransactionManager transactionManager,
+                                           @Value("${kraya.documents.verification.threads:8}") int threads,
+                                           @Value("${kraya.documents.verification.batch-size:32}") int batchSize,
+                                           @Value("${kraya.documents.verification.checker-concurrency:4}") int checkerConcurrency,
+                                           @Value("${kraya.documents.verification.max-attempts:3}") int maxAttempts,
+                                           @Value("${kraya.documents.verification.claim-timeout:10m}") Duration claimTimeout,
+                                           @Value("${kraya.documents.verification.max-size:25MB}") DataSize maxSize) {
+        this.documentRepository = documentRepository;
+        this.documentStorage = documentStorage;
+        this.documentChecker = documentChecker;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.claimTimeout = claimTimeout;
+        this.maxSize = maxSize.toBytes();
+        this.checkerPermits = new Semaphore(checkerConcurrency);
+        for (String stage : List.of(QUEUE_STAGE, SIZE_STAGE, SNIFF_STAGE, HASH_STAGE, CHECKER_STAGE, TOTAL_STAGE)) {
+            stageTimers.put(stage, new StageTimer());
+        }
+
+        this.workers = DaemonThreads.newFixedThreadPool("document-verifier-", threads);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * Drains the verification queue, one batch after another.
+     */
+    @Scheduled(fixedDelayString = "${kraya.documents.verification.poll-interval:PT2S}")
+    public void verifyPeriodically() {
+        try {
+            while (verifyNextBatch() == batchSize) {
+                logger.debug("Verification batch was full, claiming the next one");
+            }
+        } catch (RuntimeException e) {
+            logger.error("Document verification poll failed", e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int verifyNextBatch() {
+        // Truncated to what the column stores, since completing a claim compares the timestamp
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        List<Document> claimed = transactionTemplate.execute(status -> {
+            int abandoned = documentRepository.failAbandoned(now.minus(claimTimeout), maxAttempts,
+                    "Verification was abandoned " + maxAttempts + " times", now);
+            if (abandoned > 0) {
+                logger.warn("Failed {} documents whose verification was abandoned {} times", abandoned, maxAttempts);
+            }
+            List<Long> documentIds = documentRepository.lockClaimable(now.minus(claimTimeout), maxAttempts, batchSize);
+            if (documentIds.isEmpty()) {
+                return List.<Document>of();
+            }
+            List<Document> documents = documentRepository.findByDocumentIdInOrderByDocumentId(documentIds);
+            for (Document document : documents) {
+                document.setVerificationStatus(Document.IN_PROGRESS);
+                document.setVerificationAttempts(document.getVerificationAttempts() + 1);
+                document.setClaimedAt(now);
+            }
+            return documents;
+        });
+        if (claimed == null || claimed.isEmpty()) {
+            return 0;
+        }
+
+        List<Future<?>> verifications = new ArrayList<>(claimed.size());
+        for (Document document : claimed) {
+            if (document.getVerificationAttempts() == 1) {
+                stageTimers.get(QUEUE_STAGE).record(Duration.between(document.getUploadDate(), now).toNanos());
+            }
+            inFlight.incrementAndGet();
+            verifications.add(workers.submit(() -> {
+                try {
+                    verify(document);
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            }));
+        }
+        for (Future<?> verification : verifications) {
+            try {
+                verification.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                // verify() records its own failures; anything left is a bug worth seeing
+                logger.error("Document verification failed unexpectedly", e.getCause());
+            }
+        }
+        logger.info("Verified a batch of {} documents", claimed.size());
+        return claimed.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DocumentVerificationStatsResponse getStats() {
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        for (Object[] row : documentRepository.countByVerificationStatus()) {
+            byStatus.put((String) row[0], ((Number) row[1]).longValue());
+        }
+        Map<String, DocumentVerificationStatsResponse.StageLatency> stages = new LinkedHashMap<>();
+        stageTimers.forEach((stage, timer) -> stages.put(stage, timer.toLatency()));
+
+        DocumentVerificationStatsResponse response = new DocumentVerificationStatsResponse();
+        response.setQueueDepth(byStatus.getOrDefault(Document.PENDING, 0L));
+        response.setInFlight(inFlight.get());
+        response.setDocumentsByStatus(byStatus);
+        response.setStages(stages);
+        return response;
+    }
+
+    private void verify(Document document) {
+        long start = System.nanoTime();
+        String status;
+        String message;
+        try {
+            message = inspect(document).orElse(null);
+            status = message == null ? Document.VERIFIED : Document.REJECTED;
+        } catch (IOException | RuntimeException e) {
+            message = e.getClass().getSimpleName() + ": " + e.getMessage();
+            status = document.getVerificationAttempts() >= maxAttempts ? Document.FAILED : Document.PENDING;
+            logger.warn("Verification attempt {} of document {} failed: {}",
+                    document.getVerificationAttempts(), document.getDocumentId(), message);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            message = "Verification was interrupted";
+            status = Document.PENDING;
+        }
+        stageTimers.get(TOTAL_STAGE).record(System.nanoTime() - start);
+
+        String outcome = status;
+        String reason = message != null && message.length() > 1000 ? message.substring(0, 1000) : message;
+        Integer recorded = transactionTemplate.execute(tx -> documentRepository.complete(document.getDocumentId(),
+                document.getClaimedAt(), outcome, reason, LocalDateTime.now()));
+        if (recorded == null || recorded == 0) {
+            logger.warn("Claim on document {} was taken over before its verification finished", document.getDocumentId());
+        } else if (!Document.VERIFIED.equals(outcome)) {
+            logger.info("Document {} is {}: {}", document.getDocumentId(), outcome, reason);
+        }
+    }
+
+    // Returns the reason for rejecting the document, if any
+    private Optional<String> inspect(Document document) throws IOException, InterruptedException {
+        Path path = documentStorage.resolve(document.getDocumentPath());
+
+        long start = System.nanoTime();
+        long size = Files.size(path);
+        stageTimers.get(SIZE_STAGE).record(System.nanoTime() - start);
+        // Documents uploaded before V2.9 have no recorded length or hash to compare against
+        boolean recorded = document.getContentLength() >= 0;
+        if (recorded && size != document.getContentLength()) {
+            return Optional.of("Stored content is " + size + " bytes, expected " + document.getContentLength());
+        }
+        if (size > maxSize) {
+            return Optional.of("Document is " + size + " bytes, more than the " + maxSize + " allowed");
+        }
+
+        start = System.nanoTime();
+        String sniffedType = sniff(path);
+        stageTimers.get(SNIFF_STAGE).record(System.nanoTime() - start);
+        if (sniffedType == null) {
+            return Optional.of("Unsupported file type; documents must be PDF, PNG or JPEG");
+        }
+        String declaredType = declaredType(document);
+        if (declaredType != null && !declaredType.equals(sniffedType)) {
+            return Optional.of("Declared type " + declaredType + " does not match the content, which is " + sniffedType);
+        }
+
+        start = System.nanoTime();
+        String hash = documentStorage.hash(path);
+        stageTimers.get(HASH_STAGE).record(System.nanoTime() - start);
+        if (recorded && !hash.equals(document.getContentHash())) {
+            return Optional.of("Stored content no longer matches its hash");
+        }
+
+        checkerPermits.acquire();
+        try {
+            start = System.nanoTime();
+            Optional<String> rejection = documentChecker.check(document, path);
+            stageTimers.get(CHECKER_STAGE).record(System.nanoTime() - start);
+            return rejection;
+        } finally {
+            checkerPermits.release();
+        }
+    }
+
+    private static String sniff(Path path) throws IOException {
+        ByteBuffer head = ByteBuffer.allocate(PNG_SIGNATURE.length);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            while (head.hasRemaining() && channel.read(head) >= 0) {
+                // Keep reading until the longest signature is filled or the file ends
+            }
+        }
+        byte[] bytes = Arrays.copyOf(head.array(), head.position());
+        if (startsWith(bytes, PDF_SIGNATURE)) {
+            return MediaType.APPLICATION_PDF_VALUE;
+        }
+        if (startsWith(bytes, PNG_SIGNATURE)) {
+            return MediaType.IMAGE_PNG_VALUE;
+        }
+        if (startsWith(bytes, JPEG_SIGNATURE)) {
+            return MediaType.IMAGE_JPEG_VALUE;
+        }
+        return null;
+    }
+
+    private static boolean startsWith(byte[] bytes, byte[] signature) {
+        return bytes.length >= signature.length
+                && Arrays.equals(bytes, 0, signature.length, signature, 0, signature.length);
+    }
+
+    // The declared media type without parameters; null when nothing specific was declared
+    private static String declaredType(Document document) {
+        String contentType = document.getContentType();
+        if (contentType == null || contentType.isBlank()) {
+            return null;
+        }
+        try {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            String type = mediaType.getType() + "/" + mediaType.getSubtype();
+            return MediaType.APPLICATION_OCTET_STREAM_VALUE.equals(type) ? null : type;
+        } catch (InvalidMediaTypeException e) {
+            return contentType;
+        }
+    }
+
+    /**
+     * Count, total and maximum duration of one stage, updated without locking.
+     */
+    private static final class StageTimer {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+
+        void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        DocumentVerificationStatsResponse.StageLatency toLatency() {
+            long n = count.sum();
+            double meanMillis = n == 0 ? 0 : totalNanos.sum() / (double) n / 1_000_000;
+            return new DocumentVerificationStatsResponse.StageLatency(n, meanMillis, maxNanos.get() / 1_000_000.0);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.kraya.platform.service.impl;
+
+import com.kraya.platform.dto.DebtorSnapshotResponse;
+import com.kraya.platform.dto.EligibilityRequest;
+import com.kraya.platform.dto.EligibilityResponse;
+import com.kraya.platform.service.DebtorSnapshot;
+import com.kraya.platform.service.EligibilityScorer;
+import com.kraya.platform.service.EligibilityService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDate;
+
+/**
+ * EligibilityServiceImpl scores the in-memory debtor snapshot, so a screen over every debtor
+ * never touches the database.
+ */
+@Service
+public class EligibilityServiceImpl implements EligibilityService {
+
+    private final DebtorSnapshot debtorSnapshot;
+    private final EligibilityScorer eligibilityScorer;
+    private final Clock clock;
+
+    @Autowired
+    public EligibilityServiceImpl(DebtorSnapshot debtorSnapshot, EligibilityScorer eligibilityScorer) {
+        this(debtorSnapshot, eligibilityScorer, Clock.systemDefaultZone());
+    }
+
+    EligibilityServiceImpl(DebtorSnapshot debtorSnapshot, EligibilityScorer eligibilityScorer, Clock clock) {
+        this.debtorSnapshot = debtorSnapshot;
+        this.eligibilityScorer = eligibilityScorer;
+        this.clock = clock;
+    }
+
+    @Override
+    public EligibilityResponse rank(EligibilityRequest request) {
+        return eligibilityScorer.rank(debtorSnapshot.get(), request, LocalDate.now(clock));
+    }
+
+    @Override
+    public DebtorSnapshotResponse getSnapshot() {
+        return debtorSnapshot.getLastRefresh();
+    }
+
+    @Override
+    public DebtorSnapshotResponse refreshSnapshot() {
+        return debtorSnapshot.refresh();
+    }
+}
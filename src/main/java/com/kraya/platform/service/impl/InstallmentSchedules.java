@@ -0,0 +1,68 @@
+package com.kraya.platform.service.impl;
+
+import com.kraya.platform.exception.InvalidInputException;
+import com.kraya.platform.model.Installment;
+import com.kraya.platform.model.PaymentPlan;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Turns a payment plan into dated installments.
+ */
+final class InstallmentSchedules {
+
+    static final int MAX_INSTALLMENTS = 1200;
+
+    private InstallmentSchedules() {
+    }
+
+    /**
+     * Splits a balance into installments of the plan's amount, one per period from the start date.
+     * The last installment takes whatever is left; if the plan has an end date, the last due date
+     * on or before it takes the whole remaining balance.
+     *
+     * @param plan    the plan, with its type, amount and dates set
+     * @param balance the amount to schedule
+     * @return the installments in sequence order, unsaved
+     */
+    static List<Installment> generate(PaymentPlan plan, BigDecimal balance) {
+        List<Installment> installments = new ArrayList<>();
+        BigDecimal remaining = balance;
+        int sequence = 0;
+        while (remaining.signum() > 0) {
+            LocalDate dueDate = dueDate(plan, sequence);
+            boolean last = plan.getEndDate() != null && dueDate(plan, sequence + 1).isAfter(plan.getEndDate());
+            BigDecimal amount = last ? remaining : remaining.min(plan.getInstallmentAmount());
+            if (++sequence > MAX_INSTALLMENTS) {
+                throw new InvalidInputException("Plan would need more than " + MAX_INSTALLMENTS + " installments");
+            }
+            installments.add(newInstallment(plan, sequence, dueDate, amount));
+            remaining = remaining.subtract(amount);
+        }
+        return installments;
+    }
+
+    private static LocalDate dueDate(PaymentPlan plan, int index) {
+        LocalDate start = plan.getStartDate();
+        return switch (plan.getPlanType()) {
+            case WEEKLY -> start.plusWeeks(index);
+            case BIWEEKLY -> start.plusWeeks(2L * index);
+            // Counted from the start date so a plan starting on the 31st keeps month-ends
+            case MONTHLY -> start.plusMonths(index);
+            case QUARTERLY -> start.plusMonths(3L * index);
+        };
+    }
+
+    private static Installment newInstallment(PaymentPlan plan, int sequence, LocalDate dueDate, BigDecimal amount) {
+        Installment installment = new Installment();
+        installment.setPlan(plan);
+        installment.setDebtId(plan.getDebt().getDebtId());
+        installment.setSequenceNumber(sequence);
+        installment.setDueDate(dueDate);
+        installment.setAmountDue(amount);
+        return installment;
+    }
+}
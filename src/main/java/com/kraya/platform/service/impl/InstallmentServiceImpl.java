@@ -0,0 +1,310 @@
+package com.kraya.platform.service.impl;
+
+import com.kraya.platform.dto.InstallmentResponse;
+import com.kraya.platform.dto.PaymentPlanRequest;
+import com.kraya.platform.dto.PaymentPlanResponse;
+import com.kraya.platform.exception.InvalidInputException;
+import com.kraya.platform.exception.ResourceNotFoundException;
+import com.kraya.platform.model.Debt;
+import com.kraya.platform.model.Installment;
+import com.kraya.platform.model.Payment;
+import com.kraya.platform.model.PaymentPlan;
+import com.kraya.platform.repository.DebtRepository;
+import com.kraya.platform.repository.InstallmentRepository;
+import com.kraya.platform.repository.PaymentPlanRepository;
+import com.kraya.platform.repository.PaymentRepository;
+import com.kraya.platform.service.InstallmentService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * InstallmentServiceImpl materializes payment plans into installment rows and applies posted
+ * payments to them.
+ * <p>
+ * A schedule is generated from the debt's balance when the plan is created, or by the next
+ * reconciliation for plans that predate schedules. Payments already reflected in that balance are
+ * marked reconciled at the same time, so from then on only payments with no {@code reconciledAt}
+ * need applying. Reconciliation picks those up in batches of debts, waterfalls each payment over
+ * the debt's open installments (earliest due first) and stamps it, all in one transaction per batch.
+ * What a payment pays beyond the last open installment is recorded on it as unapplied and reported
+ * as the plan's credit. Reads never write: a plan shows payments as of the last reconciliation.
+ * <p>
+ * Every write locks the affected debt rows in ID order first, the same protocol payment posting
+ * uses, so a schedule is never built or reconciled against a balance that is being changed.
+ */
+@Service
+public class InstallmentServiceImpl implements InstallmentService {
+
+    private static final Logger logger = LoggerFactory.getLogger(InstallmentServiceImpl.class);
+
+    private static final int RECONCILE_BATCH_SIZE = 200;
+    private static final int DEFAULT_DUE_LIMIT = 100;
+    private static final int MAX_DUE_LIMIT = 1000;
+
+    private final PaymentPlanRepository paymentPlanRepository;
+    private final InstallmentRepository installmentRepository;
+    private final DebtRepository debtRepository;
+    private final PaymentRepository paymentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    @Autowired
+    public InstallmentServiceImpl(PaymentPlanRepository paymentPlanRepository, InstallmentRepository installmentRepository,
+                                  DebtRepository debtRepository, PaymentRepository paymentRepository,
+                                  PlatformTransactionManager transactionManager) {
+        this.paymentPlanRepository = paymentPlanRepository;
+        this.installmentRepository = installmentRepository;
+        this.debtRepository = debtRepository;
+        this.paymentRepository = paymentRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    @Override
+    public PaymentPlanResponse createPlan(PaymentPlanRequest request) {
+        if (request.getEndDate() != null && request.getEndDate().isBefore(request.getStartDate())) {
+            throw new InvalidInputException("End date must not be before the start date");
+        }
+        return transactionTemplate.execute(status -> {
+            Debt debt = lockDebt(request.getDebtId());
+            if (debt.getStatus() != Debt.Status.ACTIVE || debt.getCurrentAmount().signum() <= 0) {
+                throw new InvalidInputException("Debt is " + debt.getStatus() + " and cannot be put on a payment plan");
+            }
+            if (paymentPlanRepository.existsByDebtDebtIdAndStatus(debt.getDebtId(), PaymentPlan.Status.ACTIVE)) {
+                throw new InvalidInputException("Debt already has an active payment plan");
+            }
+
+            PaymentPlan plan = new PaymentPlan();
+            plan.setDebt(debt);
+            plan.setCreditor(debt.getCreditor());
+            plan.setPlanType(request.getPlanType());
+            plan.setInstallmentAmount(request.getInstallmentAmount());
+            plan.setStartDate(request.getStartDate());
+            plan.setEndDate(request.getEndDate());
+            plan = paymentPlanRepository.save(plan);
+
+            List<Installment> installments = materialize(plan, debt);
+            logger.info("Created {} plan {} for debt {} with {} installments",
+                    plan.getPlanType(), plan.getPlanId(), debt.getDebtId(), installments.size());
+            return toResponse(plan, installments);
+        });
+    }
+
+    @Override
+    public PaymentPlanResponse getPlan(Long planId) {
+        return readOnlyTransactionTemplate.execute(status -> {
+            PaymentPlan plan = paymentPlanRepository.findById(planId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Payment plan not found with ID: " + planId));
+            PaymentPlanResponse response = toResponse(plan, installmentRepository.findByPlanPlanIdOrderBySequenceNumber(planId));
+            response.setCreditAmount(paymentRepository.sumUnappliedAmountByDebtId(plan.getDebt().getDebtId()));
+            return response;
+        });
+    }
+
+    @Override
+    public List<InstallmentResponse> findDue(LocalDate from, LocalDate to, int limit) {
+        checkRange(from, to);
+        return installmentRepository.findOpenDueBetween(from, to, boundedDueLimit(limit)).stream()
+                .map(InstallmentServiceImpl::toResponse)
+                .toList();
+    }
+
+    @Override
+    public List<InstallmentResponse> findDueFor(Long debtorId, Long creditorId, LocalDate from, LocalDate to, int limit) {
+        checkRange(from, to);
+        return installmentRepository.findOpenDueBetweenFor(debtorId, creditorId, from, to, boundedDueLimit(limit))
+                .stream()
+                .map(InstallmentServiceImpl::toResponse)
+                .toList();
+    }
+
+    private static void checkRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new InvalidInputException("'from' must not be after 'to'");
+        }
+    }
+
+    private static Limit boundedDueLimit(int limit) {
+        return Limit.of(limit <= 0 ? DEFAULT_DUE_LIMIT : Math.min(limit, MAX_DUE_LIMIT));
+    }
+
+    /**
+     * Materializes pending schedules and reconciles new payments periodically, so schedules stay
+     * current without a read writing anything.
+     */
+    @Scheduled(fixedDelayString = "${kraya.installments.reconcile-interval:PT1M}")
+    public void reconcilePeriodically() {
+        int reconciled = reconcile();
+        if (reconciled > 0) {
+            logger.info("Reconciled {} payments against installments", reconciled);
+        }
+    }
+
+    @Override
+    public int reconcile() {
+        materializePendingSchedules();
+        int total = 0;
+        List<Long> debtIds;
+        while (!(debtIds = paymentRepository.findDebtIdsWithUnreconciledPayments(Limit.of(RECONCILE_BATCH_SIZE))).isEmpty()) {
+            List<Long> batch = debtIds;
+            Integer reconciled = transactionTemplate.execute(status -> reconcileDebts(batch));
+            if (reconciled == null || reconciled == 0) {
+                break;
+            }
+            total += reconciled;
+        }
+        return total;
+    }
+
+    /**
+     * Generates the schedules of active plans that predate schedules, one transaction per plan.
+     * A plan whose debt has nothing left to pay is completed; one that cannot be scheduled is
+     * logged and left for the next run.
+     */
+    private void materializePendingSchedules() {
+        long afterId = 0;
+        List<PaymentPlan> plans;
+        while (!(plans = paymentPlanRepository.findActiveWithoutSchedule(afterId, Limit.of(RECONCILE_BATCH_SIZE))).isEmpty()) {
+            for (PaymentPlan pending : plans) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> materializePending(pending.getPlanId()));
+                } catch (InvalidInputException | ResourceNotFoundException e) {
+                    logger.error("Cannot materialize the schedule of payment plan {}: {}", pending.getPlanId(), e.getMessage());
+                }
+            }
+            afterId = plans.get(plans.size() - 1).getPlanId();
+        }
+    }
+
+    private void materializePending(Long planId) {
+        PaymentPlan plan = paymentPlanRepository.findById(planId).orElse(null);
+        if (plan == null) {
+            return;
+        }
+        Debt debt = lockDebt(plan.getDebt().getDebtId());
+        // Re-checked under the debt lock: another node may have materialized it first
+        if (plan.getStatus() != PaymentPlan.Status.ACTIVE || installmentRepository.existsByPlanPlanId(planId)) {
+            return;
+        }
+        logger.info("Materializing schedule of payment plan {}", planId);
+        if (materialize(plan, debt).isEmpty()) {
+            plan.setStatus(PaymentPlan.Status.COMPLETED);
+        }
+    }
+
+    /**
+     * Applies the unreconciled payments of the given debts to their open installments. Must run in a transaction.
+     *
+     * @return the number of payments reconciled
+     */
+    private int reconcileDebts(List<Long> debtIds) {
+        debtRepository.findAllForUpdate(debtIds);
+        List<Payment> payments = paymentRepository
+                .findByDebtDebtIdInAndReconciledAtIsNullOrderByTransactionDateAscPaymentIdAsc(debtIds);
+        Set<Long> scheduledDebtIds = new HashSet<>(installmentRepository.findScheduledDebtIds(debtIds));
+        Map<Long, Deque<Installment>> openByDebt = new HashMap<>();
+        for (Installment installment : installmentRepository.findOpenByDebtIds(debtIds)) {
+            openByDebt.computeIfAbsent(installment.getDebtId(), id -> new ArrayDeque<>()).add(installment);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Set<Long> paidOffPlans = new LinkedHashSet<>();
+        for (Payment payment : payments) {
+            Deque<Installment> open = openByDebt.getOrDefault(payment.getDebt().getDebtId(), new ArrayDeque<>());
+            BigDecimal remaining = payment.getAmount();
+            while (remaining.signum() > 0 && !open.isEmpty()) {
+                Installment installment = open.peek();
+                BigDecimal applied = remaining.min(installment.getOutstandingAmount());
+                installment.setAmountPaid(installment.getAmountPaid().add(applied));
+                remaining = remaining.subtract(applied);
+                if (installment.getOutstandingAmount().signum() == 0) {
+                    installment.setStatus(Installment.Status.PAID);
+                    installment.setPaidDate(payment.getTransactionDate().toLocalDate());
+                    paidOffPlans.add(installment.getPlan().getPlanId());
+                    open.poll();
+                } else {
+                    installment.setStatus(Installment.Status.PARTIALLY_PAID);
+                }
+            }
+            if (remaining.signum() > 0 && scheduledDebtIds.contains(payment.getDebt().getDebtId())) {
+                // Paid beyond the schedule; it is already in the debt's balance, so keep it as credit
+                logger.warn("Payment {} paid {} beyond the schedule of debt {}, recording it as credit",
+                        payment.getPaymentId(), remaining, payment.getDebt().getDebtId());
+                payment.setUnappliedAmount(remaining);
+            }
+            // Payments on debts without a schedule are stamped too; they are already in the debt's balance
+            payment.setReconciledAt(now);
+        }
+
+        for (Long planId : paidOffPlans) {
+            if (installmentRepository.countByPlanPlanIdAndStatusNot(planId, Installment.Status.PAID) == 0) {
+                paymentPlanRepository.findById(planId).ifPresent(plan -> plan.setStatus(PaymentPlan.Status.COMPLETED));
+            }
+        }
+        return payments.size();
+    }
+
+    /**
+     * Generates and saves the plan's schedule from the debt's current balance. Must run in a
+     * transaction holding the debt's row lock.
+     */
+    private List<Installment> materialize(PaymentPlan plan, Debt debt) {
+        // The current balance already reflects every payment posted so far
+        paymentRepository.markReconciled(debt.getDebtId(), LocalDateTime.now());
+        return installmentRepository.saveAll(InstallmentSchedules.generate(plan, debt.getCurrentAmount()));
+    }
+
+    private Debt lockDebt(Long debtId) {
+        List<Debt> debts = debtRepository.findAllForUpdate(List.of(debtId));
+        if (debts.isEmpty()) {
+            throw new ResourceNotFoundException("Debt not found with ID: " + debtId);
+        }
+        return debts.get(0);
+    }
+
+    private static PaymentPlanResponse toResponse(PaymentPlan plan, List<Installment> installments) {
+        PaymentPlanResponse response = new PaymentPlanResponse();
+        response.setPlanId(plan.getPlanId());
+        response.setDebtId(plan.getDebt().getDebtId());
+        response.setPlanType(plan.getPlanType().name());
+        response.setInstallmentAmount(plan.getInstallmentAmount());
+        response.setStartDate(plan.getStartDate());
+        response.setEndDate(plan.getEndDate());
+        response.setStatus(plan.getStatus().name());
+        response.setInstallments(installments.stream().map(InstallmentServiceImpl::toResponse).toList());
+        return response;
+    }
+
+    private static InstallmentResponse toResponse(Installment installment) {
+        InstallmentResponse response = new InstallmentResponse();
+        response.setInstallmentId(installment.getInstallmentId());
+        response.setPlanId(installment.getPlan().getPlanId());
+        response.setDebtId(installment.getDebtId());
+        response.setSequenceNumber(installment.getSequenceNumber());
+        response.setDueDate(installment.getDueDate());
+        response.setAmountDue(installment.getAmountDue());
+        response.setAmountPaid(installment.getAmountPaid());
+        response.setStatus(installment.getStatus().name());
+        response.setPaidDate(installment.getPaidDate());
+        return response;
+    }
+}
@@ -0,0 +1,400 @@
+package com.kraya.platform.service.impl;
+
+import com.kraya.platform.concurrent.ConcurrencyRetry;
+import com.kraya.platform.concurrent.DaemonThreads;
+import com.kraya.platform.dto.AccrualRunResponse;
+import com.kraya.platform.model.InterestAccrualChunk;
+import com.kraya.platform.model.InterestAccrualRun;
+import com.kraya.platform.repository.InterestAccrualChunkRepository;
+import com.kraya.platform.repository.InterestAccrualRunRepository;
+import com.kraya.platform.service.InterestAccrualService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * InterestAccrualServiceImpl accrues simple daily interest on overdue ACTIVE debts, that is
+ * debts with a due date in the past; debts without a due date are never overdue.
+ * <p>
+ * Interest is charged on the outstanding principal only, never on interest accrued before.
+ * Payments settle accrued interest first, so the outstanding principal is the smaller of
+ * {@code original_amount} and {@code current_amount}: above the original amount the balance
+ * still holds unpaid interest, below it every payment beyond the interest reduced the principal.
+ * <p>
+ * A run first plans the {@code debt} table into keyset ranges of roughly {@code chunk-size}
+ * debts and stores them as {@link InterestAccrualChunk}s. Worker threads then claim chunks
+ * and, per chunk, read the due debts and write the new balances back with one JDBC batch
+ * update, marking the chunk DONE in the same transaction. A crashed or failed run is resumed
+ * by running the same date again: only unfinished chunks are processed.
+ * <p>
+ * Accrual is idempotent per date: a debt's {@code last_accrual_date} is set to the run's date,
+ * and debts already at that date are skipped. Interest covers the days since the last accrual
+ * (or since the due date for a first accrual), so a skipped night is caught up on the next run.
+ * Balance updates are version-checked, so a payment posted concurrently is never overwritten.
+ * <p>
+ * Interest is accrued unrounded: each run adds it to the debt's {@code interest_remainder} and
+ * moves only that total, rounded to the cent, into the balance. Daily runs on a small balance
+ * therefore add up to the annual rate instead of rounding every day's fraction of a cent.
+ */
+@Service
+public class InterestAccrualServiceImpl implements InterestAccrualService {
+
+    private static final Logger logger = LoggerFactory.getLogger(InterestAccrualServiceImpl.class);
+
+    private static final BigDecimal DAYS_PER_YEAR_PERCENT = BigDecimal.valueOf(36_500);
+    private static final int REMAINDER_SCALE = 10;
+
+    private static final String SELECT_BOUNDS = "SELECT MIN(debt_id), MAX(debt_id) FROM debt";
+    private static final String SELECT_NEXT_BOUNDARY =
+            "SELECT debt_id FROM debt WHERE debt_id >= ? ORDER BY debt_id OFFSET ? ROWS FETCH NEXT 1 ROWS ONLY";
+    private static final String SELECT_DUE_DEBTS =
+            "SELECT debt_id, original_amount, current_amount, interest_rate, due_date, last_accrual_date, "
+                    + "interest_remainder, version "
+                    + "FROM debt WHERE debt_id >= ? AND debt_id < ? AND status = 'ACTIVE' AND interest_rate > 0 "
+                    + "AND due_date < ? "
+                    + "AND (last_accrual_date IS NULL OR last_accrual_date < ?)";
+    private static final String UPDATE_DEBT =
+            "UPDATE debt SET current_amount = ?, interest_remainder = ?, last_accrual_date = ?, updated_at = ?, "
+                    + "version = version + 1 "
+                    + "WHERE debt_id = ? AND version = ?";
+
+    private final InterestAccrualRunRepository runRepository;
+    private final InterestAccrualChunkRepository chunkRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final int chunkSize;
+    private final Duration claimTimeout;
+
+    private final ExecutorService workers;
+    private final ExecutorService coordinator;
+
+    // Accrual date -> the run in progress in this process
+    private final Map<LocalDate, CompletableFuture<AccrualRunResponse>> activeRuns = new ConcurrentHashMap<>();
+
+    @Autowired
+    public InterestAccrualServiceImpl(InterestAccrualRunRepository runRepository,
+                                      InterestAccrualChunkRepository chunkRepository,
+                                      JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                      @Value("${kraya.accrual.threads:0}") int threads,
+                                      @Value("${kraya.accrual.chunk-size:5000}") int chunkSize,
+                                      @Value("${kraya.accrual.claim-timeout:10m}") Duration claimTimeout) {
+        this(runRepository, chunkRepository, jdbcTemplate, transactionManager, threads, chunkSize, claimTimeout,
+                Clock.systemDefaultZone());
+    }
+
+    public InterestAccrualServiceImpl(InterestAccrualRunRepository runRepository,
+                                      InterestAccrualChunkRepository chunkRepository,
+                                      JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                      int threads, int chunkSize, Duration claimTimeout, Clock clock) {
+        this.runRepository = runRepository;
+        this.chunkRepository = chunkRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.claimTimeout = claimTimeout;
+        this.clock = clock;
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.workers = DaemonThreads.newFixedThreadPool("interest-accrual-", poolSize);
+        this.coordinator = DaemonThreads.newSingleThreadExecutor("interest-accrual-coordinator");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coordinator.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    /**
+     * Nightly accrual up to today.
+     */
+    @Scheduled(cron = "${kraya.accrual.cron:0 30 1 * * *}")
+    public void accrueNightly() {
+        accrue(LocalDate.now(clock));
+    }
+
+    @Override
+    public AccrualRunResponse accrue(LocalDate accrualDate) {
+        try {
+            return submit(accrualDate, Runnable::run).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while accruing interest for " + accrualDate, e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public AccrualRunResponse startAccrual(LocalDate accrualDate) {
+        submit(accrualDate, coordinator);
+        return getProgress(accrualDate);
+    }
+
+    @Override
+    public AccrualRunResponse getProgress(LocalDate accrualDate) {
+        AccrualRunResponse response = new AccrualRunResponse();
+        response.setAccrualDate(accrualDate);
+        InterestAccrualRun run = runRepository.findById(accrualDate).orElse(null);
+        if (run == null) {
+            response.setStatus("NOT_STARTED");
+            response.setInterestTotal(BigDecimal.ZERO);
+            return response;
+        }
+
+        Object[] summary = chunkRepository.summarize(accrualDate).get(0);
+        long completedChunks = ((Number) summary[0]).longValue();
+        long debtsAccrued = ((Number) summary[1]).longValue();
+        LocalDateTime end = run.getCompletedAt() != null ? run.getCompletedAt() : LocalDateTime.now(clock);
+        long elapsedMillis = Math.max(0, Duration.between(run.getStartedAt(), end).toMillis());
+
+        response.setStatus(run.getStatus().name());
+        response.setTotalChunks(run.getTotalChunks());
+        response.setCompletedChunks(completedChunks);
+        response.setDebtsAccrued(debtsAccrued);
+        response.setInterestTotal((BigDecimal) summary[2]);
+        response.setStartedAt(run.getStartedAt());
+        response.setCompletedAt(run.getCompletedAt());
+        response.setElapsedMillis(elapsedMillis);
+        response.setDebtsPerSecond(elapsedMillis == 0 ? 0 : debtsAccrued * 1000.0 / elapsedMillis);
+        response.setPercentComplete(run.getTotalChunks() == 0 ? 100 : completedChunks * 100.0 / run.getTotalChunks());
+        return response;
+    }
+
+    /**
+     * Starts the run on the given executor unless this process is already running that date,
+     * in which case the caller shares the existing run.
+     */
+    private CompletableFuture<AccrualRunResponse> submit(LocalDate accrualDate, Executor executor) {
+        CompletableFuture<AccrualRunResponse> created = new CompletableFuture<>();
+        CompletableFuture<AccrualRunResponse> existing = activeRuns.putIfAbsent(accrualDate, created);
+        if (existing != null) {
+            return existing;
+        }
+        executor.execute(() -> {
+            try {
+                created.complete(run(accrualDate));
+            } catch (RuntimeException e) {
+                logger.error("Interest accrual for {} failed; run it again to resume", accrualDate, e);
+                created.completeExceptionally(e);
+            } finally {
+                activeRuns.remove(accrualDate, created);
+            }
+        });
+        return created;
+    }
+
+    private AccrualRunResponse run(LocalDate accrualDate) {
+        InterestAccrualRun run = runRepository.findById(accrualDate).orElseGet(() -> plan(accrualDate));
+        if (run.getStatus() == InterestAccrualRun.Status.COMPLETED) {
+            logger.info("Interest accrual for {} already completed", accrualDate);
+            return getProgress(accrualDate);
+        }
+
+        List<InterestAccrualChunk> chunks = chunkRepository.findByAccrualDateAndStatusNotOrderByRangeStart(
+                accrualDate, InterestAccrualChunk.Status.DONE);
+        logger.info("Accruing interest for {}: {} of {} chunks to process", accrualDate, chunks.size(),
+                run.getTotalChunks());
+
+        long start = System.nanoTime();
+        AtomicInteger processed = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>(chunks.size());
+        for (InterestAccrualChunk chunk : chunks) {
+            futures.add(workers.submit(() -> {
+                processChunk(chunk);
+                logProgress(accrualDate, processed.incrementAndGet(), chunks.size(), start);
+            }));
+        }
+
+        RuntimeException failure = null;
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.forEach(pending -> pending.cancel(true));
+                throw new IllegalStateException("Interrupted while accruing interest for " + accrualDate, e);
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+
+        boolean finished = chunkRepository.findByAccrualDateAndStatusNotOrderByRangeStart(
+                accrualDate, InterestAccrualChunk.Status.DONE).isEmpty();
+        if (finished) {
+            transactionTemplate.executeWithoutResult(status -> runRepository.findById(accrualDate).ifPresent(current -> {
+                current.setStatus(InterestAccrualRun.Status.COMPLETED);
+                current.setCompletedAt(LocalDateTime.now(clock));
+            }));
+        } else {
+            logger.info("Interest accrual for {}: remaining chunks are claimed by another worker", accrualDate);
+        }
+
+        AccrualRunResponse progress = getProgress(accrualDate);
+        logger.info("Interest accrual for {} {}: {} debts, {} interest, {} debts/s", accrualDate,
+                progress.getStatus(), progress.getDebtsAccrued(), progress.getInterestTotal(),
+                Math.round(progress.getDebtsPerSecond()));
+        return progress;
+    }
+
+    /**
+     * Splits the debt table into keyset ranges and stores them with the run. If another node
+     * planned the same date first, its plan is used instead.
+     */
+    private InterestAccrualRun plan(LocalDate accrualDate) {
+        List<Long[]> ranges = new ArrayList<>();
+        Long[] bounds = jdbcTemplate.queryForObject(SELECT_BOUNDS,
+                (rs, rowNum) -> new Long[]{rs.getObject(1, Long.class), rs.getObject(2, Long.class)});
+        if (bounds != null && bounds[0] != null) {
+            long rangeStart = bounds[0];
+            while (true) {
+                List<Long> next = jdbcTemplate.queryForList(SELECT_NEXT_BOUNDARY, Long.class, rangeStart, chunkSize);
+                if (next.isEmpty()) {
+                    ranges.add(new Long[]{rangeStart, bounds[1] + 1});
+                    break;
+                }
+                ranges.add(new Long[]{rangeStart, next.get(0)});
+                rangeStart = next.get(0);
+            }
+        }
+
+        try {
+            return transactionTemplate.execute(status -> {
+                InterestAccrualRun run = new InterestAccrualRun(accrualDate, LocalDateTime.now(clock));
+                run.setTotalChunks(ranges.size());
+                runRepository.saveAndFlush(run);
+                chunkRepository.saveAll(ranges.stream()
+                        .map(range -> new InterestAccrualChunk(accrualDate, range[0], range[1]))
+                        .toList());
+                return run;
+            });
+        } catch (DataIntegrityViolationException e) {
+            logger.info("Interest accrual for {} was planned concurrently, joining that run", accrualDate);
+            return runRepository.findById(accrualDate).orElseThrow(() -> e);
+        }
+    }
+
+    private void processChunk(InterestAccrualChunk chunk) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        Integer claimed = transactionTemplate.execute(status ->
+                chunkRepository.claim(chunk.getChunkId(), now, now.minus(claimTimeout)));
+        if (claimed == null || claimed == 0) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                ChunkTotals totals = accrueRange(chunk.getAccrualDate(), chunk.getRangeStart(), chunk.getRangeEnd());
+                chunkRepository.complete(chunk.getChunkId(), LocalDateTime.now(clock), totals.debts, totals.interest);
+            });
+        } catch (RuntimeException e) {
+            // Hand the chunk back so a rerun picks it up without waiting for the claim to time out
+            transactionTemplate.executeWithoutResult(status -> chunkRepository.release(chunk.getChunkId()));
+            throw e;
+        }
+    }
+
+    /**
+     * Accrues interest for the due debts of one range and writes the balances with a JDBC batch.
+     * Rows changed concurrently (version mismatch) are read again and retried; updated rows
+     * already carry the accrual date, so a retry only reads the conflicting ones.
+     */
+    private ChunkTotals accrueRange(LocalDate accrualDate, long rangeStart, long rangeEnd) {
+        Date accrualSqlDate = Date.valueOf(accrualDate);
+        ChunkTotals totals = new ChunkTotals();
+        return ConcurrencyRetry.retrying("Interest accrual of range [" + rangeStart + ", " + rangeEnd + ")", () -> {
+            List<Object[]> updates = new ArrayList<>();
+            List<BigDecimal> interests = new ArrayList<>();
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now(clock));
+            jdbcTemplate.query(SELECT_DUE_DEBTS, rs -> {
+                BigDecimal balance = rs.getBigDecimal("current_amount");
+                BigDecimal principal = balance.min(rs.getBigDecimal("original_amount"));
+                Date lastAccrual = rs.getDate("last_accrual_date");
+                LocalDate accruedFrom = (lastAccrual != null ? lastAccrual : rs.getDate("due_date")).toLocalDate();
+                long days = ChronoUnit.DAYS.between(accruedFrom, accrualDate);
+
+                // Only whole cents reach the balance; the rest is carried to the next accrual
+                BigDecimal accrued = principal.multiply(rs.getBigDecimal("interest_rate"))
+                        .multiply(BigDecimal.valueOf(days))
+                        .divide(DAYS_PER_YEAR_PERCENT, REMAINDER_SCALE, RoundingMode.HALF_EVEN)
+                        .add(rs.getBigDecimal("interest_remainder"));
+                BigDecimal interest = accrued.setScale(2, RoundingMode.HALF_EVEN);
+                updates.add(new Object[]{balance.add(interest), accrued.subtract(interest), accrualSqlDate, now,
+                        rs.getLong("debt_id"), rs.getLong("version")});
+                interests.add(interest);
+            }, rangeStart, rangeEnd, accrualSqlDate, accrualSqlDate);
+
+            if (updates.isEmpty()) {
+                return totals;
+            }
+
+            int[] counts = jdbcTemplate.batchUpdate(UPDATE_DEBT, updates);
+            int conflicts = 0;
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO) {
+                    totals.debts++;
+                    totals.interest = totals.interest.add(interests.get(i));
+                } else {
+                    conflicts++;
+                }
+            }
+            if (conflicts > 0) {
+                throw new OptimisticLockingFailureException(conflicts + " debts in range [" + rangeStart + ", "
+                        + rangeEnd + ") changed during interest accrual");
+            }
+            return totals;
+        });
+    }
+
+    private void logProgress(LocalDate accrualDate, int processed, int total, long startNanos) {
+        int percent = processed * 100 / total;
+        int previousPercent = (processed - 1) * 100 / total;
+        if (percent / 10 != previousPercent / 10 || processed == total) {
+            double seconds = (System.nanoTime() - startNanos) / 1e9;
+            logger.info("Interest accrual for {}: {}/{} chunks ({}%), {} chunks/s", accrualDate, processed, total,
+                    percent, seconds == 0 ? 0 : Math.round(processed / seconds));
+        }
+    }
+
+    private static class ChunkTotals {
+
+        private int debts;
+        private BigDecimal interest = BigDecimal.ZERO;
+    }
+}
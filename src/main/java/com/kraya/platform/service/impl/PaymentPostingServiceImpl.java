@@ -0,0 +1,277 @@
+package com.kraya.platform.service.impl;
+
+import com.kraya.platform.concurrent.ConcurrencyRetry;
+import com.kraya.platform.dto.PaymentPostingResult;
+import com.kraya.platform.dto.PaymentRequest;
+import com.kraya.platform.model.Debt;
+import com.kraya.platform.model.Payment;
+import com.kraya.platform.repository.DebtRepository;
+import com.kraya.platform.repository.PaymentRepository;
+import com.kraya.platform.service.PaymentPostingService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * PaymentPostingServiceImpl applies payments to debts in chunks, one transaction per chunk.
+ * <p>
+ * Within this process, payments against the same debt are serialized by a striped lock, so a
+ * hot debt never queues on its own database row. Across processes, the chunk locks its debt rows
+ * in ID order for the length of its (short) transaction. {@code Debt.version} still guards against
+ * writers that skip the row lock: a lost update then fails at flush time and the chunk is rolled
+ * back and re-applied against fresh balances.
+ * <p>
+ * Single postings are group-committed: callers enqueue their payment and whichever caller
+ * holds the combiner lock drains the queue into chunks, so many concurrent single postings
+ * share a handful of transactions instead of one each. A combiner posts at most
+ * {@code MAX_CHUNKS_PER_TURN} chunks before handing over, so no caller ends up serving the
+ * others indefinitely, and a chunk that fails is re-posted payment by payment so one bad
+ * payment only fails its own caller.
+ */
+@Service
+public class PaymentPostingServiceImpl implements PaymentPostingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentPostingServiceImpl.class);
+
+    private static final int CHUNK_SIZE = 200;
+    private static final long COMBINER_WAIT_MICROS = 500;
+    private static final int MAX_CHUNKS_PER_TURN = 4;
+
+    private final DebtRepository debtRepository;
+    private final PaymentRepository paymentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ReentrantLock[] debtLocks;
+
+    private final Queue<PendingPayment> pendingPayments = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock combinerLock = new ReentrantLock();
+
+    @Autowired
+    public PaymentPostingServiceImpl(DebtRepository debtRepository, PaymentRepository paymentRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${kraya.payments.lock-stripes:256}") int lockStripes) {
+        this.debtRepository = debtRepository;
+        this.paymentRepository = paymentRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.debtLocks = new ReentrantLock[lockStripes];
+        for (int i = 0; i < lockStripes; i++) {
+            debtLocks[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public PaymentPostingResult post(PaymentRequest request) {
+        PendingPayment pending = new PendingPayment(request);
+        pendingPayments.add(pending);
+
+        while (!pending.result.isDone()) {
+            if (combinerLock.tryLock()) {
+                try {
+                    drainPendingPayments();
+                } finally {
+                    combinerLock.unlock();
+                }
+            } else {
+                awaitResult(pending);
+            }
+        }
+        try {
+            return pending.result.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    @Override
+    public List<PaymentPostingResult> postAll(List<PaymentRequest> requests) {
+        List<PaymentPostingResult> results = new ArrayList<>(requests.size());
+        for (int from = 0; from < requests.size(); from += CHUNK_SIZE) {
+            results.addAll(postChunk(requests.subList(from, Math.min(from + CHUNK_SIZE, requests.size()))));
+        }
+        return results;
+    }
+
+    /**
+     * Posts queued single payments in chunks, at most {@link #MAX_CHUNKS_PER_TURN} of them, so the
+     * combiner's caller is not kept serving later arrivals; whatever is left is drained by the next
+     * waiting caller to take the lock. Called with the combiner lock held.
+     */
+    private void drainPendingPayments() {
+        List<PendingPayment> chunk = new ArrayList<>(CHUNK_SIZE);
+        for (int chunks = 0; chunks < MAX_CHUNKS_PER_TURN && !pendingPayments.isEmpty(); chunks++) {
+            PendingPayment next;
+            while (chunk.size() < CHUNK_SIZE && (next = pendingPayments.poll()) != null) {
+                chunk.add(next);
+            }
+            completeChunk(chunk);
+            chunk.clear();
+        }
+    }
+
+    private void completeChunk(List<PendingPayment> chunk) {
+        try {
+            List<PaymentPostingResult> results = postChunk(chunk.stream().map(pending -> pending.request).toList());
+            for (int i = 0; i < chunk.size(); i++) {
+                chunk.get(i).result.complete(results.get(i));
+            }
+        } catch (RuntimeException e) {
+            if (chunk.size() == 1) {
+                chunk.get(0).result.completeExceptionally(e);
+                return;
+            }
+            // Nothing of the chunk was committed; post each payment on its own so only the failing ones fail
+            logger.warn("Posting a chunk of {} payments failed, posting them one by one", chunk.size(), e);
+            for (PendingPayment pending : chunk) {
+                completeChunk(List.of(pending));
+            }
+        }
+    }
+
+    private void awaitResult(PendingPayment pending) {
+        try {
+            pending.result.get(COMBINER_WAIT_MICROS, TimeUnit.MICROSECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            // Either still queued behind the current combiner, or failed; the caller loop sorts it out
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for payment posting", e);
+        }
+    }
+
+    /**
+     * Posts one chunk in a single transaction while holding the locks of every debt it touches.
+     * Stripes are locked in index order so two chunks can never deadlock on each other.
+     */
+    private List<PaymentPostingResult> postChunk(List<PaymentRequest> requests) {
+        int[] stripes = requests.stream()
+                .filter(request -> request != null && request.getDebtId() != null)
+                .mapToInt(request -> stripeOf(request.getDebtId()))
+                .distinct()
+                .sorted()
+                .toArray();
+
+        for (int stripe : stripes) {
+            debtLocks[stripe].lock();
+        }
+        try {
+            return ConcurrencyRetry.retrying("Posting a chunk of " + requests.size() + " payments",
+                    () -> transactionTemplate.execute(status -> applyChunk(requests)));
+        } finally {
+            for (int i = stripes.length - 1; i >= 0; i--) {
+                debtLocks[stripes[i]].unlock();
+            }
+        }
+    }
+
+    /**
+     * Applies the payments in order against freshly loaded debts and writes everything in one flush:
+     * payment inserts and version-checked debt updates go out as JDBC batches.
+     */
+    private List<PaymentPostingResult> applyChunk(List<PaymentRequest> requests) {
+        Map<Long, Debt> debts = new HashMap<>();
+        debtRepository.findAllForUpdate(requests.stream()
+                        .filter(request -> request != null && request.getDebtId() != null)
+                        .map(PaymentRequest::getDebtId)
+                        .distinct()
+                        .sorted()
+                        .toList())
+                .forEach(debt -> debts.put(debt.getDebtId(), debt));
+
+        PaymentPostingResult[] results = new PaymentPostingResult[requests.size()];
+        List<Payment> payments = new ArrayList<>(requests.size());
+        int[] paymentIndexes = new int[requests.size()];
+        LocalDateTime now = LocalDateTime.now();
+
+        for (int i = 0; i < requests.size(); i++) {
+            PaymentRequest request = requests.get(i);
+            String rejection = validate(request);
+            Debt debt = rejection == null ? debts.get(request.getDebtId()) : null;
+            if (rejection == null && debt == null) {
+                rejection = "Debt not found with ID: " + request.getDebtId();
+            }
+            if (rejection == null && debt.getStatus() != Debt.Status.ACTIVE) {
+                rejection = "Debt is " + debt.getStatus() + " and no longer accepts payments";
+            }
+            if (rejection == null && request.getAmount().compareTo(debt.getCurrentAmount()) > 0) {
+                rejection = "Payment exceeds the outstanding amount of " + debt.getCurrentAmount();
+            }
+            if (rejection != null) {
+                results[i] = PaymentPostingResult.rejected(request == null ? null : request.getDebtId(), rejection);
+                continue;
+            }
+
+            BigDecimal remaining = debt.getCurrentAmount().subtract(request.getAmount());
+            debt.setCurrentAmount(remaining);
+            if (remaining.signum() == 0) {
+                debt.setStatus(Debt.Status.PAID);
+            }
+
+            Payment payment = new Payment();
+            payment.setDebt(debt);
+            payment.setAmount(request.getAmount());
+            payment.setPaymentMethod(request.getPaymentMethod());
+            payment.setTransactionDate(request.getTransactionDate() != null ? request.getTransactionDate() : now);
+            paymentIndexes[payments.size()] = i;
+            payments.add(payment);
+            results[i] = PaymentPostingResult.posted(debt.getDebtId(), null, remaining, debt.getStatus().name());
+        }
+
+        if (!payments.isEmpty()) {
+            paymentRepository.saveAll(payments);
+            paymentRepository.flush(); // Surfaces version conflicts here, inside the retry loop
+            for (int p = 0; p < payments.size(); p++) {
+                results[paymentIndexes[p]].setPaymentId(payments.get(p).getPaymentId());
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    private static String validate(PaymentRequest request) {
+        if (request == null || request.getDebtId() == null) {
+            return "Debt ID is mandatory";
+        }
+        if (request.getAmount() == null || request.getAmount().signum() <= 0) {
+            return "Amount must be positive";
+        }
+        if (request.getAmount().scale() > 2 && request.getAmount().stripTrailingZeros().scale() > 2) {
+            return "Amount must have at most 2 decimal places";
+        }
+        if (request.getPaymentMethod() == null || request.getPaymentMethod().isBlank()) {
+            return "Payment method is mandatory";
+        }
+        return null;
+    }
+
+    private int stripeOf(Long debtId) {
+        return Math.floorMod(Long.hashCode(debtId), debtLocks.length);
+    }
+
+    private static class PendingPayment {
+
+        private final PaymentRequest request;
+        private final CompletableFuture<PaymentPostingResult> result = new CompletableFuture<>();
+
+        PendingPayment(PaymentRequest request) {
+            this.request = request;
+        }
+    }
+}
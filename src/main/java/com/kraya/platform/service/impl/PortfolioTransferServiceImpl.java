@@ -0,0 +1,360 @@
+package com.kraya.platform.service.impl;
+
+import com.kraya.platform.concurrent.ConcurrencyRetry;
+import com.kraya.platform.concurrent.DaemonThreads;
+import com.kraya.platform.dto.PortfolioTransferRequest;
+import com.kraya.platform.dto.PortfolioTransferResponse;
+import com.kraya.platform.exception.InvalidInputException;
+import com.kraya.platform.exception.ResourceNotFoundException;
+import com.kraya.platform.model.Creditor;
+import com.kraya.platform.model.Debt;
+import com.kraya.platform.model.DebtTransfer;
+import com.kraya.platform.model.PortfolioTransfer;
+import com.kraya.platform.repository.CreditorRepository;
+import com.kraya.platform.repository.DebtRepository;
+import com.kraya.platform.repository.DebtTransferRepository;
+import com.kraya.platform.repository.PortfolioTransferRepository;
+import com.kraya.platform.service.PortfolioTransferService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * PortfolioTransferServiceImpl moves every open debt of one creditor to another.
+ * <p>
+ * The seller's debts are walked in keyset pages of {@code chunk-size}. Each page is one short
+ * transaction: it locks the page's debt rows in ID order (the same protocol payment posting
+ * uses), reassigns the creditor, inserts the matching {@link DebtTransfer} rows and advances
+ * the transfer's checkpoint. A page either commits completely or not at all, and no row lock
+ * outlives its page, so payments keep posting on every debt outside the page being moved.
+ * <p>
+ * The transfer as a whole is all-or-nothing by compensation: if a page fails for good, the
+ * pages already committed are reverted page by page, again under short row locks, and the
+ * transfer ends ROLLED_BACK. Debts that changed hands or were settled in the meantime are
+ * skipped when moving. When reverting, a debt the buyer has already passed on stays with its
+ * new holder; its debt transfer is marked NOT_REVERSED and the transfer ends PARTIALLY_REVERSED,
+ * with the number of such debts in its message. A transfer interrupted by a restart is
+ * continued from its checkpoint with {@link #resumeTransfer(Long)}.
+ */
+@Service
+public class PortfolioTransferServiceImpl implements PortfolioTransferService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PortfolioTransferServiceImpl.class);
+
+    // Settled debts stay with the creditor they were settled with
+    private static final Set<Debt.Status> TRANSFERABLE = EnumSet.of(Debt.Status.PENDING, Debt.Status.ACTIVE,
+            Debt.Status.DISPUTED);
+
+    private final PortfolioTransferRepository portfolioTransferRepository;
+    private final DebtTransferRepository debtTransferRepository;
+    private final DebtRepository debtRepository;
+    private final CreditorRepository creditorRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final ExecutorService executor;
+
+    // Transfer ID -> the transfer in progress in this process
+    private final Map<Long, CompletableFuture<PortfolioTransferResponse>> activeTransfers = new ConcurrentHashMap<>();
+
+    @Autowired
+    public PortfolioTransferServiceImpl(PortfolioTransferRepository portfolioTransferRepository,
+                                        DebtTransferRepository debtTransferRepository, DebtRepository debtRepository,
+                                        CreditorRepository creditorRepository, PlatformTransactionManager transactionManager,
+                                        @Value("${kraya.transfers.threads:2}") int threads,
+                                        @Value("${kraya.transfers.chunk-size:500}") int chunkSize) {
+        this.portfolioTransferRepository = portfolioTransferRepository;
+        this.debtTransferRepository = debtTransferRepository;
+        this.debtRepository = debtRepository;
+        this.creditorRepository = creditorRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+
+        this.executor = DaemonThreads.newFixedThreadPool("portfolio-transfer-", threads);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public PortfolioTransferResponse transfer(PortfolioTransferRequest request) {
+        return await(submit(create(request).getPortfolioTransferId(), Runnable::run));
+    }
+
+    @Override
+    public PortfolioTransferResponse startTransfer(PortfolioTransferRequest request) {
+        Long portfolioTransferId = create(request).getPortfolioTransferId();
+        submit(portfolioTransferId, executor);
+        return getTransfer(portfolioTransferId);
+    }
+
+    @Override
+    public PortfolioTransferResponse resumeTransfer(Long portfolioTransferId) {
+        PortfolioTransfer transfer = find(portfolioTransferId);
+        if (transfer.getStatus() == PortfolioTransfer.Status.RUNNING
+                || transfer.getStatus() == PortfolioTransfer.Status.ROLLING_BACK) {
+            submit(portfolioTransferId, executor);
+        }
+        return getTransfer(portfolioTransferId);
+    }
+
+    @Override
+    public PortfolioTransferResponse getTransfer(Long portfolioTransferId) {
+        PortfolioTransfer transfer = find(portfolioTransferId);
+        LocalDateTime end = transfer.getCompletedAt() != null ? transfer.getCompletedAt() : LocalDateTime.now();
+        long elapsedMillis = Math.max(0, Duration.between(transfer.getStartedAt(), end).toMillis());
+
+        PortfolioTransferResponse response = new PortfolioTransferResponse();
+        response.setPortfolioTransferId(transfer.getPortfolioTransferId());
+        response.setFromCreditorId(transfer.getFromCreditorId());
+        response.setToCreditorId(transfer.getToCreditorId());
+        response.setStatus(transfer.getStatus().name());
+        response.setTotalDebts(transfer.getTotalDebts());
+        response.setTransferredDebts(transfer.getTransferredDebts());
+        response.setAmountTransferred(transfer.getAmountTransferred());
+        response.setChunksCommitted(transfer.getChunksCommitted());
+        response.setMessage(transfer.getMessage());
+        response.setStartedAt(transfer.getStartedAt());
+        response.setCompletedAt(transfer.getCompletedAt());
+        response.setElapsedMillis(elapsedMillis);
+        response.setDebtsPerSecond(elapsedMillis == 0 ? 0 : transfer.getTransferredDebts() * 1000.0 / elapsedMillis);
+        response.setPercentComplete(transfer.getStatus() == PortfolioTransfer.Status.COMPLETED || transfer.getTotalDebts() == 0
+                ? 100 : Math.min(100, transfer.getTransferredDebts() * 100.0 / transfer.getTotalDebts()));
+        return response;
+    }
+
+    private PortfolioTransfer create(PortfolioTransferRequest request) {
+        if (request.getFromCreditorId().equals(request.getToCreditorId())) {
+            throw new InvalidInputException("A portfolio cannot be transferred to the creditor that holds it");
+        }
+        for (Long creditorId : List.of(request.getFromCreditorId(), request.getToCreditorId())) {
+            if (!creditorRepository.existsById(creditorId)) {
+                throw new ResourceNotFoundException("Creditor not found with ID: " + creditorId);
+            }
+        }
+
+        PortfolioTransfer transfer = new PortfolioTransfer();
+        transfer.setFromCreditorId(request.getFromCreditorId());
+        transfer.setToCreditorId(request.getToCreditorId());
+        transfer.setTotalDebts(debtRepository.countByCreditorUserIdAndStatusIn(request.getFromCreditorId(), TRANSFERABLE));
+        transfer.setStartedAt(LocalDateTime.now());
+        transfer = portfolioTransferRepository.save(transfer);
+        logger.info("Transferring {} debts from creditor {} to creditor {} (transfer {})", transfer.getTotalDebts(),
+                transfer.getFromCreditorId(), transfer.getToCreditorId(), transfer.getPortfolioTransferId());
+        return transfer;
+    }
+
+    /**
+     * Runs the transfer on the given executor unless this process is already running it,
+     * in which case the caller shares the existing run.
+     */
+    private CompletableFuture<PortfolioTransferResponse> submit(Long portfolioTransferId, Executor runner) {
+        CompletableFuture<PortfolioTransferResponse> created = new CompletableFuture<>();
+        CompletableFuture<PortfolioTransferResponse> existing = activeTransfers.putIfAbsent(portfolioTransferId, created);
+        if (existing != null) {
+            return existing;
+        }
+        runner.execute(() -> {
+            try {
+                created.complete(run(portfolioTransferId));
+            } catch (RuntimeException e) {
+                logger.error("Portfolio transfer {} was interrupted; resume it to finish", portfolioTransferId, e);
+                created.completeExceptionally(e);
+            } finally {
+                activeTransfers.remove(portfolioTransferId, created);
+            }
+        });
+        return created;
+    }
+
+    private PortfolioTransferResponse run(Long portfolioTransferId) {
+        PortfolioTransfer transfer = find(portfolioTransferId);
+        long start = System.nanoTime();
+
+        if (transfer.getStatus() == PortfolioTransfer.Status.RUNNING) {
+            try {
+                moveAll(transfer);
+            } catch (RuntimeException e) {
+                logger.error("Portfolio transfer {} failed, reverting the {} debts already moved",
+                        portfolioTransferId, find(portfolioTransferId).getTransferredDebts(), e);
+                String message = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+                transactionTemplate.executeWithoutResult(status -> {
+                    PortfolioTransfer failed = find(portfolioTransferId);
+                    failed.setStatus(PortfolioTransfer.Status.ROLLING_BACK);
+                    failed.setMessage(message.length() > 1000 ? message.substring(0, 1000) : message);
+                });
+            }
+        }
+        if (find(portfolioTransferId).getStatus() == PortfolioTransfer.Status.ROLLING_BACK) {
+            revertAll(portfolioTransferId);
+        }
+
+        PortfolioTransferResponse progress = getTransfer(portfolioTransferId);
+        logger.info("Portfolio transfer {} {}: {} debts, {} total, {} debts/s", portfolioTransferId,
+                progress.getStatus(), progress.getTransferredDebts(), progress.getAmountTransferred(),
+                Math.round(progress.getTransferredDebts() / Math.max(1e-9, (System.nanoTime() - start) / 1e9)));
+        return progress;
+    }
+
+    /**
+     * Moves the seller's debts page by page, starting after the checkpoint.
+     */
+    private void moveAll(PortfolioTransfer transfer) {
+        Long portfolioTransferId = transfer.getPortfolioTransferId();
+        long lastDebtId = transfer.getLastDebtId() == null ? 0 : transfer.getLastDebtId();
+        while (true) {
+            // Read without locks; each page is locked and re-checked inside its own transaction
+            List<Long> debtIds = debtRepository.findIdsByCreditorAfter(transfer.getFromCreditorId(), lastDebtId,
+                    TRANSFERABLE, Limit.of(chunkSize));
+            if (debtIds.isEmpty()) {
+                break;
+            }
+            ConcurrencyRetry.retrying("Transfer chunk", () ->
+                    transactionTemplate.executeWithoutResult(status -> moveChunk(portfolioTransferId, debtIds)));
+            lastDebtId = debtIds.get(debtIds.size() - 1);
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            PortfolioTransfer completed = find(portfolioTransferId);
+            completed.setStatus(PortfolioTransfer.Status.COMPLETED);
+            completed.setCompletedAt(LocalDateTime.now());
+        });
+    }
+
+    /**
+     * Moves one page of debts and advances the checkpoint. Must run in a transaction.
+     */
+    private void moveChunk(Long portfolioTransferId, List<Long> debtIds) {
+        PortfolioTransfer transfer = find(portfolioTransferId);
+        Creditor buyer = creditorRepository.findById(transfer.getToCreditorId())
+                .orElseThrow(() -> new ResourceNotFoundException("Creditor not found with ID: " + transfer.getToCreditorId()));
+        LocalDateTime now = LocalDateTime.now();
+
+        List<DebtTransfer> debtTransfers = new ArrayList<>(debtIds.size());
+        BigDecimal amount = BigDecimal.ZERO;
+        for (Debt debt : debtRepository.findAllForUpdate(debtIds)) {
+            if (!debt.getCreditor().getUserId().equals(transfer.getFromCreditorId())
+                    || !TRANSFERABLE.contains(debt.getStatus())) {
+                continue; // Sold or settled since the page was read
+            }
+            DebtTransfer debtTransfer = new DebtTransfer();
+            debtTransfer.setDebt(debt);
+            debtTransfer.setFromCreditor(debt.getCreditor());
+            debtTransfer.setToCreditor(buyer);
+            debtTransfer.setPortfolioTransferId(portfolioTransferId);
+            debtTransfer.setTransferDate(now);
+            debtTransfer.setAmount(debt.getCurrentAmount());
+            debtTransfer.setStatus(DebtTransfer.COMPLETED);
+            debtTransfers.add(debtTransfer);
+
+            debt.setCreditor(buyer);
+            amount = amount.add(debt.getCurrentAmount());
+        }
+        debtTransferRepository.saveAll(debtTransfers);
+
+        transfer.setLastDebtId(debtIds.get(debtIds.size() - 1));
+        transfer.setTransferredDebts(transfer.getTransferredDebts() + debtTransfers.size());
+        transfer.setAmountTransferred(transfer.getAmountTransferred().add(amount));
+        transfer.setChunksCommitted(transfer.getChunksCommitted() + 1);
+        debtTransferRepository.flush(); // Surfaces version conflicts here, inside the retry loop
+    }
+
+    /**
+     * Reverts the committed pages of a failed transfer, newest debt transfers last. The transfer
+     * ends PARTIALLY_REVERSED if some debts had already been passed on by the buyer.
+     */
+    private void revertAll(Long portfolioTransferId) {
+        while (true) {
+            List<Long> transferIds = debtTransferRepository.findByPortfolioTransferIdAndStatusOrderByTransferId(
+                    portfolioTransferId, DebtTransfer.COMPLETED, Limit.of(chunkSize)).stream()
+                    .map(DebtTransfer::getTransferId)
+                    .toList();
+            if (transferIds.isEmpty()) {
+                break;
+            }
+            ConcurrencyRetry.retrying("Transfer reversal chunk", () ->
+                    transactionTemplate.executeWithoutResult(status -> revertChunk(portfolioTransferId, transferIds)));
+        }
+        long kept = debtTransferRepository.countByPortfolioTransferIdAndStatus(portfolioTransferId, DebtTransfer.NOT_REVERSED);
+        transactionTemplate.executeWithoutResult(status -> {
+            PortfolioTransfer rolledBack = find(portfolioTransferId);
+            if (kept > 0) {
+                logger.warn("Portfolio transfer {}: {} debts had been passed on by the buyer and were not reverted",
+                        portfolioTransferId, kept);
+                rolledBack.setStatus(PortfolioTransfer.Status.PARTIALLY_REVERSED);
+                String message = kept + " debts had been passed on by the buyer and were not reverted; "
+                        + (rolledBack.getMessage() == null ? "" : rolledBack.getMessage());
+                rolledBack.setMessage(message.length() > 1000 ? message.substring(0, 1000) : message);
+            } else {
+                rolledBack.setStatus(PortfolioTransfer.Status.ROLLED_BACK);
+            }
+            rolledBack.setCompletedAt(LocalDateTime.now());
+        });
+    }
+
+    /**
+     * Hands one page of moved debts back to the seller. Must run in a transaction.
+     */
+    private void revertChunk(Long portfolioTransferId, List<Long> transferIds) {
+        PortfolioTransfer transfer = find(portfolioTransferId);
+        List<DebtTransfer> debtTransfers = debtTransferRepository.findAllById(transferIds);
+        debtRepository.findAllForUpdate(debtTransfers.stream()
+                .map(debtTransfer -> debtTransfer.getDebt().getDebtId())
+                .toList());
+
+        int reverted = 0;
+        BigDecimal amount = BigDecimal.ZERO;
+        for (DebtTransfer debtTransfer : debtTransfers) {
+            Debt debt = debtTransfer.getDebt(); // The instance locked above
+            if (!debt.getCreditor().getUserId().equals(transfer.getToCreditorId())) {
+                // The buyer has already passed it on; it stays with its new holder and still counts as transferred
+                debtTransfer.setStatus(DebtTransfer.NOT_REVERSED);
+                continue;
+            }
+            debt.setCreditor(debtTransfer.getFromCreditor());
+            debtTransfer.setStatus(DebtTransfer.REVERSED);
+            amount = amount.add(debtTransfer.getAmount());
+            reverted++;
+        }
+
+        transfer.setTransferredDebts(Math.max(0, transfer.getTransferredDebts() - reverted));
+        transfer.setAmountTransferred(transfer.getAmountTransferred().subtract(amount));
+        debtTransferRepository.flush();
+    }
+
+    private PortfolioTransfer find(Long portfolioTransferId) {
+        return portfolioTransferRepository.findById(portfolioTransferId)
+                .orElseThrow(() -> new ResourceNotFoundException("Portfolio transfer not found with ID: " + portfolioTransferId));
+    }
+
+    private static PortfolioTransferResponse await(CompletableFuture<PortfolioTransferResponse> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while transferring portfolio", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+        }
+    }
+}
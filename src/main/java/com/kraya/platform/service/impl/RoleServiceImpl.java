@@ -1,7 +1,9 @@
 package com.kraya.platform.service.impl;
 
+import com.kraya.platform.dto.ResourceVersion;
 import com.kraya.platform.model.Role;
 import com.kraya.platform.repository.RoleRepository;
+import com.kraya.platform.service.RoleRegistry;
 import com.kraya.platform.service.RoleService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -10,43 +12,64 @@ import java.util.List;
 
 /**
  * RoleServiceImpl provides the implementation for role-related operations.
+ * Reads are served from the in-memory {@link RoleRegistry}; every write refreshes it.
  */
 @Service
 public class RoleServiceImpl implements RoleService {
 
     private final RoleRepository roleRepository;
+    private final RoleRegistry roleRegistry;
 
     @Autowired
-    public RoleServiceImpl(RoleRepository roleRepository) {
+    public RoleServiceImpl(RoleRepository roleRepository, RoleRegistry roleRegistry) {
         this.roleRepository = roleRepository;
+        this.roleRegistry = roleRegistry;
     }
 
     @Override
     public List<Role> findAll() {
-        return roleRepository.findAll();
+        return roleRegistry.findAll();
+    }
+
+    @Override
+    public ResourceVersion findVersion() {
+        return new ResourceVersion("roles-" + roleRegistry.version(), roleRegistry.lastModified());
     }
 
     @Override
     public Role findById(Long id) {
-        return roleRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Role not found with ID: " + id));
+        Role role = roleRegistry.findById(id);
+        if (role == null) {
+            throw new IllegalArgumentException("Role not found with ID: " + id);
+        }
+        return role;
     }
 
     @Override
     public Role create(Role role) {
-        return roleRepository.save(role);
+        roleRegistry.checkAssignable(role.getName(), null);  // Before the write, so a full registry is a 400
+        Role createdRole = roleRepository.save(role);
+        roleRegistry.refresh();
+        return createdRole;
     }
 
     @Override
     public Role update(Long id, Role role) {
-        Role existingRole = findById(id);
+        // Load a fresh instance; the registry's shared instances must not be modified
+        Role existingRole = roleRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Role not found with ID: " + id));
+        roleRegistry.checkAssignable(role.getName(), existingRole.getName());
         existingRole.setName(role.getName());
-        return roleRepository.save(existingRole);
+        Role updatedRole = roleRepository.save(existingRole);
+        roleRegistry.refresh();
+        return updatedRole;
     }
 
     @Override
     public void delete(Long id) {
-        Role role = findById(id);
+        Role role = roleRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Role not found with ID: " + id));
         roleRepository.delete(role);
+        roleRegistry.refresh();
     }
 }
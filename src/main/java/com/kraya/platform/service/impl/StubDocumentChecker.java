@@ -0,0 +1,42 @@
+package com.kraya.platform.service.impl;
+
+import com.kraya.platform.model.Document;
+import com.kraya.platform.service.DocumentChecker;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * StubDocumentChecker stands in for the external checker when running locally.
+ * It accepts every document after a fixed delay that mimics the remote call.
+ */
+@Component
+@ConditionalOnProperty(name = "kraya.documents.verification.checker", havingValue = "stub", matchIfMissing = true)
+public class StubDocumentChecker implements DocumentChecker {
+
+    private final Duration latency;
+
+    public StubDocumentChecker(@Value("${kraya.documents.verification.stub-latency:50ms}") Duration latency) {
+        this.latency = latency;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<String> check(Document document, Path content) throws IOException {
+        try {
+            Thread.sleep(latency.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while checking document " + document.getDocumentId());
+        }
+        return Optional.empty();
+    }
+}
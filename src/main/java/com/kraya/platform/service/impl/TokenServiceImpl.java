@@ -0,0 +1,219 @@
+package com.kraya.platform.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kraya.platform.dto.TokenResponse;
+import com.kraya.platform.exception.InvalidTokenException;
+import com.kraya.platform.model.Role;
+import com.kraya.platform.model.User;
+import com.kraya.platform.security.TokenClaims;
+import com.kraya.platform.service.TokenService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * TokenServiceImpl issues HMAC-SHA256 signed tokens in the compact JWT format
+ * (header.payload.signature). Verifying a token costs one HMAC and one small JSON
+ * parse instead of a BCrypt hash, so authenticated requests no longer pay the
+ * password-hashing cost. Revocations are kept in memory until the revoked
+ * tokens would have expired on their own.
+ * <p>
+ * Tokens also carry their issue time in milliseconds, which per-user revocation compares
+ * against, and a token issued here after a revocation is always stamped later than it, so
+ * logging in again right after a password change yields working tokens.
+ */
+@Service
+public class TokenServiceImpl implements TokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenServiceImpl.class);
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final String HEADER =
+            ENCODER.encodeToString("{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+
+    // Purge expired revocations once the deny-list grows past this size
+    private static final int REVOCATION_PURGE_THRESHOLD = 10_000;
+
+    private final ObjectMapper objectMapper;
+    private final SecretKeySpec signingKey;
+    private final Duration accessTokenTtl;
+    private final Duration refreshTokenTtl;
+    private final Clock clock;
+
+    // Mac instances are not thread-safe, so each thread keeps its own
+    private final ThreadLocal<Mac> macs = ThreadLocal.withInitial(this::newMac);
+
+    // Token ID -> expiry (epoch seconds) of individually revoked tokens
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+
+    // User ID -> epoch millisecond up to which all of the user's tokens are revoked
+    private final Map<Long, Long> revokedUsers = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TokenServiceImpl(ObjectMapper objectMapper,
+                            @Value("${kraya.security.token.secret:}") String secret,
+                            @Value("${kraya.security.token.access-ttl:15m}") Duration accessTokenTtl,
+                            @Value("${kraya.security.token.refresh-ttl:7d}") Duration refreshTokenTtl) {
+        this(objectMapper, secret, accessTokenTtl, refreshTokenTtl, Clock.systemUTC());
+    }
+
+    public TokenServiceImpl(ObjectMapper objectMapper, String secret,
+                            Duration accessTokenTtl, Duration refreshTokenTtl, Clock clock) {
+        this.objectMapper = objectMapper;
+        this.signingKey = new SecretKeySpec(resolveSecret(secret), HMAC_ALGORITHM);
+        this.accessTokenTtl = accessTokenTtl;
+        this.refreshTokenTtl = refreshTokenTtl;
+        this.clock = clock;
+    }
+
+    @Override
+    public TokenResponse issueTokens(User user) {
+        long nowMillis = clock.millis();
+        Long revokedUpTo = revokedUsers.get(user.getUserId());
+        if (revokedUpTo != null && nowMillis <= revokedUpTo) {
+            nowMillis = revokedUpTo + 1;  // Revoked within this millisecond; stamp the new tokens after it
+        }
+        long now = nowMillis / 1000;
+        List<String> roles = user.getRoles() == null
+                ? Collections.emptyList()
+                : user.getRoles().stream().map(Role::getName).toList();
+
+        TokenClaims access = new TokenClaims(user.getUsername(), user.getUserId(), roles,
+                TokenClaims.ACCESS, UUID.randomUUID().toString(), now, now + accessTokenTtl.getSeconds());
+        TokenClaims refresh = new TokenClaims(user.getUsername(), user.getUserId(), null,
+                TokenClaims.REFRESH, UUID.randomUUID().toString(), now, now + refreshTokenTtl.getSeconds());
+        access.setIssuedAtMillis(nowMillis);
+        refresh.setIssuedAtMillis(nowMillis);
+        String accessToken = encode(access);
+        String refreshToken = encode(refresh);
+
+        return new TokenResponse(accessToken, refreshToken, accessTokenTtl.getSeconds());
+    }
+
+    @Override
+    public TokenClaims verify(String token, String expectedType) {
+        if (token == null) {
+            throw new InvalidTokenException("Token is missing");
+        }
+        int firstDot = token.indexOf('.');
+        int lastDot = token.lastIndexOf('.');
+        if (firstDot <= 0 || lastDot == firstDot || !token.startsWith(HEADER) || firstDot != HEADER.length()) {
+            throw new InvalidTokenException("Malformed token");
+        }
+
+        byte[] expectedSignature = sign(token.substring(0, lastDot));
+        byte[] actualSignature;
+        try {
+            actualSignature = DECODER.decode(token.substring(lastDot + 1));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidTokenException("Malformed token signature");
+        }
+        if (!MessageDigest.isEqual(expectedSignature, actualSignature)) {
+            throw new InvalidTokenException("Invalid token signature");
+        }
+
+        TokenClaims claims;
+        try {
+            claims = objectMapper.readValue(DECODER.decode(token.substring(firstDot + 1, lastDot)), TokenClaims.class);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new InvalidTokenException("Malformed token payload");
+        }
+
+        if (!expectedType.equals(claims.getType())) {
+            throw new InvalidTokenException("Unexpected token type");
+        }
+        if (claims.getExpiresAt() <= clock.instant().getEpochSecond()) {
+            throw new InvalidTokenException("Token has expired");
+        }
+        if (revokedTokens.containsKey(claims.getTokenId())) {
+            throw new InvalidTokenException("Token has been revoked");
+        }
+        Long revokedUpTo = revokedUsers.get(claims.getUserId());
+        if (revokedUpTo != null && issuedAtMillis(claims) <= revokedUpTo) {
+            throw new InvalidTokenException("Token has been revoked");
+        }
+        return claims;
+    }
+
+    @Override
+    public boolean revoke(TokenClaims claims) {
+        boolean revoked = revokedTokens.putIfAbsent(claims.getTokenId(), claims.getExpiresAt()) == null;
+        if (revokedTokens.size() > REVOCATION_PURGE_THRESHOLD) {
+            long now = clock.instant().getEpochSecond();
+            revokedTokens.values().removeIf(expiresAt -> expiresAt <= now);
+        }
+        return revoked;
+    }
+
+    @Override
+    public void revokeAllForUser(Long userId) {
+        long nowMillis = clock.millis();
+        revokedUsers.merge(userId, nowMillis, Math::max);
+        if (revokedUsers.size() > REVOCATION_PURGE_THRESHOLD) {
+            // Every token issued before this has expired, whatever its type
+            long cutoff = nowMillis - Math.max(accessTokenTtl.toMillis(), refreshTokenTtl.toMillis());
+            revokedUsers.values().removeIf(revokedUpTo -> revokedUpTo < cutoff);
+        }
+    }
+
+    // Tokens issued before the millisecond claim existed only carry whole seconds
+    private static long issuedAtMillis(TokenClaims claims) {
+        return claims.getIssuedAtMillis() != 0 ? claims.getIssuedAtMillis() : claims.getIssuedAt() * 1000;
+    }
+
+    private String encode(TokenClaims claims) {
+        String payload;
+        try {
+            payload = ENCODER.encodeToString(objectMapper.writeValueAsBytes(claims));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize token claims", e);
+        }
+        String unsigned = HEADER + "." + payload;
+        return unsigned + "." + ENCODER.encodeToString(sign(unsigned));
+    }
+
+    private byte[] sign(String unsignedToken) {
+        return macs.get().doFinal(unsignedToken.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(signingKey);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to initialize " + HMAC_ALGORITHM, e);
+        }
+    }
+
+    private static byte[] resolveSecret(String secret) {
+        if (secret == null || secret.isBlank()) {
+            logger.warn("No kraya.security.token.secret configured; using a random key, tokens will not survive a restart");
+            byte[] key = new byte[32];
+            new SecureRandom().nextBytes(key);
+            return key;
+        }
+        return secret.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,43 @@
+package com.kraya.platform.service.impl;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+
+/**
+ * Maps unique constraint violations on the users table to the conflict messages shown to clients.
+ */
+final class UserConflicts {
+
+    static final String USERNAME_EXISTS = "Username already exists.";
+    static final String EMAIL_EXISTS = "Email already exists.";
+    static final String PHONE_NUMBER_EXISTS = "Phone number already exists.";
+
+    private UserConflicts() {
+    }
+
+    /**
+     * @param e the violation raised by the insert or update
+     * @return the conflict message, or null if the violated constraint is not a known unique key
+     */
+    static String messageFor(DataIntegrityViolationException e) {
+        String constraint = null;
+        if (e.getCause() instanceof ConstraintViolationException violation) {
+            constraint = violation.getConstraintName();
+        }
+        String detail = (constraint != null ? constraint : String.valueOf(e.getMostSpecificCause().getMessage()))
+                .toLowerCase(Locale.ROOT);
+
+        if (detail.contains("username")) {
+            return USERNAME_EXISTS;
+        }
+        if (detail.contains("email")) {
+            return EMAIL_EXISTS;
+        }
+        if (detail.contains("phone")) {
+            return PHONE_NUMBER_EXISTS;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,291 @@
+package com.kraya.platform.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.kraya.platform.concurrent.DaemonThreads;
+import com.kraya.platform.dto.UserImportResponse;
+import com.kraya.platform.dto.UserImportRow;
+import com.kraya.platform.dto.UserImportRowResult;
+import com.kraya.platform.exception.ServiceBusyException;
+import com.kraya.platform.model.AppUser;
+import com.kraya.platform.model.User;
+import com.kraya.platform.repository.UserRepository;
+import com.kraya.platform.service.UserImportService;
+import com.kraya.platform.service.UserSearchIndex;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * UserImportServiceImpl reads an NDJSON stream line by line and inserts valid rows in chunks.
+ * Each chunk is checked for existing usernames/emails with two set-based queries, password
+ * hashing for the chunk runs in parallel, and the inserts are written in one transaction so
+ * Hibernate can JDBC-batch them (IDs come from pooled sequences). If a chunk still hits a
+ * unique constraint (a concurrent sign-up), it is retried row by row to report which row failed.
+ */
+@Service
+public class UserImportServiceImpl implements UserImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserImportServiceImpl.class);
+
+    private static final int CHUNK_SIZE = 500;
+    private static final Pattern BCRYPT_HASH = Pattern.compile("^\\$2[aby]?\\$\\d{2}\\$[./A-Za-z0-9]{53}$");
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final ObjectReader rowReader;
+    private final TransactionTemplate transactionTemplate;
+    private final UserSearchIndex userSearchIndex;
+    private final ExecutorService hashingExecutor;
+
+    @Autowired
+    public UserImportServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder, Validator validator,
+                                 ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+                                 UserSearchIndex userSearchIndex,
+                                 @Value("${kraya.users.import.hashing-threads:2}") int hashingThreads) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.rowReader = objectMapper.readerFor(UserImportRow.class);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.userSearchIndex = userSearchIndex;
+        // Caps how much of the shared hashing pool an import may occupy, leaving room for sign-ups
+        this.hashingExecutor = DaemonThreads.newFixedThreadPool("user-import-hash-", hashingThreads);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingExecutor.shutdownNow();
+    }
+
+    @Override
+    public UserImportResponse importUsers(InputStream input) throws IOException {
+        long start = System.nanoTime();
+        List<UserImportRowResult> results = new ArrayList<>();
+        List<PendingRow> chunk = new ArrayList<>(CHUNK_SIZE);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            PendingRow row = parse(lineNumber, line, results);
+            if (row != null) {
+                chunk.add(row);
+                if (chunk.size() == CHUNK_SIZE) {
+                    importChunk(chunk, results);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, results);
+        }
+
+        results.sort(Comparator.comparingInt(UserImportRowResult::getLine));
+        long elapsedNanos = System.nanoTime() - start;
+
+        UserImportResponse response = new UserImportResponse();
+        response.setResults(results);
+        response.setTotalRows(results.size());
+        response.setCreatedRows((int) results.stream()
+                .filter(result -> UserImportRowResult.CREATED.equals(result.getStatus()))
+                .count());
+        response.setFailedRows(response.getTotalRows() - response.getCreatedRows());
+        response.setElapsedMillis(elapsedNanos / 1_000_000);
+        response.setRowsPerSecond(elapsedNanos == 0 ? 0 : results.size() * 1_000_000_000.0 / elapsedNanos);
+        logger.info("Imported {} of {} users in {} ms ({} rows/s)", response.getCreatedRows(), response.getTotalRows(),
+                response.getElapsedMillis(), Math.round(response.getRowsPerSecond()));
+        return response;
+    }
+
+    /**
+     * Parses and validates one line; invalid lines are reported immediately.
+     */
+    private PendingRow parse(int lineNumber, String line, List<UserImportRowResult> results) {
+        UserImportRow row;
+        try {
+            row = rowReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            results.add(failed(lineNumber, null, "Malformed JSON: " + e.getOriginalMessage()));
+            return null;
+        }
+
+        Set<ConstraintViolation<UserImportRow>> violations = validator.validate(row);
+        if (!violations.isEmpty()) {
+            results.add(failed(lineNumber, row.getUsername(), violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "))));
+            return null;
+        }
+        if (row.getPasswordHash() != null) {
+            if (!BCRYPT_HASH.matcher(row.getPasswordHash()).matches()) {
+                results.add(failed(lineNumber, row.getUsername(), "Password hash must be a BCrypt hash"));
+                return null;
+            }
+        } else if (row.getPassword() == null) {
+            results.add(failed(lineNumber, row.getUsername(), "Password or password hash is mandatory"));
+            return null;
+        }
+        return new PendingRow(lineNumber, row);
+    }
+
+    private void importChunk(List<PendingRow> chunk, List<UserImportRowResult> results) {
+        List<PendingRow> accepted = rejectDuplicates(chunk, results);
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        accepted = hashPasswords(accepted, results);
+        List<AppUser> users = accepted.stream().map(this::toUser).toList();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                userRepository.saveAll(users);
+                userRepository.flush(); // One JDBC batch per table per 50 rows
+            });
+        } catch (DataIntegrityViolationException e) {
+            logger.warn("Batch insert of {} users hit a constraint, retrying row by row", accepted.size());
+            insertOneByOne(accepted, results);
+            return;
+        }
+        userSearchIndex.indexAll(users);
+
+        for (int i = 0; i < accepted.size(); i++) {
+            PendingRow row = accepted.get(i);
+            results.add(new UserImportRowResult(row.line, row.row.getUsername(), users.get(i).getUserId(),
+                    UserImportRowResult.CREATED, null));
+        }
+    }
+
+    /**
+     * Rejects rows whose username or email repeats within the chunk or already exists,
+     * using one query per key for the whole chunk.
+     */
+    private List<PendingRow> rejectDuplicates(List<PendingRow> chunk, List<UserImportRowResult> results) {
+        Set<String> existingUsernames = new HashSet<>(userRepository.findExistingUsernames(
+                chunk.stream().map(row -> row.row.getUsername()).toList()));
+        Set<String> existingEmails = new HashSet<>(userRepository.findExistingEmails(
+                chunk.stream().map(row -> row.row.getEmail()).toList()));
+
+        List<PendingRow> accepted = new ArrayList<>(chunk.size());
+        for (PendingRow row : chunk) {
+            if (!existingUsernames.add(row.row.getUsername())) {
+                results.add(failed(row.line, row.row.getUsername(), UserConflicts.USERNAME_EXISTS));
+            } else if (!existingEmails.add(row.row.getEmail())) {
+                results.add(failed(row.line, row.row.getUsername(), UserConflicts.EMAIL_EXISTS));
+            } else {
+                accepted.add(row);
+            }
+        }
+        return accepted;
+    }
+
+    private List<PendingRow> hashPasswords(List<PendingRow> rows, List<UserImportRowResult> results) {
+        List<CompletableFuture<Void>> futures = new ArrayList<>(rows.size());
+        for (PendingRow row : rows) {
+            if (row.row.getPasswordHash() != null) {
+                row.encodedPassword = row.row.getPasswordHash();
+            } else {
+                futures.add(CompletableFuture.runAsync(
+                        () -> row.encodedPassword = passwordEncoder.encode(row.row.getPassword()), hashingExecutor));
+            }
+        }
+
+        List<PendingRow> hashed = new ArrayList<>(rows.size());
+        for (CompletableFuture<Void> future : futures) {
+            try {
+                future.join();
+            } catch (CompletionException e) {
+                if (!(e.getCause() instanceof ServiceBusyException)) {
+                    throw e;
+                }
+            }
+        }
+        for (PendingRow row : rows) {
+            if (row.encodedPassword != null) {
+                hashed.add(row);
+            } else {
+                results.add(failed(row.line, row.row.getUsername(), "Server busy hashing passwords, retry this row"));
+            }
+        }
+        return hashed;
+    }
+
+    private void insertOneByOne(List<PendingRow> rows, List<UserImportRowResult> results) {
+        for (PendingRow row : rows) {
+            try {
+                User user = userRepository.saveAndFlush(toUser(row));
+                userSearchIndex.index(user);
+                results.add(new UserImportRowResult(row.line, row.row.getUsername(), user.getUserId(),
+                        UserImportRowResult.CREATED, null));
+            } catch (DataIntegrityViolationException e) {
+                String message = UserConflicts.messageFor(e);
+                results.add(failed(row.line, row.row.getUsername(),
+                        message != null ? message : "Row violates a database constraint"));
+            }
+        }
+    }
+
+    private AppUser toUser(PendingRow pending) {
+        UserImportRow row = pending.row;
+        AppUser user = new AppUser();
+        user.setUsername(row.getUsername());
+        user.setPassword(pending.encodedPassword);
+        user.setEmail(row.getEmail());
+        user.setFirstName(row.getFirstName());
+        user.setLastName(row.getLastName());
+        user.setPhoneNumber(row.getPhoneNumber());
+        user.setProfilePictureUrl(row.getProfilePictureUrl());
+        user.setStatus(User.Status.ACTIVE);
+        user.setRegistrationDate(LocalDateTime.now());
+        return user;
+    }
+
+    private static UserImportRowResult failed(int line, String username, String message) {
+        return new UserImportRowResult(line, username, null, UserImportRowResult.FAILED, message);
+    }
+
+    private static class PendingRow {
+
+        private final int line;
+        private final UserImportRow row;
+        private volatile String encodedPassword;
+
+        PendingRow(int line, UserImportRow row) {
+            this.line = line;
+            this.row = row;
+        }
+    }
+}
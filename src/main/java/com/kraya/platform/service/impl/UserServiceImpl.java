@@ -1,25 +1,52 @@
 package com.kraya.platform.service.impl;
 
+import com.kraya.platform.dto.LoginRequest;
+import com.kraya.platform.dto.ResourceVersion;
+import com.kraya.platform.dto.TokenResponse;
+import com.kraya.platform.dto.UserPageResponse;
 import com.kraya.platform.dto.UserRegistrationRequest;
 import com.kraya.platform.dto.UserRegistrationResponse;
+import com.kraya.platform.dto.UserResponseDto;
+import com.kraya.platform.dto.UserSearchResult;
 import com.kraya.platform.dto.UserUpdateRequest;
+import com.kraya.platform.exception.InvalidCredentialsException;
 import com.kraya.platform.exception.InvalidRoleException;
+import com.kraya.platform.exception.InvalidTokenException;
 import com.kraya.platform.exception.UserNotFoundException;
 import com.kraya.platform.model.AppUser;  // Importing AppUser
+import com.kraya.platform.model.Role;
 import com.kraya.platform.model.Roles;
 import com.kraya.platform.model.User;
 import com.kraya.platform.repository.UserRepository;
+import com.kraya.platform.security.TokenClaims;
+import com.kraya.platform.service.RoleRegistry;
+import com.kraya.platform.service.TokenService;
+import com.kraya.platform.service.UserSearchIndex;
 import com.kraya.platform.service.UserService;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.net.URI;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * UserServiceImpl provides the implementation for user-related operations.
@@ -29,13 +56,32 @@ public class UserServiceImpl implements UserService {
 
     private static final Logger logger = LoggerFactory.getLogger(UserServiceImpl.class);
 
+    // Users held in the persistence context at once while streaming; matches the roles batch size
+    private static final int STREAM_CHUNK_SIZE = 500;
+
+    // BCrypt hash of a throwaway password at the encoder's default cost, matched for unknown usernames
+    private static final String DUMMY_PASSWORD_HASH = "$2a$10$GdLsI98VpQ0HiaOBS61/IuGco/sxCYbINvRfU59FQ9.J1pWrTXnKi";
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final TokenService tokenService;
+    private final UserSearchIndex userSearchIndex;
+    private final RoleRegistry roleRegistry;
+    private final Cache secondLevelCache;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Autowired
-    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder, TokenService tokenService,
+                           UserSearchIndex userSearchIndex, RoleRegistry roleRegistry,
+                           EntityManagerFactory entityManagerFactory) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.tokenService = tokenService;
+        this.userSearchIndex = userSearchIndex;
+        this.roleRegistry = roleRegistry;
+        this.secondLevelCache = entityManagerFactory.getCache();
     }
 
     @Override
@@ -43,22 +89,86 @@ public class UserServiceImpl implements UserService {
         return userRepository.findAll();
     }
 
+    @Override
+    public UserPageResponse findPage(Long afterId, int limit) {
+        // Fetch one extra row to know whether another page follows
+        List<User> users = userRepository.findByUserIdGreaterThanOrderByUserIdAsc(
+                afterId == null ? 0L : afterId, Limit.of(limit + 1));
+
+        boolean hasMore = users.size() > limit;
+        List<User> page = hasMore ? users.subList(0, limit) : users;
+        Long nextCursor = hasMore ? page.get(page.size() - 1).getUserId() : null;
+
+        return new UserPageResponse(page.stream().map(this::toResponseDto).toList(), nextCursor, hasMore);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<UserResponseDto> consumer) {
+        List<User> chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+        try (Stream<User> users = userRepository.streamAllByOrderByUserId()) {
+            users.forEach(user -> {
+                chunk.add(user);
+                if (chunk.size() == STREAM_CHUNK_SIZE) {
+                    emitChunk(chunk, consumer);
+                }
+            });
+        }
+        emitChunk(chunk, consumer);
+    }
+
+    private void emitChunk(List<User> chunk, Consumer<UserResponseDto> consumer) {
+        // The first roles access batch-loads the roles of the whole chunk in one query
+        chunk.forEach(user -> consumer.accept(toResponseDto(user)));
+        chunk.clear();
+        entityManager.clear(); // Keep the persistence context from growing with the cursor
+    }
+
+    @Override
+    public List<UserSearchResult> search(String query, int limit) {
+        return userSearchIndex.search(query, limit);
+    }
+
     @Override
     public User findById(Long id) {
+        // A cached user is assembled from the cache with its cached roles, without a query; queries
+        // bypass the cache, so only an uncached user is loaded with its roles in one query
+        if (secondLevelCache.contains(User.class, id)) {
+            return findWithoutRoles(id);
+        }
+        return userRepository.findWithRolesByUserId(id)
+                .orElseThrow(() -> new UserNotFoundException("User not found with ID: " + id));
+    }
+
+    @Override
+    public ResourceVersion findVersion(Long id) {
+        return userRepository.findUpdatedAtByUserId(id).map(this::toVersion).orElse(null);
+    }
+
+    @Override
+    public ResourceVersion versionOf(User user) {
+        return user.getUpdatedAt() == null ? null : toVersion(user.getUpdatedAt());
+    }
+
+    // Microseconds, the precision the column keeps, so a loaded and a stored time give the same tag
+    private ResourceVersion toVersion(LocalDateTime updatedAt) {
+        Instant modified = updatedAt.atZone(ZoneId.systemDefault()).toInstant();
+        long micros = ChronoUnit.MICROS.between(Instant.EPOCH, modified);
+        return new ResourceVersion("user-" + micros + "-" + roleRegistry.version(),
+                Math.max(modified.toEpochMilli(), roleRegistry.lastModified()));
+    }
+
+    /**
+     * Loads a user without its roles, for write paths that never touch them and for users in
+     * the second-level cache, whose roles come from the cache too.
+     */
+    private User findWithoutRoles(Long id) {
         return userRepository.findById(id)
                 .orElseThrow(() -> new UserNotFoundException("User not found with ID: " + id));
     }
 
     @Override
     public User create(UserRegistrationRequest request) {
-        // Validate if the user already exists
-        if (userRepository.existsByUsername(request.getUsername())) {
-            throw new IllegalArgumentException("Username already exists.");
-        }
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new IllegalArgumentException("Email already exists.");
-        }
-
         // Create an AppUser instance
         AppUser user = new AppUser();
         user.setUsername(request.getUsername());
@@ -71,31 +181,48 @@ public class UserServiceImpl implements UserService {
         user.setStatus(User.Status.ACTIVE); // Default status
         user.setRegistrationDate(LocalDateTime.now()); // Set registration date
 
-        return userRepository.save(user);
+        // Uniqueness is enforced by the database constraints in the same round trip as the insert,
+        // which also closes the check-then-insert race between concurrent sign-ups
+        AppUser savedUser;
+        try {
+            savedUser = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw toConflict(e);
+        }
+        userSearchIndex.index(savedUser);
+        return savedUser;
     }
 
     @Override
     public User update(Long id, UserUpdateRequest request) {
-        User user = findById(id);
+        User user = findWithoutRoles(id);
         user.setUsername(request.getUsername());
         user.setEmail(request.getEmail());
         user.setFirstName(request.getFirstName());
         user.setLastName(request.getLastName());
 
-        if (request.getPassword() != null && !request.getPassword().isEmpty()) {
+        boolean passwordChanged = request.getPassword() != null && !request.getPassword().isEmpty();
+        if (passwordChanged) {
             user.setPassword(passwordEncoder.encode(request.getPassword()));
         }
 
         user.setPhoneNumber(request.getPhoneNumber()); // Update optional fields
         user.setProfilePictureUrl(request.getProfilePictureUrl()); // Update optional fields
 
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        userSearchIndex.index(savedUser);
+        if (passwordChanged) {
+            tokenService.revokeAllForUser(id); // Tokens issued under the old password are no longer valid
+        }
+        return savedUser;
     }
 
     @Override
     public void delete(Long id) {
-        User user = findById(id);
+        User user = findWithoutRoles(id);
         userRepository.delete(user);
+        userSearchIndex.remove(id);
+        tokenService.revokeAllForUser(id);
     }
 
     @Override
@@ -107,4 +234,74 @@ public class UserServiceImpl implements UserService {
         response.setMessage("User registered successfully");
         return ResponseEntity.created(URI.create("/api/users/" + createdUser.getUserId())).body(response);
     }
+
+    @Override
+    public TokenResponse login(LoginRequest request) {
+        logger.info("Login attempt for username: {}", request.getUsername());
+        User user = userRepository.findByUsername(request.getUsername()).orElse(null);
+
+        // The only BCrypt verification in the session; later requests present the signed token.
+        // Unknown usernames are checked against a dummy hash so they cost as much as a wrong password.
+        boolean matches = passwordEncoder.matches(request.getPassword(),
+                user != null ? user.getPassword() : DUMMY_PASSWORD_HASH);
+        if (user == null || !matches) {
+            throw new InvalidCredentialsException("Invalid username or password");
+        }
+        if (user.getStatus() != User.Status.ACTIVE) {
+            throw new InvalidCredentialsException("User account is not active");
+        }
+
+        user.setLastLogin(LocalDateTime.now());
+        userRepository.save(user);
+        return tokenService.issueTokens(user);
+    }
+
+    @Override
+    public TokenResponse refreshToken(String refreshToken) {
+        TokenClaims claims = tokenService.verify(refreshToken, TokenClaims.REFRESH);
+        // Refresh tokens are single use; of two concurrent refreshes only the one revoking it wins
+        if (!tokenService.revoke(claims)) {
+            throw new InvalidTokenException("Token has been revoked");
+        }
+        User user = findById(claims.getUserId()); // Reload so role or status changes are picked up
+        if (user.getStatus() != User.Status.ACTIVE) {
+            throw new InvalidCredentialsException("User account is not active");
+        }
+        return tokenService.issueTokens(user);
+    }
+
+    @Override
+    public void logout(String accessToken, String refreshToken) {
+        tokenService.revoke(tokenService.verify(accessToken, TokenClaims.ACCESS));
+        if (refreshToken != null && !refreshToken.isEmpty()) {
+            tokenService.revoke(tokenService.verify(refreshToken, TokenClaims.REFRESH));
+        }
+    }
+
+    private UserResponseDto toResponseDto(User user) {
+        UserResponseDto dto = new UserResponseDto();
+        dto.setUserId(user.getUserId());
+        dto.setUsername(user.getUsername());
+        dto.setEmail(user.getEmail());
+        dto.setFirstName(user.getFirstName());
+        dto.setLastName(user.getLastName());
+        dto.setRoles(user.getRoles() == null
+                ? Collections.emptyList()
+                : user.getRoles().stream().map(Role::getName).toList());
+        dto.setCreatedAt(user.getCreatedAt());
+        dto.setLastLogin(user.getLastLogin());
+        return dto;
+    }
+
+    /**
+     * Maps a unique constraint violation to the conflict message for the offending field.
+     */
+    private IllegalArgumentException toConflict(DataIntegrityViolationException e) {
+        String message = UserConflicts.messageFor(e);
+        if (message == null) {
+            logger.error("Registration failed on an unexpected constraint", e);
+            throw e;
+        }
+        return new IllegalArgumentException(message);
+    }
 }
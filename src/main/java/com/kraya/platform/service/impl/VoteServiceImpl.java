@@ -0,0 +1,132 @@
+package com.kraya.platform.service.impl;
+
+import com.kraya.platform.dto.VoteRequest;
+import com.kraya.platform.dto.VoteTallyResponse;
+import com.kraya.platform.event.VoteTallyChangedEvent;
+import com.kraya.platform.exception.InvalidInputException;
+import com.kraya.platform.exception.ResourceNotFoundException;
+import com.kraya.platform.model.Vote;
+import com.kraya.platform.repository.CreditorRepository;
+import com.kraya.platform.repository.DebtRepository;
+import com.kraya.platform.repository.UserRepository;
+import com.kraya.platform.repository.VoteRepository;
+import com.kraya.platform.service.VoteService;
+import com.kraya.platform.service.VoteTallies;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * VoteServiceImpl writes votes and keeps {@link VoteTallies} in step with them.
+ * <p>
+ * The voting creditor is the authenticated caller. A vote is accepted only from a creditor
+ * that currently holds a debt of the debtor; this is checked on every vote, not just the first,
+ * so a creditor that has sold its debts cannot change its vote afterwards.
+ * <p>
+ * A vote is read and changed under a row lock, so the replaced value handed to the tallies
+ * is exactly the one the change overwrote. The tallies are updated after the commit; a
+ * rolled-back change never reaches them. Each applied change is announced with a
+ * {@link VoteTallyChangedEvent}, which drives forgiveness decisions.
+ */
+@Service
+public class VoteServiceImpl implements VoteService {
+
+    private static final Logger logger = LoggerFactory.getLogger(VoteServiceImpl.class);
+
+    private final VoteRepository voteRepository;
+    private final UserRepository userRepository;
+    private final CreditorRepository creditorRepository;
+    private final DebtRepository debtRepository;
+    private final VoteTallies voteTallies;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public VoteServiceImpl(VoteRepository voteRepository, UserRepository userRepository,
+                           CreditorRepository creditorRepository, DebtRepository debtRepository, VoteTallies voteTallies,
+                           PlatformTransactionManager transactionManager, ApplicationEventPublisher eventPublisher) {
+        this.voteRepository = voteRepository;
+        this.userRepository = userRepository;
+        this.creditorRepository = creditorRepository;
+        this.debtRepository = debtRepository;
+        this.voteTallies = voteTallies;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public VoteTallyResponse castVote(Long creditorId, VoteRequest request) {
+        Optional<Boolean> previous;
+        try {
+            previous = transactionTemplate.execute(status -> writeVote(creditorId, request));
+        } catch (DataIntegrityViolationException e) {
+            // The creditor's first vote on this debtor raced another one; it now exists and is locked on retry
+            logger.debug("Concurrent first vote of creditor {} on debtor {}, retrying", creditorId, request.getDebtorId());
+            previous = transactionTemplate.execute(status -> writeVote(creditorId, request));
+        }
+        recordChange(request.getDebtorId(), previous.orElse(null), request.getVote());
+        return voteTallies.get(request.getDebtorId());
+    }
+
+    @Override
+    public VoteTallyResponse withdrawVote(Long debtorId, Long creditorId) {
+        Boolean previous = transactionTemplate.execute(status -> {
+            Vote vote = voteRepository.findForUpdate(debtorId, creditorId)
+                    .orElseThrow(() -> new ResourceNotFoundException(
+                            "No vote of creditor " + creditorId + " on debtor " + debtorId));
+            voteRepository.delete(vote);
+            return vote.getVote();
+        });
+        recordChange(debtorId, previous, null);
+        return voteTallies.get(debtorId);
+    }
+
+    @Override
+    public VoteTallyResponse getTally(Long debtorId) {
+        return voteTallies.get(debtorId);
+    }
+
+    /**
+     * Inserts or updates the vote. Must run in a transaction.
+     *
+     * @return the vote it replaced, empty if this is the creditor's first vote on the debtor
+     */
+    private Optional<Boolean> writeVote(Long creditorId, VoteRequest request) {
+        Long debtorId = request.getDebtorId();
+        if (!creditorRepository.existsById(creditorId)) {
+            throw new ResourceNotFoundException("Creditor not found with ID: " + creditorId);
+        }
+        if (!debtRepository.existsByDebtorUserIdAndCreditorUserId(debtorId, creditorId)) {
+            throw new InvalidInputException("Creditor " + creditorId + " holds no debt of debtor " + debtorId);
+        }
+
+        Optional<Vote> existing = voteRepository.findForUpdate(debtorId, creditorId);
+        Vote vote = existing.orElseGet(() -> {
+            Vote created = new Vote();
+            created.setDebtor(userRepository.findAppUserById(debtorId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Debtor not found with ID: " + debtorId)));
+            created.setCreditor(creditorRepository.getReferenceById(creditorId));
+            return created;
+        });
+        Optional<Boolean> previous = existing.map(Vote::getVote);
+
+        vote.setVote(request.getVote());
+        vote.setComment(request.getComment());
+        vote.setVoteDate(LocalDateTime.now());
+        voteRepository.saveAndFlush(vote); // A racing first vote fails here, inside this transaction
+        return previous;
+    }
+
+    private void recordChange(Long debtorId, Boolean previous, Boolean current) {
+        voteTallies.record(debtorId, previous, current);
+        eventPublisher.publishEvent(new VoteTallyChangedEvent(debtorId, System.nanoTime()));
+    }
+}
@@ -0,0 +1,11 @@
+-- V2.10__document_verification.sql
+
+-- The verification queue lives in the document table: PENDING rows are queued, IN_PROGRESS rows
+-- are claimed, and claimed_at lets a stale claim from a crashed worker be taken over.
+ALTER TABLE document ADD COLUMN verification_attempts INT NOT NULL DEFAULT 0;
+ALTER TABLE document ADD COLUMN claimed_at TIMESTAMP WITHOUT TIME ZONE;
+ALTER TABLE document ADD COLUMN verified_at TIMESTAMP WITHOUT TIME ZONE;
+ALTER TABLE document ADD COLUMN verification_message VARCHAR(1000);
+
+-- Workers claim the oldest PENDING documents with SELECT ... FOR UPDATE SKIP LOCKED.
+CREATE INDEX idx_document_verification ON document (verification_status, document_id);
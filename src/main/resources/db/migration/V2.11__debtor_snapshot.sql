@@ -0,0 +1,5 @@
+-- V2.11__debtor_snapshot.sql
+
+-- Stamped on every change so the in-memory debtor snapshot only re-reads debtors whose debts changed.
+ALTER TABLE debt ADD COLUMN updated_at TIMESTAMP WITHOUT TIME ZONE;
+CREATE INDEX idx_debt_updated_at ON debt (updated_at);
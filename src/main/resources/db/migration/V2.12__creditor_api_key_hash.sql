@@ -0,0 +1,7 @@
+-- V2.12__creditor_api_key_hash.sql
+
+-- API keys are stored as HMAC-SHA256 digests only. Existing plaintext keys in api_key are hashed
+-- into api_key_hash and cleared by the application at startup, since the HMAC key is not in the database.
+ALTER TABLE creditor ADD COLUMN api_key_hash VARCHAR(64);
+ALTER TABLE creditor ADD COLUMN api_key_issued_at TIMESTAMP WITHOUT TIME ZONE;
+CREATE UNIQUE INDEX idx_creditor_api_key_hash ON creditor (api_key_hash);
@@ -0,0 +1,13 @@
+-- V2.13__users_unique_constraint_names.sql
+
+-- Registration maps a unique violation back to the offending field by constraint name (see
+-- User.UK_* and UserConflicts), so the constraints get the names the entity declares instead
+-- of the ones PostgreSQL generated for the inline UNIQUE columns of V1.1.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS phone_number VARCHAR(20);
+
+ALTER TABLE users DROP CONSTRAINT IF EXISTS users_username_key;
+ALTER TABLE users DROP CONSTRAINT IF EXISTS users_email_key;
+
+ALTER TABLE users ADD CONSTRAINT uk_users_username UNIQUE (username);
+ALTER TABLE users ADD CONSTRAINT uk_users_email UNIQUE (email);
+ALTER TABLE users ADD CONSTRAINT uk_users_phone_number UNIQUE (phone_number);
@@ -0,0 +1,6 @@
+-- V2.14__payment_unapplied_amount.sql
+
+-- The part of a payment that was left over once every installment of the debt's schedule was
+-- paid, for example because accrued interest was paid ahead. It stays in the debt's balance and
+-- is reported as the plan's credit. NULL when the whole payment was applied or the debt has no schedule.
+ALTER TABLE payment ADD COLUMN unapplied_amount DECIMAL(10, 2);
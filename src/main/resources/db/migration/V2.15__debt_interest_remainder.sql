@@ -0,0 +1,7 @@
+-- V2.15__debt_interest_remainder.sql
+
+-- Interest accrued on the debt but not yet added to current_amount because it is less than half a
+-- cent, or what rounding the last addition to the cent took in advance (then negative). Each
+-- accrual adds its unrounded interest to it and moves only the whole cents into the balance, so
+-- rounding never compounds across daily runs.
+ALTER TABLE debt ADD COLUMN interest_remainder DECIMAL(19, 10) NOT NULL DEFAULT 0;
@@ -0,0 +1,14 @@
+-- V2.2__pooled_id_sequences.sql
+
+-- Entity IDs are now generated from the sequences created in V2.1 instead of IDENTITY columns,
+-- which lets Hibernate batch inserts. Hibernate's pooled optimizer reserves 50 IDs per call
+-- (allocationSize = 50 on the entities), so every sequence must advance by 50.
+
+ALTER SEQUENCE user_id_seq INCREMENT BY 50;
+ALTER SEQUENCE debt_id_seq INCREMENT BY 50;
+ALTER SEQUENCE payment_id_seq INCREMENT BY 50;
+ALTER SEQUENCE vote_id_seq INCREMENT BY 50;
+ALTER SEQUENCE recommendation_id_seq INCREMENT BY 50;
+ALTER SEQUENCE debt_transfer_id_seq INCREMENT BY 50;
+ALTER SEQUENCE payment_plan_id_seq INCREMENT BY 50;
+ALTER SEQUENCE document_id_seq INCREMENT BY 50;
@@ -0,0 +1,8 @@
+-- V2.3__debt_version_and_payment_index.sql
+
+-- Optimistic locking for payment posting: every update of a debt's current amount or status
+-- bumps the version, so concurrent postings from different nodes cannot overwrite each other.
+ALTER TABLE debt ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+-- Payments are looked up per debt when reconciling balances.
+CREATE INDEX idx_payment_debt_id ON payment (debt_id);
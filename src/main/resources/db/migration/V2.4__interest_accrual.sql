@@ -0,0 +1,31 @@
+-- V2.4__interest_accrual.sql
+
+-- Date up to which interest has been accrued on the debt; accrual skips debts already at the run's date.
+ALTER TABLE debt ADD COLUMN last_accrual_date DATE;
+
+-- One row per accrual date, so a date can only be accrued once.
+CREATE TABLE interest_accrual_run (
+    accrual_date DATE PRIMARY KEY,
+    status VARCHAR(20) NOT NULL,  -- RUNNING or COMPLETED
+    total_chunks INT NOT NULL,
+    started_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    completed_at TIMESTAMP WITHOUT TIME ZONE
+);
+
+-- Keyset ranges of debt IDs planned for a run; DONE chunks are the restart checkpoint.
+CREATE SEQUENCE interest_accrual_chunk_id_seq INCREMENT BY 50;
+
+CREATE TABLE interest_accrual_chunk (
+    chunk_id BIGINT PRIMARY KEY DEFAULT nextval('interest_accrual_chunk_id_seq'),
+    accrual_date DATE NOT NULL REFERENCES interest_accrual_run(accrual_date),
+    range_start BIGINT NOT NULL,  -- Inclusive
+    range_end BIGINT NOT NULL,    -- Exclusive
+    status VARCHAR(20) NOT NULL,  -- PENDING, CLAIMED or DONE
+    claimed_at TIMESTAMP WITHOUT TIME ZONE,
+    completed_at TIMESTAMP WITHOUT TIME ZONE,
+    debts_accrued INT NOT NULL DEFAULT 0,
+    interest_total DECIMAL(14, 2) NOT NULL DEFAULT 0,
+    CONSTRAINT uk_interest_accrual_chunk_range UNIQUE (accrual_date, range_start)
+);
+
+CREATE INDEX idx_interest_accrual_chunk_status ON interest_accrual_chunk (accrual_date, status);
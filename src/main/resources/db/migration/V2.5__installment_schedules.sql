@@ -0,0 +1,28 @@
+-- V2.5__installment_schedules.sql
+
+-- Dated installments materialized from payment plans. payment_plan is not created by these
+-- migrations, so plan_id is indexed but carries no foreign key.
+CREATE SEQUENCE installment_id_seq INCREMENT BY 50;
+
+CREATE TABLE installment (
+    installment_id BIGINT PRIMARY KEY DEFAULT nextval('installment_id_seq'),
+    plan_id BIGINT NOT NULL,
+    debt_id BIGINT NOT NULL REFERENCES debt(debt_id),
+    sequence_number INT NOT NULL,
+    due_date DATE NOT NULL,
+    amount_due DECIMAL(10, 2) NOT NULL,
+    amount_paid DECIMAL(10, 2) NOT NULL DEFAULT 0,
+    status VARCHAR(20) NOT NULL,  -- DUE, PARTIALLY_PAID or PAID
+    paid_date DATE,
+    CONSTRAINT uk_installment_plan_sequence UNIQUE (plan_id, sequence_number)
+);
+
+-- "What is due between two dates" is a range scan over open installments only.
+CREATE INDEX idx_installment_open_due ON installment (due_date, installment_id) WHERE status <> 'PAID';
+
+-- Reconciliation walks a debt's open installments in due order.
+CREATE INDEX idx_installment_debt ON installment (debt_id, due_date, sequence_number) WHERE status <> 'PAID';
+
+-- Payments not yet applied to installments; the partial index keeps the reconciliation scan small.
+ALTER TABLE payment ADD COLUMN reconciled_at TIMESTAMP WITHOUT TIME ZONE;
+CREATE INDEX idx_payment_unreconciled ON payment (debt_id) WHERE reconciled_at IS NULL;
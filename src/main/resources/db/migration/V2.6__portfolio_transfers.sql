@@ -0,0 +1,38 @@
+-- V2.6__portfolio_transfers.sql
+
+-- debt_transfer was mapped but never created by these migrations (only its sequence was, in V2.1).
+CREATE TABLE IF NOT EXISTS debt_transfer (
+    transfer_id BIGINT PRIMARY KEY DEFAULT nextval('debt_transfer_id_seq'),
+    debt_id BIGINT NOT NULL REFERENCES debt(debt_id),
+    from_creditor_id INT NOT NULL REFERENCES app_user(user_id),
+    to_creditor_id INT NOT NULL REFERENCES app_user(user_id),
+    transfer_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    amount DECIMAL(10, 2) NOT NULL,
+    status VARCHAR(20) NOT NULL
+);
+
+-- One row per bulk transfer; last_debt_id is the checkpoint a resumed transfer continues from.
+CREATE SEQUENCE portfolio_transfer_id_seq INCREMENT BY 50;
+
+CREATE TABLE portfolio_transfer (
+    portfolio_transfer_id BIGINT PRIMARY KEY DEFAULT nextval('portfolio_transfer_id_seq'),
+    from_creditor_id BIGINT NOT NULL,
+    to_creditor_id BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL,  -- RUNNING, COMPLETED, ROLLING_BACK or ROLLED_BACK
+    total_debts BIGINT NOT NULL,
+    transferred_debts BIGINT NOT NULL DEFAULT 0,
+    amount_transferred DECIMAL(14, 2) NOT NULL DEFAULT 0,
+    chunks_committed INT NOT NULL DEFAULT 0,
+    last_debt_id BIGINT,
+    message VARCHAR(1000),
+    started_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    completed_at TIMESTAMP WITHOUT TIME ZONE
+);
+
+ALTER TABLE debt_transfer ADD COLUMN IF NOT EXISTS portfolio_transfer_id BIGINT REFERENCES portfolio_transfer(portfolio_transfer_id);
+
+-- Rolling back a failed transfer walks its debt_transfer rows.
+CREATE INDEX idx_debt_transfer_portfolio ON debt_transfer (portfolio_transfer_id, status);
+
+-- Each chunk is the next keyset page of the seller's debts.
+CREATE INDEX IF NOT EXISTS idx_debt_creditor ON debt (creditor_id, debt_id);
@@ -0,0 +1,18 @@
+-- V2.7__vote_tallies.sql
+
+-- A creditor has one vote per debtor: keep the latest of any duplicates, then enforce it.
+DELETE FROM vote v
+USING vote newer
+WHERE newer.debtor_id = v.debtor_id
+  AND newer.creditor_id = v.creditor_id
+  AND (newer.vote_date > v.vote_date OR (newer.vote_date = v.vote_date AND newer.vote_id > v.vote_id));
+
+ALTER TABLE vote ADD CONSTRAINT uk_vote_debtor_creditor UNIQUE (debtor_id, creditor_id);
+
+-- Per-debtor yes/no counts, so tallies are read without scanning vote. Rebuilt from vote on startup.
+CREATE TABLE vote_tally (
+    debtor_id BIGINT PRIMARY KEY,
+    yes_votes BIGINT NOT NULL,
+    no_votes BIGINT NOT NULL,
+    updated_at TIMESTAMP WITHOUT TIME ZONE NOT NULL
+);
@@ -0,0 +1,14 @@
+-- V2.8__forgiveness_decisions.sql
+
+-- One row per forgiven debtor; the primary key makes the decision happen once even across nodes.
+CREATE TABLE forgiveness_decision (
+    debtor_id BIGINT PRIMARY KEY REFERENCES app_user(user_id),
+    yes_votes BIGINT NOT NULL,
+    no_votes BIGINT NOT NULL,
+    debts_forgiven INT NOT NULL,
+    amount_forgiven DECIMAL(14, 2) NOT NULL,
+    decided_at TIMESTAMP WITHOUT TIME ZONE NOT NULL
+);
+
+-- Forgiveness looks up a debtor's open debts.
+CREATE INDEX IF NOT EXISTS idx_debt_debtor ON debt (debtor_id, status);
@@ -0,0 +1,28 @@
+-- V2.9__document_storage.sql
+
+-- document was mapped but never created by these migrations (only its sequence was, in V2.1).
+CREATE TABLE IF NOT EXISTS document (
+    document_id BIGINT PRIMARY KEY DEFAULT nextval('document_id_seq'),
+    debtor_id BIGINT NOT NULL REFERENCES app_user(user_id),
+    document_type VARCHAR(255) NOT NULL,
+    document_path VARCHAR(255) NOT NULL,
+    upload_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    verification_status VARCHAR(255) NOT NULL
+);
+
+-- Files are content addressed: document_path points at the file named after content_hash,
+-- which every document with the same content shares.
+ALTER TABLE document ADD COLUMN content_hash VARCHAR(64);
+ALTER TABLE document ADD COLUMN content_length BIGINT;
+ALTER TABLE document ADD COLUMN content_type VARCHAR(255);
+ALTER TABLE document ADD COLUMN file_name VARCHAR(255);
+
+-- Rows uploaded before this migration keep their own file at document_path. Their hash is a
+-- per-document placeholder that shares no file with anything else, and a length of -1 means
+-- unknown: downloads take it from the file and verification skips the length and hash checks.
+UPDATE document SET content_hash = 'legacy-' || document_id, content_length = -1 WHERE content_hash IS NULL;
+
+ALTER TABLE document ALTER COLUMN content_hash SET NOT NULL;
+ALTER TABLE document ALTER COLUMN content_length SET NOT NULL;
+
+CREATE INDEX idx_document_content_hash ON document (content_hash);
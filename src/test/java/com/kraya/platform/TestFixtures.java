@@ -0,0 +1,107 @@
+package com.kraya.platform;
+
+import com.kraya.platform.model.AppUser;
+import com.kraya.platform.model.Debt;
+import com.kraya.platform.security.TokenClaims;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Unsaved users and debts with every mandatory column filled in, for tests that only care
+ * about a few of their fields, and the authentications callers arrive with.
+ */
+public final class TestFixtures {
+
+    private TestFixtures() {
+    }
+
+    /**
+     * @param username the username, also used for the email address
+     * @return a new, unsaved user
+     */
+    public static AppUser newUser(String username) {
+        return newUser(new AppUser(), username);
+    }
+
+    /**
+     * Fills in the mandatory fields of a user of any subtype.
+     *
+     * @param user     the user to fill in, e.g. {@code new Creditor()}
+     * @param username the username, also used for the email address
+     * @return the user
+     */
+    public static <T extends AppUser> T newUser(T user, String username) {
+        user.setUsername(username);
+        user.setPassword("encodedPassword");
+        user.setEmail(username + "@example.com");
+        user.setFirstName("First");
+        user.setLastName("Last");
+        user.setRegistrationDate(LocalDateTime.now());
+        return user;
+    }
+
+    /**
+     * @param prefix  the usernames' prefix, followed by 0 to {@code count - 1}
+     * @param count   the number of users
+     * @param factory creates the empty users
+     * @return new, unsaved users
+     */
+    public static <T extends AppUser> List<T> newUsers(String prefix, int count, Supplier<T> factory) {
+        List<T> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(newUser(factory.get(), prefix + i));
+        }
+        return users;
+    }
+
+    /**
+     * @return a new, unsaved ACTIVE debt of 100.00
+     */
+    public static Debt newDebt(AppUser debtor, AppUser creditor) {
+        return newDebt(debtor, creditor, "100.00", Debt.Status.ACTIVE);
+    }
+
+    /**
+     * @return a new, unsaved debt of 100.00
+     */
+    public static Debt newDebt(AppUser debtor, AppUser creditor, Debt.Status status) {
+        return newDebt(debtor, creditor, "100.00", status);
+    }
+
+    /**
+     * @param amount the original and current amount
+     * @return a new, unsaved debt
+     */
+    public static Debt newDebt(AppUser debtor, AppUser creditor, String amount, Debt.Status status) {
+        Debt debt = new Debt();
+        debt.setDebtor(debtor);
+        debt.setCreditor(creditor);
+        debt.setOriginalAmount(new BigDecimal(amount));
+        debt.setCurrentAmount(new BigDecimal(amount));
+        debt.setStatus(status);
+        debt.setCreationDate(LocalDateTime.now());
+        return debt;
+    }
+
+    /**
+     * @param userId   the caller's user ID
+     * @param username the caller's username
+     * @param role     the caller's role, e.g. CREDITOR
+     * @return the authentication of a bearer token or API key caller
+     */
+    public static Authentication bearer(Long userId, String username, String role) {
+        TokenClaims claims = new TokenClaims();
+        claims.setSubject(username);
+        claims.setUserId(userId);
+        claims.setRoles(List.of(role));
+        return new UsernamePasswordAuthenticationToken(username, claims,
+                List.of(new SimpleGrantedAuthority("ROLE_" + role)));
+    }
+}
@@ -0,0 +1,88 @@
+package com.kraya.platform.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kraya.platform.model.Creditor;
+import com.kraya.platform.model.Role;
+import com.kraya.platform.model.User;
+import com.kraya.platform.repository.CreditorRepository;
+import com.kraya.platform.repository.RoleRepository;
+import com.kraya.platform.security.TokenClaims;
+import com.kraya.platform.service.RoleRegistry;
+import com.kraya.platform.service.impl.ApiKeyServiceImpl;
+import com.kraya.platform.service.impl.TokenServiceImpl;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-request authentication cost of HTTP Basic (one BCrypt verify per
+ * request) with bearer tokens (one HMAC-SHA256 verify per request) and creditor API keys
+ * (one HMAC-SHA256 and a cache lookup per request).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthenticationBenchmark {
+
+    private static final String PASSWORD = "password123";
+
+    private BCryptPasswordEncoder passwordEncoder;
+    private String passwordHash;
+
+    private TokenServiceImpl tokenService;
+    private String accessToken;
+
+    private ApiKeyServiceImpl apiKeyService;
+    private String apiKey;
+
+    @Setup
+    public void setUp() {
+        passwordEncoder = new BCryptPasswordEncoder(); // Same strength as SecurityConfig
+        passwordHash = passwordEncoder.encode(PASSWORD);
+
+        tokenService = new TokenServiceImpl(new ObjectMapper(), "benchmark-secret",
+                Duration.ofMinutes(15), Duration.ofDays(7), Clock.systemUTC());
+        User user = new User();
+        user.setUserId(1L);
+        user.setUsername("benchmark");
+        user.setRoles(List.of(new Role("USER")));
+        accessToken = tokenService.issueTokens(user).getAccessToken();
+
+        // The repository only answers the first lookup; every measured call is a cache hit
+        Creditor creditor = new Creditor();
+        creditor.setUserId(2L);
+        creditor.setUsername("integration");
+        CreditorRepository creditorRepository = Mockito.mock(CreditorRepository.class);
+        Mockito.when(creditorRepository.findById(2L)).thenReturn(Optional.of(creditor));
+        Mockito.when(creditorRepository.findByApiKeyHash(Mockito.anyString())).thenReturn(Optional.of(creditor));
+        RoleRegistry roleRegistry = new RoleRegistry(Mockito.mock(RoleRepository.class));
+        apiKeyService = new ApiKeyServiceImpl(creditorRepository, roleRegistry, "benchmark-secret", 10_000,
+                Duration.ofMinutes(5), Duration.ofSeconds(30));
+        apiKey = apiKeyService.issue(2L).getApiKey();
+        apiKeyService.authenticate(apiKey);
+    }
+
+    @Benchmark
+    public boolean httpBasicBcryptVerify() {
+        return passwordEncoder.matches(PASSWORD, passwordHash);
+    }
+
+    @Benchmark
+    public TokenClaims bearerTokenVerify() {
+        return tokenService.verify(accessToken, TokenClaims.ACCESS);
+    }
+
+    @Benchmark
+    public TokenClaims apiKeyVerify() {
+        return apiKeyService.authenticate(apiKey);
+    }
+}
@@ -0,0 +1,125 @@
+package com.kraya.platform.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares a JMH JSON result file with a stored baseline and exits with status 1 if any
+ * benchmark regressed, so {@code mvn -P benchmark verify} fails.
+ * <p>
+ * A benchmark regressed when its score is worse than the baseline by more than the
+ * threshold, and by more than both scores' error margins, so noise alone does not fail
+ * the build. Lower is better for time modes, higher for throughput. Benchmarks missing
+ * from either side are listed but never fail the comparison.
+ * <p>
+ * Usage: {@code BenchmarkComparison <result.json> <baseline.json> <threshold> [save]};
+ * with {@code save} the result replaces the baseline instead of being compared.
+ */
+public class BenchmarkComparison {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.err.println("Usage: BenchmarkComparison <result.json> <baseline.json> <threshold> [save]");
+            System.exit(2);
+        }
+        Path result = Path.of(args[0]);
+        Path baseline = Path.of(args[1]);
+        double threshold = Double.parseDouble(args[2]);
+
+        if (args.length > 3 && Boolean.parseBoolean(args[3])) {
+            Files.createDirectories(baseline.toAbsolutePath().getParent());
+            Files.copy(result, baseline, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Saved " + result + " as the baseline " + baseline);
+            return;
+        }
+        if (!Files.exists(baseline)) {
+            System.out.println("No baseline at " + baseline + "; run with -Djmh.save-baseline=true to store one");
+            return;
+        }
+
+        List<Comparison> comparisons = compare(read(baseline), read(result), threshold);
+        comparisons.forEach(comparison -> System.out.println(comparison.describe()));
+        long regressions = comparisons.stream().filter(Comparison::regressed).count();
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed by more than %.0f%% against %s%n",
+                    regressions, threshold * 100, baseline);
+            System.exit(1);
+        }
+    }
+
+    static List<Comparison> compare(Map<String, Score> baseline, Map<String, Score> current, double threshold) {
+        Map<String, Comparison> comparisons = new TreeMap<>();
+        baseline.forEach((name, before) ->
+                comparisons.put(name, new Comparison(name, before, current.get(name), threshold)));
+        current.forEach((name, after) ->
+                comparisons.putIfAbsent(name, new Comparison(name, null, after, threshold)));
+        return new ArrayList<>(comparisons.values());
+    }
+
+    /**
+     * Reads the primary score of every benchmark in a JMH JSON result file, keyed by the
+     * benchmark name and its parameters.
+     */
+    static Map<String, Score> read(Path file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode run : objectMapper.readTree(file.toFile())) {
+            StringBuilder name = new StringBuilder(run.path("benchmark").asText());
+            run.path("params").fields().forEachRemaining(param ->
+                    name.append(' ').append(param.getKey()).append('=').append(param.getValue().asText()));
+            JsonNode metric = run.path("primaryMetric");
+            double error = metric.path("scoreError").asDouble(0);
+            scores.put(name.toString(), new Score(run.path("mode").asText(), metric.path("score").asDouble(),
+                    Double.isNaN(error) ? 0 : error, metric.path("scoreUnit").asText()));
+        }
+        return scores;
+    }
+
+    record Score(String mode, double score, double error, String unit) {
+
+        boolean higherIsBetter() {
+            return "thrpt".equals(mode);
+        }
+    }
+
+    record Comparison(String name, Score before, Score after, double threshold) {
+
+        /**
+         * @return the relative change, positive when worse
+         */
+        double change() {
+            double change = (after.score() - before.score()) / before.score();
+            return before.higherIsBetter() ? -change : change;
+        }
+
+        boolean regressed() {
+            if (before == null || after == null || !before.unit().equals(after.unit())) {
+                return false;
+            }
+            double margin = before.error() + after.error();
+            return change() > threshold && Math.abs(after.score() - before.score()) > margin;
+        }
+
+        String describe() {
+            if (before == null) {
+                return String.format("NEW         %s: %.3f %s", name, after.score(), after.unit());
+            }
+            if (after == null) {
+                return String.format("MISSING     %s: was %.3f %s", name, before.score(), before.unit());
+            }
+            return String.format("%-11s %s: %.3f -> %.3f %s (%+.1f%%)", regressed() ? "REGRESSION" : "OK", name,
+                    before.score(), after.score(), after.unit(), change() * 100);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.kraya.platform.benchmark;
+
+import com.kraya.platform.benchmark.BenchmarkComparison.Comparison;
+import com.kraya.platform.benchmark.BenchmarkComparison.Score;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BenchmarkComparisonTest {
+
+    @Test
+    void readsScoresKeyedByNameAndParams(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("result.json");
+        Files.writeString(file, """
+                [{"benchmark": "a.B.run", "mode": "avgt", "params": {"size": "10"},
+                  "primaryMetric": {"score": 12.5, "scoreError": 0.5, "scoreUnit": "us/op"}},
+                 {"benchmark": "a.B.other", "mode": "thrpt",
+                  "primaryMetric": {"score": 100.0, "scoreError": "NaN", "scoreUnit": "ops/s"}}]
+                """);
+
+        Map<String, Score> scores = BenchmarkComparison.read(file);
+
+        assertEquals(new Score("avgt", 12.5, 0.5, "us/op"), scores.get("a.B.run size=10"));
+        assertEquals(0, scores.get("a.B.other").error());
+    }
+
+    @Test
+    void flagsOnlyRegressionsBeyondThresholdAndError() {
+        Map<String, Score> baseline = Map.of(
+                "slower", new Score("avgt", 100, 1, "us/op"),
+                "noisy", new Score("avgt", 100, 30, "us/op"),
+                "faster", new Score("avgt", 100, 1, "us/op"),
+                "fewerOps", new Score("thrpt", 100, 1, "ops/s"),
+                "removed", new Score("avgt", 100, 1, "us/op"));
+        Map<String, Score> current = Map.of(
+                "slower", new Score("avgt", 120, 1, "us/op"),
+                "noisy", new Score("avgt", 120, 30, "us/op"),
+                "faster", new Score("avgt", 50, 1, "us/op"),
+                "fewerOps", new Score("thrpt", 80, 1, "ops/s"),
+                "added", new Score("avgt", 1, 0, "us/op"));
+
+        List<String> regressed = BenchmarkComparison.compare(baseline, current, 0.10).stream()
+                .filter(Comparison::regressed)
+                .map(Comparison::name)
+                .toList();
+
+        assertEquals(List.of("fewerOps", "slower"), regressed);
+    }
+}
@@ -0,0 +1,75 @@
+package com.kraya.platform.benchmark;
+
+import com.kraya.platform.dto.EligibilityRequest;
+import com.kraya.platform.dto.EligibilityResponse;
+import com.kraya.platform.dto.EligibilityRule;
+import com.kraya.platform.service.DebtorColumns;
+import com.kraya.platform.service.EligibilityScorer;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures ranking a snapshot of two million synthetic debtors with a typical five-rule screen.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class EligibilityScoringBenchmark {
+
+    private static final int DEBTORS = 2_000_000;
+
+    private EligibilityScorer scorer;
+    private DebtorColumns columns;
+    private EligibilityRequest request;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(7);
+        String[] incomes = {"LOW", "MEDIUM", "HIGH"};
+        String[] employment = {"EMPLOYED", "UNEMPLOYED", "SELF_EMPLOYED", "RETIRED"};
+        String[] housing = {"RENTING", "OWNER", "HOMELESS", "WITH_FAMILY"};
+        List<DebtorColumns.DebtorRow> debtors = new ArrayList<>(DEBTORS);
+        Map<Long, DebtorColumns.DebtTotals> totals = new HashMap<>();
+        for (long id = 1; id <= DEBTORS; id++) {
+            debtors.add(new DebtorColumns.DebtorRow(id, random.nextInt(20) > 0, incomes[random.nextInt(3)],
+                    employment[random.nextInt(4)], null, housing[random.nextInt(4)], random.nextInt(7),
+                    LocalDate.ofEpochDay(-10_000 + random.nextInt(20_000)), random.nextBoolean()));
+            totals.put(id, new DebtorColumns.DebtTotals(BigDecimal.valueOf(random.nextInt(10_000_000), 2),
+                    1 + random.nextInt(5)));
+        }
+        columns = DebtorColumns.empty().withChanges(debtors, totals, LocalDateTime.now());
+        scorer = new EligibilityScorer(0);
+
+        request = new EligibilityRequest();
+        request.setRules(List.of(
+                new EligibilityRule(EligibilityRule.Attribute.INCOME_LEVEL, List.of("LOW"), null, null, 2.0, false),
+                new EligibilityRule(EligibilityRule.Attribute.EMPLOYMENT_STATUS, List.of("UNEMPLOYED", "RETIRED"), null, null, 1.5, false),
+                new EligibilityRule(EligibilityRule.Attribute.DEPENDENTS, null, BigDecimal.valueOf(2), null, 1.0, false),
+                new EligibilityRule(EligibilityRule.Attribute.AGE, null, BigDecimal.valueOf(18), null, 0, true),
+                new EligibilityRule(EligibilityRule.Attribute.OUTSTANDING_AMOUNT, null, BigDecimal.valueOf(5000), null, 1.0, false)));
+        request.setMinScore(2.0);
+        request.setLimit(1000);
+    }
+
+    @TearDown
+    public void tearDown() {
+        scorer.shutdown();
+    }
+
+    @Benchmark
+    public EligibilityResponse rankTwoMillionDebtors() {
+        return scorer.rank(columns, request, LocalDate.now());
+    }
+}
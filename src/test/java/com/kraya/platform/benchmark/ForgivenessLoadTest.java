@@ -0,0 +1,172 @@
+package com.kraya.platform.benchmark;
+
+import com.kraya.platform.dto.VoteRequest;
+import com.kraya.platform.event.DebtorForgivenEvent;
+import com.kraya.platform.event.VoteTallyChangedEvent;
+import com.kraya.platform.model.AppUser;
+import com.kraya.platform.model.Creditor;
+import com.kraya.platform.model.Debt;
+import com.kraya.platform.repository.CreditorRepository;
+import com.kraya.platform.repository.DebtRepository;
+import com.kraya.platform.repository.ForgivenessDecisionRepository;
+import com.kraya.platform.repository.UserRepository;
+import com.kraya.platform.repository.VoteRepository;
+import com.kraya.platform.repository.VoteTallyRepository;
+import com.kraya.platform.service.ForgivenessEvaluator;
+import com.kraya.platform.service.VoteTallies;
+import com.kraya.platform.service.impl.VoteServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.kraya.platform.TestFixtures.newDebt;
+import static com.kraya.platform.TestFixtures.newUsers;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Applies a million votes (every creditor votes once on every debtor) through the vote
+ * service and reports vote throughput and vote-to-decision latency of forgiveness.
+ * <p>
+ * Opt-in, as it runs for several minutes:
+ * {@code mvn test -Dtest=ForgivenessLoadTest -Dkraya.loadtest=true [-Dkraya.loadtest.votes=1000000]}
+ */
+@DataJpaTest(properties = {"spring.flyway.enabled=false", "spring.jpa.show-sql=false"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "kraya.loadtest", matches = "true")
+public class ForgivenessLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ForgivenessLoadTest.class);
+
+    private static final int THREADS = 8;
+    private static final double APPROVAL_RATIO = 0.66;
+
+    @Autowired
+    private DebtRepository debtRepository;
+
+    @Autowired
+    private ForgivenessDecisionRepository decisionRepository;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    private VoteTallyRepository voteTallyRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CreditorRepository creditorRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ForgivenessEvaluator evaluator;
+
+    @AfterEach
+    void tearDown() {
+        if (evaluator != null) {
+            evaluator.shutdown();
+        }
+        decisionRepository.deleteAllInBatch();
+        voteTallyRepository.deleteAllInBatch();
+        voteRepository.deleteAllInBatch();
+        debtRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void applyVotesAndMeasureVoteToDecision() throws Exception {
+        int votes = Integer.getInteger("kraya.loadtest.votes", 1_000_000);
+        int side = (int) Math.ceil(Math.sqrt(votes));
+        List<AppUser> debtors = userRepository.saveAll(newUsers("debtor", side, AppUser::new));
+        List<Creditor> creditors = creditorRepository.saveAll(newUsers("creditor", side, Creditor::new));
+        debtRepository.saveAll(debtors.stream().map(debtor -> newDebt(debtor, creditors.get(0), Debt.Status.ACTIVE)).toList());
+        // Only creditors of a debtor may vote on it; settled debts qualify them without adding to what is forgiven
+        for (Creditor creditor : creditors) {
+            debtRepository.saveAll(debtors.stream().map(debtor -> newDebt(debtor, creditor, Debt.Status.PAID)).toList());
+        }
+
+        VoteTallies voteTallies = new VoteTallies(voteRepository, voteTallyRepository, jdbcTemplate, transactionManager);
+        voteTallies.rebuild();
+        ConcurrentLinkedQueue<DebtorForgivenEvent> decisions = new ConcurrentLinkedQueue<>();
+        evaluator = new ForgivenessEvaluator(voteTallies, debtRepository, voteRepository, decisionRepository,
+                transactionManager, event -> decisions.add((DebtorForgivenEvent) event), side / 10, APPROVAL_RATIO, 2);
+        VoteServiceImpl voteService = new VoteServiceImpl(voteRepository, userRepository, creditorRepository,
+                debtRepository, voteTallies, transactionManager,
+                event -> evaluator.onVoteTallyChanged((VoteTallyChangedEvent) event));
+
+        // Debtor i gets yes votes with probability i / side, so roughly a third of them qualify
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        AtomicLong applied = new AtomicLong();
+        List<Future<?>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int c = thread; c < side; c += THREADS) {
+                    for (int d = 0; d < side && applied.get() < votes; d++) {
+                        boolean forgive = random.nextDouble() < (double) d / side;
+                        voteService.castVote(creditors.get(c).getUserId(),
+                                new VoteRequest(debtors.get(d).getUserId(), forgive));
+                        long done = applied.incrementAndGet();
+                        if (done % 100_000 == 0) {
+                            logger.info("{} votes applied, {} debtors forgiven", done, decisions.size());
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        long voteNanos = System.nanoTime() - start;
+        assertTrue(evaluator.awaitIdle(60_000));
+
+        long[] latencies = decisions.stream().mapToLong(DebtorForgivenEvent::getVoteToDecisionNanos).sorted().toArray();
+        logger.info("Applied {} votes in {} s ({} votes/s); {} debtors forgiven; vote-to-decision p50 {} ms, "
+                        + "p99 {} ms, max {} ms", applied.get(), TimeUnit.NANOSECONDS.toSeconds(voteNanos),
+                Math.round(applied.get() / (voteNanos / 1e9)), latencies.length, millis(latencies, 0.50),
+                millis(latencies, 0.99), millis(latencies, 1.0));
+
+        long qualifying = debtors.stream()
+                .filter(debtor -> evaluator.meetsRules(voteTallies.get(debtor.getUserId())))
+                .count();
+        assertTrue(latencies.length >= qualifying, "Every debtor meeting the rules is forgiven");
+        assertEquals(latencies.length, decisionRepository.count());
+        assertEquals(latencies.length, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM debt WHERE status = 'FORGIVEN'", Long.class));
+    }
+
+    private static double millis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
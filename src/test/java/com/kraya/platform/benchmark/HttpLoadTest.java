@@ -0,0 +1,299 @@
+package com.kraya.platform.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kraya.platform.KrayaPlatformApplication;
+import com.kraya.platform.benchmark.OpenLoadGenerator.Endpoint;
+import com.kraya.platform.benchmark.OpenLoadGenerator.EndpointStats;
+import com.kraya.platform.dto.TokenResponse;
+import com.kraya.platform.model.AppUser;
+import com.kraya.platform.model.Role;
+import com.kraya.platform.repository.RoleRepository;
+import com.kraya.platform.repository.UserRepository;
+import com.kraya.platform.service.RoleRegistry;
+import com.kraya.platform.service.UserSearchIndex;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.TypeExcludeFilter;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Boots {@link KrayaPlatformApplication} on H2 and an ephemeral port, then drives an open-model
+ * request mix against the user and role endpoints over HTTP, through the full security chain.
+ * <p>
+ * Per endpoint it reports throughput, error rate and the latency distribution from p50 to
+ * p99.99, and writes them to {@code target/loadtest/<scenario>.json}, next to one HdrHistogram
+ * percentile file ({@code .hgrm}) per endpoint, so runs can be compared or plotted.
+ * <p>
+ * Opt-in, like the other load tests:
+ * {@code mvn test -Dtest=HttpLoadTest -Dkraya.loadtest=true [-Dkraya.loadtest.scenario=registration-storm]
+ * [-Dkraya.loadtest.rate=200] [-Dkraya.loadtest.duration=PT30S] [-Dkraya.loadtest.mix=getUser:80,listRoles:20]}
+ * <p>
+ * Scenarios: {@code profile-reads} (the default), read-heavy lookups by a signed-in client;
+ * {@code registration-storm}, sign-ups only, which saturates the BCrypt pool; and {@code mixed}.
+ * Rate limits are off unless {@code -Dkraya.security.rate-limits.enabled=true}, since all
+ * requests come from one client.
+ */
+@EnabledIfSystemProperty(named = "kraya.loadtest", matches = "true")
+public class HttpLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(HttpLoadTest.class);
+
+    private static final String PASSWORD = "password123";
+    private static final Map<String, String> SCENARIOS = Map.of(
+            "profile-reads", "getUser:60,searchUsers:10,listUsers:10,listRoles:10,getRole:10",
+            "registration-storm", "register:100",
+            "mixed", "register:5,login:5,getUser:50,searchUsers:10,listUsers:10,listRoles:10,getRole:10");
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final AtomicLong registrations = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private ExecutorService clientExecutor;
+    private HttpClient client;
+    private String baseUrl;
+    private String accessToken;
+    private int users;
+    private List<Long> userIds;
+    private List<Long> roleIds;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Path documents = Files.createTempDirectory("loadtest-documents");
+        context = new SpringApplicationBuilder(KrayaPlatformApplication.class)
+                // Run the application as deployed, without the configuration classes of the tests
+                .initializers(applicationContext -> applicationContext.getBeanFactory()
+                        .registerSingleton("excludeTestClasses", new TestClassesExcludeFilter()))
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+                        "--spring.flyway.enabled=false",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--eureka.client.enabled=false",
+                        "--logging.level.com.kraya.platform.controller=WARN",  // Controllers log every request
+                        "--kraya.documents.storage-dir=" + documents,
+                        "--kraya.security.rate-limits.enabled="
+                                + System.getProperty("kraya.security.rate-limits.enabled", "false"));
+        baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+
+        users = Integer.getInteger("kraya.loadtest.users", 1000);
+        userIds = seedUsers(users);
+        roleIds = context.getBean(RoleRepository.class)
+                .saveAll(List.of(new Role("USER"), new Role("DEBTOR"), new Role("CREDITOR"), new Role("ADMIN")))
+                .stream().map(Role::getId).toList();
+        context.getBean(RoleRegistry.class).refresh();  // Roles are served from memory
+        context.getBean(UserSearchIndex.class).rebuild();
+
+        clientExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        client = HttpClient.newBuilder()
+                .executor(clientExecutor)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        HttpResponse<String> login = client.send(loginRequest("loaduser0").get(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, login.statusCode(), login.body());
+        accessToken = objectMapper.readValue(login.body(), TokenResponse.class).getAccessToken();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (clientExecutor != null) {
+            clientExecutor.shutdownNow();
+        }
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Test
+    void runScenario() throws Exception {
+        String scenario = System.getProperty("kraya.loadtest.scenario", "profile-reads");
+        String mix = System.getProperty("kraya.loadtest.mix", SCENARIOS.get(scenario));
+        assertNotNull(mix, "Unknown scenario " + scenario + "; use one of " + SCENARIOS.keySet()
+                + " or -Dkraya.loadtest.mix");
+        double rate = Double.parseDouble(System.getProperty("kraya.loadtest.rate", "200"));
+        Duration warmup = Duration.parse(System.getProperty("kraya.loadtest.warmup", "PT10S"));
+        Duration duration = Duration.parse(System.getProperty("kraya.loadtest.duration", "PT30S"));
+
+        logger.info("Running {} ({}) at {} requests/s for {} after a {} warm-up", scenario, mix, rate, duration, warmup);
+        Map<String, EndpointStats> stats = new OpenLoadGenerator(client).run(parseMix(mix), rate, warmup, duration);
+
+        Map<String, Object> report = report(scenario, mix, rate, duration, stats);
+        Path output = Path.of("target", "loadtest");
+        Files.createDirectories(output);
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(output.resolve(scenario + ".json").toFile(), report);
+        for (Map.Entry<String, EndpointStats> entry : stats.entrySet()) {
+            writePercentiles(entry.getValue().latencyMicros, output.resolve(scenario + "-" + entry.getKey() + ".hgrm"));
+        }
+        logger.info("Load test report, also in {}:\n{}", output.resolve(scenario + ".json"),
+                objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(report));
+
+        assertTrue(stats.values().stream().mapToLong(EndpointStats::requests).sum() > 0);
+    }
+
+    private List<Endpoint> parseMix(String mix) {
+        List<Endpoint> endpoints = new ArrayList<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            endpoints.add(new Endpoint(parts[0], Integer.parseInt(parts[1]), request(parts[0])));
+        }
+        return endpoints;
+    }
+
+    private Supplier<HttpRequest> request(String name) {
+        return switch (name) {
+            case "register" -> () -> {
+                String username = "storm" + registrations.incrementAndGet();
+                return post("/api/users/register", Map.of("username", username, "password", PASSWORD,
+                        "firstName", "Load", "lastName", "Test", "role", "USER", "email", username + "@example.com"));
+            };
+            case "login" -> loginRequest("loaduser" + ThreadLocalRandom.current().nextInt(users));
+            case "getUser" -> () -> get("/api/users/" + userIds.get(ThreadLocalRandom.current().nextInt(users)));
+            case "searchUsers" -> () -> get("/api/users/search?q=loaduser" + ThreadLocalRandom.current().nextInt(100));
+            case "listUsers" -> () -> get("/api/users?limit=50&after=" + ThreadLocalRandom.current().nextInt(users));
+            case "listRoles" -> () -> get("/api/roles");
+            case "getRole" -> () -> get("/api/roles/" + roleIds.get(ThreadLocalRandom.current().nextInt(roleIds.size())));
+            default -> throw new IllegalArgumentException("Unknown endpoint in mix: " + name);
+        };
+    }
+
+    private Supplier<HttpRequest> loginRequest(String username) {
+        return () -> post("/api/users/login", Map.of("username", username, "password", PASSWORD));
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + accessToken)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, Map<String, String> body) {
+        try {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .header("Content-Type", "application/json")
+                    .timeout(Duration.ofSeconds(30))
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                    .build();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private List<Long> seedUsers(int count) {
+        // One BCrypt hash shared by every seeded user keeps the setup fast
+        String password = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+        List<AppUser> seeded = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            AppUser user = new AppUser();
+            user.setUsername("loaduser" + i);
+            user.setPassword(password);
+            user.setEmail("loaduser" + i + "@example.com");
+            user.setFirstName("Load");
+            user.setLastName("User" + i);
+            user.setRegistrationDate(LocalDateTime.now());
+            seeded.add(user);
+        }
+        return context.getBean(UserRepository.class).saveAll(seeded).stream().map(AppUser::getUserId).toList();
+    }
+
+    private static Map<String, Object> report(String scenario, String mix, double rate, Duration duration,
+                                              Map<String, EndpointStats> stats) {
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        Histogram total = new Histogram(3);
+        long requests = 0;
+        long errors = 0;
+        for (Map.Entry<String, EndpointStats> entry : stats.entrySet()) {
+            EndpointStats endpoint = entry.getValue();
+            total.add(endpoint.latencyMicros);
+            requests += endpoint.requests();
+            errors += endpoint.errors.sum();
+            Map<String, Object> summary = summary(endpoint.latencyMicros, endpoint.requests(), endpoint.errors.sum(),
+                    endpoint.throughput());
+            Map<Integer, Long> statuses = new TreeMap<>();
+            endpoint.statuses.forEach((status, count) -> statuses.put(status, count.sum()));
+            summary.put("statuses", statuses);
+            endpoints.put(entry.getKey(), summary);
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("scenario", scenario);
+        report.put("mix", mix);
+        report.put("targetRate", rate);
+        report.put("durationSeconds", duration.toSeconds());
+        report.put("finishedAt", LocalDateTime.now().toString());
+        report.put("total", summary(total, requests, errors, requests / (duration.toNanos() / 1e9)));
+        report.put("endpoints", endpoints);
+        return report;
+    }
+
+    private static Map<String, Object> summary(Histogram latencyMicros, long requests, long errors, double throughput) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", requests);
+        summary.put("throughput", Math.round(throughput * 10) / 10.0);
+        summary.put("errors", errors);
+        summary.put("errorRate", requests == 0 ? 0.0 : (double) errors / requests);
+        Map<String, Double> latencyMillis = new LinkedHashMap<>();
+        for (double percentile : PERCENTILES) {
+            latencyMillis.put("p" + (percentile == Math.rint(percentile) ? String.valueOf((int) percentile)
+                    : String.valueOf(percentile)), latencyMicros.getValueAtPercentile(percentile) / 1000.0);
+        }
+        latencyMillis.put("max", latencyMicros.getMaxValue() / 1000.0);
+        summary.put("latencyMillis", latencyMillis);
+        return summary;
+    }
+
+    private static void writePercentiles(Histogram latencyMicros, Path file) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            latencyMicros.outputPercentileDistribution(out, 1000.0);  // In milliseconds
+        }
+    }
+
+    /**
+     * Keeps component scanning from picking up configuration classes compiled from src/test.
+     */
+    private static class TestClassesExcludeFilter extends TypeExcludeFilter {
+
+        @Override
+        public boolean match(MetadataReader metadataReader, MetadataReaderFactory metadataReaderFactory) {
+            try {
+                return metadataReader.getResource().getURL().toString().contains("/test-classes/");
+            } catch (IOException e) {
+                return false;
+            }
+        }
+    }
+}
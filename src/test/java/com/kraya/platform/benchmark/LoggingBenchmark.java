@@ -0,0 +1,114 @@
+package com.kraya.platform.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.kraya.platform.logging.AsyncJsonAppender;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.MDC;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Measures what logging adds to a request, modelled as the two INFO lines a registration
+ * writes, with four request threads. The synchronous appender is the console appender the
+ * profiles used before; with the sink throttled to 256 KB/s its latency follows the sink,
+ * while the asynchronous appender's stays where it is with a fast sink and the excess
+ * INFO events are dropped and counted instead. Sample mode reports the percentiles.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class LoggingBenchmark {
+
+    @Param({"sync", "async"})
+    public String appender;
+
+    @Param({"fast", "throttled"})
+    public String sink;
+
+    private LoggerContext context;
+    private Logger controllerLogger;
+    private Logger serviceLogger;
+    private AsyncJsonAppender asyncAppender;
+
+    @Setup
+    public void setUp() {
+        context = new LoggerContext();
+        context.setMDCAdapter(MDC.getMDCAdapter());
+        OutputStream out = "throttled".equals(sink) ? new ThrottledOutputStream(256 * 1024) : OutputStream.nullOutputStream();
+
+        Appender<ILoggingEvent> target;
+        if ("async".equals(appender)) {
+            asyncAppender = new AsyncJsonAppender();
+            asyncAppender.setOutputStream(out);
+            target = asyncAppender;
+        } else {
+            PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+            encoder.setContext(context);
+            encoder.setPattern("%d{HH:mm:ss.SSS} %-5level [%thread] %logger{36} - %msg%n");
+            encoder.start();
+            OutputStreamAppender<ILoggingEvent> console = new OutputStreamAppender<>();
+            console.setEncoder(encoder);
+            console.setOutputStream(out);
+            target = console;
+        }
+        target.setContext(context);
+        target.setName("benchmark");
+        target.start();
+
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(target);
+        controllerLogger = context.getLogger("com.kraya.platform.controller.UserController");
+        serviceLogger = context.getLogger("com.kraya.platform.service.impl.UserServiceImpl");
+    }
+
+    @Benchmark
+    public void request() {
+        String username = "user" + Thread.currentThread().getId();
+        controllerLogger.info("Received request to register user: {}", username);
+        serviceLogger.info("Registering user: {}", username);
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (asyncAppender != null) {
+            System.out.println("dropped INFO events: " + asyncAppender.dropped(Level.INFO)
+                    + ", written: " + asyncAppender.written());
+        }
+        context.stop();
+    }
+
+    /**
+     * A sink taking writes one at a time at a fixed byte rate, like a pipe to a slow collector.
+     */
+    static final class ThrottledOutputStream extends OutputStream {
+
+        private final long nanosPerByte;
+
+        ThrottledOutputStream(long bytesPerSecond) {
+            this.nanosPerByte = TimeUnit.SECONDS.toNanos(1) / bytesPerSecond;
+        }
+
+        @Override
+        public synchronized void write(int b) {
+            LockSupport.parkNanos(nanosPerByte);
+        }
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            LockSupport.parkNanos(len * nanosPerByte);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.kraya.platform.benchmark;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * OpenLoadGenerator sends requests at a fixed arrival rate, whatever the server's response
+ * times, the way independent users do (an open workload model).
+ * <p>
+ * Requests are sent asynchronously, so a slow server makes requests pile up instead of
+ * delaying the next arrivals. Latency is measured from the time each request was due to be
+ * sent, not from when it actually went out, so stalls of the generator itself are charged
+ * to the server rather than hidden (coordinated omission).
+ */
+class OpenLoadGenerator {
+
+    // Latencies are recorded in microseconds, up to an hour
+    private static final long HIGHEST_LATENCY_MICROS = TimeUnit.HOURS.toMicros(1);
+
+    private final HttpClient client;
+
+    OpenLoadGenerator(HttpClient client) {
+        this.client = client;
+    }
+
+    /**
+     * Runs the mix at the given rate; requests due during the warm-up are sent but not recorded.
+     *
+     * @return the statistics of the recorded requests, per endpoint in mix order
+     */
+    Map<String, EndpointStats> run(List<Endpoint> mix, double requestsPerSecond, Duration warmup, Duration duration)
+            throws InterruptedException {
+        Map<String, EndpointStats> stats = new LinkedHashMap<>();
+        mix.forEach(endpoint -> stats.put(endpoint.name(), new EndpointStats()));
+        int totalWeight = mix.stream().mapToInt(Endpoint::weight).sum();
+
+        long intervalNanos = Math.round(TimeUnit.SECONDS.toNanos(1) / requestsPerSecond);
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        AtomicLong inFlight = new AtomicLong();
+
+        for (long due = start; due - end < 0; due += intervalNanos) {
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Endpoint endpoint = pick(mix, totalWeight);
+            EndpointStats endpointStats = due - measureFrom >= 0 ? stats.get(endpoint.name()) : null;
+            long intended = due;
+            inFlight.incrementAndGet();
+            client.sendAsync(endpoint.request().get(), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> {
+                        if (endpointStats != null) {
+                            endpointStats.record(System.nanoTime() - intended,
+                                    failure != null ? -1 : response.statusCode());
+                        }
+                        inFlight.decrementAndGet();
+                    });
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inFlight.get() > 0 && System.nanoTime() - deadline < 0) {
+            Thread.sleep(10);
+        }
+        stats.values().forEach(endpointStats -> endpointStats.seconds = duration.toNanos() / 1e9);
+        return stats;
+    }
+
+    private static Endpoint pick(List<Endpoint> mix, int totalWeight) {
+        int ticket = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Endpoint endpoint : mix) {
+            ticket -= endpoint.weight();
+            if (ticket < 0) {
+                return endpoint;
+            }
+        }
+        throw new IllegalStateException("Empty request mix");
+    }
+
+    /**
+     * One kind of request in the mix, chosen with probability weight / total weight.
+     */
+    record Endpoint(String name, int weight, Supplier<HttpRequest> request) {
+    }
+
+    /**
+     * Latencies and outcomes of one endpoint's requests; statuses of 400 and above, and
+     * requests that got no response (status -1), count as errors.
+     */
+    static class EndpointStats {
+
+        final Histogram latencyMicros = new ConcurrentHistogram(HIGHEST_LATENCY_MICROS, 3);
+        final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        final LongAdder errors = new LongAdder();
+        double seconds;
+
+        void record(long latencyNanos, int status) {
+            latencyMicros.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_LATENCY_MICROS));
+            statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+            if (status < 0 || status >= 400) {
+                errors.increment();
+            }
+        }
+
+        long requests() {
+            return latencyMicros.getTotalCount();
+        }
+
+        double throughput() {
+            return requests() / seconds;
+        }
+
+        double errorRate() {
+            return requests() == 0 ? 0 : (double) errors.sum() / requests();
+        }
+
+        double percentileMillis(double percentile) {
+            return latencyMicros.getValueAtPercentile(percentile) / 1000.0;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.kraya.platform.benchmark;
+
+import com.kraya.platform.security.RateLimiter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-request cost of the rate limiter with eight threads: all hitting one
+ * client's bucket (worst-case CAS contention), spread over a hundred thousand active
+ * clients, and with every request from a new client, which also pays for bucket creation
+ * and the sweeps that keep memory bounded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    private static final int ACTIVE_CLIENTS = 100_000;
+
+    private RateLimiter hotLimiter;
+    private RateLimiter spreadLimiter;
+    private RateLimiter churnLimiter;
+    private String[] clients;
+
+    @Setup
+    public void setUp() {
+        long now = System.nanoTime();
+        long sweepInterval = TimeUnit.SECONDS.toNanos(1);
+        // Rates high enough that most requests are allowed, so the CAS path is what is measured
+        hotLimiter = new RateLimiter(1e8, 1000, 1_000_000, sweepInterval, now);
+        spreadLimiter = new RateLimiter(1000, 100, 1_000_000, sweepInterval, now);
+        churnLimiter = new RateLimiter(1000, 100, 1_000_000, sweepInterval, now);
+        clients = new String[ACTIVE_CLIENTS];
+        for (int i = 0; i < clients.length; i++) {
+            clients[i] = "user:" + i;
+        }
+    }
+
+    @Benchmark
+    public long singleHotClient() {
+        return hotLimiter.tryAcquire("user:1", System.nanoTime());
+    }
+
+    @Benchmark
+    public long manyActiveClients() {
+        return spreadLimiter.tryAcquire(clients[ThreadLocalRandom.current().nextInt(ACTIVE_CLIENTS)], System.nanoTime());
+    }
+
+    @Benchmark
+    public long newClientPerRequest() {
+        return churnLimiter.tryAcquire("ip:" + ThreadLocalRandom.current().nextLong(), System.nanoTime());
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.out.println("Buckets kept after churn: " + churnLimiter.size());
+    }
+}
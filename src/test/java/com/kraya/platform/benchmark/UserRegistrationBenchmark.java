@@ -0,0 +1,161 @@
+package com.kraya.platform.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kraya.platform.dto.UserRegistrationRequest;
+import com.kraya.platform.model.Role;
+import com.kraya.platform.model.User;
+import com.kraya.platform.repository.RoleRepository;
+import com.kraya.platform.repository.UserRepository;
+import com.kraya.platform.service.RoleRegistry;
+import com.kraya.platform.service.TokenService;
+import com.kraya.platform.service.UserSearchIndex;
+import com.kraya.platform.service.impl.UserServiceImpl;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the steps of a registration on their own: Bean Validation of the request,
+ * BCrypt hashing of the password, {@link UserServiceImpl#create} against embedded H2, and
+ * Jackson serialization of the saved {@link User}.
+ * <p>
+ * {@code create} is measured with a trivial password encoder, so a slower insert or index
+ * update is not lost in the noise of the BCrypt round measured next to it.
+ * <p>
+ * Run with the other benchmarks through {@code mvn -P benchmark verify}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserRegistrationBenchmark {
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private UserServiceImpl userService;
+    private ObjectMapper objectMapper;
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private BCryptPasswordEncoder bcrypt;
+
+    private UserRegistrationRequest request;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(BenchmarkDatabase.class)
+                .run("--spring.main.web-application-type=none",
+                        "--spring.profiles.active=benchmark",
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN");
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        userService = new UserServiceImpl(userRepository, new PlainPasswordEncoder(),
+                Mockito.mock(TokenService.class), new UserSearchIndex(userRepository, 1000),
+                new RoleRegistry(context.getBean(RoleRepository.class)), context.getBean(EntityManagerFactory.class));
+        objectMapper = context.getBean(ObjectMapper.class);  // Configured as the controllers' mapper
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        bcrypt = new BCryptPasswordEncoder();  // Same strength as SecurityConfig
+
+        request = registration("template");
+        user = new User();
+        user.setUserId(1L);
+        user.setUsername("jdoe");
+        user.setPassword("$2a$10$abcdefghijklmnopqrstuuM4ZrZ7Vt8D2T1K0sI3eF9tCq5yXG6Wm");
+        user.setEmail("jdoe@example.com");
+        user.setFirstName("John");
+        user.setLastName("Doe");
+        user.setPhoneNumber("+1555000000");
+        user.setCreatedAt(LocalDateTime.now());
+        user.setUpdatedAt(LocalDateTime.now());
+        user.setRoles(List.of(new Role("USER"), new Role("DEBTOR")));
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+        context.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<UserRegistrationRequest>> validateRegistrationRequest() {
+        return validator.validate(request);
+    }
+
+    @Benchmark
+    public String bcryptEncode() {
+        return bcrypt.encode(request.getPassword());
+    }
+
+    @Benchmark
+    public User createUser() {
+        return userService.create(registration("user" + sequence.incrementAndGet()));
+    }
+
+    @Benchmark
+    public byte[] serializeUser() throws Exception {
+        return objectMapper.writeValueAsBytes(user);
+    }
+
+    private static UserRegistrationRequest registration(String username) {
+        UserRegistrationRequest request = new UserRegistrationRequest();
+        request.setUsername(username);
+        request.setPassword("password123");
+        request.setFirstName("John");
+        request.setLastName("Doe");
+        request.setRole("USER");
+        request.setEmail(username + "@example.com");
+        return request;
+    }
+
+    /**
+     * Just enough of the application to run the repositories against H2.
+     */
+    @SpringBootConfiguration
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+            TransactionAutoConfiguration.class, JacksonAutoConfiguration.class})
+    @EntityScan(basePackageClasses = User.class)
+    @EnableJpaRepositories(basePackageClasses = UserRepository.class)
+    static class BenchmarkDatabase {
+    }
+
+    private static class PlainPasswordEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return "plain:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+}
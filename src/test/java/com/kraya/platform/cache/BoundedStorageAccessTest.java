@@ -0,0 +1,85 @@
+package com.kraya.platform.cache;
+
+import org.hibernate.cache.spi.access.SoftLock;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedStorageAccessTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    @Test
+    void countsHitsAndMisses() {
+        BoundedStorageAccess storage = storage(true, 10, 100);
+        storage.putIntoCache("a", "A", null);
+
+        assertEquals("A", storage.getFromCache("a", null));
+        assertNull(storage.getFromCache("b", null));
+        assertEquals(1, hits.get());
+        assertEquals(1, misses.get());
+    }
+
+    @Test
+    void expiresEntriesAfterTheirTtl() {
+        BoundedStorageAccess storage = storage(true, 10, 100);
+        storage.putIntoCache("a", "A", null);
+
+        clock.set(100);
+        assertTrue(storage.contains("a"));
+        clock.set(101);
+        assertFalse(storage.contains("a"));
+        assertNull(storage.getFromCache("a", null));
+        assertEquals(0, storage.size());
+    }
+
+    @Test
+    void staysWithinMaxEntries() {
+        BoundedStorageAccess storage = storage(true, 32, 1000);
+        for (int i = 0; i < 1000; i++) {
+            storage.putIntoCache(i, i, null);
+            assertTrue(storage.size() <= 32);
+        }
+        assertTrue(evictions.get() >= 1000 - 32);
+    }
+
+    @Test
+    void trimmingKeepsSoftLocks() {
+        BoundedStorageAccess storage = storage(true, 16, 1000);
+        SoftLock lock = new SoftLock() {
+        };
+        for (int i = 0; i < 4; i++) {
+            storage.putIntoCache("locked-" + i, lock, null);
+        }
+        for (int i = 0; i < 1000; i++) {
+            storage.putIntoCache(i, i, null);
+        }
+
+        for (int i = 0; i < 4; i++) {
+            assertSame(lock, storage.getFromCache("locked-" + i, null));
+        }
+        assertTrue(storage.size() <= 16);
+
+        clock.set(1001);  // Past the ttl, long after Hibernate gave up on the lock
+        assertFalse(storage.contains("locked-0"));
+    }
+
+    @Test
+    void disabledRegionStoresNothing() {
+        BoundedStorageAccess storage = storage(false, 10, 100);
+        storage.putIntoCache("a", "A", null);
+
+        assertNull(storage.getFromCache("a", null));
+        assertEquals(0, storage.size());
+        assertEquals(1, misses.get());
+    }
+
+    private BoundedStorageAccess storage(boolean enabled, int maxEntries, long ttlNanos) {
+        return new BoundedStorageAccess(enabled, maxEntries, ttlNanos, clock::get, hits, misses, evictions);
+    }
+}
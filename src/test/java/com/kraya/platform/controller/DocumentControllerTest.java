@@ -0,0 +1,172 @@
+package com.kraya.platform.controller;
+
+import com.kraya.platform.dto.DocumentContent;
+import com.kraya.platform.dto.DocumentResponse;
+import com.kraya.platform.service.DocumentService;
+import com.kraya.platform.service.DocumentVerificationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(DocumentController.class)
+public class DocumentControllerTest {
+
+    private static final String CONTENT = "0123456789abcdefghij";
+    private static final String HASH = "0f".repeat(32);
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @MockBean
+    private DocumentService documentService;
+
+    @MockBean
+    private DocumentVerificationService documentVerificationService;
+
+    @TempDir
+    Path storage;
+
+    private MockMvc mockMvc;
+    private DocumentResponse document;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+
+        document = new DocumentResponse();
+        document.setDocumentId(7L);
+        document.setDebtorId(1L);
+        document.setDocumentType("PAY_SLIP");
+        document.setFileName("payslip.txt");
+        document.setContentType("text/plain");
+        document.setContentHash(HASH);
+        document.setContentLength(CONTENT.length());
+        Path file = Files.writeString(storage.resolve(HASH), CONTENT);
+        when(documentService.getContent(7L)).thenReturn(new DocumentContent(document, file));
+    }
+
+    @Test
+    @WithMockUser
+    public void testDownload_WholeContent() throws Exception {
+        mockMvc.perform(get("/api/documents/7/content"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Accept-Ranges", "bytes"))
+                .andExpect(header().string("ETag", "\"" + HASH + "\""))
+                .andExpect(header().longValue("Content-Length", CONTENT.length()))
+                .andExpect(header().string("Content-Disposition", containsString("filename*=UTF-8''payslip.txt")))
+                .andExpect(content().string(CONTENT));
+    }
+
+    @Test
+    @WithMockUser
+    public void testDownload_ServesUnknownTypesAsAttachmentsWithoutSniffing() throws Exception {
+        document.setContentType("text/html");
+        document.setFileName(null);
+        mockMvc.perform(get("/api/documents/7/content"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/octet-stream"))
+                .andExpect(header().string("X-Content-Type-Options", "nosniff"))
+                .andExpect(header().string("Content-Disposition", "attachment"));
+
+        document.setContentType("application/pdf");
+        mockMvc.perform(get("/api/documents/7/content"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/pdf"))
+                .andExpect(header().string("X-Content-Type-Options", "nosniff"));
+    }
+
+    @Test
+    @WithMockUser
+    public void testDownload_DeniedToOthers() throws Exception {
+        doThrow(new AccessDeniedException("denied")).when(documentService).checkAccess(eq(1L), any());
+
+        mockMvc.perform(get("/api/documents/7/content"))
+                .andExpect(status().isForbidden())
+                .andExpect(header().doesNotExist("ETag"))
+                .andExpect(content().string(not(containsString(CONTENT))));
+
+        MockMultipartFile file = new MockMultipartFile("file", "payslip.txt", "text/plain",
+                CONTENT.getBytes(StandardCharsets.UTF_8));
+        mockMvc.perform(multipart("/api/documents").file(file).param("debtorId", "1").param("documentType", "PAY_SLIP"))
+                .andExpect(status().isForbidden());
+        verify(documentService, never()).upload(any(), any(), any(), any(), any());
+
+        mockMvc.perform(get("/api/documents").param("debtorId", "1"))
+                .andExpect(status().isForbidden());
+        verify(documentService, never()).findByDebtor(any());
+    }
+
+    @Test
+    @WithMockUser
+    public void testDownload_Ranges() throws Exception {
+        mockMvc.perform(get("/api/documents/7/content").header("Range", "bytes=5-9"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "bytes 5-9/20"))
+                .andExpect(content().string("56789"));
+
+        mockMvc.perform(get("/api/documents/7/content").header("Range", "bytes=-4"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "bytes 16-19/20"))
+                .andExpect(content().string("ghij"));
+
+        mockMvc.perform(get("/api/documents/7/content").header("Range", "bytes=15-"))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().string("fghij"));
+
+        mockMvc.perform(get("/api/documents/7/content").header("Range", "bytes=20-30"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string("Content-Range", "bytes */20"));
+
+        // A stale If-Range validator gets the whole, current content
+        mockMvc.perform(get("/api/documents/7/content").header("Range", "bytes=0-1").header("If-Range", "\"old\""))
+                .andExpect(status().isOk())
+                .andExpect(content().string(CONTENT));
+    }
+
+    @Test
+    @WithMockUser
+    public void testDownload_NotModified() throws Exception {
+        mockMvc.perform(get("/api/documents/7/content").header("If-None-Match", "\"" + HASH + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @WithMockUser
+    public void testUpload() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "payslip.txt", "text/plain",
+                CONTENT.getBytes(StandardCharsets.UTF_8));
+        when(documentService.upload(eq(1L), eq("PAY_SLIP"), eq("payslip.txt"), eq("text/plain"), any(InputStream.class)))
+                .thenReturn(document);
+
+        mockMvc.perform(multipart("/api/documents").file(file).param("debtorId", "1").param("documentType", "PAY_SLIP"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.contentHash").value(HASH));
+
+        MockMultipartFile empty = new MockMultipartFile("file", "empty.txt", "text/plain", new byte[0]);
+        mockMvc.perform(multipart("/api/documents").file(empty).param("debtorId", "1").param("documentType", "PAY_SLIP"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,122 @@
+package com.kraya.platform.controller;
+
+import com.kraya.platform.dto.PaymentPostingResult;
+import com.kraya.platform.repository.DebtRepository;
+import com.kraya.platform.repository.UserRepository;
+import com.kraya.platform.security.DebtAccess;
+import com.kraya.platform.service.PaymentPostingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static com.kraya.platform.TestFixtures.bearer;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(PaymentController.class)
+@Import(DebtAccess.class)
+public class PaymentControllerTest {
+
+    private static final String PAYMENT = "{\"debtId\":5,\"amount\":10.00,\"paymentMethod\":\"CARD\"}";
+    private static final String OTHER_PAYMENT = "{\"debtId\":6,\"amount\":10.00,\"paymentMethod\":\"CARD\"}";
+
+    private static final Authentication CREDITOR = bearer(2L, "creditor", "CREDITOR");
+    private static final Authentication DEBTOR = bearer(1L, "debtor", "USER");
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @MockBean
+    private PaymentPostingService paymentPostingService;
+
+    @MockBean
+    private DebtRepository debtRepository;
+
+    @MockBean
+    private UserRepository userRepository;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).apply(springSecurity()).build();
+        when(debtRepository.countHeldBy(Set.of(5L), 2L)).thenReturn(1L);
+        when(debtRepository.countHeldBy(Set.of(5L, 6L), 2L)).thenReturn(1L);
+        when(paymentPostingService.post(any()))
+                .thenReturn(PaymentPostingResult.posted(5L, 9L, new BigDecimal("90.00"), "ACTIVE"));
+    }
+
+    @Test
+    public void testPostPayment_ByTheDebtsCreditor() throws Exception {
+        mockMvc.perform(post("/api/payments").with(authentication(CREDITOR)).with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON).content(PAYMENT))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.paymentId").value(9));
+    }
+
+    @Test
+    public void testPostPayment_DeniedToDebtorsAndOtherCreditors() throws Exception {
+        mockMvc.perform(post("/api/payments").with(authentication(DEBTOR)).with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON).content(PAYMENT))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/payments").with(authentication(CREDITOR)).with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON).content(OTHER_PAYMENT))
+                .andExpect(status().isForbidden());
+        verify(paymentPostingService, never()).post(any());
+    }
+
+    @Test
+    public void testPostPayments_DeniedIfAnyRowIsAnotherCreditorsDebt() throws Exception {
+        mockMvc.perform(post("/api/payments/batch").with(authentication(CREDITOR)).with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON).content("[" + PAYMENT + "," + OTHER_PAYMENT + "]"))
+                .andExpect(status().isForbidden());
+        verify(paymentPostingService, never()).postAll(anyList());
+
+        when(paymentPostingService.postAll(anyList())).thenReturn(List.of());
+        mockMvc.perform(post("/api/payments/batch").with(authentication(CREDITOR)).with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON).content("[" + PAYMENT + "," + PAYMENT + "]"))
+                .andExpect(status().isOk());
+        verify(paymentPostingService).postAll(anyList());
+    }
+
+    @Test
+    public void testPostPayments_RejectsOversizedBatchesBeforeReadingThemWhole() throws Exception {
+        String batch = "[" + String.join(",", Collections.nCopies(10_001, PAYMENT)) + "]";
+
+        mockMvc.perform(post("/api/payments/batch").with(authentication(CREDITOR)).with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON).content(batch))
+                .andExpect(status().isPayloadTooLarge());
+        verify(debtRepository, never()).countHeldBy(any(), eq(2L));
+        verify(paymentPostingService, never()).postAll(anyList());
+    }
+
+    @Test
+    public void testPostPayments_MalformedBatch() throws Exception {
+        mockMvc.perform(post("/api/payments/batch").with(authentication(CREDITOR)).with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"debtId\":5}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/payments/batch").with(authentication(CREDITOR)).with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON).content("[" + PAYMENT))
+                .andExpect(status().isBadRequest());
+    }
+}
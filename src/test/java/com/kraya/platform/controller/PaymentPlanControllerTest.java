@@ -0,0 +1,124 @@
+package com.kraya.platform.controller;
+
+import com.kraya.platform.dto.PaymentPlanResponse;
+import com.kraya.platform.repository.DebtRepository;
+import com.kraya.platform.repository.UserRepository;
+import com.kraya.platform.security.DebtAccess;
+import com.kraya.platform.service.InstallmentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.List;
+import java.util.Set;
+
+import static com.kraya.platform.TestFixtures.bearer;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(PaymentPlanController.class)
+@Import(DebtAccess.class)
+public class PaymentPlanControllerTest {
+
+    private static final String PLAN = "{\"debtId\":5,\"planType\":\"MONTHLY\",\"installmentAmount\":100.00,"
+            + "\"startDate\":\"2026-01-31\"}";
+
+    // Debt 5 is owed by user 1 and held by creditor 2
+    private static final Authentication DEBTOR = bearer(1L, "debtor", "USER");
+    private static final Authentication CREDITOR = bearer(2L, "creditor", "CREDITOR");
+    private static final Authentication OTHER_CREDITOR = bearer(3L, "other", "CREDITOR");
+    private static final Authentication OTHER_USER = bearer(4L, "someone", "USER");
+    private static final Authentication ADMIN = bearer(9L, "admin", "ADMIN");
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @MockBean
+    private InstallmentService installmentService;
+
+    @MockBean
+    private DebtRepository debtRepository;
+
+    @MockBean
+    private UserRepository userRepository;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).apply(springSecurity()).build();
+        when(debtRepository.countHeldBy(Set.of(5L), 2L)).thenReturn(1L);
+        when(debtRepository.existsByDebtIdAndDebtorUserId(5L, 1L)).thenReturn(true);
+        when(debtRepository.existsByDebtIdAndCreditorUserId(5L, 2L)).thenReturn(true);
+
+        PaymentPlanResponse plan = new PaymentPlanResponse();
+        plan.setPlanId(7L);
+        plan.setDebtId(5L);
+        when(installmentService.getPlan(7L)).thenReturn(plan);
+        when(installmentService.createPlan(any())).thenReturn(plan);
+    }
+
+    @Test
+    public void testCreatePlan_OnlyByAdminsAndTheDebtsCreditor() throws Exception {
+        for (Authentication caller : List.of(DEBTOR, OTHER_CREDITOR, OTHER_USER)) {
+            mockMvc.perform(post("/api/payment-plans").with(authentication(caller)).with(csrf())
+                            .contentType(MediaType.APPLICATION_JSON).content(PLAN))
+                    .andExpect(status().isForbidden());
+        }
+        verify(installmentService, never()).createPlan(any());
+
+        for (Authentication caller : List.of(CREDITOR, ADMIN)) {
+            mockMvc.perform(post("/api/payment-plans").with(authentication(caller)).with(csrf())
+                            .contentType(MediaType.APPLICATION_JSON).content(PLAN))
+                    .andExpect(status().isCreated());
+        }
+    }
+
+    @Test
+    public void testGetPlan_DeniedToOtherUsers() throws Exception {
+        for (Authentication caller : List.of(OTHER_CREDITOR, OTHER_USER)) {
+            mockMvc.perform(get("/api/payment-plans/7").with(authentication(caller)))
+                    .andExpect(status().isForbidden())
+                    .andExpect(jsonPath("$.planId").doesNotExist());
+        }
+        for (Authentication caller : List.of(DEBTOR, CREDITOR, ADMIN)) {
+            mockMvc.perform(get("/api/payment-plans/7").with(authentication(caller)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.planId").value(7));
+        }
+    }
+
+    @Test
+    public void testFindDue_ScopedToTheCallersDebts() throws Exception {
+        mockMvc.perform(get("/api/payment-plans/installments/due").with(authentication(OTHER_USER))
+                        .param("from", "2026-01-01").param("to", "2026-12-31"))
+                .andExpect(status().isOk());
+        verify(installmentService).findDueFor(eq(4L), eq(null), any(), any(), anyInt());
+
+        mockMvc.perform(get("/api/payment-plans/installments/due").with(authentication(CREDITOR))
+                        .param("from", "2026-01-01").param("to", "2026-12-31"))
+                .andExpect(status().isOk());
+        verify(installmentService).findDueFor(eq(2L), eq(2L), any(), any(), anyInt());
+
+        mockMvc.perform(get("/api/payment-plans/installments/due").with(authentication(ADMIN))
+                        .param("from", "2026-01-01").param("to", "2026-12-31"))
+                .andExpect(status().isOk());
+        verify(installmentService).findDue(any(), any(), anyInt());
+    }
+}
@@ -0,0 +1,257 @@
+package com.kraya.platform.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kraya.platform.exception.GlobalExceptionHandler;
+import com.kraya.platform.metrics.SqlBudget;
+import com.kraya.platform.metrics.SqlCounting;
+import com.kraya.platform.metrics.SqlStatementCounter;
+import com.kraya.platform.model.AppUser;
+import com.kraya.platform.model.Role;
+import com.kraya.platform.repository.RoleRepository;
+import com.kraya.platform.repository.UserRepository;
+import com.kraya.platform.service.RoleRegistry;
+import com.kraya.platform.service.TokenService;
+import com.kraya.platform.service.UserSearchIndex;
+import com.kraya.platform.service.impl.RoleServiceImpl;
+import com.kraya.platform.service.impl.UserServiceImpl;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.handler.WebRequestHandlerInterceptorAdapter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pins the number of SQL statements the user and role endpoints issue against H2, so an
+ * N+1 fetch or a chatty change shows up as a failing count.
+ */
+@DataJpaTest(properties = "spring.flyway.enabled=false")
+@Import(SqlCounting.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class UserControllerSqlBudgetTest {
+
+    private static final int USER_COUNT = 30;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+
+    private MockMvc mockMvc;
+    private List<Long> userIds;
+    private Long roleId;
+
+    @BeforeEach
+    void setUp() {
+        String password = passwordEncoder.encode("password123");
+        List<Role> roles = roleRepository.saveAll(List.of(new Role("USER"), new Role("ADMIN")));
+        roleId = roles.get(0).getId();
+        List<AppUser> users = new ArrayList<>();
+        for (int i = 0; i < USER_COUNT; i++) {
+            AppUser user = new AppUser();
+            user.setUsername("user" + i);
+            user.setPassword(password);
+            user.setEmail("user" + i + "@example.com");
+            user.setFirstName("First" + i);
+            user.setLastName("Last" + i);
+            user.setRegistrationDate(LocalDateTime.now());
+            user.setRoles(roles);
+            users.add(user);
+        }
+        userIds = userRepository.saveAll(users).stream().map(AppUser::getUserId).toList();
+
+        RoleRegistry roleRegistry = new RoleRegistry(roleRepository);
+        roleRegistry.refresh();
+        UserSearchIndex userSearchIndex = new UserSearchIndex(userRepository, 1000);
+        userSearchIndex.rebuild();
+        UserServiceImpl userService = new UserServiceImpl(userRepository, passwordEncoder,
+                Mockito.mock(TokenService.class), userSearchIndex, roleRegistry, entityManagerFactory);
+        // Open session in view, as spring.jpa.open-in-view gives the application
+        OpenEntityManagerInViewInterceptor openEntityManagerInView = new OpenEntityManagerInViewInterceptor();
+        openEntityManagerInView.setEntityManagerFactory(entityManagerFactory);
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new UserController(userService, new ObjectMapper().findAndRegisterModules()),
+                        new RoleController(new RoleServiceImpl(roleRepository, roleRegistry)),
+                        new ChattyController(userRepository))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .addInterceptors(new WebRequestHandlerInterceptorAdapter(openEntityManagerInView))
+                .addFilters(SqlCounting.filter(sqlStatementCounter))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAllInBatch();
+        roleRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void userLookupIsOneQuery() throws Exception {
+        mockMvc.perform(get("/api/users/" + userIds.get(0)))
+                .andExpect(status().isOk())
+                .andExpect(SqlCounting.queries(1))
+                .andExpect(SqlCounting.rows(3));  // The user and both roles
+    }
+
+    @Test
+    void userPageLoadsRolesInOneBatch() throws Exception {
+        mockMvc.perform(get("/api/users?limit=20"))
+                .andExpect(status().isOk())
+                .andExpect(SqlCounting.queries(2));
+    }
+
+    @Test
+    void registrationInsertsTheUser() throws Exception {
+        mockMvc.perform(post("/api/users/register").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"newuser\",\"password\":\"password123\",\"firstName\":\"New\","
+                                + "\"lastName\":\"User\",\"role\":\"USER\",\"email\":\"newuser@example.com\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(SqlCounting.queries(2));  // users and app_user; the ID comes from the pooled sequence
+    }
+
+    @Test
+    void loginReadsAndStampsTheUser() throws Exception {
+        mockMvc.perform(post("/api/users/login").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"user1\",\"password\":\"password123\"}"))
+                .andExpect(status().isOk())
+                .andExpect(SqlCounting.queries(2));
+    }
+
+    @Test
+    void searchAndRolesAreServedFromMemory() throws Exception {
+        mockMvc.perform(get("/api/users/search?q=user1")).andExpect(SqlCounting.queries(0));
+        mockMvc.perform(get("/api/roles")).andExpect(SqlCounting.queries(0));
+        mockMvc.perform(get("/api/roles/" + roleId)).andExpect(SqlCounting.queries(0));
+    }
+
+    @Test
+    void userRevalidationReadsOnlyTheModificationTime() throws Exception {
+        String path = "/api/users/" + userIds.get(0);
+        MvcResult first = mockMvc.perform(get(path)).andExpect(status().isOk()).andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        String lastModified = first.getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+        assertNotNull(etag);
+        assertNotNull(lastModified);
+
+        mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(SqlCounting.queries(1))
+                .andExpect(SqlCounting.rows(0));  // A scalar column, no entity loaded
+        mockMvc.perform(get(path).header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isNotModified());
+
+        AppUser user = (AppUser) userRepository.findById(userIds.get(0)).orElseThrow();
+        user.setFirstName("Renamed");
+        userRepository.save(user);
+
+        MvcResult changed = mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(SqlCounting.queries(2))
+                .andReturn();
+        assertNotEquals(etag, changed.getResponse().getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void roleRevalidationIsServedFromMemory() throws Exception {
+        String etag = mockMvc.perform(get("/api/roles")).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/roles").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(SqlCounting.queries(0));
+        mockMvc.perform(get("/api/roles/" + roleId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(post("/api/roles").contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"AUDITOR\"}"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/api/roles").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void failsRequestsOverTheirBudgetBeforeTheirResponseIsSent() throws Exception {
+        String body = mockMvc.perform(get("/test/chatty"))
+                .andExpect(status().isInternalServerError())
+                .andReturn().getResponse().getContentAsString();
+        // The handler's own body never left the buffer
+        assertTrue(body.startsWith("An unexpected error occurred: GET /test/chatty"), body);
+        assertTrue(body.contains("used 2 SQL statements"), body);
+    }
+
+    @Test
+    void onlyLogsStatementsIssuedAfterTheResponseWasCommitted() throws Exception {
+        mockMvc.perform(get("/test/chatty-after-commit"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("sent"));
+    }
+
+    @Test
+    void countsQueriesOutsideRequests() {
+        assertEquals(2, SqlCounting.countQueries(sqlStatementCounter, () -> {
+            userRepository.findById(userIds.get(0));
+            userRepository.findById(userIds.get(1));
+        }));
+    }
+
+    @RestController
+    static class ChattyController {
+
+        private final UserRepository userRepository;
+
+        ChattyController(UserRepository userRepository) {
+            this.userRepository = userRepository;
+        }
+
+        @GetMapping("/test/chatty")
+        @SqlBudget(maxQueries = 1)
+        public long chatty() {
+            return userRepository.count() + userRepository.count();
+        }
+
+        @GetMapping("/test/chatty-after-commit")
+        @SqlBudget(maxQueries = 1)
+        public void chattyAfterCommit(HttpServletResponse response) throws IOException {
+            response.getWriter().write("sent");
+            response.flushBuffer();
+            userRepository.count();
+            userRepository.count();
+        }
+    }
+}
@@ -1,9 +1,16 @@
 package com.kraya.platform.controller;
 
+import com.kraya.platform.dto.LoginRequest;
+import com.kraya.platform.dto.TokenResponse;
+import com.kraya.platform.dto.UserPageResponse;
 import com.kraya.platform.dto.UserRegistrationRequest;
 import com.kraya.platform.dto.UserRegistrationResponse;
+import com.kraya.platform.dto.UserResponseDto;
+import com.kraya.platform.dto.UserSearchResult;
 import com.kraya.platform.dto.UserUpdateRequest;
+import com.kraya.platform.exception.InvalidCredentialsException;
 import com.kraya.platform.exception.InvalidRoleException;
+import com.kraya.platform.exception.ServiceBusyException;
 import com.kraya.platform.exception.UserNotFoundException;
 import com.kraya.platform.model.User;
 import com.kraya.platform.service.UserService;
@@ -17,11 +24,17 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.hamcrest.Matchers.matchesPattern;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -102,6 +115,18 @@ public class UserControllerTest {
                 .andExpect(jsonPath("$.message").value("Email already exists."));
     }
 
+    @Test
+    @WithMockUser
+    public void testRegisterUserWhenHashingPoolIsSaturated() throws Exception {
+        when(userService.registerUser(any(UserRegistrationRequest.class))).thenThrow(new ServiceBusyException("Too many concurrent password operations, please retry shortly"));
+
+        mockMvc.perform(post("/api/users/register")
+                        .contentType("application/json")
+                        .content("{\"username\":\"testuser\",\"password\":\"password123\",\"email\":\"testuser@example.com\",\"firstName\":\"Test\",\"lastName\":\"User\",\"role\":\"USER\"}"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
     @Test
     @WithMockUser
     public void testRegisterUserWithBlankUsername() throws Exception {
@@ -246,4 +271,94 @@ public class UserControllerTest {
                 .andExpect(status().isNotFound())
                 .andExpect(content().string("User not found with ID: 999"));
     }
+
+    @Test
+    public void testLoginSuccess() throws Exception {
+        when(userService.login(any(LoginRequest.class))).thenReturn(new TokenResponse("access", "refresh", 900));
+
+        mockMvc.perform(post("/api/users/login")
+                        .contentType("application/json")
+                        .content("{\"username\":\"testuser\",\"password\":\"password123\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accessToken").value("access"))
+                .andExpect(jsonPath("$.refreshToken").value("refresh"))
+                .andExpect(jsonPath("$.tokenType").value("Bearer"))
+                .andExpect(jsonPath("$.expiresIn").value(900));
+    }
+
+    @Test
+    public void testLoginWithInvalidCredentials() throws Exception {
+        when(userService.login(any(LoginRequest.class))).thenThrow(new InvalidCredentialsException("Invalid username or password"));
+
+        mockMvc.perform(post("/api/users/login")
+                        .contentType("application/json")
+                        .content("{\"username\":\"testuser\",\"password\":\"wrongpassword\"}"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(content().string("Invalid username or password"));
+    }
+
+    @Test
+    @WithMockUser
+    public void testListUsersFirstPage() throws Exception {
+        UserResponseDto user = new UserResponseDto();
+        user.setUserId(1L);
+        user.setUsername("testuser");
+
+        when(userService.findPage(null, 50)).thenReturn(new UserPageResponse(List.of(user), 1L, true));
+
+        mockMvc.perform(get("/api/users"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users[0].userId").value(1))
+                .andExpect(jsonPath("$.nextCursor").value(1))
+                .andExpect(jsonPath("$.hasMore").value(true));
+    }
+
+    @Test
+    @WithMockUser
+    public void testListUsersCapsPageSize() throws Exception {
+        when(userService.findPage(10L, 500)).thenReturn(new UserPageResponse(List.of(), null, false));
+
+        mockMvc.perform(get("/api/users").param("after", "10").param("limit", "100000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    @WithMockUser
+    public void testSearchUsers() throws Exception {
+        when(userService.search("jon smi", 100)).thenReturn(List.of(
+                new UserSearchResult(7L, "jsmith", "jon.smith@example.com", "Jon", "Smith", 1.9)));
+
+        mockMvc.perform(get("/api/users/search").param("q", "jon smi").param("limit", "5000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].userId").value(7))
+                .andExpect(jsonPath("$[0].username").value("jsmith"))
+                .andExpect(jsonPath("$[0].score").value(1.9));
+    }
+
+    @Test
+    @WithMockUser
+    @SuppressWarnings("unchecked")
+    public void testStreamUsers() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<UserResponseDto> consumer = invocation.getArgument(0);
+            for (long id = 1; id <= 2; id++) {
+                UserResponseDto user = new UserResponseDto();
+                user.setUserId(id);
+                user.setUsername("user" + id);
+                consumer.accept(user);
+            }
+            return null;
+        }).when(userService).streamAll(any(Consumer.class));
+
+        MvcResult result = mockMvc.perform(get("/api/users/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                .andExpect(content().string(matchesPattern(
+                        "\\{\"userId\":1,\"username\":\"user1\".*}\n\\{\"userId\":2,\"username\":\"user2\".*}\n")));
+    }
 }
\ No newline at end of file
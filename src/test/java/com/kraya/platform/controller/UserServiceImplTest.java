@@ -1,23 +1,34 @@
 package com.kraya.platform.controller;
 
+import com.kraya.platform.dto.LoginRequest;
+import com.kraya.platform.dto.UserPageResponse;
 import com.kraya.platform.dto.UserRegistrationRequest;
 import com.kraya.platform.dto.UserRegistrationResponse;
 import com.kraya.platform.dto.UserUpdateRequest;
+import com.kraya.platform.exception.InvalidCredentialsException;
 import com.kraya.platform.exception.UserNotFoundException;
 import com.kraya.platform.model.AppUser;
 import com.kraya.platform.model.User;
 import com.kraya.platform.repository.UserRepository;
+import com.kraya.platform.service.TokenService;
+import com.kraya.platform.service.UserSearchIndex;
 import com.kraya.platform.service.impl.UserServiceImpl;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.net.URI;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -25,6 +36,8 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.*;
 
 public class UserServiceImplTest {
@@ -35,6 +48,15 @@ public class UserServiceImplTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private TokenService tokenService;
+
+    @Mock
+    private UserSearchIndex userSearchIndex;
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private EntityManagerFactory entityManagerFactory;  // Its second-level cache holds no users
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -56,24 +78,54 @@ public class UserServiceImplTest {
         verify(userRepository, times(1)).findAll();
     }
 
+    @Test
+    void findPage_HasMore() {
+        List<User> users = new ArrayList<>();
+        for (long id = 11; id <= 13; id++) {
+            User user = new User();
+            user.setUserId(id);
+            users.add(user);
+        }
+        when(userRepository.findByUserIdGreaterThanOrderByUserIdAsc(10L, Limit.of(3))).thenReturn(users);
+
+        UserPageResponse result = userService.findPage(10L, 2);
+
+        assertEquals(2, result.getUsers().size());
+        assertEquals(12L, result.getNextCursor());
+        assertTrue(result.isHasMore());
+    }
+
+    @Test
+    void findPage_LastPage() {
+        User user = new User();
+        user.setUserId(1L);
+        when(userRepository.findByUserIdGreaterThanOrderByUserIdAsc(0L, Limit.of(3))).thenReturn(List.of(user));
+
+        UserPageResponse result = userService.findPage(null, 2);
+
+        assertEquals(1, result.getUsers().size());
+        assertNull(result.getNextCursor());
+        assertFalse(result.isHasMore());
+    }
+
     @Test
     void findById_ExistingUser() {
         User user = new User();
         user.setUserId(1L);
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.findWithRolesByUserId(1L)).thenReturn(Optional.of(user));
 
         User result = userService.findById(1L);
 
         assertEquals(1L, result.getUserId());
-        verify(userRepository, times(1)).findById(1L);
+        verify(userRepository, times(1)).findWithRolesByUserId(1L);
     }
 
     @Test
     void findById_NonExistingUser() {
-        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+        when(userRepository.findWithRolesByUserId(1L)).thenReturn(Optional.empty());
 
         assertThrows(UserNotFoundException.class, () -> userService.findById(1L));
-        verify(userRepository, times(1)).findById(1L);
+        verify(userRepository, times(1)).findWithRolesByUserId(1L);
     }
 
     @Test
@@ -99,10 +151,8 @@ public class UserServiceImplTest {
         user.setStatus(User.Status.ACTIVE);
         user.setRegistrationDate(LocalDateTime.now());
 
-        when(userRepository.existsByUsername("testuser")).thenReturn(false);
-        when(userRepository.existsByEmail("testuser@example.com")).thenReturn(false);
         when(passwordEncoder.encode("password123")).thenReturn("encodedPassword");
-        when(userRepository.save(any(AppUser.class))).thenReturn(user);
+        when(userRepository.saveAndFlush(any(AppUser.class))).thenReturn(user);
 
         AppUser result = (AppUser) userService.create(request);
 
@@ -117,10 +167,11 @@ public class UserServiceImplTest {
         assertEquals(User.Status.ACTIVE, result.getStatus());
         assertNotNull(result.getRegistrationDate());
 
-        verify(userRepository, times(1)).existsByUsername("testuser");
-        verify(userRepository, times(1)).existsByEmail("testuser@example.com");
+        verify(userRepository, never()).existsByUsername(any());
+        verify(userRepository, never()).existsByEmail(any());
         verify(passwordEncoder, times(1)).encode("password123");
-        verify(userRepository, times(1)).save(any(AppUser.class));
+        verify(userRepository, times(1)).saveAndFlush(any(AppUser.class));
+        verify(userSearchIndex, times(1)).index(result);
     }
 
     @Test
@@ -132,14 +183,14 @@ public class UserServiceImplTest {
         request.setFirstName("Test");
         request.setLastName("User");
 
-        when(userRepository.existsByUsername("testuser")).thenReturn(true);
+        when(passwordEncoder.encode("password123")).thenReturn("encodedPassword");
+        when(userRepository.saveAndFlush(any(AppUser.class))).thenThrow(uniqueViolation(User.UK_USERNAME));
 
-        assertThrows(IllegalArgumentException.class, () -> userService.create(request));
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> userService.create(request));
 
-        verify(userRepository, times(1)).existsByUsername("testuser");
-        verify(userRepository, never()).existsByEmail("testuser@example.com");
-        verify(passwordEncoder, never()).encode("password123");
-        verify(userRepository, never()).save(any(AppUser.class));
+        assertEquals("Username already exists.", ex.getMessage());
+        verify(userRepository, never()).existsByUsername(any());
+        verify(userRepository, times(1)).saveAndFlush(any(AppUser.class));
     }
 
     @Test
@@ -151,15 +202,14 @@ public class UserServiceImplTest {
         request.setFirstName("Test");
         request.setLastName("User");
 
-        when(userRepository.existsByUsername("testuser")).thenReturn(false);
-        when(userRepository.existsByEmail("testuser@example.com")).thenReturn(true);
+        when(passwordEncoder.encode("password123")).thenReturn("encodedPassword");
+        when(userRepository.saveAndFlush(any(AppUser.class))).thenThrow(uniqueViolation(User.UK_EMAIL));
 
-        assertThrows(IllegalArgumentException.class, () -> userService.create(request));
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> userService.create(request));
 
-        verify(userRepository, times(1)).existsByUsername("testuser");
-        verify(userRepository, times(1)).existsByEmail("testuser@example.com");
-        verify(passwordEncoder, never()).encode("password123");
-        verify(userRepository, never()).save(any(AppUser.class));
+        assertEquals("Email already exists.", ex.getMessage());
+        verify(userRepository, never()).existsByEmail(any());
+        verify(userRepository, times(1)).saveAndFlush(any(AppUser.class));
     }
 
     @Test
@@ -195,6 +245,7 @@ public class UserServiceImplTest {
         verify(userRepository, times(1)).findById(1L);
         verify(passwordEncoder, times(1)).encode("newpassword123");
         verify(userRepository, times(1)).save(any(User.class));
+        verify(userSearchIndex, times(1)).index(result);
     }
 
     @Test
@@ -225,6 +276,7 @@ public class UserServiceImplTest {
 
         verify(userRepository, times(1)).findById(1L);
         verify(userRepository, times(1)).delete(user);
+        verify(userSearchIndex, times(1)).remove(1L);
     }
 
     @Test
@@ -260,10 +312,8 @@ public class UserServiceImplTest {
         user.setStatus(User.Status.ACTIVE);
         user.setRegistrationDate(LocalDateTime.now());
 
-        when(userRepository.existsByUsername("testuser")).thenReturn(false);
-        when(userRepository.existsByEmail("testuser@example.com")).thenReturn(false);
         when(passwordEncoder.encode("password123")).thenReturn("encodedPassword");
-        when(userRepository.save(any(AppUser.class))).thenReturn(user);
+        when(userRepository.saveAndFlush(any(AppUser.class))).thenReturn(user);
 
         ResponseEntity<UserRegistrationResponse> response = userService.registerUser(request);
 
@@ -275,9 +325,28 @@ public class UserServiceImplTest {
         assertEquals(1L, responseBody.getUserId());
         assertEquals("User registered successfully", responseBody.getMessage());
 
-        verify(userRepository, times(1)).existsByUsername("testuser");
-        verify(userRepository, times(1)).existsByEmail("testuser@example.com");
+        verify(userRepository, never()).existsByUsername(any());
+        verify(userRepository, never()).existsByEmail(any());
         verify(passwordEncoder, times(1)).encode("password123");
-        verify(userRepository, times(1)).save(any(AppUser.class));
+        verify(userRepository, times(1)).saveAndFlush(any(AppUser.class));
+    }
+
+    @Test
+    void login_UnknownUserStillVerifiesAPassword() {
+        LoginRequest request = new LoginRequest();
+        request.setUsername("nobody");
+        request.setPassword("password123");
+        when(userRepository.findByUsername("nobody")).thenReturn(Optional.empty());
+
+        assertThrows(InvalidCredentialsException.class, () -> userService.login(request));
+
+        // Costs a BCrypt verification like a wrong password does, so timing does not reveal usernames
+        verify(passwordEncoder, times(1)).matches(eq("password123"), startsWith("$2a$10$"));
+        verify(tokenService, never()).issueTokens(any());
+    }
+
+    private static DataIntegrityViolationException uniqueViolation(String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("Unique index or primary key violation", new SQLException(), constraintName));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,154 @@
+package com.kraya.platform.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncJsonAppenderTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    AsyncJsonAppenderTest() {
+        context.setMDCAdapter(MDC.getMDCAdapter());
+    }
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+        context.stop();
+    }
+
+    @Test
+    void writesOneJsonObjectPerLine() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        AsyncJsonAppender appender = start(out, 16, 4);
+        Logger logger = logger(appender);
+
+        MDC.put("requestId", "r-1");
+        logger.info("Registering user: {}", "ana \"quoted\"\n");
+        MDC.remove("requestId");
+        logger.error("Registration failed", new IllegalStateException("boom"));
+        appender.stop();
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        JsonNode info = objectMapper.readTree(lines[0]);
+        assertEquals("INFO", info.get("level").asText());
+        assertEquals("test", info.get("logger").asText());
+        assertEquals("Registering user: ana \"quoted\"\n", info.get("message").asText());
+        assertEquals("r-1", info.get("mdc").get("requestId").asText());
+        assertTrue(info.get("@timestamp").asText().matches("\\d{4}-\\d\\d-\\d\\dT\\d\\d:\\d\\d:\\d\\d\\.\\d{3}Z"));
+
+        JsonNode error = objectMapper.readTree(lines[1]);
+        assertEquals("ERROR", error.get("level").asText());
+        assertNull(error.get("mdc"));
+        assertTrue(error.get("stack_trace").asText().contains("IllegalStateException: boom"));
+        assertEquals(2, appender.written());
+    }
+
+    @Test
+    void dropsInfoBeforeWarnAndNeverError() throws Exception {
+        BlockingOutputStream sink = new BlockingOutputStream();
+        AsyncJsonAppender appender = start(sink, 8, 4);
+        Logger logger = logger(appender);
+
+        logger.info("taken by the writer, which then blocks");
+        assertTrue(sink.writing.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 10; i++) {
+            logger.info("info {}", i);
+        }
+        // The buffer stops taking INFO once fewer than four slots are left
+        assertEquals(5, appender.queued());
+        assertEquals(5, appender.dropped(Level.INFO));
+
+        for (int i = 0; i < 5; i++) {
+            logger.warn("warn {}", i);
+        }
+        assertEquals(8, appender.queued());
+        assertEquals(2, appender.dropped(Level.WARN));
+
+        Thread error = new Thread(() -> logger.error("error while full"));
+        error.start();
+        error.join(200);
+        assertTrue(error.isAlive(), "an error waits for space instead of being dropped");
+
+        sink.release.countDown();
+        error.join(5000);
+        appender.stop();
+        assertEquals(0, appender.dropped(Level.ERROR));
+        assertEquals(1 + 5 + 3 + 1, appender.written());
+        assertTrue(sink.toString().contains("error while full"));
+    }
+
+    @Test
+    void infoDoesNotBlockOnAStalledSink() throws Exception {
+        BlockingOutputStream sink = new BlockingOutputStream();
+        AsyncJsonAppender appender = start(sink, 64, 16);
+        Logger logger = logger(appender);
+        logger.info("taken by the writer, which then blocks");
+        assertTrue(sink.writing.await(5, TimeUnit.SECONDS));
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 10_000; i++) {
+            logger.info("request {}", i);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        assertTrue(elapsed < TimeUnit.SECONDS.toNanos(2), "logging blocked for " + elapsed + " ns");
+        assertEquals(10_000 - 49, appender.dropped(Level.INFO));
+        sink.release.countDown();
+    }
+
+    private AsyncJsonAppender start(OutputStream out, int capacity, int discardingThreshold) {
+        AsyncJsonAppender appender = new AsyncJsonAppender();
+        appender.setContext(context);
+        appender.setName("json");
+        appender.setCapacity(capacity);
+        appender.setDiscardingThreshold(discardingThreshold);
+        appender.setOutputStream(out);
+        appender.start();
+        return appender;
+    }
+
+    private Logger logger(AsyncJsonAppender appender) {
+        Logger logger = context.getLogger("test");
+        logger.setLevel(Level.INFO);
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+        return logger;
+    }
+
+    /**
+     * Holds the first write until released, like a log collector that stopped reading.
+     */
+    private static final class BlockingOutputStream extends ByteArrayOutputStream {
+
+        private final CountDownLatch writing = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            writing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            super.write(b, off, len);
+        }
+    }
+}
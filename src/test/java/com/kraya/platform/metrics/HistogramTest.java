@@ -0,0 +1,65 @@
+package com.kraya.platform.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HistogramTest {
+
+    @Test
+    void bucketsCoverEveryValueInOrder() {
+        for (int i = 0; i < 480; i++) {
+            assertEquals(i, Histogram.indexOf(Histogram.lowerBound(i)));
+            assertEquals(i, Histogram.indexOf(Histogram.upperBound(i)));
+        }
+        assertEquals(Histogram.indexOf(Long.MAX_VALUE), Histogram.indexOf(Histogram.lowerBound(Histogram.indexOf(Long.MAX_VALUE))));
+    }
+
+    @Test
+    void quantilesAreWithinBucketPrecision() {
+        Histogram histogram = new Histogram();
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value * 1000);
+        }
+
+        Histogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(100_000, snapshot.count());
+        assertEquals(100_000_000L, snapshot.max());
+        assertEquals(50_000_000, snapshot.valueAt(0.5), 50_000_000 * 0.07);
+        assertEquals(99_000_000, snapshot.valueAt(0.99), 99_000_000 * 0.07);
+        assertEquals(100_000_000L, snapshot.valueAt(1.0));
+    }
+
+    @Test
+    void smallValuesAreExact() {
+        Histogram histogram = new Histogram();
+        histogram.record(0);
+        histogram.record(3);
+        histogram.record(3);
+        histogram.record(-5);
+
+        Histogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(0, snapshot.valueAt(0.5));
+        assertEquals(3, snapshot.valueAt(0.75));
+        assertEquals(6, snapshot.sum());
+    }
+
+    @Test
+    void recordingDoesNotAllocate() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Histogram histogram = new Histogram();
+        for (int i = 0; i < 100_000; i++) {
+            histogram.record(i * 31L);  // Warm up, so the loop below runs compiled
+        }
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 1_000_000; i++) {
+            histogram.record(i * 31L);
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        assertTrue(allocated < 1024, "allocated " + allocated + " bytes");
+    }
+}
@@ -0,0 +1,66 @@
+package com.kraya.platform.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MetricsTest {
+
+    @Test
+    void rendersSummariesAndCountersInPrometheusFormat() throws Exception {
+        Metrics metrics = new Metrics("");
+        Histogram latency = metrics.histogram("kraya_test_seconds", "Test latency", 1e9,
+                Metrics.label("handler", "UserController.getUserById"));
+        latency.record(2_000_000);
+        latency.record(2_000_000);
+        metrics.counter("kraya_test_total", "Test count", "").addAndGet(3);
+
+        StringWriter out = new StringWriter();
+        metrics.writeTo(out);
+        String text = out.toString();
+
+        assertTrue(text.contains("# TYPE kraya_test_seconds summary\n"), text);
+        assertTrue(text.contains("kraya_test_seconds{handler=\"UserController.getUserById\",quantile=\"0.5\"} 0.00"), text);
+        assertTrue(text.contains("kraya_test_seconds_count{handler=\"UserController.getUserById\"} 2\n"), text);
+        assertTrue(text.contains("kraya_test_seconds_sum{handler=\"UserController.getUserById\"} 0.004\n"), text);
+        assertTrue(text.contains("# TYPE kraya_test_total counter\nkraya_test_total 3\n"), text);
+    }
+
+    @Test
+    void readsSuppliedValuesWhenRendering() throws Exception {
+        Metrics metrics = new Metrics("");
+        AtomicLong depth = new AtomicLong();
+        metrics.gauge("kraya_test_queued", "Test depth", Metrics.label("appender", "JSON"), depth::get);
+        depth.set(7);
+
+        StringWriter out = new StringWriter();
+        metrics.writeTo(out);
+
+        assertTrue(out.toString().contains("# TYPE kraya_test_queued gauge\nkraya_test_queued{appender=\"JSON\"} 7\n"), out.toString());
+    }
+
+    @Test
+    void returnsTheSameMetricForTheSameLabels() {
+        Metrics metrics = new Metrics("");
+        assertSame(metrics.histogram("kraya_test_seconds", "Test", 1e9, "a=\"1\""),
+                metrics.histogram("kraya_test_seconds", "Test", 1e9, "a=\"1\""));
+        assertThrows(IllegalArgumentException.class, () -> metrics.counter("kraya_test_seconds", "Test", ""));
+    }
+
+    @Test
+    void dumpsToFile(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("metrics/metrics.prom");
+        Metrics metrics = new Metrics(file.toString());
+        metrics.counter("kraya_test_total", "Test count", "").incrementAndGet();
+
+        metrics.dump();
+
+        assertTrue(Files.readString(file).contains("kraya_test_total 1\n"));
+    }
+}
@@ -0,0 +1,73 @@
+package com.kraya.platform.metrics;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+
+/**
+ * Test support for asserting how many SQL statements a request or a block of code issues.
+ * <p>
+ * Import it into a JPA test to count statements, then either run requests through
+ * {@link #filter(SqlStatementCounter)} and match {@link #queries(long)} on the result, or wrap
+ * any code in {@link #countQueries(SqlStatementCounter, Runnable)}:
+ * <pre>{@code
+ * @DataJpaTest
+ * @Import(SqlCounting.class)
+ * ...
+ * mockMvc = MockMvcBuilders.standaloneSetup(controller).addFilters(SqlCounting.filter(sqlStatementCounter)).build();
+ * mockMvc.perform(get("/api/users/1")).andExpect(SqlCounting.queries(1));
+ * }</pre>
+ * The filter enforces the handlers' {@link SqlBudget} declarations, so a request over its
+ * budget fails the test as well.
+ */
+@TestConfiguration
+public class SqlCounting {
+
+    @Bean
+    public SqlStatementCounter sqlStatementCounter() {
+        return new SqlStatementCounter();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounting(SqlStatementCounter sqlStatementCounter) {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, sqlStatementCounter);
+            properties.put(AvailableSettings.INTERCEPTOR, sqlStatementCounter);
+        };
+    }
+
+    /**
+     * A budget filter that fails requests over their declared budget and reports the counts
+     * in the response headers; handlers without a budget are not limited.
+     */
+    public static SqlBudgetFilter filter(SqlStatementCounter sqlStatementCounter) {
+        return new SqlBudgetFilter(sqlStatementCounter, SqlBudgetFilter.Mode.FAIL, Integer.MAX_VALUE, true);
+    }
+
+    /**
+     * Matches a response whose request issued exactly the given number of statements.
+     */
+    public static ResultMatcher queries(long expected) {
+        return header().string(SqlBudgetFilter.QUERIES_HEADER, Long.toString(expected));
+    }
+
+    /**
+     * Matches a response whose request loaded exactly the given number of entities.
+     */
+    public static ResultMatcher rows(long expected) {
+        return header().string(SqlBudgetFilter.ROWS_HEADER, Long.toString(expected));
+    }
+
+    /**
+     * Runs the action on the current thread and returns how many statements it issued.
+     */
+    public static long countQueries(SqlStatementCounter sqlStatementCounter, Runnable action) {
+        long before = sqlStatementCounter.statements();
+        action.run();
+        return sqlStatementCounter.statements() - before;
+    }
+}
@@ -0,0 +1,123 @@
+package com.kraya.platform.repository;
+
+import com.kraya.platform.model.Role;
+import com.kraya.platform.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guards the user fetch plans by asserting how many SQL statements each lookup issues.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+public class UserRepositoryTest {
+
+    private static final int USER_COUNT = 20;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long firstUserId;
+
+    @BeforeEach
+    void setUp() {
+        Role userRole = new Role("USER");
+        Role adminRole = new Role("ADMIN");
+        entityManager.persist(userRole);
+        entityManager.persist(adminRole);
+
+        for (int i = 0; i < USER_COUNT; i++) {
+            User user = new User();
+            user.setUsername("user" + i);
+            user.setPassword("encodedPassword");
+            user.setEmail("user" + i + "@example.com");
+            user.setFirstName("First" + i);
+            user.setLastName("Last" + i);
+            user.setRoles(List.of(userRole, adminRole));
+            entityManager.persist(user);
+            if (firstUserId == null) {
+                firstUserId = user.getUserId();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findAll_LoadsRolesInOneStatement() {
+        List<User> users = userRepository.findAll();
+        users.forEach(user -> assertEquals(2, user.getRoles().size()));
+
+        assertEquals(USER_COUNT, users.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findById_SkipsRoles() {
+        User user = userRepository.findById(firstUserId).orElseThrow();
+
+        assertFalse(Hibernate.isInitialized(user.getRoles()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findWithRolesByUserId_LoadsRolesInOneStatement() {
+        User user = userRepository.findWithRolesByUserId(firstUserId).orElseThrow();
+
+        assertTrue(Hibernate.isInitialized(user.getRoles()));
+        assertEquals(2, user.getRoles().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findPage_LoadsRolesForWholePageInOneStatement() {
+        List<User> page = userRepository.findByUserIdGreaterThanOrderByUserIdAsc(0L, Limit.of(10));
+        page.forEach(user -> assertEquals(2, user.getRoles().size()));
+
+        assertEquals(10, page.size());
+        assertEquals(2, statistics.getPrepareStatementCount()); // One for the users, one for all of their roles
+    }
+
+    @Test
+    void saveAndFlush_DuplicateUsernameReportsNamedConstraint() {
+        User duplicate = new User();
+        duplicate.setUsername("user0");
+        duplicate.setPassword("encodedPassword");
+        duplicate.setEmail("unique@example.com");
+        duplicate.setFirstName("First");
+        duplicate.setLastName("Last");
+
+        DataIntegrityViolationException ex = assertThrows(DataIntegrityViolationException.class,
+                () -> userRepository.saveAndFlush(duplicate));
+
+        ConstraintViolationException violation = assertInstanceOf(ConstraintViolationException.class, ex.getCause());
+        assertTrue(violation.getConstraintName().toLowerCase(Locale.ROOT).contains(User.UK_USERNAME));
+    }
+}
@@ -0,0 +1,107 @@
+package com.kraya.platform.security;
+
+import com.kraya.platform.exception.ServiceBusyException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoundedPasswordEncoderTest {
+
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final ExecutorService callers = Executors.newFixedThreadPool(2);
+
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+        encoder.close();
+    }
+
+    @Test
+    void encodeAndMatchRunOnDelegate() {
+        encoder = new BoundedPasswordEncoder(new PrefixEncoder(null, null), 1, 1, Duration.ofSeconds(5));
+
+        assertEquals("hashed:secret", encoder.encode("secret"));
+        assertTrue(encoder.matches("secret", "hashed:secret"));
+        assertFalse(encoder.matches("other", "hashed:secret"));
+    }
+
+    @Test
+    void rejectsWhenPoolAndQueueAreFull() throws Exception {
+        encoder = new BoundedPasswordEncoder(new PrefixEncoder(started, release), 1, 1, Duration.ofSeconds(5));
+
+        callers.submit(() -> encoder.encode("first"));   // Occupies the only hashing thread
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        callers.submit(() -> encoder.encode("second"));  // Fills the queue
+        while (encoder.getQueuedTasks() == 0) {
+            Thread.onSpinWait();
+        }
+
+        assertThrows(ServiceBusyException.class, () -> encoder.encode("third"));
+    }
+
+    @Test
+    void matchesDoesNotWaitForASaturatedPool() throws Exception {
+        encoder = new BoundedPasswordEncoder(new PrefixEncoder(started, release), 1, 1, Duration.ofSeconds(5));
+        callers.submit(() -> encoder.encode("first"));   // Occupies the only hashing thread
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        callers.submit(() -> encoder.encode("second"));  // Fills the queue
+        while (encoder.getQueuedTasks() == 0) {
+            Thread.onSpinWait();
+        }
+
+        // Authentication compares on the caller's thread, so a sign-up burst cannot lock clients out
+        assertTrue(encoder.matches("secret", "hashed:secret"));
+        assertThrows(ServiceBusyException.class, () -> encoder.encode("third"));
+    }
+
+    @Test
+    void timesOutWhenHashingTakesTooLong() throws Exception {
+        encoder = new BoundedPasswordEncoder(new PrefixEncoder(started, release), 1, 1, Duration.ofMillis(50));
+
+        assertThrows(ServiceBusyException.class, () -> encoder.encode("slow"));
+    }
+
+    /**
+     * Cheap stand-in for BCrypt that can be blocked to simulate a saturated pool.
+     */
+    private static class PrefixEncoder implements PasswordEncoder {
+
+        private final CountDownLatch started;
+        private final CountDownLatch release;
+
+        PrefixEncoder(CountDownLatch started, CountDownLatch release) {
+            this.started = started;
+            this.release = release;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            if (started != null) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return "hashed:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return ("hashed:" + rawPassword).equals(encodedPassword);  // Never blocks, unlike encode
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.kraya.platform.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BusyAwareAuthenticationEntryPointTest {
+
+    private final BusyAwareAuthenticationEntryPoint entryPoint = new BusyAwareAuthenticationEntryPoint("Realm");
+
+    @Test
+    void wrongCredentialsGetAChallenge() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        entryPoint.commence(new MockHttpServletRequest(), response, new BadCredentialsException("Bad credentials"));
+
+        assertEquals(401, response.getStatus());
+        assertEquals("Basic realm=\"Realm\"", response.getHeader(HttpHeaders.WWW_AUTHENTICATE));
+    }
+
+    @Test
+    void backendFailuresAskTheClientToRetry() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        entryPoint.commence(new MockHttpServletRequest(), response,
+                new InternalAuthenticationServiceException("Connection is not available"));
+
+        assertEquals(503, response.getStatus());
+        assertEquals("1", response.getHeader(HttpHeaders.RETRY_AFTER));
+    }
+}
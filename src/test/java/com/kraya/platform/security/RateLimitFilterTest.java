@@ -0,0 +1,74 @@
+package com.kraya.platform.security;
+
+import com.kraya.platform.config.RateLimitProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateLimitFilterTest {
+
+    private final RateLimitFilter filter = new RateLimitFilter(properties(), () -> 0L);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void rejectsWithRetryAfterOnceBurstIsUsed() throws Exception {
+        assertEquals(200, call("/api/users/login", "10.0.0.1").getStatus());
+        assertEquals(200, call("/api/users/login", "10.0.0.1").getStatus());
+
+        MockHttpServletResponse rejected = call("/api/users/login", "10.0.0.1");
+        assertEquals(429, rejected.getStatus());
+        assertEquals("10", rejected.getHeader("Retry-After"));
+
+        assertEquals(200, call("/api/users/login", "10.0.0.2").getStatus());  // Another client
+        assertEquals(200, call("/api/users/1", "10.0.0.1").getStatus());      // Another group
+        assertEquals(200, call("/actuator/health", "10.0.0.1").getStatus());  // No group
+    }
+
+    @Test
+    void keysAuthenticatedClientsByUserId() throws Exception {
+        TokenClaims claims = new TokenClaims("integration", 7L, List.of("CREDITOR"), TokenClaims.API_KEY, null, 0, 0);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("integration", claims, List.of()));
+
+        assertEquals(200, call("/api/users/1", "10.0.0.1").getStatus());
+        assertEquals(429, call("/api/users/1", "10.0.0.2").getStatus());  // Same user from another address
+        assertEquals(1, filter.clientCount());
+    }
+
+    private MockHttpServletResponse call(String path, String remoteAddr) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setRemoteAddr(remoteAddr);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static RateLimitProperties properties() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setSweepInterval(Duration.ofMinutes(1));
+        properties.setGroups(List.of(group("auth", "/api/users/login", 0.1, 2), group("users", "/api/users/**", 1, 1)));
+        return properties;
+    }
+
+    private static RateLimitProperties.RouteGroup group(String name, String pattern, double rate, int burst) {
+        RateLimitProperties.RouteGroup group = new RateLimitProperties.RouteGroup();
+        group.setName(name);
+        group.setPatterns(List.of(pattern));
+        group.setRequestsPerSecond(rate);
+        group.setBurst(burst);
+        return group;
+    }
+}
@@ -0,0 +1,114 @@
+package com.kraya.platform.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void allowsBurstThenRefillsAtRate() {
+        RateLimiter limiter = new RateLimiter(2, 3, 100, 30 * SECOND, 0);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("client", 0));
+        }
+        assertEquals(SECOND / 2, limiter.tryAcquire("client", 0));  // One token every half second
+        assertEquals(0, limiter.tryAcquire("client", SECOND / 2));
+        assertTrue(limiter.tryAcquire("client", SECOND / 2) > 0);
+        assertEquals(0, limiter.tryAcquire("other", 0));  // Buckets are per client
+    }
+
+    @Test
+    void sweepsOnlyFullBuckets() {
+        RateLimiter limiter = new RateLimiter(1, 2, 100, 30 * SECOND, 0);
+        limiter.tryAcquire("idle", 0);
+        limiter.tryAcquire("busy", 0);
+        limiter.tryAcquire("busy", 0);
+
+        limiter.sweep(SECOND);
+
+        assertEquals(1, limiter.size());
+        assertEquals(0, limiter.tryAcquire("busy", SECOND));  // The token refilled since; a new bucket would hold two
+        assertTrue(limiter.tryAcquire("busy", SECOND) > 0);
+    }
+
+    @Test
+    void sweepsEarlyWhenTooManyClients() {
+        RateLimiter limiter = new RateLimiter(1000, 1, 10, 30 * SECOND, 0);
+        for (int i = 0; i < 1000; i++) {
+            limiter.tryAcquire("client-" + i, i * SECOND);  // Every earlier client is full again
+        }
+        assertTrue(limiter.size() <= 11, "size was " + limiter.size());
+    }
+
+    @Test
+    void sweepsEarlyOnlyAfterAsManyNewClientsAgain() {
+        RateLimiter limiter = new RateLimiter(1, 1, 10, 30 * SECOND, 0);
+        for (int i = 0; i < 12; i++) {
+            limiter.tryAcquire("active-" + i, 0);  // None of them is full again before a second has passed
+        }
+        assertEquals(12, limiter.size());  // Swept once at 11, nothing to drop; the next early sweep waits for 22
+
+        // Were every new client to sweep, this would walk the whole map each time
+        for (int i = 12; i < 23; i++) {
+            limiter.tryAcquire("active-" + i, 0);
+        }
+        assertEquals(23, limiter.size());
+        limiter.tryAcquire("late", 2 * SECOND);  // Crowded again, and by now everyone else is full
+        assertEquals(1, limiter.size());
+    }
+
+    @Test
+    void releaseGivesBackOneToken() {
+        RateLimiter limiter = new RateLimiter(1, 2, 100, 30 * SECOND, 0);
+        assertEquals(0, limiter.tryAcquire("client", 0));
+        assertEquals(0, limiter.tryAcquire("client", 0));
+        limiter.release("client");
+        assertEquals(0, limiter.tryAcquire("client", 0));
+        assertTrue(limiter.tryAcquire("client", 0) > 0);
+
+        // Releasing more than was taken never holds more than a full bucket
+        limiter.release("client");
+        limiter.release("client");
+        limiter.release("client");
+        assertEquals(0, limiter.tryAcquire("client", 0));
+        assertEquals(0, limiter.tryAcquire("client", 0));
+        assertTrue(limiter.tryAcquire("client", 0) > 0);
+        limiter.release("unknown");
+        assertEquals(1, limiter.size());
+    }
+
+    @Test
+    void concurrentCallersNeverExceedBurst() throws Exception {
+        RateLimiter limiter = new RateLimiter(1, 100, 100, 30 * SECOND, 0);
+        AtomicInteger allowed = new AtomicInteger();
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            Future<?>[] futures = new Future<?>[8];
+            for (int t = 0; t < futures.length; t++) {
+                futures[t] = callers.submit(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        if (limiter.tryAcquire("shared", 0) == 0) {
+                            allowed.incrementAndGet();
+                        }
+                    }
+                });
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        assertEquals(100, allowed.get());
+    }
+}
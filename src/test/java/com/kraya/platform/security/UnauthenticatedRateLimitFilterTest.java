@@ -0,0 +1,89 @@
+package com.kraya.platform.security;
+
+import com.kraya.platform.config.RateLimitProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UnauthenticatedRateLimitFilterTest {
+
+    private final UnauthenticatedRateLimitFilter filter = new UnauthenticatedRateLimitFilter(properties(), () -> 0L);
+    private final AtomicInteger authenticationAttempts = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void rejectsFailedCredentialsBeforeCheckingThem() throws Exception {
+        assertEquals(401, call("10.0.0.1", failedLogin()).getStatus());
+        assertEquals(401, call("10.0.0.1", failedLogin()).getStatus());
+
+        MockHttpServletResponse rejected = call("10.0.0.1", failedLogin());
+        assertEquals(429, rejected.getStatus());
+        assertEquals("10", rejected.getHeader("Retry-After"));
+        assertEquals(2, authenticationAttempts.get());  // The third guess was never checked
+
+        assertEquals(401, call("10.0.0.2", failedLogin()).getStatus());  // Another address
+    }
+
+    @Test
+    void countsAnonymousRequests() throws Exception {
+        FilterChain anonymous = (request, response) -> { };
+        assertEquals(200, call("10.0.0.1", anonymous).getStatus());
+        assertEquals(200, call("10.0.0.1", anonymous).getStatus());
+        assertEquals(429, call("10.0.0.1", anonymous).getStatus());
+    }
+
+    @Test
+    void authenticatedRequestsGiveTheirTokenBack() throws Exception {
+        FilterChain authenticated = (request, response) -> SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("bank", null, List.of()));
+        for (int i = 0; i < 10; i++) {
+            assertEquals(200, call("10.0.0.1", authenticated).getStatus());
+        }
+        assertEquals(1, filter.clientCount());
+
+        // Valid credentials do not shelter guesses from the same address
+        assertEquals(401, call("10.0.0.1", failedLogin()).getStatus());
+        assertEquals(401, call("10.0.0.1", failedLogin()).getStatus());
+        assertEquals(429, call("10.0.0.1", failedLogin()).getStatus());
+    }
+
+    private FilterChain failedLogin() {
+        return (request, response) -> {
+            authenticationAttempts.incrementAndGet();
+            SecurityContextHolder.clearContext();
+            ((HttpServletResponse) response).sendError(HttpServletResponse.SC_UNAUTHORIZED);
+        };
+    }
+
+    private MockHttpServletResponse call(String remoteAddr, FilterChain chain) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/1");
+        request.setRemoteAddr(remoteAddr);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private static RateLimitProperties properties() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setSweepInterval(Duration.ofMinutes(1));
+        properties.getUnauthenticated().setRequestsPerSecond(0.1);
+        properties.getUnauthenticated().setBurst(2);
+        return properties;
+    }
+}
@@ -0,0 +1,160 @@
+package com.kraya.platform.service;
+
+import com.kraya.platform.model.AppUser;
+import com.kraya.platform.model.Debt;
+import com.kraya.platform.model.Debtor;
+import com.kraya.platform.model.User;
+import com.kraya.platform.repository.DebtRepository;
+import com.kraya.platform.repository.DebtorRepository;
+import com.kraya.platform.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static com.kraya.platform.TestFixtures.newDebt;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Loads and refreshes the debtor snapshot from the embedded database.
+ */
+@DataJpaTest(properties = "spring.flyway.enabled=false")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class DebtorSnapshotTest {
+
+    @Autowired
+    private DebtorRepository debtorRepository;
+
+    @Autowired
+    private DebtRepository debtRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private DebtorSnapshot debtorSnapshot;
+    private AppUser creditor;
+
+    @BeforeEach
+    void setUp() {
+        // A page size of 2 makes the loads span several keyset pages
+        debtorSnapshot = new DebtorSnapshot(debtorRepository, debtRepository, 2, Duration.ofMinutes(1));
+        creditor = new AppUser();
+        creditor.setUsername("creditor");
+        creditor.setPassword("encodedPassword");
+        creditor.setEmail("creditor@example.com");
+        creditor.setFirstName("First");
+        creditor.setLastName("Last");
+        creditor.setRegistrationDate(LocalDateTime.now());
+        creditor = userRepository.save(creditor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        debtRepository.deleteAllInBatch();
+        debtorRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testRebuild_LoadsEveryDebtorAndOpenTotals() {
+        Debtor alice = newDebtor("alice", " low ", 2);
+        Debtor bob = newDebtor("bob", "HIGH", null);
+        Debtor carol = newDebtor("carol", null, 0);
+        saveDebt(alice, "100.50", Debt.Status.ACTIVE);
+        saveDebt(alice, "20.00", Debt.Status.DISPUTED);
+        saveDebt(alice, "999.00", Debt.Status.PAID);
+        saveDebt(bob, "5.00", Debt.Status.PENDING);
+
+        assertTrue(debtorSnapshot.rebuild().isFullRebuild());
+        DebtorColumns columns = debtorSnapshot.get();
+
+        assertEquals(3, columns.size());
+        int aliceRow = columns.rowOf(alice.getUserId());
+        assertEquals(12050, columns.outstandingCents()[aliceRow]);
+        assertEquals(2, columns.openDebts()[aliceRow]);
+        assertEquals(2, columns.dependents()[aliceRow]);
+        assertEquals("LOW", columns.dictionary(DebtorColumns.Text.INCOME_LEVEL)[columns.codes(DebtorColumns.Text.INCOME_LEVEL)[aliceRow]]);
+        assertEquals(LocalDate.of(1980, 1, 1).toEpochDay(), columns.birthEpochDays()[aliceRow]);
+        int bobRow = columns.rowOf(bob.getUserId());
+        assertEquals(500, columns.outstandingCents()[bobRow]);
+        assertEquals(DebtorColumns.NO_DEPENDENTS_VALUE, columns.dependents()[bobRow]);
+        int carolRow = columns.rowOf(carol.getUserId());
+        assertEquals(0, columns.openDebts()[carolRow]);
+        assertEquals(DebtorColumns.NO_VALUE, columns.codes(DebtorColumns.Text.INCOME_LEVEL)[carolRow]);
+        assertEquals(-1, columns.rowOf(creditor.getUserId()));
+    }
+
+    @Test
+    void testRefresh_AppliesOnlyChanges() {
+        Debtor alice = newDebtor("alice", "LOW", 2);
+        Debtor bob = newDebtor("bob", "HIGH", 1);
+        Debt aliceDebt = saveDebt(alice, "100.00", Debt.Status.ACTIVE);
+        debtorSnapshot.rebuild();
+        DebtorColumns before = debtorSnapshot.get();
+
+        alice.setIncomeLevel("MEDIUM");
+        alice = debtorRepository.save(alice);
+        aliceDebt.setStatus(Debt.Status.PAID);
+        debtRepository.save(aliceDebt);
+        Debtor dave = newDebtor("dave", "LOW", 0);
+        saveDebt(dave, "42.00", Debt.Status.ACTIVE);
+
+        var refresh = debtorSnapshot.refresh();
+        DebtorColumns after = debtorSnapshot.get();
+
+        assertFalse(refresh.isFullRebuild());
+        assertEquals(before.getVersion() + 1, after.getVersion());
+        assertEquals(3, after.size());
+        int aliceRow = after.rowOf(alice.getUserId());
+        assertEquals(before.rowOf(alice.getUserId()), aliceRow);
+        assertEquals("MEDIUM", after.dictionary(DebtorColumns.Text.INCOME_LEVEL)[after.codes(DebtorColumns.Text.INCOME_LEVEL)[aliceRow]]);
+        assertEquals(0, after.outstandingCents()[aliceRow]);
+        assertEquals(0, after.openDebts()[aliceRow]);
+        assertEquals(4200, after.outstandingCents()[after.rowOf(dave.getUserId())]);
+        assertEquals(1, after.dependents()[after.rowOf(bob.getUserId())]);
+        // The published snapshot was not touched
+        assertEquals(10000, before.outstandingCents()[before.rowOf(alice.getUserId())]);
+        assertEquals(-1, before.rowOf(dave.getUserId()));
+    }
+
+    @Test
+    void testRefresh_RebuildsWhenDebtorsWereDeleted() {
+        newDebtor("alice", "LOW", 2);
+        Debtor bob = newDebtor("bob", "HIGH", 1);
+        debtorSnapshot.rebuild();
+
+        debtorRepository.delete(bob);
+
+        var refresh = debtorSnapshot.refresh();
+        assertTrue(refresh.isFullRebuild());
+        assertEquals(1, debtorSnapshot.get().size());
+        assertEquals(-1, debtorSnapshot.get().rowOf(bob.getUserId()));
+    }
+
+    private Debtor newDebtor(String username, String incomeLevel, Integer dependents) {
+        Debtor debtor = new Debtor();
+        debtor.setUsername(username);
+        debtor.setPassword("encodedPassword");
+        debtor.setEmail(username + "@example.com");
+        debtor.setFirstName("First");
+        debtor.setLastName("Last");
+        debtor.setRegistrationDate(LocalDateTime.now());
+        debtor.setStatus(User.Status.ACTIVE);
+        debtor.setIncomeLevel(incomeLevel);
+        debtor.setDependentsNumber(dependents);
+        debtor.setDateOfBirth(LocalDate.of(1980, 1, 1));
+        debtor.setProfileVerified(true);
+        return debtorRepository.save(debtor);
+    }
+
+    private Debt saveDebt(Debtor debtor, String amount, Debt.Status status) {
+        return debtRepository.save(newDebt(debtor, creditor, amount, status));
+    }
+}
@@ -0,0 +1,48 @@
+package com.kraya.platform.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DocumentStorageTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    void testStore_DeduplicatesIdenticalContent() throws Exception {
+        DocumentStorage storage = new DocumentStorage(root);
+        byte[] payslip = new byte[300_000]; // spans several copy buffers
+        new Random(42).nextBytes(payslip);
+
+        DocumentStorage.StoredContent first = storage.store(new ByteArrayInputStream(payslip));
+        DocumentStorage.StoredContent second = storage.store(new ByteArrayInputStream(payslip));
+        DocumentStorage.StoredContent other = storage.store(new ByteArrayInputStream("statement".getBytes()));
+
+        assertEquals(64, first.hash().length());
+        assertEquals(first, second);
+        assertEquals(payslip.length, first.length());
+        assertEquals(first.hash().substring(0, 2) + "/" + first.hash().substring(2, 4) + "/" + first.hash(),
+                first.relativePath());
+        assertArrayEquals(payslip, Files.readAllBytes(storage.resolve(first.relativePath())));
+        assertEquals("b111c6e1d318f203063e5c16bab43c108326af0aa2f7b65760c95547a43dbe52", other.hash());
+
+        try (Stream<Path> files = Files.walk(root)) {
+            assertEquals(2, files.filter(Files::isRegularFile).count()); // no duplicates, no leftover temp files
+        }
+    }
+
+    @Test
+    void testResolve_RejectsPathsOutsideStorage() {
+        DocumentStorage storage = new DocumentStorage(root);
+        assertThrows(IllegalArgumentException.class, () -> storage.resolve("../secret"));
+        assertThrows(IllegalArgumentException.class, () -> storage.resolve("tmp/upload-1.part"));
+    }
+}
@@ -0,0 +1,137 @@
+package com.kraya.platform.service;
+
+import com.kraya.platform.dto.EligibilityRequest;
+import com.kraya.platform.dto.EligibilityResponse;
+import com.kraya.platform.dto.EligibilityRule;
+import com.kraya.platform.exception.InvalidInputException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Scores synthetic snapshots, checking the parallel ranking against a straightforward one.
+ */
+public class EligibilityScorerTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 6, 15);
+
+    private final EligibilityScorer scorer = new EligibilityScorer(4);
+
+    @AfterEach
+    void tearDown() {
+        scorer.shutdown();
+    }
+
+    @Test
+    void testRank_AppliesRulesAndOrdering() {
+        List<DebtorColumns.DebtorRow> debtors = List.of(
+                row(1, true, "low", "UNEMPLOYED", 3, LocalDate.of(1990, 6, 15), true),
+                row(2, true, "LOW", "EMPLOYED", 0, LocalDate.of(1990, 6, 16), false),
+                row(3, true, "HIGH", "UNEMPLOYED", null, null, true),
+                row(4, false, "LOW", "UNEMPLOYED", 3, LocalDate.of(1950, 1, 1), true),
+                row(5, true, "LOW", "UNEMPLOYED", 3, LocalDate.of(1990, 6, 15), true));
+        Map<Long, DebtorColumns.DebtTotals> totals = Map.of(
+                1L, new DebtorColumns.DebtTotals(new BigDecimal("500.00"), 2),
+                5L, new DebtorColumns.DebtTotals(new BigDecimal("900.00"), 1));
+        DebtorColumns columns = DebtorColumns.empty().withChanges(debtors, totals, LocalDateTime.now());
+
+        EligibilityRequest request = request(1.0, 10,
+                rule(EligibilityRule.Attribute.INCOME_LEVEL, List.of(" Low"), null, null, 2.0, true),
+                rule(EligibilityRule.Attribute.AGE, null, "36", null, 1.0, false),
+                rule(EligibilityRule.Attribute.DEPENDENTS, null, "1", "5", 1.0, false),
+                rule(EligibilityRule.Attribute.PROFILE_VERIFIED, null, null, null, 0.5, false));
+        EligibilityResponse response = scorer.rank(columns, request, TODAY);
+
+        // Debtor 2 turns 36 tomorrow, debtor 3 fails the required rule and debtor 4 is inactive
+        assertEquals(5, response.getDebtorsScanned());
+        assertEquals(3, response.getDebtorsMatched());
+        assertEquals(List.of(5L, 1L, 2L), response.getRanked().stream().map(EligibilityResponse.RankedDebtor::getDebtorId).toList());
+        assertEquals(4.5, response.getRanked().get(0).getScore());
+        assertEquals(new BigDecimal("900.00"), response.getRanked().get(0).getOutstandingAmount());
+        assertEquals(2, response.getRanked().get(1).getOpenDebts());
+        assertEquals(2.0, response.getRanked().get(2).getScore());
+    }
+
+    @Test
+    void testRank_MatchesSequentialRankingOnLargeSnapshot() {
+        Random random = new Random(42);
+        String[] incomes = {"LOW", "MEDIUM", "HIGH", null};
+        String[] housing = {"RENTING", "OWNER", "HOMELESS"};
+        List<DebtorColumns.DebtorRow> debtors = new ArrayList<>();
+        Map<Long, DebtorColumns.DebtTotals> totals = new HashMap<>();
+        for (long id = 1; id <= 200_000; id++) {
+            debtors.add(new DebtorColumns.DebtorRow(id, random.nextInt(10) > 0, incomes[random.nextInt(4)], null, null,
+                    housing[random.nextInt(3)], random.nextInt(6), LocalDate.of(1940 + random.nextInt(60), 1, 1), null));
+            totals.put(id, new DebtorColumns.DebtTotals(BigDecimal.valueOf(random.nextInt(5_000_000), 2), random.nextInt(4)));
+        }
+        DebtorColumns columns = DebtorColumns.empty().withChanges(debtors, totals, LocalDateTime.now());
+        EligibilityRequest request = request(1.5, 250,
+                rule(EligibilityRule.Attribute.INCOME_LEVEL, List.of("LOW", "MEDIUM"), null, null, 1.0, false),
+                rule(EligibilityRule.Attribute.HOUSING_STATUS, List.of("HOMELESS"), null, null, 1.5, false),
+                rule(EligibilityRule.Attribute.OUTSTANDING_AMOUNT, null, "10000", null, 0.5, true),
+                rule(EligibilityRule.Attribute.OPEN_DEBTS, null, null, "2", 0.25, false));
+
+        EligibilityResponse response = scorer.rank(columns, request, TODAY);
+
+        List<long[]> expected = new ArrayList<>();  // debtor ID, score in quarters, outstanding cents
+        for (int row = 0; row < columns.size(); row++) {
+            if (!columns.active()[row] || columns.outstandingCents()[row] < 1_000_000) {
+                continue;
+            }
+            String income = columns.dictionary(DebtorColumns.Text.INCOME_LEVEL)[columns.codes(DebtorColumns.Text.INCOME_LEVEL)[row]];
+            String home = columns.dictionary(DebtorColumns.Text.HOUSING_STATUS)[columns.codes(DebtorColumns.Text.HOUSING_STATUS)[row]];
+            long quarters = 2 + ("LOW".equals(income) || "MEDIUM".equals(income) ? 4 : 0) + ("HOMELESS".equals(home) ? 6 : 0)
+                    + (columns.openDebts()[row] <= 2 ? 1 : 0);
+            if (quarters >= 6) {
+                expected.add(new long[]{columns.debtorIds()[row], quarters, columns.outstandingCents()[row]});
+            }
+        }
+        expected.sort((a, b) -> a[1] != b[1] ? Long.compare(b[1], a[1])
+                : a[2] != b[2] ? Long.compare(b[2], a[2]) : Long.compare(a[0], b[0]));
+
+        assertEquals(expected.size(), response.getDebtorsMatched());
+        assertEquals(250, response.getRanked().size());
+        for (int i = 0; i < 250; i++) {
+            assertEquals(expected.get(i)[0], response.getRanked().get(i).getDebtorId(), "Rank " + i);
+            assertEquals(expected.get(i)[1] / 4.0, response.getRanked().get(i).getScore());
+        }
+    }
+
+    @Test
+    void testRank_RejectsRulesWithoutValues() {
+        DebtorColumns columns = DebtorColumns.empty();
+        assertThrows(InvalidInputException.class, () -> scorer.rank(columns,
+                request(0, 10, rule(EligibilityRule.Attribute.DEPENDENTS, null, null, null, 1.0, false)), TODAY));
+        assertThrows(InvalidInputException.class, () -> scorer.rank(columns,
+                request(0, 10, rule(EligibilityRule.Attribute.MARITAL_STATUS, List.of(), null, null, 1.0, false)), TODAY));
+    }
+
+    private static DebtorColumns.DebtorRow row(long id, boolean active, String income, String employment,
+                                               Integer dependents, LocalDate dateOfBirth, boolean verified) {
+        return new DebtorColumns.DebtorRow(id, active, income, employment, null, null, dependents, dateOfBirth, verified);
+    }
+
+    private static EligibilityRule rule(EligibilityRule.Attribute attribute, List<String> values, String min, String max,
+                                        double weight, boolean required) {
+        return new EligibilityRule(attribute, values, min == null ? null : new BigDecimal(min),
+                max == null ? null : new BigDecimal(max), weight, required);
+    }
+
+    private static EligibilityRequest request(double minScore, int limit, EligibilityRule... rules) {
+        EligibilityRequest request = new EligibilityRequest();
+        request.setRules(List.of(rules));
+        request.setMinScore(minScore);
+        request.setLimit(limit);
+        return request;
+    }
+}
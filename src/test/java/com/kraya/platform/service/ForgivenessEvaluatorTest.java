@@ -0,0 +1,199 @@
+package com.kraya.platform.service;
+
+import com.kraya.platform.dto.VoteRequest;
+import com.kraya.platform.event.DebtorForgivenEvent;
+import com.kraya.platform.event.VoteTallyChangedEvent;
+import com.kraya.platform.model.AppUser;
+import com.kraya.platform.model.Creditor;
+import com.kraya.platform.model.Debt;
+import com.kraya.platform.model.ForgivenessDecision;
+import com.kraya.platform.model.Vote;
+import com.kraya.platform.repository.CreditorRepository;
+import com.kraya.platform.repository.DebtRepository;
+import com.kraya.platform.repository.ForgivenessDecisionRepository;
+import com.kraya.platform.repository.UserRepository;
+import com.kraya.platform.repository.VoteRepository;
+import com.kraya.platform.repository.VoteTallyRepository;
+import com.kraya.platform.service.impl.VoteServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static com.kraya.platform.TestFixtures.newDebt;
+import static com.kraya.platform.TestFixtures.newUser;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Casts votes through the vote service and checks that the evaluator forgives exactly the
+ * debtors whose votes meet the rules (3 yes votes, two thirds of the votes cast).
+ */
+@DataJpaTest(properties = "spring.flyway.enabled=false")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ForgivenessEvaluatorTest {
+
+    @Autowired
+    private DebtRepository debtRepository;
+
+    @Autowired
+    private ForgivenessDecisionRepository decisionRepository;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    private VoteTallyRepository voteTallyRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CreditorRepository creditorRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private VoteTallies voteTallies;
+    private ForgivenessEvaluator evaluator;
+    private VoteServiceImpl voteService;
+    private final List<DebtorForgivenEvent> decisions = new CopyOnWriteArrayList<>();
+    private final List<AppUser> creditors = new ArrayList<>();
+    private AppUser debtor;
+    private AppUser otherDebtor;
+
+    @BeforeEach
+    void setUp() {
+        voteTallies = new VoteTallies(voteRepository, voteTallyRepository, jdbcTemplate, transactionManager);
+        voteTallies.rebuild();
+        evaluator = new ForgivenessEvaluator(voteTallies, debtRepository, voteRepository, decisionRepository,
+                transactionManager, event -> decisions.add((DebtorForgivenEvent) event), 3, 0.66, 2);
+        voteService = new VoteServiceImpl(voteRepository, userRepository, creditorRepository, debtRepository,
+                voteTallies, transactionManager, event -> evaluator.onVoteTallyChanged((VoteTallyChangedEvent) event));
+
+        debtor = userRepository.save(newUser(new AppUser(), "debtor"));
+        otherDebtor = userRepository.save(newUser(new AppUser(), "other"));
+        for (int i = 0; i < 6; i++) {
+            creditors.add(creditorRepository.save(newUser(new Creditor(), "creditor" + i)));
+            // A settled debt makes each creditor eligible to vote without changing what can be forgiven
+            saveDebt(debtor, creditors.get(i), Debt.Status.PAID);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        evaluator.shutdown();
+        decisionRepository.deleteAllInBatch();
+        voteTallyRepository.deleteAllInBatch();
+        voteRepository.deleteAllInBatch();
+        debtRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testVotes_ForgiveOpenDebtsOnceRulesAreMet() throws Exception {
+        AppUser holder = creditors.get(0);
+        List<Long> open = List.of(saveDebt(debtor, holder, Debt.Status.ACTIVE), saveDebt(debtor, holder, Debt.Status.ACTIVE),
+                saveDebt(debtor, holder, Debt.Status.DISPUTED));
+        Long paid = saveDebt(debtor, holder, Debt.Status.PAID);
+        Long unrelated = saveDebt(otherDebtor, holder, Debt.Status.ACTIVE);
+
+        vote(0, true);
+        vote(1, true);
+        assertTrue(evaluator.awaitIdle(10_000));
+        assertTrue(decisions.isEmpty());
+
+        vote(2, true);
+        assertTrue(evaluator.awaitIdle(10_000));
+
+        assertEquals(1, decisions.size());
+        assertEquals(3, decisions.get(0).getDebtsForgiven());
+        assertEquals(0, new BigDecimal("300.00").compareTo(decisions.get(0).getAmountForgiven()));
+        for (Long debtId : open) {
+            assertEquals(Debt.Status.FORGIVEN, debtRepository.findById(debtId).orElseThrow().getStatus());
+        }
+        assertEquals(Debt.Status.PAID, debtRepository.findById(paid).orElseThrow().getStatus());
+        assertEquals(Debt.Status.ACTIVE, debtRepository.findById(unrelated).orElseThrow().getStatus());
+        ForgivenessDecision decision = decisionRepository.findById(debtor.getUserId()).orElseThrow();
+        assertEquals(3, decision.getYesVotes());
+
+        // The decision is final: later votes neither reopen nor repeat it
+        vote(0, false);
+        vote(3, true);
+        assertTrue(evaluator.awaitIdle(10_000));
+        assertEquals(1, decisions.size());
+    }
+
+    @Test
+    void testVotes_RequireApprovalRatio() throws Exception {
+        saveDebt(debtor, creditors.get(0), Debt.Status.ACTIVE);
+
+        vote(0, true);
+        vote(1, true);
+        vote(2, false);
+        vote(3, false);
+        vote(4, true);
+        assertTrue(evaluator.awaitIdle(10_000));
+        assertTrue(decisions.isEmpty(), "3 of 5 votes is below two thirds");
+
+        vote(3, true);
+        assertTrue(evaluator.awaitIdle(10_000));
+        assertEquals(1, decisions.size());
+        assertFalse(evaluator.meetsRules(voteService.getTally(otherDebtor.getUserId())));
+    }
+
+    @Test
+    void testVotes_OnlyVerifiedCreditorsCount() throws Exception {
+        Long open = saveDebt(debtor, creditors.get(0), Debt.Status.ACTIVE);
+        vote(0, true);
+        vote(1, true);
+        // Creditor 1 sells its debt of the debtor on, so its vote stops counting
+        jdbcTemplate.update("UPDATE debt SET creditor_id = ? WHERE creditor_id = ? AND debtor_id = ?",
+                creditors.get(5).getUserId(), creditors.get(1).getUserId(), debtor.getUserId());
+
+        // A vote written around the vote service, in the name of an account that is no creditor
+        Vote impersonated = new Vote();
+        impersonated.setDebtor(debtor);
+        impersonated.setCreditor(otherDebtor);
+        impersonated.setVote(true);
+        impersonated.setVoteDate(LocalDateTime.now());
+        voteRepository.save(impersonated);
+        voteTallies.record(debtor.getUserId(), null, true);
+        evaluator.onVoteTallyChanged(new VoteTallyChangedEvent(debtor.getUserId(), System.nanoTime()));
+        assertTrue(evaluator.awaitIdle(10_000));
+
+        assertTrue(evaluator.meetsRules(voteService.getTally(debtor.getUserId())), "The tally alone meets the rules");
+        assertTrue(decisions.isEmpty(), "Only 1 of the 3 yes votes is from a creditor of the debtor");
+        assertEquals(0, decisionRepository.count());
+        assertEquals(Debt.Status.ACTIVE, debtRepository.findById(open).orElseThrow().getStatus());
+
+        vote(3, true);
+        vote(4, true);
+        assertTrue(evaluator.awaitIdle(10_000));
+        assertEquals(1, decisions.size());
+        ForgivenessDecision decision = decisionRepository.findById(debtor.getUserId()).orElseThrow();
+        assertEquals(3, decision.getYesVotes());
+        assertEquals(0, decision.getNoVotes());
+    }
+
+    private void vote(int creditor, boolean forgive) {
+        voteService.castVote(creditors.get(creditor).getUserId(), new VoteRequest(debtor.getUserId(), forgive));
+    }
+
+    private Long saveDebt(AppUser owner, AppUser creditor, Debt.Status status) {
+        return debtRepository.save(newDebt(owner, creditor, status)).getDebtId();
+    }
+}
@@ -0,0 +1,125 @@
+package com.kraya.platform.service;
+
+import com.kraya.platform.exception.InvalidRoleException;
+import com.kraya.platform.model.Role;
+import com.kraya.platform.model.Roles;
+import com.kraya.platform.model.User;
+import com.kraya.platform.repository.RoleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class RoleRegistryTest {
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    private RoleRegistry roleRegistry;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(roleRepository.findAll()).thenReturn(List.of(role(1L, "USER"), role(2L, "ADMIN"), role(3L, "AUDITOR")));
+        roleRegistry = new RoleRegistry(roleRepository);
+        roleRegistry.refresh();
+    }
+
+    @Test
+    void lookupsAreServedFromMemory() {
+        assertEquals("ADMIN", roleRegistry.findById(2L).getName());
+        assertEquals(3L, roleRegistry.findByName("AUDITOR").getId());
+        assertEquals(3, roleRegistry.findAll().size());
+        assertNull(roleRegistry.findByName("UNKNOWN"));
+
+        verify(roleRepository, times(1)).findAll();
+    }
+
+    @Test
+    void builtInRolesUseTheirOrdinalBit() {
+        assertEquals(Roles.USER.ordinal(), roleRegistry.bitOf("USER"));
+        assertEquals(Roles.ADMIN.ordinal(), roleRegistry.bitOf("ADMIN"));
+        assertEquals(Roles.values().length, roleRegistry.bitOf("AUDITOR"));
+        assertEquals(-1, roleRegistry.bitOf("UNKNOWN"));
+    }
+
+    @Test
+    void maskOfUser() {
+        User user = new User();
+        user.setRoles(List.of(role(2L, "ADMIN"), role(3L, "AUDITOR")));
+
+        long mask = roleRegistry.maskOf(user);
+
+        assertTrue(RoleRegistry.hasRole(mask, Roles.ADMIN));
+        assertFalse(RoleRegistry.hasRole(mask, Roles.USER));
+        assertTrue(roleRegistry.hasRole(mask, "AUDITOR"));
+        assertEquals(List.of("ADMIN", "AUDITOR"), roleRegistry.namesOf(mask));
+    }
+
+    @Test
+    void refreshKeepsBitsStable() {
+        int auditorBit = roleRegistry.bitOf("AUDITOR");
+        when(roleRepository.findAll()).thenReturn(List.of(role(4L, "SUPPORT"), role(3L, "AUDITOR")));
+
+        roleRegistry.refresh();
+
+        assertEquals(auditorBit, roleRegistry.bitOf("AUDITOR"));
+        assertEquals(auditorBit + 1, roleRegistry.bitOf("SUPPORT"));
+        assertNull(roleRegistry.findById(1L));
+    }
+
+    @Test
+    void deletedRolesReleaseTheirBits() {
+        int auditorBit = roleRegistry.bitOf("AUDITOR");
+        when(roleRepository.findAll()).thenReturn(List.of(role(1L, "USER")));
+        roleRegistry.refresh();
+        when(roleRepository.findAll()).thenReturn(List.of(role(1L, "USER"), role(5L, "SUPPORT")));
+        roleRegistry.refresh();
+
+        assertEquals(auditorBit, roleRegistry.bitOf("SUPPORT"));
+        assertEquals(-1, roleRegistry.bitOf("AUDITOR"));
+    }
+
+    @Test
+    void rejectsANewRoleBeforeTheWriteOnceEveryBitIsTaken() {
+        List<Role> roles = new ArrayList<>();
+        for (long id = 0; roles.size() + Roles.values().length < RoleRegistry.MAX_ROLES; id++) {
+            roles.add(role(id, "ROLE" + id));
+        }
+        when(roleRepository.findAll()).thenReturn(roles);
+        roleRegistry.refresh();
+
+        assertThrows(InvalidRoleException.class, () -> roleRegistry.checkAssignable("ONE_TOO_MANY", null));
+        assertDoesNotThrow(() -> roleRegistry.checkAssignable("ROLE0", null));
+        assertDoesNotThrow(() -> roleRegistry.checkAssignable("RENAMED", "ROLE0"));
+
+        // A refresh past the limit, from concurrent writes, leaves the extra role without a bit instead of failing
+        List<Role> tooMany = new ArrayList<>(roles);
+        tooMany.add(role(1000L, "ONE_TOO_MANY"));
+        when(roleRepository.findAll()).thenReturn(tooMany);
+        roleRegistry.refresh();
+        assertEquals(-1, roleRegistry.bitOf("ONE_TOO_MANY"));
+        assertNotNull(roleRegistry.findByName("ONE_TOO_MANY"));
+    }
+
+    @Test
+    void handsOutCopies() {
+        roleRegistry.findById(2L).setName("CHANGED");
+        roleRegistry.findAll().forEach(role -> role.setName("CHANGED"));
+
+        assertEquals("ADMIN", roleRegistry.findById(2L).getName());
+        assertNotSame(roleRegistry.findByName("ADMIN"), roleRegistry.findByName("ADMIN"));
+    }
+
+    private static Role role(Long id, String name) {
+        Role role = new Role(name);
+        role.setId(id);
+        return role;
+    }
+}
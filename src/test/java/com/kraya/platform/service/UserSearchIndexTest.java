@@ -0,0 +1,105 @@
+package com.kraya.platform.service;
+
+import com.kraya.platform.dto.UserSearchResult;
+import com.kraya.platform.model.User;
+import com.kraya.platform.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class UserSearchIndexTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserSearchIndex userSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        // Two pages of two, then an empty page
+        when(userRepository.findByUserIdGreaterThanOrderByUserIdAsc(eq(0L), any(Limit.class))).thenReturn(List.of(
+                user(1L, "jsmith", "john.smith@example.com", "John", "Smith"),
+                user(2L, "jsmythe", "jane.smythe@kraya.org", "Jane", "Smythe")));
+        when(userRepository.findByUserIdGreaterThanOrderByUserIdAsc(eq(2L), any(Limit.class))).thenReturn(List.of(
+                user(3L, "mbrown", "mary@example.com", "Mary", "Brown"),
+                user(4L, "johnny", "johnny@example.com", "Johnny", "Walker")));
+        when(userRepository.findByUserIdGreaterThanOrderByUserIdAsc(eq(4L), any(Limit.class))).thenReturn(List.of());
+        userSearchIndex = new UserSearchIndex(userRepository, 2);
+        userSearchIndex.rebuild();
+    }
+
+    @Test
+    void rebuildLoadsEveryPage() {
+        assertEquals(4, userSearchIndex.size());
+        verify(userRepository, times(3)).findByUserIdGreaterThanOrderByUserIdAsc(any(), any(Limit.class));
+    }
+
+    @Test
+    void exactMatchesRankAbovePrefixMatches() {
+        assertEquals(List.of(1L, 4L), ids(userSearchIndex.search("John", 10)));
+        assertEquals(List.of(4L), ids(userSearchIndex.search("john walk", 10)));
+        assertEquals(List.of(3L), ids(userSearchIndex.search("mary@exa", 10)));
+    }
+
+    @Test
+    void findsSubstringsAndMisspellings() {
+        assertEquals(List.of(3L), ids(userSearchIndex.search("rown", 10)));
+        assertEquals(List.of(2L), ids(userSearchIndex.search("myth", 10)));
+        assertEquals(List.of(3L), ids(userSearchIndex.search("browne", 10)));
+        assertEquals(List.of(1L), ids(userSearchIndex.search("jon smith", 10)));
+        assertTrue(userSearchIndex.search("zzz", 10).isEmpty());
+        assertTrue(userSearchIndex.search("  ", 10).isEmpty());
+    }
+
+    @Test
+    void followsUpdatesAndDeletes() {
+        userSearchIndex.index(user(3L, "mgreen", "mary@example.com", "Mary", "Green"));
+        assertTrue(userSearchIndex.search("brown", 10).isEmpty());
+        assertEquals(List.of(3L), ids(userSearchIndex.search("green", 10)));
+
+        userSearchIndex.remove(3L);
+        assertTrue(userSearchIndex.search("mary", 10).isEmpty());
+        assertEquals(3, userSearchIndex.size());
+
+        userSearchIndex.indexAll(List.of(user(5L, "gmary", "g@example.com", "Mary", "Gold")));
+        assertEquals(List.of(5L), ids(userSearchIndex.search("mary", 10)));
+    }
+
+    @Test
+    void limitsResults() {
+        List<User> users = new ArrayList<>();
+        for (long id = 10; id < 60; id++) {
+            users.add(user(id, "agent" + id, "agent" + id + "@example.com", "Agent", "Number" + id));
+        }
+        userSearchIndex.indexAll(users);
+
+        List<UserSearchResult> results = userSearchIndex.search("agent", 5);
+        assertEquals(List.of(10L, 11L, 12L, 13L, 14L), ids(results));
+        assertEquals("agent10", results.get(0).getUsername());
+    }
+
+    private static List<Long> ids(List<UserSearchResult> results) {
+        return results.stream().map(UserSearchResult::getUserId).toList();
+    }
+
+    private static User user(Long id, String username, String email, String firstName, String lastName) {
+        User user = new User();
+        user.setUserId(id);
+        user.setUsername(username);
+        user.setEmail(email);
+        user.setFirstName(firstName);
+        user.setLastName(lastName);
+        return user;
+    }
+}
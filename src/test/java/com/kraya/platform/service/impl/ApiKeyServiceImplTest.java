@@ -0,0 +1,157 @@
+package com.kraya.platform.service.impl;
+
+import com.kraya.platform.dto.ApiKeyResponse;
+import com.kraya.platform.exception.InvalidTokenException;
+import com.kraya.platform.model.Creditor;
+import com.kraya.platform.model.User;
+import com.kraya.platform.repository.CreditorRepository;
+import com.kraya.platform.repository.RoleRepository;
+import com.kraya.platform.security.TokenClaims;
+import com.kraya.platform.service.RoleRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.List;
+
+import static com.kraya.platform.TestFixtures.newUser;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Issues and checks API keys against the embedded database.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ApiKeyServiceImplTest {
+
+    private static final String SECRET = "test-api-key-secret";
+
+    @Autowired
+    private CreditorRepository creditorRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private ApiKeyServiceImpl apiKeyService;
+    private Statistics statistics;
+    private Long creditorId;
+
+    @BeforeEach
+    void setUp() {
+        apiKeyService = newService(SECRET);
+        creditorId = creditorRepository.save(newCreditor("bank", null)).getUserId();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        creditorRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testAuthenticate_ServesRepeatedKeysFromCache() {
+        ApiKeyResponse issued = apiKeyService.issue(creditorId);
+        assertTrue(issued.getApiKey().startsWith("kra_"));
+        Creditor stored = creditorRepository.findById(creditorId).orElseThrow();
+        assertNotEquals(issued.getApiKey(), stored.getApiKeyHash());
+        assertEquals(64, stored.getApiKeyHash().length());
+
+        statistics.clear();
+        TokenClaims claims = apiKeyService.authenticate(issued.getApiKey());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(claims, apiKeyService.authenticate(issued.getApiKey()));
+        }
+
+        assertEquals("bank", claims.getSubject());
+        assertEquals(creditorId, claims.getUserId());
+        assertEquals(TokenClaims.API_KEY, claims.getType());
+        assertTrue(claims.getRoles().contains("CREDITOR"));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testAuthenticate_RejectsUnknownAndMalformedKeys() {
+        String unknown = "kra_" + "A".repeat(43);
+        statistics.clear();
+        assertThrows(InvalidTokenException.class, () -> apiKeyService.authenticate(unknown));
+        assertThrows(InvalidTokenException.class, () -> apiKeyService.authenticate(unknown));
+        assertThrows(InvalidTokenException.class, () -> apiKeyService.authenticate("kra_truncated"));
+        assertThrows(InvalidTokenException.class, () -> apiKeyService.authenticate("x".repeat(256)));
+        assertThrows(InvalidTokenException.class, () -> apiKeyService.authenticate(" "));
+        assertEquals(1, statistics.getPrepareStatementCount());  // The negative entry answers the retry
+    }
+
+    @Test
+    void testIssueAndRevoke_InvalidateCachedKeys() {
+        String first = apiKeyService.issue(creditorId).getApiKey();
+        apiKeyService.authenticate(first);
+
+        String second = apiKeyService.issue(creditorId).getApiKey();
+        assertThrows(InvalidTokenException.class, () -> apiKeyService.authenticate(first));
+        assertEquals(creditorId, apiKeyService.authenticate(second).getUserId());
+
+        apiKeyService.revoke(creditorId);
+        assertThrows(InvalidTokenException.class, () -> apiKeyService.authenticate(second));
+    }
+
+    @Test
+    void testAuthenticate_RejectsInactiveCreditors() {
+        String apiKey = apiKeyService.issue(creditorId).getApiKey();
+        Creditor creditor = creditorRepository.findById(creditorId).orElseThrow();
+        creditor.setStatus(User.Status.BANNED);
+        creditorRepository.save(creditor);
+
+        assertThrows(InvalidTokenException.class, () -> apiKeyService.authenticate(apiKey));
+    }
+
+    @Test
+    void testHashLegacyKeys_ReplacesPlaintextKeys() {
+        // Plaintext keys predate the kra_ format and were whatever the creditor was handed
+        String legacyKey = "6f1c2a9e-3b7d-4e58-9a0f-2c4b8d1e7a53";
+        String otherLegacyKey = "ACME-LIVE-00042";
+        Long legacyId = creditorRepository.save(newCreditor("legacy", legacyKey)).getUserId();
+        Long otherLegacyId = creditorRepository.save(newCreditor("other", otherLegacyKey)).getUserId();
+
+        apiKeyService.hashLegacyKeys();
+
+        Creditor migrated = creditorRepository.findById(legacyId).orElseThrow();
+        assertNull(migrated.getApiKey());
+        assertNotNull(migrated.getApiKeyHash());
+        assertEquals(legacyId, apiKeyService.authenticate(legacyKey).getUserId());
+        assertEquals(otherLegacyId, apiKeyService.authenticate(otherLegacyKey).getUserId());
+        assertThrows(InvalidTokenException.class, () -> apiKeyService.authenticate(legacyKey.toUpperCase()));
+        assertEquals(List.of(), creditorRepository.findByApiKeyIsNotNull());
+
+        // Reissuing replaces the legacy key with one in the current format
+        String reissued = apiKeyService.issue(legacyId).getApiKey();
+        assertThrows(InvalidTokenException.class, () -> apiKeyService.authenticate(legacyKey));
+        assertEquals(legacyId, apiKeyService.authenticate(reissued).getUserId());
+    }
+
+    private ApiKeyServiceImpl newService(String secret) {
+        RoleRegistry roleRegistry = new RoleRegistry(roleRepository);
+        roleRegistry.refresh();
+        return new ApiKeyServiceImpl(creditorRepository, roleRegistry, secret, 100,
+                Duration.ofMinutes(5), Duration.ofSeconds(30));
+    }
+
+    private static Creditor newCreditor(String username, String apiKey) {
+        Creditor creditor = newUser(new Creditor(), username);
+        creditor.setApiKey(apiKey);
+        return creditor;
+    }
+}
@@ -0,0 +1,102 @@
+package com.kraya.platform.service.impl;
+
+import com.kraya.platform.model.AppUser;
+import com.kraya.platform.model.Creditor;
+import com.kraya.platform.repository.CreditorRepository;
+import com.kraya.platform.repository.DebtRepository;
+import com.kraya.platform.repository.DocumentRepository;
+import com.kraya.platform.repository.UserRepository;
+import com.kraya.platform.security.DebtAccess;
+import com.kraya.platform.service.DocumentStorage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static com.kraya.platform.TestFixtures.bearer;
+import static com.kraya.platform.TestFixtures.newDebt;
+import static com.kraya.platform.TestFixtures.newUser;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.flyway.enabled=false")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class DocumentServiceImplTest {
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CreditorRepository creditorRepository;
+
+    @Autowired
+    private DebtRepository debtRepository;
+
+    @TempDir
+    Path storageDirectory;
+
+    private DocumentServiceImpl documentService;
+    private AppUser debtor;
+    private Creditor creditor;
+    private Creditor outsider;
+
+    @BeforeEach
+    void setUp() {
+        documentService = new DocumentServiceImpl(documentRepository, userRepository,
+                new DebtAccess(userRepository, debtRepository), new DocumentStorage(storageDirectory));
+        debtor = userRepository.save(newUser(new AppUser(), "debtor"));
+        creditor = creditorRepository.save(newUser(new Creditor(), "creditor"));
+        outsider = creditorRepository.save(newUser(new Creditor(), "outsider"));
+        debtRepository.save(newDebt(debtor, creditor));
+    }
+
+    @AfterEach
+    void tearDown() {
+        debtRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testCheckAccess_DebtorCreditorsAndAdmins() {
+        Long debtorId = debtor.getUserId();
+
+        assertDoesNotThrow(() -> documentService.checkAccess(debtorId, token(debtor, "USER")));
+        assertDoesNotThrow(() -> documentService.checkAccess(debtorId, token(creditor, "CREDITOR")));
+        assertDoesNotThrow(() -> documentService.checkAccess(debtorId, basic("someone", "ROLE_ADMIN")));
+        // Basic callers are resolved by username
+        assertDoesNotThrow(() -> documentService.checkAccess(debtorId, basic("debtor", "ROLE_USER")));
+    }
+
+    @Test
+    void testCheckAccess_DeniesEveryoneElse() {
+        Long debtorId = debtor.getUserId();
+
+        // A creditor holding none of the debtor's debts, a debt holder without the creditor role, another user
+        assertThrows(AccessDeniedException.class, () -> documentService.checkAccess(debtorId, token(outsider, "CREDITOR")));
+        assertThrows(AccessDeniedException.class, () -> documentService.checkAccess(debtorId, token(creditor, "USER")));
+        assertThrows(AccessDeniedException.class, () -> documentService.checkAccess(debtorId, basic("outsider", "ROLE_USER")));
+        assertThrows(AccessDeniedException.class, () -> documentService.checkAccess(debtorId, basic("unknown", "ROLE_USER")));
+        assertThrows(AccessDeniedException.class, () -> documentService.checkAccess(debtorId, null));
+    }
+
+    private static Authentication token(AppUser user, String role) {
+        return bearer(user.getUserId(), user.getUsername(), role);
+    }
+
+    private static Authentication basic(String username, String authority) {
+        return new UsernamePasswordAuthenticationToken(username, null, List.of(new SimpleGrantedAuthority(authority)));
+    }
+}
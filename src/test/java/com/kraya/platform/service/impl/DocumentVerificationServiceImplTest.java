@@ -0,0 +1,240 @@
+package com.kraya.platform.service.impl;
+
+import com.kraya.platform.dto.DocumentResponse;
+import com.kraya.platform.dto.DocumentVerificationStatsResponse;
+import com.kraya.platform.model.Document;
+import com.kraya.platform.repository.DebtRepository;
+import com.kraya.platform.repository.DocumentRepository;
+import com.kraya.platform.repository.UserRepository;
+import com.kraya.platform.security.DebtAccess;
+import com.kraya.platform.service.DocumentChecker;
+import com.kraya.platform.service.DocumentStorage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.kraya.platform.TestFixtures.newUser;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the verification queue against the embedded database and a temporary storage directory,
+ * with test checkers in place of the external one.
+ */
+@DataJpaTest(properties = "spring.flyway.enabled=false")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class DocumentVerificationServiceImplTest {
+
+    private static final byte[] PDF = "%PDF-1.7\n1 0 obj\n<<>>\nendobj\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n', 0, 0, 0, 13};
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DebtRepository debtRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path storageDirectory;
+
+    private DocumentStorage documentStorage;
+    private DocumentServiceImpl documentService;
+    private final List<DocumentVerificationServiceImpl> verificationServices = new ArrayList<>();
+    private Long debtorId;
+
+    @BeforeEach
+    void setUp() {
+        documentStorage = new DocumentStorage(storageDirectory);
+        documentService = new DocumentServiceImpl(documentRepository, userRepository,
+                new DebtAccess(userRepository, debtRepository), documentStorage);
+        debtorId = userRepository.save(newUser("debtor")).getUserId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        verificationServices.forEach(DocumentVerificationServiceImpl::shutdown);
+        documentRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testVerifyNextBatch_RunsEveryStage() throws Exception {
+        DocumentVerificationServiceImpl verificationService = newService((document, content) -> Optional.empty(), 3);
+        Long payslip = upload("payslip.pdf", "application/pdf", PDF);
+        Long mislabelled = upload("statement.jpg", "image/jpeg", PNG);
+        Long text = upload("notes.txt", "text/plain", "not a proof".getBytes(StandardCharsets.UTF_8));
+        byte[] tamperedPdf = (new String(PDF, StandardCharsets.US_ASCII) + "tampered").getBytes(StandardCharsets.US_ASCII);
+        Long tampered = upload("tampered.pdf", "application/pdf", tamperedPdf);
+        Path tamperedFile = documentService.getContent(tampered).getPath();
+        tamperedPdf[tamperedPdf.length - 1] = 'X'; // same length, different content
+        Files.write(tamperedFile, tamperedPdf);
+
+        assertEquals(4, verificationService.getStats().getQueueDepth());
+        assertEquals(4, verificationService.verifyNextBatch());
+
+        assertEquals(Document.VERIFIED, status(payslip));
+        assertNotNull(documentRepository.findById(payslip).orElseThrow().getVerifiedAt());
+        assertEquals(Document.REJECTED, status(mislabelled));
+        assertEquals("Declared type image/jpeg does not match the content, which is image/png", message(mislabelled));
+        assertEquals(Document.REJECTED, status(text));
+        assertTrue(message(text).startsWith("Unsupported file type"));
+        assertEquals(Document.REJECTED, status(tampered));
+        assertEquals("Stored content no longer matches its hash", message(tampered));
+
+        DocumentVerificationStatsResponse stats = verificationService.getStats();
+        assertEquals(0, stats.getQueueDepth());
+        assertEquals(1L, stats.getDocumentsByStatus().get(Document.VERIFIED));
+        assertEquals(3L, stats.getDocumentsByStatus().get(Document.REJECTED));
+        assertEquals(4, stats.getStages().get("queue").getCount());
+        assertEquals(4, stats.getStages().get("total").getCount());
+        assertEquals(2, stats.getStages().get("hash").getCount());
+        assertEquals(1, stats.getStages().get("checker").getCount());
+        assertEquals(0, verificationService.verifyNextBatch());
+    }
+
+    @Test
+    void testVerifyNextBatch_RetriesCheckerFailuresThenGivesUp() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        DocumentVerificationServiceImpl verificationService = newService((document, content) -> {
+            calls.incrementAndGet();
+            throw new IOException("checker unreachable");
+        }, 2);
+        Long payslip = upload("payslip.pdf", "application/pdf", PDF);
+
+        verificationService.verifyNextBatch();
+        Document retried = documentRepository.findById(payslip).orElseThrow();
+        assertEquals(Document.PENDING, retried.getVerificationStatus());
+        assertEquals(1, retried.getVerificationAttempts());
+        assertEquals("IOException: checker unreachable", retried.getVerificationMessage());
+
+        verificationService.verifyNextBatch();
+        assertEquals(Document.FAILED, status(payslip));
+        assertEquals(2, calls.get());
+        assertEquals(0, verificationService.verifyNextBatch());
+    }
+
+    @Test
+    void testVerifyNextBatch_TakesOverStaleClaims() throws Exception {
+        DocumentVerificationServiceImpl verificationService = newService((document, content) -> Optional.empty(), 3);
+        Long payslip = upload("payslip.pdf", "application/pdf", PDF);
+        Document abandoned = documentRepository.findById(payslip).orElseThrow();
+        abandoned.setVerificationStatus(Document.IN_PROGRESS);
+        abandoned.setVerificationAttempts(1);
+        abandoned.setClaimedAt(LocalDateTime.now().minusMinutes(5)); // a live claim
+        documentRepository.save(abandoned);
+        assertEquals(0, verificationService.verifyNextBatch());
+
+        abandoned.setClaimedAt(LocalDateTime.now().minusHours(1)); // a worker that crashed
+        documentRepository.save(abandoned);
+        assertEquals(1, verificationService.verifyNextBatch());
+        assertEquals(Document.VERIFIED, status(payslip));
+        assertEquals(2, documentRepository.findById(payslip).orElseThrow().getVerificationAttempts());
+    }
+
+    @Test
+    void testVerifyNextBatch_FailsClaimsAbandonedOnEveryAttempt() throws Exception {
+        DocumentVerificationServiceImpl verificationService = newService((document, content) -> Optional.empty(), 2);
+        Long payslip = upload("payslip.pdf", "application/pdf", PDF);
+        Document abandoned = documentRepository.findById(payslip).orElseThrow();
+        abandoned.setVerificationStatus(Document.IN_PROGRESS);
+        abandoned.setVerificationAttempts(2);
+        abandoned.setClaimedAt(LocalDateTime.now().minusHours(1)); // its worker crashed on the last attempt too
+        documentRepository.save(abandoned);
+
+        assertEquals(0, verificationService.verifyNextBatch());
+        Document failed = documentRepository.findById(payslip).orElseThrow();
+        assertEquals(Document.FAILED, failed.getVerificationStatus());
+        assertEquals(2, failed.getVerificationAttempts());
+        assertEquals("Verification was abandoned 2 times", failed.getVerificationMessage());
+        assertNull(failed.getClaimedAt());
+    }
+
+    @Test
+    void testConcurrentWorkers_ClaimEachDocumentOnce() throws Exception {
+        Map<Long, AtomicInteger> checks = new ConcurrentHashMap<>();
+        DocumentChecker checker = (document, content) -> {
+            checks.computeIfAbsent(document.getDocumentId(), id -> new AtomicInteger()).incrementAndGet();
+            return Optional.empty();
+        };
+        int documents = 120;
+        for (int i = 0; i < documents; i++) {
+            upload("payslip-" + i + ".pdf", "application/pdf", (new String(PDF, StandardCharsets.US_ASCII) + i)
+                    .getBytes(StandardCharsets.US_ASCII));
+        }
+
+        // Three instances stand in for three nodes polling the same table
+        ExecutorService nodes = Executors.newFixedThreadPool(3);
+        List<Future<Integer>> claimed = new ArrayList<>();
+        for (int n = 0; n < 3; n++) {
+            DocumentVerificationServiceImpl node = newService(checker, 3);
+            claimed.add(nodes.submit(() -> {
+                int total = 0;
+                for (int batch = node.verifyNextBatch(); batch > 0; batch = node.verifyNextBatch()) {
+                    total += batch;
+                }
+                return total;
+            }));
+        }
+        int total = 0;
+        for (Future<Integer> future : claimed) {
+            total += future.get(2, TimeUnit.MINUTES);
+        }
+        nodes.shutdown();
+
+        assertEquals(documents, total);
+        assertEquals(documents, checks.size());
+        checks.forEach((documentId, count) -> assertEquals(1, count.get(), "Document " + documentId + " checked twice"));
+        assertEquals((long) documents, verificationServices.get(0).getStats().getDocumentsByStatus().get(Document.VERIFIED));
+    }
+
+    private DocumentVerificationServiceImpl newService(DocumentChecker checker, int maxAttempts) {
+        DocumentVerificationServiceImpl service = new DocumentVerificationServiceImpl(documentRepository, documentStorage,
+                checker, transactionManager, 4, 8, 2, maxAttempts, Duration.ofMinutes(10), DataSize.ofMegabytes(1));
+        verificationServices.add(service);
+        return service;
+    }
+
+    private Long upload(String fileName, String contentType, byte[] content) throws IOException {
+        DocumentResponse response = documentService.upload(debtorId, "PAY_SLIP", fileName, contentType,
+                new ByteArrayInputStream(content));
+        return response.getDocumentId();
+    }
+
+    private String status(Long documentId) {
+        return documentRepository.findById(documentId).orElseThrow().getVerificationStatus();
+    }
+
+    private String message(Long documentId) {
+        return documentRepository.findById(documentId).orElseThrow().getVerificationMessage();
+    }
+}
@@ -0,0 +1,252 @@
+package com.kraya.platform.service.impl;
+
+import com.kraya.platform.dto.InstallmentResponse;
+import com.kraya.platform.dto.PaymentPlanRequest;
+import com.kraya.platform.dto.PaymentPlanResponse;
+import com.kraya.platform.dto.PaymentRequest;
+import com.kraya.platform.exception.InvalidInputException;
+import com.kraya.platform.exception.ResourceNotFoundException;
+import com.kraya.platform.model.AppUser;
+import com.kraya.platform.model.Debt;
+import com.kraya.platform.model.PaymentPlan;
+import com.kraya.platform.repository.DebtRepository;
+import com.kraya.platform.repository.InstallmentRepository;
+import com.kraya.platform.repository.PaymentPlanRepository;
+import com.kraya.platform.repository.PaymentRepository;
+import com.kraya.platform.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.kraya.platform.TestFixtures.newDebt;
+import static com.kraya.platform.TestFixtures.newUser;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Creates payment plans against the embedded database and reconciles payments posted through
+ * the posting engine against their schedules.
+ */
+@DataJpaTest(properties = "spring.flyway.enabled=false")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class InstallmentServiceImplTest {
+
+    private static final LocalDate START = LocalDate.of(2026, 1, 31);
+    private static final String METHOD = "BANK TRANSFER";
+
+    @Autowired
+    private DebtRepository debtRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private PaymentPlanRepository paymentPlanRepository;
+
+    @Autowired
+    private InstallmentRepository installmentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private InstallmentServiceImpl installmentService;
+    private PaymentPostingServiceImpl paymentPostingService;
+    private AppUser debtor;
+    private AppUser creditor;
+
+    @BeforeEach
+    void setUp() {
+        installmentService = new InstallmentServiceImpl(paymentPlanRepository, installmentRepository,
+                debtRepository, paymentRepository, transactionManager);
+        paymentPostingService = new PaymentPostingServiceImpl(debtRepository, paymentRepository, transactionManager, 64);
+        debtor = userRepository.save(newUser("debtor"));
+        creditor = userRepository.save(newUser("creditor"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        installmentRepository.deleteAllInBatch();
+        paymentPlanRepository.deleteAllInBatch();
+        paymentRepository.deleteAllInBatch();
+        debtRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testCreatePlan_MaterializesScheduleWithRemainder() {
+        Debt debt = saveDebt("1000.00");
+        // Paid before the plan exists, so the schedule covers the remaining 900.00
+        post(debt, "100.00");
+
+        PaymentPlanResponse plan = installmentService.createPlan(planRequest(debt, "250.00", null));
+
+        List<InstallmentResponse> installments = plan.getInstallments();
+        assertEquals(4, installments.size());
+        assertEquals(List.of(START, LocalDate.of(2026, 2, 28), LocalDate.of(2026, 3, 31), LocalDate.of(2026, 4, 30)),
+                installments.stream().map(InstallmentResponse::getDueDate).toList());
+        assertEquals(0, new BigDecimal("250.00").compareTo(installments.get(0).getAmountDue()));
+        assertEquals(0, new BigDecimal("150.00").compareTo(installments.get(3).getAmountDue()));
+        assertEquals(0, installmentService.reconcile());
+    }
+
+    @Test
+    void testCreatePlan_EndDateTakesRemainingBalance() {
+        Debt debt = saveDebt("1000.00");
+
+        PaymentPlanResponse plan = installmentService.createPlan(planRequest(debt, "100.00", START.plusMonths(2)));
+
+        assertEquals(3, plan.getInstallments().size());
+        assertEquals(0, new BigDecimal("800.00").compareTo(plan.getInstallments().get(2).getAmountDue()));
+    }
+
+    @Test
+    void testCreatePlan_RejectsInvalidRequests() {
+        Debt debt = saveDebt("1000.00");
+        PaymentPlanRequest missingDebt = planRequest(debt, "100.00", null);
+        missingDebt.setDebtId(-1L);
+
+        assertThrows(ResourceNotFoundException.class, () -> installmentService.createPlan(missingDebt));
+        assertThrows(InvalidInputException.class,
+                () -> installmentService.createPlan(planRequest(debt, "100.00", START.minusDays(1))));
+        installmentService.createPlan(planRequest(debt, "100.00", null));
+        assertThrows(InvalidInputException.class,
+                () -> installmentService.createPlan(planRequest(debt, "100.00", null)));
+        assertEquals(1, paymentPlanRepository.count());
+    }
+
+    @Test
+    void testFindDue_ReturnsOpenInstallmentsInRange() {
+        Debt first = saveDebt("300.00");
+        Debt second = saveDebt("300.00");
+        installmentService.createPlan(planRequest(first, "100.00", null));
+        installmentService.createPlan(planRequest(second, "100.00", null));
+        post(first, "100.00");
+        installmentService.reconcile();
+
+        List<InstallmentResponse> due = installmentService.findDue(START, START.plusMonths(1), 0);
+
+        // The first debt's January installment is paid; both February installments are open
+        assertEquals(3, due.size());
+        assertEquals(List.of(second.getDebtId(), first.getDebtId(), second.getDebtId()),
+                due.stream().map(InstallmentResponse::getDebtId).toList());
+        assertEquals(1, installmentService.findDue(START, START.plusMonths(1), 1).size());
+        assertThrows(InvalidInputException.class, () -> installmentService.findDue(START.plusDays(1), START, 10));
+    }
+
+    @Test
+    void testFindDueFor_OnlyReturnsTheCallersDebts() {
+        AppUser otherDebtor = userRepository.save(newUser("otherDebtor"));
+        Debt own = saveDebt("200.00");
+        Debt other = debtRepository.save(newDebt(otherDebtor, creditor, "200.00", Debt.Status.ACTIVE));
+        installmentService.createPlan(planRequest(own, "100.00", null));
+        installmentService.createPlan(planRequest(other, "100.00", null));
+
+        assertEquals(List.of(own.getDebtId(), own.getDebtId()), debtIds(installmentService.findDueFor(
+                debtor.getUserId(), null, START, START.plusMonths(1), 0)));
+        assertEquals(4, installmentService.findDueFor(creditor.getUserId(), creditor.getUserId(),
+                START, START.plusMonths(1), 0).size());
+        // Without the creditor role, holding the debts does not count
+        assertTrue(installmentService.findDueFor(creditor.getUserId(), null, START, START.plusMonths(1), 0).isEmpty());
+    }
+
+    @Test
+    void testReconcile_AppliesPaymentsIncrementallyAndCompletesPlan() {
+        Debt debt = saveDebt("300.00");
+        Long planId = installmentService.createPlan(planRequest(debt, "100.00", null)).getPlanId();
+
+        post(debt, "150.00");
+        assertEquals(1, installmentService.reconcile());
+        List<InstallmentResponse> installments = installmentService.getPlan(planId).getInstallments();
+        assertEquals("PAID", installments.get(0).getStatus());
+        assertEquals("PARTIALLY_PAID", installments.get(1).getStatus());
+        assertEquals(0, new BigDecimal("50.00").compareTo(installments.get(1).getAmountPaid()));
+        assertEquals("DUE", installments.get(2).getStatus());
+        assertEquals(0, installmentService.reconcile());
+
+        // Reading the plan writes nothing; new payments show once reconciliation has run
+        post(debt, "50.00");
+        post(debt, "100.00");
+        assertEquals("ACTIVE", installmentService.getPlan(planId).getStatus());
+        assertEquals(2, installmentService.reconcile());
+        PaymentPlanResponse paidOff = installmentService.getPlan(planId);
+        assertEquals("COMPLETED", paidOff.getStatus());
+        assertTrue(paidOff.getInstallments().stream().allMatch(installment -> "PAID".equals(installment.getStatus())));
+        assertEquals(0, paidOff.getCreditAmount().signum());
+        assertEquals(0, installmentService.reconcile());
+    }
+
+    @Test
+    void testReconcile_RecordsOverpaymentAsCredit() {
+        Debt debt = saveDebt("300.00");
+        Long planId = installmentService.createPlan(planRequest(debt, "100.00", null)).getPlanId();
+        // Interest accrued after the schedule was generated, so the balance outgrows it
+        debt = debtRepository.findById(debt.getDebtId()).orElseThrow();
+        debt.setCurrentAmount(new BigDecimal("350.00"));
+        debtRepository.save(debt);
+
+        post(debt, "350.00");
+        assertEquals(1, installmentService.reconcile());
+
+        PaymentPlanResponse plan = installmentService.getPlan(planId);
+        assertEquals("COMPLETED", plan.getStatus());
+        assertEquals(0, new BigDecimal("50.00").compareTo(plan.getCreditAmount()));
+        assertEquals(0, new BigDecimal("50.00").compareTo(paymentRepository.findAll().get(0).getUnappliedAmount()));
+    }
+
+    @Test
+    void testReconcile_MaterializesLegacyPlan() {
+        Debt debt = saveDebt("500.00");
+        post(debt, "200.00");
+        PaymentPlan legacy = new PaymentPlan();
+        legacy.setDebt(debt);
+        legacy.setCreditor(creditor);
+        legacy.setPlanType(PaymentPlan.PlanType.WEEKLY);
+        legacy.setInstallmentAmount(new BigDecimal("100.00"));
+        legacy.setStartDate(START);
+        Long planId = paymentPlanRepository.save(legacy).getPlanId();
+
+        // Reads do not materialize; the schedule appears with the next reconciliation
+        assertTrue(installmentService.getPlan(planId).getInstallments().isEmpty());
+        assertEquals(0, installmentService.reconcile());
+
+        PaymentPlanResponse plan = installmentService.getPlan(planId);
+        assertEquals(3, plan.getInstallments().size());
+        assertEquals(START.plusWeeks(2), plan.getInstallments().get(2).getDueDate());
+        installmentService.reconcile();
+        assertEquals(3, installmentService.getPlan(planId).getInstallments().size());
+        assertThrows(ResourceNotFoundException.class, () -> installmentService.getPlan(-1L));
+    }
+
+    private void post(Debt debt, String amount) {
+        assertTrue(paymentPostingService.post(new PaymentRequest(debt.getDebtId(), new BigDecimal(amount), METHOD)).isPosted());
+    }
+
+    private static PaymentPlanRequest planRequest(Debt debt, String installmentAmount, LocalDate endDate) {
+        PaymentPlanRequest request = new PaymentPlanRequest();
+        request.setDebtId(debt.getDebtId());
+        request.setPlanType(PaymentPlan.PlanType.MONTHLY);
+        request.setInstallmentAmount(new BigDecimal(installmentAmount));
+        request.setStartDate(START);
+        request.setEndDate(endDate);
+        return request;
+    }
+
+    private static List<Long> debtIds(List<InstallmentResponse> installments) {
+        return installments.stream().map(InstallmentResponse::getDebtId).toList();
+    }
+
+    private Debt saveDebt(String amount) {
+        return debtRepository.save(newDebt(debtor, creditor, amount, Debt.Status.ACTIVE));
+    }
+}
@@ -0,0 +1,229 @@
+package com.kraya.platform.service.impl;
+
+import com.kraya.platform.dto.AccrualRunResponse;
+import com.kraya.platform.model.AppUser;
+import com.kraya.platform.model.Debt;
+import com.kraya.platform.model.InterestAccrualChunk;
+import com.kraya.platform.model.InterestAccrualRun;
+import com.kraya.platform.repository.DebtRepository;
+import com.kraya.platform.repository.InterestAccrualChunkRepository;
+import com.kraya.platform.repository.InterestAccrualRunRepository;
+import com.kraya.platform.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.kraya.platform.TestFixtures.newDebt;
+import static com.kraya.platform.TestFixtures.newUser;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs interest accrual against the embedded database with small chunks, so every run spans
+ * several keyset ranges processed in parallel.
+ */
+@DataJpaTest(properties = "spring.flyway.enabled=false")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class InterestAccrualServiceImplTest {
+
+    private static final LocalDate ACCRUAL_DATE = LocalDate.of(2026, 3, 31);
+    private static final int DUE_DEBTS = 40;
+
+    @Autowired
+    private DebtRepository debtRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private InterestAccrualRunRepository runRepository;
+
+    @Autowired
+    private InterestAccrualChunkRepository chunkRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private InterestAccrualServiceImpl interestAccrualService;
+    private final List<Long> dueDebtIds = new ArrayList<>();
+    private Long paidDebtId;
+    private Long notYetDueDebtId;
+    private Long interestFreeDebtId;
+    private Long undatedDebtId;
+
+    @BeforeEach
+    void setUp() {
+        interestAccrualService = new InterestAccrualServiceImpl(runRepository, chunkRepository, jdbcTemplate,
+                transactionManager, 4, 7, Duration.ofMinutes(10), Clock.systemDefaultZone());
+
+        AppUser debtor = userRepository.save(newUser("debtor"));
+        AppUser creditor = userRepository.save(newUser("creditor"));
+        for (int i = 0; i < DUE_DEBTS; i++) {
+            dueDebtIds.add(saveDebt(debtor, creditor, "12.00", ACCRUAL_DATE.minusDays(10), Debt.Status.ACTIVE));
+        }
+        paidDebtId = saveDebt(debtor, creditor, "12.00", ACCRUAL_DATE.minusDays(10), Debt.Status.PAID);
+        notYetDueDebtId = saveDebt(debtor, creditor, "12.00", ACCRUAL_DATE, Debt.Status.ACTIVE);
+        interestFreeDebtId = saveDebt(debtor, creditor, null, ACCRUAL_DATE.minusDays(10), Debt.Status.ACTIVE);
+        undatedDebtId = saveDebt(debtor, creditor, "12.00", null, Debt.Status.ACTIVE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        interestAccrualService.shutdown();
+        chunkRepository.deleteAllInBatch();
+        runRepository.deleteAllInBatch();
+        debtRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testAccrue_AccruesOverdueDebtsAcrossChunks() {
+        AccrualRunResponse response = interestAccrualService.accrue(ACCRUAL_DATE);
+
+        assertEquals("COMPLETED", response.getStatus());
+        assertEquals(7, response.getTotalChunks()); // 44 debts in ranges of 7
+        assertEquals(7, response.getCompletedChunks());
+        assertEquals(DUE_DEBTS, response.getDebtsAccrued());
+        // 1000.00 at 12% for the 10 days since the due date
+        assertEquals(0, new BigDecimal("3.29").multiply(BigDecimal.valueOf(DUE_DEBTS)).compareTo(response.getInterestTotal()));
+        assertEquals(100.0, response.getPercentComplete());
+
+        for (Long debtId : dueDebtIds) {
+            Debt debt = debtRepository.findById(debtId).orElseThrow();
+            assertEquals(0, new BigDecimal("1003.29").compareTo(debt.getCurrentAmount()));
+            assertEquals(ACCRUAL_DATE, debt.getLastAccrualDate());
+            assertEquals(1L, debt.getVersion());
+        }
+        for (Long debtId : List.of(paidDebtId, notYetDueDebtId, interestFreeDebtId, undatedDebtId)) {
+            Debt debt = debtRepository.findById(debtId).orElseThrow();
+            assertEquals(0, new BigDecimal("1000.00").compareTo(debt.getCurrentAmount()));
+            assertNull(debt.getLastAccrualDate());
+        }
+    }
+
+    @Test
+    void testAccrue_IsIdempotentPerDate() {
+        interestAccrualService.accrue(ACCRUAL_DATE);
+        AccrualRunResponse again = interestAccrualService.accrue(ACCRUAL_DATE);
+        assertEquals(DUE_DEBTS, again.getDebtsAccrued());
+
+        // A fresh run row for the same date (e.g. a lost run table) must not accrue twice either
+        jdbcTemplate.update("DELETE FROM interest_accrual_chunk");
+        jdbcTemplate.update("DELETE FROM interest_accrual_run");
+        assertEquals(0, interestAccrualService.accrue(ACCRUAL_DATE).getDebtsAccrued());
+        assertEquals(0, new BigDecimal("1003.29").compareTo(
+                debtRepository.findById(dueDebtIds.get(0)).orElseThrow().getCurrentAmount()));
+
+        // The next day accrues one day on the principal: 1000.00 * 12% / 365 = 0.33,
+        // and the debt that was due on the accrual date is now overdue as well
+        AccrualRunResponse nextDay = interestAccrualService.accrue(ACCRUAL_DATE.plusDays(1));
+        assertEquals(DUE_DEBTS + 1, nextDay.getDebtsAccrued());
+        assertEquals(0, new BigDecimal("1003.62").compareTo(
+                debtRepository.findById(dueDebtIds.get(0)).orElseThrow().getCurrentAmount()));
+    }
+
+    @Test
+    void testAccrue_ChargesSimpleInterestOnOutstandingPrincipal() {
+        interestAccrualService.accrue(ACCRUAL_DATE);
+        Long unpaidDebtId = dueDebtIds.get(0);
+        Long partlyPaidDebtId = dueDebtIds.get(1);
+        // 600.00 paid: 3.29 settles the interest, the rest leaves 403.29 of principal
+        jdbcTemplate.update("UPDATE debt SET current_amount = 403.29 WHERE debt_id = ?", partlyPaidDebtId);
+
+        interestAccrualService.accrue(ACCRUAL_DATE.plusDays(100));
+
+        // 1000.00 * 12% * 110 / 365 = 36.16 in total, not the 36.28 compounding on 1003.29 would give
+        assertEquals(0, new BigDecimal("1036.16").compareTo(
+                debtRepository.findById(unpaidDebtId).orElseThrow().getCurrentAmount()));
+        // 403.29 * 12% * 100 / 365 = 13.26
+        assertEquals(0, new BigDecimal("416.55").compareTo(
+                debtRepository.findById(partlyPaidDebtId).orElseThrow().getCurrentAmount()));
+        assertNull(debtRepository.findById(undatedDebtId).orElseThrow().getLastAccrualDate());
+    }
+
+    @Test
+    void testAccrue_DailyRunsAddUpToTheAnnualRate() {
+        debtRepository.deleteAllInBatch(); // A year of runs over two debts only, to keep it quick
+        AppUser debtor = userRepository.save(newUser("smallDebtor"));
+        AppUser creditor = userRepository.save(newUser("smallCreditor"));
+        LocalDate start = ACCRUAL_DATE.plusDays(1);
+        // 0.0082 a day, which rounded daily would come to 0.01, i.e. 3.65% a year
+        Long smallDebtId = saveDebt(debtor, creditor, "100.00", "3.00", start);
+        // 0.00082 a day, which rounded daily would never accrue at all
+        Long tinyDebtId = saveDebt(debtor, creditor, "10.00", "3.00", start);
+
+        for (int day = 1; day <= 365; day++) {
+            interestAccrualService.accrue(start.plusDays(day));
+        }
+
+        assertEquals(0, new BigDecimal("103.00").compareTo(
+                debtRepository.findById(smallDebtId).orElseThrow().getCurrentAmount()));
+        assertEquals(0, new BigDecimal("10.30").compareTo(
+                debtRepository.findById(tinyDebtId).orElseThrow().getCurrentAmount()));
+    }
+
+    @Test
+    void testAccrue_ResumesFromCheckpoint() {
+        interestAccrualService.accrue(ACCRUAL_DATE);
+
+        // Simulate a crash: the run never completed and two chunks were not checkpointed
+        InterestAccrualRun run = runRepository.findById(ACCRUAL_DATE).orElseThrow();
+        run.setStatus(InterestAccrualRun.Status.RUNNING);
+        run.setCompletedAt(null);
+        runRepository.save(run);
+        List<InterestAccrualChunk> chunks = chunkRepository.findAll();
+        LocalDateTime checkpointed = chunks.get(0).getCompletedAt();
+        for (InterestAccrualChunk chunk : chunks.subList(1, 3)) {
+            chunk.setStatus(InterestAccrualChunk.Status.PENDING);
+            chunkRepository.save(chunk);
+        }
+        assertEquals("RUNNING", interestAccrualService.getProgress(ACCRUAL_DATE).getStatus());
+
+        AccrualRunResponse resumed = interestAccrualService.accrue(ACCRUAL_DATE);
+
+        assertEquals("COMPLETED", resumed.getStatus());
+        assertEquals(7, resumed.getCompletedChunks());
+        assertEquals(checkpointed, chunkRepository.findById(chunks.get(0).getChunkId()).orElseThrow().getCompletedAt());
+        for (Long debtId : dueDebtIds) {
+            assertEquals(0, new BigDecimal("1003.29").compareTo(
+                    debtRepository.findById(debtId).orElseThrow().getCurrentAmount()));
+        }
+    }
+
+    @Test
+    void testGetProgress_NotStarted() {
+        AccrualRunResponse response = interestAccrualService.getProgress(ACCRUAL_DATE);
+        assertEquals("NOT_STARTED", response.getStatus());
+        assertEquals(0, response.getDebtsAccrued());
+    }
+
+    private Long saveDebt(AppUser debtor, AppUser creditor, String amount, String interestRate, LocalDate dueDate) {
+        Debt debt = newDebt(debtor, creditor, amount, Debt.Status.ACTIVE);
+        debt.setInterestRate(new BigDecimal(interestRate));
+        debt.setDueDate(dueDate);
+        return debtRepository.save(debt).getDebtId();
+    }
+
+    private Long saveDebt(AppUser debtor, AppUser creditor, String interestRate, LocalDate dueDate, Debt.Status status) {
+        Debt debt = newDebt(debtor, creditor, "1000.00", status);
+        debt.setInterestRate(interestRate == null ? null : new BigDecimal(interestRate));
+        debt.setDueDate(dueDate);
+        return debtRepository.save(debt).getDebtId();
+    }
+}
@@ -0,0 +1,214 @@
+package com.kraya.platform.service.impl;
+
+import com.kraya.platform.dto.PaymentPostingResult;
+import com.kraya.platform.dto.PaymentRequest;
+import com.kraya.platform.model.AppUser;
+import com.kraya.platform.model.Debt;
+import com.kraya.platform.repository.DebtRepository;
+import com.kraya.platform.repository.PaymentRepository;
+import com.kraya.platform.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.kraya.platform.TestFixtures.newDebt;
+import static com.kraya.platform.TestFixtures.newUser;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Posts payments against the embedded database, including a stress test with many threads
+ * hammering a few hot debts through two engine instances (standing in for two nodes).
+ */
+@DataJpaTest(properties = "spring.flyway.enabled=false")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class PaymentPostingServiceImplTest {
+
+    private static final String METHOD = "BANK TRANSFER";
+
+    @Autowired
+    private DebtRepository debtRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private PaymentPostingServiceImpl paymentPostingService;
+    private AppUser debtor;
+    private AppUser creditor;
+
+    @BeforeEach
+    void setUp() {
+        paymentPostingService = newService();
+        debtor = userRepository.save(newUser("debtor"));
+        creditor = userRepository.save(newUser("creditor"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        paymentRepository.deleteAllInBatch();
+        debtRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testPostAll_PaysOffDebtAndRejectsOverpayment() {
+        Debt debt = saveDebt("100.00");
+
+        List<PaymentPostingResult> results = paymentPostingService.postAll(List.of(
+                new PaymentRequest(debt.getDebtId(), new BigDecimal("60.00"), METHOD),
+                new PaymentRequest(debt.getDebtId(), new BigDecimal("50.00"), METHOD),
+                new PaymentRequest(debt.getDebtId(), new BigDecimal("40.00"), METHOD)));
+
+        assertTrue(results.get(0).isPosted());
+        assertNotNull(results.get(0).getPaymentId());
+        assertEquals(0, new BigDecimal("40.00").compareTo(results.get(0).getRemainingAmount()));
+        assertFalse(results.get(1).isPosted());
+        assertTrue(results.get(1).getMessage().startsWith("Payment exceeds the outstanding amount"));
+        assertTrue(results.get(2).isPosted());
+        assertEquals("PAID", results.get(2).getDebtStatus());
+
+        Debt paid = debtRepository.findById(debt.getDebtId()).orElseThrow();
+        assertEquals(Debt.Status.PAID, paid.getStatus());
+        assertEquals(0, paid.getCurrentAmount().signum());
+        assertEquals(2, paymentRepository.countByDebtDebtId(debt.getDebtId()));
+
+        PaymentPostingResult late = paymentPostingService.post(
+                new PaymentRequest(debt.getDebtId(), new BigDecimal("1.00"), METHOD));
+        assertFalse(late.isPosted());
+        assertEquals("Debt is PAID and no longer accepts payments", late.getMessage());
+    }
+
+    @Test
+    void testPost_RejectsInvalidRequests() {
+        Debt debt = saveDebt("100.00");
+
+        assertEquals("Debt not found with ID: -1", paymentPostingService.post(
+                new PaymentRequest(-1L, BigDecimal.ONE, METHOD)).getMessage());
+        assertEquals("Amount must be positive", paymentPostingService.post(
+                new PaymentRequest(debt.getDebtId(), BigDecimal.ZERO, METHOD)).getMessage());
+        assertEquals("Payment method is mandatory", paymentPostingService.post(
+                new PaymentRequest(debt.getDebtId(), BigDecimal.ONE, " ")).getMessage());
+        assertEquals(0, paymentRepository.count());
+    }
+
+    @Test
+    void testConcurrentPostings_LoseNoUpdates() throws Exception {
+        int threads = 24;
+        int paymentsPerThread = 100;
+        List<Debt> hotDebts = List.of(saveDebt("1000000.00"), saveDebt("1000000.00"),
+                saveDebt("1000000.00"), saveDebt("1000000.00"));
+        PaymentPostingServiceImpl otherNode = newService();
+
+        Map<Long, BigDecimal> postedTotals = new ConcurrentHashMap<>();
+        AtomicInteger postedCount = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            PaymentPostingServiceImpl node = t % 2 == 0 ? paymentPostingService : otherNode;
+            boolean batched = t % 4 < 2;
+            futures.add(executor.submit(() -> {
+                start.await();
+                List<PaymentRequest> batch = new ArrayList<>();
+                for (int i = 0; i < paymentsPerThread; i++) {
+                    Debt debt = hotDebts.get(ThreadLocalRandom.current().nextInt(hotDebts.size()));
+                    BigDecimal amount = BigDecimal.valueOf(ThreadLocalRandom.current().nextInt(100, 1000), 2);
+                    PaymentRequest request = new PaymentRequest(debt.getDebtId(), amount, METHOD);
+                    if (batched) {
+                        batch.add(request);
+                        if (batch.size() == 25) {
+                            record(node.postAll(batch), batch, postedTotals, postedCount);
+                            batch = new ArrayList<>();
+                        }
+                    } else {
+                        record(List.of(node.post(request)), List.of(request), postedTotals, postedCount);
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        assertEquals(threads * paymentsPerThread, postedCount.get());
+        assertEquals(threads * paymentsPerThread, paymentRepository.count());
+        for (Debt hotDebt : hotDebts) {
+            Debt reloaded = debtRepository.findById(hotDebt.getDebtId()).orElseThrow();
+            BigDecimal posted = postedTotals.getOrDefault(hotDebt.getDebtId(), BigDecimal.ZERO);
+            assertEquals(0, hotDebt.getOriginalAmount().subtract(posted).compareTo(reloaded.getCurrentAmount()),
+                    "Lost update on debt " + hotDebt.getDebtId());
+            assertEquals(0, posted.compareTo(paymentRepository.sumAmountByDebtId(hotDebt.getDebtId())));
+        }
+    }
+
+    @Test
+    void testConcurrentPostings_FailOnlyTheFailingPayment() throws Exception {
+        Debt debt = saveDebt("1000.00");
+        int threads = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<PaymentPostingResult>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            // Too long for the column, so the flush of whichever chunk carries it fails
+            String method = t == 0 ? "X".repeat(300) : METHOD;
+            futures.add(executor.submit(() -> {
+                start.await();
+                return paymentPostingService.post(new PaymentRequest(debt.getDebtId(), BigDecimal.ONE, method));
+            }));
+        }
+        start.countDown();
+
+        assertThrows(ExecutionException.class, () -> futures.get(0).get(1, TimeUnit.MINUTES));
+        for (Future<PaymentPostingResult> future : futures.subList(1, threads)) {
+            assertTrue(future.get(1, TimeUnit.MINUTES).isPosted());
+        }
+        executor.shutdown();
+        assertEquals(threads - 1, paymentRepository.countByDebtDebtId(debt.getDebtId()));
+    }
+
+    private static void record(List<PaymentPostingResult> results, List<PaymentRequest> requests,
+                               Map<Long, BigDecimal> postedTotals, AtomicInteger postedCount) {
+        for (int i = 0; i < results.size(); i++) {
+            if (results.get(i).isPosted()) {
+                postedTotals.merge(requests.get(i).getDebtId(), requests.get(i).getAmount(), BigDecimal::add);
+                postedCount.incrementAndGet();
+            }
+        }
+    }
+
+    private PaymentPostingServiceImpl newService() {
+        return new PaymentPostingServiceImpl(debtRepository, paymentRepository, transactionManager, 64);
+    }
+
+    private Debt saveDebt(String amount) {
+        return debtRepository.save(newDebt(debtor, creditor, amount, Debt.Status.ACTIVE));
+    }
+}
@@ -0,0 +1,266 @@
+package com.kraya.platform.service.impl;
+
+import com.kraya.platform.dto.PaymentRequest;
+import com.kraya.platform.dto.PortfolioTransferRequest;
+import com.kraya.platform.dto.PortfolioTransferResponse;
+import com.kraya.platform.exception.InvalidInputException;
+import com.kraya.platform.exception.ResourceNotFoundException;
+import com.kraya.platform.model.AppUser;
+import com.kraya.platform.model.Creditor;
+import com.kraya.platform.model.Debt;
+import com.kraya.platform.model.DebtTransfer;
+import com.kraya.platform.repository.CreditorRepository;
+import com.kraya.platform.repository.DebtRepository;
+import com.kraya.platform.repository.DebtTransferRepository;
+import com.kraya.platform.repository.PaymentRepository;
+import com.kraya.platform.repository.PortfolioTransferRepository;
+import com.kraya.platform.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.kraya.platform.TestFixtures.newDebt;
+import static com.kraya.platform.TestFixtures.newUser;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Transfers portfolios against the embedded database in small chunks, including a failure
+ * part-way through and payments posted while a transfer is running.
+ */
+@DataJpaTest(properties = "spring.flyway.enabled=false")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class PortfolioTransferServiceImplTest {
+
+    private static final int CHUNK_SIZE = 25;
+
+    @Autowired
+    private DebtRepository debtRepository;
+
+    @Autowired
+    private DebtTransferRepository debtTransferRepository;
+
+    @Autowired
+    private PortfolioTransferRepository portfolioTransferRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private CreditorRepository creditorRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<PortfolioTransferServiceImpl> services = new ArrayList<>();
+    private AppUser debtor;
+    private AppUser seller;
+    private AppUser buyer;
+    private AppUser bystander;
+
+    @BeforeEach
+    void setUp() {
+        debtor = userRepository.save(newUser(new AppUser(), "debtor"));
+        seller = creditorRepository.save(newUser(new Creditor(), "seller"));
+        buyer = creditorRepository.save(newUser(new Creditor(), "buyer"));
+        bystander = creditorRepository.save(newUser(new Creditor(), "bystander"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        services.forEach(PortfolioTransferServiceImpl::shutdown);
+        debtTransferRepository.deleteAllInBatch();
+        portfolioTransferRepository.deleteAllInBatch();
+        paymentRepository.deleteAllInBatch();
+        debtRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testTransfer_MovesOpenDebtsInChunks() {
+        List<Long> open = saveDebts(seller, 110, Debt.Status.ACTIVE);
+        open.addAll(saveDebts(seller, 10, Debt.Status.DISPUTED));
+        List<Long> settled = saveDebts(seller, 3, Debt.Status.PAID);
+        List<Long> others = saveDebts(bystander, 5, Debt.Status.ACTIVE);
+
+        PortfolioTransferResponse response = newService(transactionManager)
+                .transfer(new PortfolioTransferRequest(seller.getUserId(), buyer.getUserId()));
+
+        assertEquals("COMPLETED", response.getStatus());
+        assertEquals(120, response.getTotalDebts());
+        assertEquals(120, response.getTransferredDebts());
+        assertEquals(5, response.getChunksCommitted());
+        assertEquals(0, new BigDecimal("12000.00").compareTo(response.getAmountTransferred()));
+        assertEquals(100.0, response.getPercentComplete());
+        assertCreditor(open, buyer);
+        assertCreditor(settled, seller);
+        assertCreditor(others, bystander);
+        assertEquals(120, debtTransferRepository.countByPortfolioTransferIdAndStatus(
+                response.getPortfolioTransferId(), DebtTransfer.COMPLETED));
+    }
+
+    @Test
+    void testTransfer_RollsBackCommittedChunksWhenAChunkFails() {
+        List<Long> open = saveDebts(seller, 100, Debt.Status.ACTIVE);
+        // The third chunk's commit fails after two chunks have been committed
+        PortfolioTransferServiceImpl service = newService(new FailingTransactionManager(transactionManager, 3));
+
+        PortfolioTransferResponse response = service.transfer(new PortfolioTransferRequest(seller.getUserId(), buyer.getUserId()));
+
+        assertEquals("ROLLED_BACK", response.getStatus());
+        assertEquals("Simulated commit failure", response.getMessage());
+        assertEquals(0, response.getTransferredDebts());
+        assertEquals(0, response.getAmountTransferred().signum());
+        assertCreditor(open, seller);
+        assertEquals(0, debtTransferRepository.countByPortfolioTransferIdAndStatus(
+                response.getPortfolioTransferId(), DebtTransfer.COMPLETED));
+        assertEquals(2 * CHUNK_SIZE, debtTransferRepository.countByPortfolioTransferIdAndStatus(
+                response.getPortfolioTransferId(), DebtTransfer.REVERSED));
+    }
+
+    @Test
+    void testTransfer_LeavesDebtsPassedOnByTheBuyerWithTheirNewHolder() {
+        List<Long> open = saveDebts(seller, 100, Debt.Status.ACTIVE);
+        // While the third chunk fails, the buyer sells one debt of the first chunk on
+        FailingTransactionManager failing = new FailingTransactionManager(transactionManager, 3);
+        failing.onFailure = () -> {
+            Debt passedOn = debtRepository.findById(open.get(0)).orElseThrow();
+            passedOn.setCreditor(bystander);
+            debtRepository.save(passedOn);
+        };
+
+        PortfolioTransferResponse response = newService(failing)
+                .transfer(new PortfolioTransferRequest(seller.getUserId(), buyer.getUserId()));
+
+        assertEquals("PARTIALLY_REVERSED", response.getStatus());
+        assertTrue(response.getMessage().startsWith("1 debts had been passed on by the buyer"), response.getMessage());
+        assertEquals(1, response.getTransferredDebts());
+        assertEquals(0, new BigDecimal("100.00").compareTo(response.getAmountTransferred()));
+        assertCreditor(open.subList(0, 1), bystander);
+        assertCreditor(open.subList(1, open.size()), seller);
+        assertEquals(1, debtTransferRepository.countByPortfolioTransferIdAndStatus(
+                response.getPortfolioTransferId(), DebtTransfer.NOT_REVERSED));
+        assertEquals(2 * CHUNK_SIZE - 1, debtTransferRepository.countByPortfolioTransferIdAndStatus(
+                response.getPortfolioTransferId(), DebtTransfer.REVERSED));
+    }
+
+    @Test
+    void testStartTransfer_PaymentsKeepPostingWhileTransferRuns() throws Exception {
+        List<Long> portfolio = saveDebts(seller, 400, Debt.Status.ACTIVE);
+        List<Long> others = saveDebts(bystander, 4, Debt.Status.ACTIVE);
+        PaymentPostingServiceImpl paymentPostingService =
+                new PaymentPostingServiceImpl(debtRepository, paymentRepository, transactionManager, 64);
+
+        PortfolioTransferServiceImpl service = newService(transactionManager);
+        Long transferId = service.startTransfer(new PortfolioTransferRequest(seller.getUserId(), buyer.getUserId()))
+                .getPortfolioTransferId();
+
+        int posted = 0;
+        PortfolioTransferResponse progress = service.getTransfer(transferId);
+        while (!"COMPLETED".equals(progress.getStatus()) || posted < 20) {
+            assertTrue(paymentPostingService.post(new PaymentRequest(others.get(posted % others.size()),
+                    BigDecimal.ONE, "CARD")).isPosted());
+            assertTrue(paymentPostingService.post(new PaymentRequest(portfolio.get(posted * 7 % portfolio.size()),
+                    BigDecimal.ONE, "CARD")).isPosted());
+            posted++;
+            progress = service.getTransfer(transferId);
+            assertNotEquals("ROLLED_BACK", progress.getStatus());
+        }
+
+        assertEquals(400, progress.getTransferredDebts());
+        assertCreditor(portfolio, buyer);
+        assertEquals(2L * posted, paymentRepository.count());
+        BigDecimal remaining = debtRepository.findAllById(portfolio).stream()
+                .map(Debt::getCurrentAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertEquals(0, BigDecimal.valueOf(400 * 100 - posted).compareTo(remaining));
+    }
+
+    @Test
+    void testTransfer_RejectsInvalidRequests() {
+        PortfolioTransferServiceImpl service = newService(transactionManager);
+
+        assertThrows(InvalidInputException.class,
+                () -> service.transfer(new PortfolioTransferRequest(seller.getUserId(), seller.getUserId())));
+        assertThrows(ResourceNotFoundException.class,
+                () -> service.transfer(new PortfolioTransferRequest(seller.getUserId(), -1L)));
+        // Any account that is not a creditor cannot hold a portfolio
+        assertThrows(ResourceNotFoundException.class,
+                () -> service.transfer(new PortfolioTransferRequest(seller.getUserId(), debtor.getUserId())));
+        assertThrows(ResourceNotFoundException.class, () -> service.getTransfer(-1L));
+        assertEquals(0, portfolioTransferRepository.count());
+    }
+
+    private void assertCreditor(List<Long> debtIds, AppUser creditor) {
+        Long expected = creditor.getUserId();
+        for (Debt debt : debtRepository.findAllById(debtIds)) {
+            assertEquals(expected, debt.getCreditor().getUserId(), "Creditor of debt " + debt.getDebtId());
+        }
+    }
+
+    private PortfolioTransferServiceImpl newService(PlatformTransactionManager manager) {
+        PortfolioTransferServiceImpl service = new PortfolioTransferServiceImpl(portfolioTransferRepository,
+                debtTransferRepository, debtRepository, creditorRepository, manager, 2, CHUNK_SIZE);
+        services.add(service);
+        return service;
+    }
+
+    private List<Long> saveDebts(AppUser creditor, int count, Debt.Status status) {
+        List<Debt> debts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            debts.add(newDebt(debtor, creditor, status));
+        }
+        return new ArrayList<>(debtRepository.saveAll(debts).stream().map(Debt::getDebtId).toList());
+    }
+
+    /**
+     * Rolls back instead of committing the n-th transaction it is asked to commit.
+     */
+    private static class FailingTransactionManager implements PlatformTransactionManager {
+
+        private final PlatformTransactionManager delegate;
+        private final int failingCommit;
+        private final AtomicInteger commits = new AtomicInteger();
+        private Runnable onFailure = () -> { };
+
+        FailingTransactionManager(PlatformTransactionManager delegate, int failingCommit) {
+            this.delegate = delegate;
+            this.failingCommit = failingCommit;
+        }
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return delegate.getTransaction(definition);
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+            if (commits.incrementAndGet() == failingCommit) {
+                delegate.rollback(status);
+                onFailure.run();
+                throw new TransactionSystemException("Simulated commit failure");
+            }
+            delegate.commit(status);
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+            delegate.rollback(status);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.kraya.platform.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kraya.platform.dto.TokenResponse;
+import com.kraya.platform.exception.InvalidTokenException;
+import com.kraya.platform.model.Role;
+import com.kraya.platform.model.User;
+import com.kraya.platform.security.TokenClaims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenServiceImplTest {
+
+    private MutableClock clock;
+    private TokenServiceImpl tokenService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+        tokenService = new TokenServiceImpl(new ObjectMapper(), "test-secret",
+                Duration.ofMinutes(15), Duration.ofDays(7), clock);
+
+        user = new User();
+        user.setUserId(1L);
+        user.setUsername("testuser");
+        user.setRoles(List.of(new Role("USER")));
+    }
+
+    @Test
+    void verify_ValidAccessToken() {
+        TokenResponse tokens = tokenService.issueTokens(user);
+
+        TokenClaims claims = tokenService.verify(tokens.getAccessToken(), TokenClaims.ACCESS);
+
+        assertEquals("testuser", claims.getSubject());
+        assertEquals(1L, claims.getUserId());
+        assertEquals(List.of("USER"), claims.getRoles());
+        assertEquals(900, tokens.getExpiresIn());
+    }
+
+    @Test
+    void verify_TamperedToken() {
+        String token = tokenService.issueTokens(user).getAccessToken();
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThrows(InvalidTokenException.class, () -> tokenService.verify(tampered, TokenClaims.ACCESS));
+    }
+
+    @Test
+    void verify_TokenSignedWithOtherKey() {
+        TokenServiceImpl other = new TokenServiceImpl(new ObjectMapper(), "other-secret",
+                Duration.ofMinutes(15), Duration.ofDays(7), clock);
+        String token = other.issueTokens(user).getAccessToken();
+
+        assertThrows(InvalidTokenException.class, () -> tokenService.verify(token, TokenClaims.ACCESS));
+    }
+
+    @Test
+    void verify_ExpiredToken() {
+        String token = tokenService.issueTokens(user).getAccessToken();
+        clock.advance(Duration.ofMinutes(16));
+
+        assertThrows(InvalidTokenException.class, () -> tokenService.verify(token, TokenClaims.ACCESS));
+    }
+
+    @Test
+    void verify_WrongTokenType() {
+        String refreshToken = tokenService.issueTokens(user).getRefreshToken();
+
+        assertThrows(InvalidTokenException.class, () -> tokenService.verify(refreshToken, TokenClaims.ACCESS));
+        assertTrue(tokenService.verify(refreshToken, TokenClaims.REFRESH).isRefreshToken());
+    }
+
+    @Test
+    void revoke_SingleToken() {
+        TokenResponse tokens = tokenService.issueTokens(user);
+        tokenService.revoke(tokenService.verify(tokens.getAccessToken(), TokenClaims.ACCESS));
+
+        assertThrows(InvalidTokenException.class, () -> tokenService.verify(tokens.getAccessToken(), TokenClaims.ACCESS));
+        assertNotNull(tokenService.verify(tokens.getRefreshToken(), TokenClaims.REFRESH));
+    }
+
+    @Test
+    void revokeAllForUser() {
+        TokenResponse tokens = tokenService.issueTokens(user);
+        tokenService.revokeAllForUser(1L);
+
+        assertThrows(InvalidTokenException.class, () -> tokenService.verify(tokens.getAccessToken(), TokenClaims.ACCESS));
+        assertThrows(InvalidTokenException.class, () -> tokenService.verify(tokens.getRefreshToken(), TokenClaims.REFRESH));
+
+        // Logging in again within the same millisecond still yields working tokens
+        TokenResponse newTokens = tokenService.issueTokens(user);
+        assertNotNull(tokenService.verify(newTokens.getAccessToken(), TokenClaims.ACCESS));
+        assertNotNull(tokenService.verify(newTokens.getRefreshToken(), TokenClaims.REFRESH));
+    }
+
+    @Test
+    void revokeAllForUser_WithinTheSameSecond() {
+        clock.advance(Duration.ofMillis(200));
+        TokenResponse before = tokenService.issueTokens(user);
+        clock.advance(Duration.ofMillis(300));
+        tokenService.revokeAllForUser(1L);
+        clock.advance(Duration.ofMillis(300));
+        TokenResponse after = tokenService.issueTokens(user);
+
+        assertThrows(InvalidTokenException.class, () -> tokenService.verify(before.getAccessToken(), TokenClaims.ACCESS));
+        assertNotNull(tokenService.verify(after.getAccessToken(), TokenClaims.ACCESS));
+    }
+
+    @Test
+    void revoke_OnlyTheFirstCallWins() {
+        TokenClaims claims = tokenService.verify(tokenService.issueTokens(user).getRefreshToken(), TokenClaims.REFRESH);
+
+        assertTrue(tokenService.revoke(claims));
+        assertFalse(tokenService.revoke(claims));
+    }
+
+    @Test
+    void revokeAllForUser_PurgesRevocationsOlderThanAnyToken() {
+        for (long userId = 1; userId <= 10_001; userId++) {
+            tokenService.revokeAllForUser(userId);
+        }
+        clock.advance(Duration.ofDays(8));
+        tokenService.revokeAllForUser(20_000L);
+
+        Map<?, ?> revokedUsers = (Map<?, ?>) ReflectionTestUtils.getField(tokenService, "revokedUsers");
+        assertEquals(Set.of(20_000L), revokedUsers.keySet());
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
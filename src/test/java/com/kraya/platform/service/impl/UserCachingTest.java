@@ -0,0 +1,136 @@
+package com.kraya.platform.service.impl;
+
+import com.kraya.platform.config.CacheConfig;
+import com.kraya.platform.dto.UserUpdateRequest;
+import com.kraya.platform.exception.UserNotFoundException;
+import com.kraya.platform.metrics.Metrics;
+import com.kraya.platform.metrics.SqlCounting;
+import com.kraya.platform.metrics.SqlStatementCounter;
+import com.kraya.platform.model.AppUser;
+import com.kraya.platform.model.Role;
+import com.kraya.platform.model.User;
+import com.kraya.platform.repository.RoleRepository;
+import com.kraya.platform.repository.UserRepository;
+import com.kraya.platform.service.RoleRegistry;
+import com.kraya.platform.service.TokenService;
+import com.kraya.platform.service.UserSearchIndex;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that user lookups are served from the second-level cache and that the update and
+ * delete paths invalidate it.
+ */
+@DataJpaTest(properties = "spring.flyway.enabled=false")
+@Import({SqlCounting.class, CacheConfig.class, Metrics.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class UserCachingTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private Metrics metrics;
+
+    private UserServiceImpl userService;
+    private TransactionTemplate transaction;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        List<Role> roles = roleRepository.saveAll(List.of(new Role("USER"), new Role("ADMIN")));
+        AppUser user = new AppUser();
+        user.setUsername("cached");
+        user.setPassword("password");
+        user.setEmail("cached@example.com");
+        user.setFirstName("Cached");
+        user.setLastName("User");
+        user.setRegistrationDate(LocalDateTime.now());
+        user.setRoles(roles);
+        userId = userRepository.save(user).getUserId();
+
+        RoleRegistry roleRegistry = new RoleRegistry(roleRepository);
+        roleRegistry.refresh();
+        userService = new UserServiceImpl(userRepository, new BCryptPasswordEncoder(4),
+                Mockito.mock(TokenService.class), new UserSearchIndex(userRepository, 1000), roleRegistry,
+                entityManagerFactory);
+        transaction = new TransactionTemplate(transactionManager);
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAllInBatch();
+        roleRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void servesRepeatedLookupsFromTheCache() throws Exception {
+        assertEquals(1, SqlCounting.countQueries(sqlStatementCounter, this::lookUp));
+        assertEquals(0, SqlCounting.countQueries(sqlStatementCounter, this::lookUp));  // User, role IDs and roles
+
+        StringWriter out = new StringWriter();
+        metrics.writeTo(out);
+        assertTrue(out.toString().contains("kraya_cache_hits_total{region=\"user\"}"), out.toString());
+        assertTrue(out.toString().contains("kraya_cache_entries{region=\"role\"}"), out.toString());
+    }
+
+    @Test
+    void updateReplacesTheCachedUser() {
+        lookUp();
+        UserUpdateRequest request = new UserUpdateRequest();
+        request.setUsername("cached");
+        request.setEmail("cached@example.com");
+        request.setFirstName("Renamed");
+        request.setLastName("User");
+        userService.update(userId, request);
+
+        assertEquals("Renamed", lookUp());
+    }
+
+    @Test
+    void deleteEvictsTheCachedUser() {
+        lookUp();
+        userService.delete(userId);
+
+        assertThrows(UserNotFoundException.class, () -> userService.findById(userId));
+    }
+
+    // Looks the user up and reads its roles in one session, as a request with open-in-view does
+    String lookUp() {
+        return transaction.execute(status -> {
+            User user = userService.findById(userId);
+            assertEquals(2, user.getRoles().size());
+            return user.getFirstName();
+        });
+    }
+}
@@ -0,0 +1,147 @@
+package com.kraya.platform.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kraya.platform.dto.UserImportResponse;
+import com.kraya.platform.dto.UserImportRowResult;
+import com.kraya.platform.model.User;
+import com.kraya.platform.repository.UserRepository;
+import com.kraya.platform.service.UserSearchIndex;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.Validation;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs imports against the embedded database, so the chunk transactions really commit.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class UserImportServiceImplTest {
+
+    private static final String BCRYPT_HASH = "$2a$10$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private UserImportServiceImpl userImportService;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        userImportService = new UserImportServiceImpl(userRepository, NoOpPasswordEncoder.getInstance(),
+                Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper(), transactionManager,
+                new UserSearchIndex(userRepository, 1000), 2);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userImportService.shutdown();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testImportUsers_BatchesInserts() throws IOException {
+        int rows = 1200;
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < rows; i++) {
+            body.append(row("bulk" + i, "bulk" + i + "@example.com")).append('\n');
+        }
+
+        UserImportResponse response = userImportService.importUsers(stream(body.toString()));
+
+        assertEquals(rows, response.getTotalRows());
+        assertEquals(rows, response.getCreatedRows());
+        assertEquals(0, response.getFailedRows());
+        assertEquals(rows, userRepository.count());
+        assertTrue(response.getResults().stream().allMatch(result -> result.getUserId() != null));
+        assertEquals(rows, statistics.getEntityInsertCount());
+        // Inserts go out in JDBC batches of 50 with pooled IDs, so statements stay far below one per row
+        assertTrue(statistics.getPrepareStatementCount() < rows / 10,
+                "Expected batched inserts but saw " + statistics.getPrepareStatementCount() + " statements");
+    }
+
+    @Test
+    void testImportUsers_ReportsFailedRows() throws IOException {
+        User existing = new User();
+        existing.setUsername("taken");
+        existing.setPassword("encodedPassword");
+        existing.setEmail("taken@example.com");
+        existing.setFirstName("First");
+        existing.setLastName("Last");
+        userRepository.save(existing);
+
+        String body = String.join("\n",
+                row("alice", "alice@example.com"),
+                "{not json",
+                row("taken", "other@example.com"),
+                row("bob", "alice@example.com"),
+                "{\"username\":\"carol\",\"firstName\":\"Carol\",\"lastName\":\"C\",\"email\":\"carol@example.com\"}",
+                "{\"username\":\"dave\",\"passwordHash\":\"" + BCRYPT_HASH.replace("$", "\\u0024")
+                        + "\",\"firstName\":\"Dave\",\"lastName\":\"D\",\"email\":\"dave@example.com\"}",
+                "{\"username\":\"erin\",\"passwordHash\":\"plain\",\"firstName\":\"Erin\",\"lastName\":\"E\",\"email\":\"erin@example.com\"}",
+                "",
+                row("x", "x@example.com"));
+
+        UserImportResponse response = userImportService.importUsers(stream(body));
+
+        List<UserImportRowResult> results = response.getResults();
+        assertEquals(8, response.getTotalRows());
+        assertEquals(2, response.getCreatedRows());
+        assertEquals(6, response.getFailedRows());
+        assertResult(results.get(0), 1, UserImportRowResult.CREATED, null);
+        assertResult(results.get(1), 2, UserImportRowResult.FAILED, "Malformed JSON");
+        assertResult(results.get(2), 3, UserImportRowResult.FAILED, UserConflicts.USERNAME_EXISTS);
+        assertResult(results.get(3), 4, UserImportRowResult.FAILED, UserConflicts.EMAIL_EXISTS);
+        assertResult(results.get(4), 5, UserImportRowResult.FAILED, "Password or password hash is mandatory");
+        assertResult(results.get(5), 6, UserImportRowResult.CREATED, null);
+        assertResult(results.get(6), 7, UserImportRowResult.FAILED, "Password hash must be a BCrypt hash");
+        assertResult(results.get(7), 9, UserImportRowResult.FAILED, "Username must be between 3 and 50 characters");
+        assertEquals(BCRYPT_HASH, userRepository.findByUsername("dave").orElseThrow().getPassword());
+    }
+
+    private static void assertResult(UserImportRowResult result, int line, String status, String message) {
+        assertEquals(line, result.getLine());
+        assertEquals(status, result.getStatus());
+        if (message == null) {
+            assertNull(result.getMessage());
+        } else {
+            assertTrue(result.getMessage().startsWith(message), result.getMessage());
+        }
+    }
+
+    private static String row(String username, String email) {
+        return "{\"username\":\"" + username + "\",\"password\":\"password123\",\"firstName\":\"First\","
+                + "\"lastName\":\"Last\",\"email\":\"" + email + "\"}";
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,216 @@
+package com.kraya.platform.service.impl;
+
+import com.kraya.platform.dto.VoteRequest;
+import com.kraya.platform.dto.VoteTallyResponse;
+import com.kraya.platform.exception.InvalidInputException;
+import com.kraya.platform.exception.ResourceNotFoundException;
+import com.kraya.platform.model.AppUser;
+import com.kraya.platform.model.Creditor;
+import com.kraya.platform.model.Debt;
+import com.kraya.platform.model.VoteTally;
+import com.kraya.platform.repository.CreditorRepository;
+import com.kraya.platform.repository.DebtRepository;
+import com.kraya.platform.repository.UserRepository;
+import com.kraya.platform.repository.VoteRepository;
+import com.kraya.platform.repository.VoteTallyRepository;
+import com.kraya.platform.service.VoteTallies;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static com.kraya.platform.TestFixtures.newDebt;
+import static com.kraya.platform.TestFixtures.newUser;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Casts, changes and withdraws votes against the embedded database and checks the in-memory
+ * tallies and the flushed summary table against the vote table.
+ */
+@DataJpaTest(properties = "spring.flyway.enabled=false")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class VoteServiceImplTest {
+
+    private static final String COUNT_VOTES = "SELECT COUNT(*) FROM vote WHERE debtor_id = ? AND vote = ?";
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    private VoteTallyRepository voteTallyRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CreditorRepository creditorRepository;
+
+    @Autowired
+    private DebtRepository debtRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private VoteTallies voteTallies;
+    private VoteServiceImpl voteService;
+    private final List<AppUser> debtors = new ArrayList<>();
+    private final List<AppUser> creditors = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 3; i++) {
+            debtors.add(userRepository.save(newUser(new AppUser(), "debtor" + i)));
+        }
+        List<Debt> debts = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            Creditor creditor = creditorRepository.save(newUser(new Creditor(), "creditor" + i));
+            creditors.add(creditor);
+            debtors.forEach(debtor -> debts.add(newDebt(debtor, creditor)));
+        }
+        debtRepository.saveAll(debts);
+        voteTallies = new VoteTallies(voteRepository, voteTallyRepository, jdbcTemplate, transactionManager);
+        voteTallies.rebuild();
+        voteService = new VoteServiceImpl(voteRepository, userRepository, creditorRepository, debtRepository,
+                voteTallies, transactionManager, event -> { });
+    }
+
+    @AfterEach
+    void tearDown() {
+        voteTallyRepository.deleteAllInBatch();
+        voteRepository.deleteAllInBatch();
+        debtRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testVotes_ChangesAndWithdrawalsKeepTallyConsistent() {
+        Long debtorId = debtors.get(0).getUserId();
+
+        voteService.castVote(creditors.get(0).getUserId(), new VoteRequest(debtorId, true));
+        voteService.castVote(creditors.get(1).getUserId(), new VoteRequest(debtorId, true));
+        assertTally(2, 1, voteService.castVote(creditors.get(2).getUserId(), new VoteRequest(debtorId, false)));
+
+        // Changing a vote moves it, repeating it changes nothing, withdrawing removes it
+        assertTally(1, 2, voteService.castVote(creditors.get(1).getUserId(), new VoteRequest(debtorId, false)));
+        assertTally(1, 2, voteService.castVote(creditors.get(1).getUserId(), new VoteRequest(debtorId, false, "Still no")));
+        assertTally(1, 1, voteService.withdrawVote(debtorId, creditors.get(2).getUserId()));
+        assertThrows(ResourceNotFoundException.class,
+                () -> voteService.withdrawVote(debtorId, creditors.get(2).getUserId()));
+        assertEquals(2, voteRepository.count());
+
+        assertEquals(1, voteTallies.flush());
+        VoteTally summary = voteTallyRepository.findById(debtorId).orElseThrow();
+        assertEquals(1, summary.getYesVotes());
+        assertEquals(1, summary.getNoVotes());
+        assertEquals(0, voteTallies.flush());
+        assertTally(0, 0, voteService.getTally(debtors.get(1).getUserId()));
+    }
+
+    @Test
+    void testVotes_OnlyCreditorsOfTheDebtorCanVote() {
+        Long debtorId = debtors.get(0).getUserId();
+        Creditor outsider = creditorRepository.save(newUser(new Creditor(), "outsider"));
+
+        // Another debtor cannot pose as a creditor, and a creditor holding none of the debtor's debts cannot vote
+        assertThrows(ResourceNotFoundException.class,
+                () -> voteService.castVote(debtors.get(1).getUserId(), new VoteRequest(debtorId, true)));
+        assertThrows(InvalidInputException.class,
+                () -> voteService.castVote(outsider.getUserId(), new VoteRequest(debtorId, true)));
+
+        // A creditor that has sold its debts of the debtor can no longer change its vote
+        Long sellerId = creditors.get(0).getUserId();
+        voteService.castVote(sellerId, new VoteRequest(debtorId, true));
+        jdbcTemplate.update("UPDATE debt SET creditor_id = ? WHERE creditor_id = ?", outsider.getUserId(), sellerId);
+        assertThrows(InvalidInputException.class, () -> voteService.castVote(sellerId, new VoteRequest(debtorId, false)));
+
+        assertEquals(1, voteRepository.count());
+        assertTally(1, 0, voteService.getTally(debtorId));
+    }
+
+    @Test
+    void testRebuild_RepairsSummaryFromVotes() {
+        Long debtorId = debtors.get(0).getUserId();
+        voteService.castVote(creditors.get(0).getUserId(), new VoteRequest(debtorId, true));
+        voteService.castVote(creditors.get(1).getUserId(), new VoteRequest(debtorId, false));
+        // Simulate a crash before the flush plus a stale summary row
+        jdbcTemplate.update("INSERT INTO vote_tally (debtor_id, yes_votes, no_votes, updated_at) VALUES (?, 7, 7, ?)",
+                debtors.get(1).getUserId(), LocalDateTime.now());
+
+        VoteTallies restarted = new VoteTallies(voteRepository, voteTallyRepository, jdbcTemplate, transactionManager);
+        restarted.rebuild();
+
+        assertTally(1, 1, restarted.get(debtorId));
+        assertEquals(List.of(debtorId), voteTallyRepository.findAll().stream().map(VoteTally::getDebtorId).toList());
+    }
+
+    @Test
+    void testConcurrentVotes_TalliesMatchVoteTable() throws Exception {
+        int threads = 12;
+        int operationsPerThread = 150;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < operationsPerThread; i++) {
+                    Long debtorId = debtors.get(random.nextInt(debtors.size())).getUserId();
+                    Long creditorId = creditors.get(random.nextInt(creditors.size())).getUserId();
+                    if (random.nextInt(5) == 0) {
+                        try {
+                            voteService.withdrawVote(debtorId, creditorId);
+                        } catch (ResourceNotFoundException e) {
+                            // Nothing to withdraw
+                        }
+                    } else {
+                        voteService.castVote(creditorId, new VoteRequest(debtorId, random.nextBoolean()));
+                    }
+                    if (i % 50 == 0) {
+                        voteTallies.flush();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+        voteTallies.flush();
+
+        for (AppUser debtor : debtors) {
+            long yes = jdbcTemplate.queryForObject(COUNT_VOTES, Long.class, debtor.getUserId(), true);
+            long no = jdbcTemplate.queryForObject(COUNT_VOTES, Long.class, debtor.getUserId(), false);
+            assertTally(yes, no, voteService.getTally(debtor.getUserId()));
+            VoteTally summary = voteTallyRepository.findById(debtor.getUserId()).orElse(new VoteTally());
+            assertEquals(yes, summary.getYesVotes(), "Flushed yes votes of debtor " + debtor.getUserId());
+            assertEquals(no, summary.getNoVotes(), "Flushed no votes of debtor " + debtor.getUserId());
+        }
+    }
+
+    private static void assertTally(long yes, long no, VoteTallyResponse tally) {
+        assertEquals(yes, tally.getYesVotes(), "Yes votes");
+        assertEquals(no, tally.getNoVotes(), "No votes");
+    }
+}